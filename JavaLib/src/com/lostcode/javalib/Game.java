@@ -8,6 +8,7 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.lostcode.javalib.states.ScreenManager;
 import com.lostcode.javalib.utils.Display;
+import com.lostcode.javalib.utils.RenderPipeline;
 import com.lostcode.javalib.utils.SoundManager;
 
 /**
@@ -77,10 +78,16 @@ public abstract class Game implements ApplicationListener {
 	private ScreenManager screenManager;
 
 	/**
-	 * The game's {@link SpriteBatch}.
+	 * The game's {@link SpriteBatch}, owned by its {@link RenderPipeline}.
+	 * Draw by submitting to the pipeline rather than beginning the batch.
 	 */
 	protected SpriteBatch spriteBatch;
 
+	/**
+	 * The game's {@link RenderPipeline}, which draws each frame with one batch.
+	 */
+	protected RenderPipeline renderPipeline;
+
 	/**
 	 * The game's {@link InputMultiplexer}.
 	 */
@@ -108,7 +115,8 @@ public abstract class Game implements ApplicationListener {
 		Gdx.input.setInputProcessor(input);
 		Gdx.input.setCatchBackKey(true);
 
-		spriteBatch = new SpriteBatch();
+		renderPipeline = new RenderPipeline();
+		spriteBatch = renderPipeline.getSpriteBatch();
 
 		loadSounds();
 
@@ -141,7 +149,7 @@ public abstract class Game implements ApplicationListener {
 	public void dispose() {
 		screenManager.dispose();
 		SoundManager.dispose();
-		spriteBatch.dispose();
+		renderPipeline.dispose();
 	}
 
 	// endregion
@@ -162,12 +170,22 @@ public abstract class Game implements ApplicationListener {
 		return input;
 	}
 
+	/**
+	 * @return The game's {@link RenderPipeline}. Screens submit their drawing
+	 *         to it, and worlds can share it through
+	 *         {@link com.lostcode.javalib.entities.EntityWorld#setRenderPipeline}.
+	 */
+	public RenderPipeline getRenderPipeline() {
+		return renderPipeline;
+	}
+
 	// endregion
 
 	// region Rendering
 
 	/**
-	 * Renders a solid background, and the current screen above it.
+	 * Renders a solid background, and the current screen above it. Screens
+	 * submit their drawing, which is then rendered in one batch.
 	 */
 	@Override
 	public void render() {
@@ -175,6 +193,7 @@ public abstract class Game implements ApplicationListener {
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
 		screenManager.render();
+		renderPipeline.render();
 	}
 
 	@Override
@@ -0,0 +1,488 @@
+package com.lostcode.javalib.entities;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Pool;
+import com.lostcode.javalib.entities.components.physical.Transform;
+import com.lostcode.javalib.utils.Convert;
+
+/**
+ * Deactivates Box2D bodies that are far away from the camera and from a set of
+ * anchor entities, so that the broadphase and solver only deal with the part
+ * of the world that matters. Bodies are reactivated once their bounds come
+ * within a margin of the region again. A second, larger margin provides
+ * hysteresis, so bodies near the edge don't flicker in and out.
+ * <p>
+ * Only bodies that were deactivated by the region are ever reactivated by it.
+ * The region is disabled by default.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class ActiveRegion {
+
+	// region Fields
+
+	/** The default activation margin, in meters. */
+	public static final float DEFAULT_MARGIN = 5f;
+
+	/** The default hysteresis distance, in meters. */
+	public static final float DEFAULT_HYSTERESIS = 3f;
+
+	/** The default number of seconds between updates. */
+	public static final float DEFAULT_INTERVAL = 0.2f;
+
+	private final EntityWorld world;
+
+	private boolean enabled = false;
+	private boolean followCamera = true;
+
+	private float margin = DEFAULT_MARGIN;
+	private float hysteresis = DEFAULT_HYSTERESIS;
+	private float interval = DEFAULT_INTERVAL;
+	private float elapsed = 0f;
+
+	private final Array<Entity> anchors = new Array<Entity>();
+
+	private final Array<Body> bodies = new Array<Body>();
+	private final ObjectMap<Body, Rectangle> deactivated = new ObjectMap<Body, Rectangle>();
+	private final ObjectSet<Body> present = new ObjectSet<Body>();
+	private final Array<Body> stale = new Array<Body>();
+
+	private final Pool<Rectangle> rectanglePool = new Pool<Rectangle>() {
+		@Override
+		protected Rectangle newObject() {
+			return new Rectangle();
+		}
+	};
+
+	private final Rectangle region = new Rectangle();
+	private final Rectangle activeBounds = new Rectangle();
+	private final Rectangle keepBounds = new Rectangle();
+	private final Rectangle bodyBounds = new Rectangle();
+	private final Vector2 vertex = new Vector2();
+
+	private int bodyCount;
+	private int activeBodyCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs an ActiveRegion.
+	 *
+	 * @param world
+	 *            The world whose bodies will be managed.
+	 */
+	public ActiveRegion(EntityWorld world) {
+		this.world = world;
+	}
+
+	// endregion
+
+	// region Accessors/Mutators
+
+	/**
+	 * @return Whether distant bodies are being deactivated.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the region. Disabling it reactivates every body it
+	 * had deactivated.
+	 *
+	 * @param enabled
+	 *            Whether distant bodies should be deactivated.
+	 */
+	public void setEnabled(boolean enabled) {
+		if (this.enabled && !enabled)
+			reactivateAll();
+
+		this.enabled = enabled;
+		elapsed = interval;
+	}
+
+	/**
+	 * @return Whether the camera's view is part of the region.
+	 */
+	public boolean isFollowingCamera() {
+		return followCamera;
+	}
+
+	/**
+	 * @param followCamera
+	 *            Whether the camera's view should be part of the region.
+	 */
+	public void setFollowingCamera(boolean followCamera) {
+		this.followCamera = followCamera;
+	}
+
+	/**
+	 * @return The distance from the region, in meters, within which bodies are
+	 *         activated.
+	 */
+	public float getMargin() {
+		return margin;
+	}
+
+	/**
+	 * @param margin
+	 *            The distance from the region, in meters, within which bodies
+	 *            are activated.
+	 */
+	public void setMargin(float margin) {
+		this.margin = margin;
+	}
+
+	/**
+	 * @return The extra distance, in meters, bodies must move past the margin
+	 *         before they are deactivated.
+	 */
+	public float getHysteresis() {
+		return hysteresis;
+	}
+
+	/**
+	 * @param hysteresis
+	 *            The extra distance, in meters, bodies must move past the
+	 *            margin before they are deactivated.
+	 */
+	public void setHysteresis(float hysteresis) {
+		this.hysteresis = hysteresis;
+	}
+
+	/**
+	 * @return The number of seconds between updates.
+	 */
+	public float getInterval() {
+		return interval;
+	}
+
+	/**
+	 * @param interval
+	 *            The number of seconds between updates.
+	 */
+	public void setInterval(float interval) {
+		this.interval = interval;
+	}
+
+	/**
+	 * Adds an anchor entity. The region always covers the positions of its
+	 * anchors.
+	 *
+	 * @param anchor
+	 *            An entity with a Transform component.
+	 */
+	public void addAnchor(Entity anchor) {
+		if (!anchors.contains(anchor, true))
+			anchors.add(anchor);
+	}
+
+	/**
+	 * Removes an anchor entity.
+	 *
+	 * @param anchor
+	 *            The anchor to remove.
+	 */
+	public void removeAnchor(Entity anchor) {
+		anchors.removeValue(anchor, true);
+	}
+
+	/**
+	 * Removes every anchor entity.
+	 */
+	public void clearAnchors() {
+		anchors.clear();
+	}
+
+	/**
+	 * @return The region covered by the camera and anchors at the last update,
+	 *         in meters, before margins are applied.
+	 */
+	public Rectangle getRegion() {
+		return region;
+	}
+
+	/**
+	 * @return The number of bodies in the world at the last update.
+	 */
+	public int getBodyCount() {
+		return bodyCount;
+	}
+
+	/**
+	 * @return The number of active bodies in the world at the last update.
+	 */
+	public int getActiveBodyCount() {
+		return activeBodyCount;
+	}
+
+	/**
+	 * @return The number of bodies currently deactivated by the region.
+	 */
+	public int getDeactivatedBodyCount() {
+		return deactivated.size;
+	}
+
+	// endregion
+
+	// region Processing
+
+	/**
+	 * Updates the region if enough time has passed since the last update.
+	 * Must not be called during a physics step.
+	 *
+	 * @param deltaSeconds
+	 *            The seconds elapsed since the last call.
+	 */
+	public void process(float deltaSeconds) {
+		if (!enabled)
+			return;
+
+		elapsed += deltaSeconds;
+
+		if (elapsed < interval)
+			return;
+
+		elapsed = 0f;
+
+		update();
+	}
+
+	/**
+	 * Immediately recomputes the region and activates or deactivates bodies
+	 * accordingly.
+	 */
+	public void update() {
+		if (!computeRegion())
+			return;
+
+		activeBounds.set(region.x - margin, region.y - margin, region.width
+				+ margin * 2, region.height + margin * 2);
+
+		float keep = margin + hysteresis;
+		keepBounds.set(region.x - keep, region.y - keep, region.width + keep
+				* 2, region.height + keep * 2);
+
+		World box2DWorld = world.getBox2DWorld();
+		box2DWorld.getBodies(bodies);
+
+		present.clear();
+		activeBodyCount = 0;
+
+		for (int i = 0; i < bodies.size; i++) {
+			Body body = bodies.get(i);
+			present.add(body);
+
+			Rectangle cached = deactivated.get(body);
+
+			if (body.isActive()) {
+				if (cached != null) {
+					// Reactivated elsewhere, or recycled by Box2D.
+					rectanglePool.free(deactivated.remove(body));
+				}
+
+				computeBounds(body, bodyBounds);
+
+				if (!bodyBounds.overlaps(keepBounds)) {
+					Rectangle bounds = rectanglePool.obtain();
+					bounds.set(bodyBounds);
+					deactivated.put(body, bounds);
+
+					body.setActive(false);
+				} else {
+					activeBodyCount++;
+				}
+			} else if (cached != null && cached.overlaps(activeBounds)) {
+				rectanglePool.free(deactivated.remove(body));
+
+				body.setActive(true);
+				activeBodyCount++;
+			}
+		}
+
+		bodyCount = bodies.size;
+
+		// Forget bodies that have since been destroyed.
+		stale.clear();
+		for (Body body : deactivated.keys()) {
+			if (!present.contains(body))
+				stale.add(body);
+		}
+		for (int i = 0; i < stale.size; i++) {
+			rectanglePool.free(deactivated.remove(stale.get(i)));
+		}
+
+		bodies.clear();
+	}
+
+	/**
+	 * Reactivates every body that was deactivated by the region.
+	 */
+	public void reactivateAll() {
+		world.getBox2DWorld().getBodies(bodies);
+
+		for (int i = 0; i < bodies.size; i++) {
+			Body body = bodies.get(i);
+
+			if (deactivated.containsKey(body) && !body.isActive())
+				body.setActive(true);
+		}
+
+		for (Rectangle bounds : deactivated.values()) {
+			rectanglePool.free(bounds);
+		}
+		deactivated.clear();
+
+		bodies.clear();
+	}
+
+	// endregion
+
+	// region Helpers
+
+	/**
+	 * Computes the region covered by the camera and anchors.
+	 *
+	 * @return False if nothing defines the region.
+	 */
+	private boolean computeRegion() {
+		boolean empty = true;
+
+		Camera camera = world.getCamera();
+
+		if (followCamera && camera != null) {
+			float zoom = 1f;
+			if (camera instanceof OrthographicCamera)
+				zoom = ((OrthographicCamera) camera).zoom;
+
+			float width = Convert.pixelsToMeters(camera.viewportWidth * zoom);
+			float height = Convert.pixelsToMeters(camera.viewportHeight
+					* zoom);
+
+			region.set(Convert.pixelsToMeters(camera.position.x) - width / 2,
+					Convert.pixelsToMeters(camera.position.y) - height / 2,
+					width, height);
+			empty = false;
+		}
+
+		for (int i = anchors.size - 1; i >= 0; i--) {
+			Entity anchor = anchors.get(i);
+
+			if (!anchor.hasComponent(Transform.class))
+				continue;
+
+			Transform t = anchor.getComponent(Transform.class);
+			Vector2 position = t.getPosition(vertex);
+
+			if (empty) {
+				region.set(position.x, position.y, 0f, 0f);
+				empty = false;
+			} else {
+				region.merge(position);
+			}
+		}
+
+		return !empty;
+	}
+
+	/**
+	 * Computes the world-space bounds of every fixture attached to a body.
+	 */
+	private void computeBounds(Body body, Rectangle out) {
+		com.badlogic.gdx.physics.box2d.Transform transform = body
+				.getTransform();
+		Vector2 position = body.getPosition();
+
+		float minX = position.x;
+		float minY = position.y;
+		float maxX = position.x;
+		float maxY = position.y;
+
+		Array<Fixture> fixtures = body.getFixtureList();
+
+		for (int f = 0; f < fixtures.size; f++) {
+			Shape shape = fixtures.get(f).getShape();
+
+			switch (shape.getType()) {
+			case Circle: {
+				CircleShape circle = (CircleShape) shape;
+				transform.mul(vertex.set(circle.getPosition()));
+				float radius = circle.getRadius();
+
+				minX = Math.min(minX, vertex.x - radius);
+				minY = Math.min(minY, vertex.y - radius);
+				maxX = Math.max(maxX, vertex.x + radius);
+				maxY = Math.max(maxY, vertex.y + radius);
+				break;
+			}
+			case Polygon: {
+				PolygonShape polygon = (PolygonShape) shape;
+
+				for (int v = 0; v < polygon.getVertexCount(); v++) {
+					polygon.getVertex(v, vertex);
+					transform.mul(vertex);
+
+					minX = Math.min(minX, vertex.x);
+					minY = Math.min(minY, vertex.y);
+					maxX = Math.max(maxX, vertex.x);
+					maxY = Math.max(maxY, vertex.y);
+				}
+				break;
+			}
+			case Edge: {
+				EdgeShape edge = (EdgeShape) shape;
+
+				for (int v = 0; v < 2; v++) {
+					if (v == 0)
+						edge.getVertex1(vertex);
+					else
+						edge.getVertex2(vertex);
+					transform.mul(vertex);
+
+					minX = Math.min(minX, vertex.x);
+					minY = Math.min(minY, vertex.y);
+					maxX = Math.max(maxX, vertex.x);
+					maxY = Math.max(maxY, vertex.y);
+				}
+				break;
+			}
+			case Chain: {
+				ChainShape chain = (ChainShape) shape;
+
+				for (int v = 0; v < chain.getVertexCount(); v++) {
+					chain.getVertex(v, vertex);
+					transform.mul(vertex);
+
+					minX = Math.min(minX, vertex.x);
+					minY = Math.min(minY, vertex.y);
+					maxX = Math.max(maxX, vertex.x);
+					maxY = Math.max(maxY, vertex.y);
+				}
+				break;
+			}
+			}
+		}
+
+		out.set(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	// endregion
+
+}
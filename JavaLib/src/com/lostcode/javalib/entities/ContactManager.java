@@ -10,6 +10,9 @@ import com.lostcode.javalib.entities.components.physical.Sensor;
 import com.lostcode.javalib.entities.events.EventCallback;
 import com.lostcode.javalib.entities.events.EventHandler;
 import com.lostcode.javalib.utils.LogManager;
+import com.lostcode.javalib.utils.metrics.Counter;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
 
 /**
  * Listens for all collisions in the Box2D world, and handles them.
@@ -20,7 +23,17 @@ import com.lostcode.javalib.utils.LogManager;
 public final class ContactManager extends EventHandler implements
 		ContactListener {
 
+	private static final LogManager.Handle LOG = LogManager
+			.getHandle("Physics");
+
+	private static final Counter CONTACTS = MetricsRegistry.getDefault()
+			.counter("javalib_contacts_total", "Contacts begun");
+	private static final Gauge FRAME_CONTACTS = MetricsRegistry.getDefault()
+			.gauge("javalib_contacts_per_frame",
+					"Contacts begun during the last frame's physics steps");
+
 	private final EntityWorld world;
+	private int contactCount;
 
 	/**
 	 * Constructs the ContactManager.
@@ -39,6 +52,8 @@ public final class ContactManager extends EventHandler implements
 	 */
 	@Override
 	public void beginContact(Contact contact) {
+		contactCount++;
+
 		Fixture f1 = contact.getFixtureA();
 		Fixture f2 = contact.getFixtureB();
 
@@ -73,7 +88,7 @@ public final class ContactManager extends EventHandler implements
 					}
 				});
 				
-				LogManager.debug("Physics", "Sensor collision ocurred.");
+				LOG.debug("Sensor collision ocurred.");
 
 			}
 		}
@@ -110,7 +125,7 @@ public final class ContactManager extends EventHandler implements
 						}
 					});
 					
-					LogManager.debug("Physics", "Collision ocurred");
+					LOG.debug("Collision ocurred");
 				}
 			}
 
@@ -233,6 +248,10 @@ public final class ContactManager extends EventHandler implements
 	 * Processes all of the queued callbacks.
 	 */
 	public void process() {
+		CONTACTS.add(contactCount);
+		FRAME_CONTACTS.set(contactCount);
+		contactCount = 0;
+
 		this.invoke(null);
 		this.clear();
 	}
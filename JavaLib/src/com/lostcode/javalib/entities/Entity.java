@@ -27,6 +27,15 @@ public final class Entity extends ComponentManager implements Poolable {
 	/** This entity's type. */
 	private String type = "";
 
+	/** The number assigned to this entity by its world when it was created. */
+	private long serial = -1;
+
+	/** The tag of the template that built this entity, if any. */
+	private String templateTag;
+
+	/** The arguments passed to this entity's template. */
+	private Object[] templateArgs;
+
 	/**
 	 * EventHandler that is invoked when this Entity is deleted.
 	 */
@@ -73,6 +82,22 @@ public final class Entity extends ComponentManager implements Poolable {
 		this.type = type;
 	}
 
+	/**
+	 * Records how this entity was created. Called by the {@link EntityWorld}.
+	 * 
+	 * @param serial
+	 *            The entity's serial number.
+	 * @param templateTag
+	 *            The tag of the template that built it, or null.
+	 * @param templateArgs
+	 *            The arguments passed to the template.
+	 */
+	void setOrigin(long serial, String templateTag, Object[] templateArgs) {
+		this.serial = serial;
+		this.templateTag = templateTag;
+		this.templateArgs = templateArgs;
+	}
+
 	// endregion
 
 	// region Disposal
@@ -93,6 +118,9 @@ public final class Entity extends ComponentManager implements Poolable {
 		tag = "";
 		group = "";
 		type = "";
+		serial = -1;
+		templateTag = null;
+		templateArgs = null;
 		deleted = false;
 		changed = false;
 		onDeleted.clear();
@@ -127,6 +155,29 @@ public final class Entity extends ComponentManager implements Poolable {
 		return type;
 	}
 
+	/**
+	 * @return The number assigned to this entity when it was created. Unique
+	 *         within its world, unlike the pooled Entity object itself.
+	 */
+	public long getSerial() {
+		return serial;
+	}
+
+	/**
+	 * @return The tag of the template that built this entity, or null if it
+	 *         was created by a group template.
+	 */
+	public String getTemplateTag() {
+		return templateTag;
+	}
+
+	/**
+	 * @return The arguments passed to this entity's template.
+	 */
+	public Object[] getTemplateArgs() {
+		return templateArgs;
+	}
+
 	/**
 	 * @return Whether this Entity has been flagged for deletion.
 	 */
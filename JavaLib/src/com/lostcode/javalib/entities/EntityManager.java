@@ -4,6 +4,9 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.Pool;
 import com.lostcode.javalib.entities.components.Component;
+import com.lostcode.javalib.utils.metrics.Counter;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
 
 /**
  * Contains and organizes game {@link Entity Entities}, sorting them according
@@ -16,6 +19,20 @@ public class EntityManager extends Pool<Entity> {
 
 	// region Fields
 
+	private static final Counter CREATED = MetricsRegistry.getDefault()
+			.counter("javalib_entities_created_total", "Entities created");
+	private static final Counter FREED = MetricsRegistry.getDefault()
+			.counter("javalib_entities_freed_total",
+					"Entities returned to the pool");
+	private static final Counter POOL_HITS = MetricsRegistry.getDefault()
+			.counter("javalib_entity_pool_hits_total",
+					"Entities reused from the pool");
+	private static final Counter POOL_MISSES = MetricsRegistry.getDefault()
+			.counter("javalib_entity_pool_misses_total",
+					"Entities allocated because the pool was empty");
+	private static final Gauge LIVE = MetricsRegistry.getDefault().gauge(
+			"javalib_entities", "Entities in the world");
+
 	/** Contains all entities. */
 	private Array<Entity> entities = new Array<Entity>();
 
@@ -56,6 +73,7 @@ public class EntityManager extends Pool<Entity> {
 				e.onDeleted.invoke(e);
 
 			this.free(e); // Frees the entity from the entity pool. See pooling.
+			FREED.increment();
 			
 			if (e.hasComponent(Component.class)) {
 				throw new GdxRuntimeException("Entity not properly reset");
@@ -77,6 +95,8 @@ public class EntityManager extends Pool<Entity> {
 				changedEntities.add(e);
 			}
 		}
+
+		LIVE.set(entities.size);
 	}
 
 	/**
@@ -113,6 +133,21 @@ public class EntityManager extends Pool<Entity> {
 
 	// region Overrides
 
+	/**
+	 * Takes an Entity from the pool, or creates one if the pool is empty.
+	 */
+	@Override
+	public Entity obtain() {
+		if (getFree() > 0)
+			POOL_HITS.increment();
+		else
+			POOL_MISSES.increment();
+
+		CREATED.increment();
+
+		return super.obtain();
+	}
+
 	/**
 	 * Adds a new Entity to the entity pool for re-use,etc.
 	 */
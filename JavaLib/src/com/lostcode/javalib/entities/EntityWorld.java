@@ -13,18 +13,27 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.lostcode.javalib.entities.components.Component;
+import com.lostcode.javalib.entities.components.render.ParticleEffectLibrary;
+import com.lostcode.javalib.entities.navigation.Navigation;
 import com.lostcode.javalib.entities.systems.generic.EntitySpawnerSystem;
 import com.lostcode.javalib.entities.systems.physical.EntityRemovalSystem;
 import com.lostcode.javalib.entities.systems.physical.ParticleSystem;
+import com.lostcode.javalib.entities.systems.render.AnimationSystem;
 import com.lostcode.javalib.entities.systems.render.DebugRenderSystem;
 import com.lostcode.javalib.entities.systems.render.RenderSystem;
 import com.lostcode.javalib.entities.templates.EntityCreationArgs;
 import com.lostcode.javalib.entities.templates.EntityGroupTemplate;
 import com.lostcode.javalib.entities.templates.EntityTemplate;
+import com.lostcode.javalib.entities.tiles.TileCollisionLayer;
+import com.lostcode.javalib.entities.tiles.TileMapStreamer;
 import com.lostcode.javalib.entities.tiles.TileMapTemplate;
+import com.lostcode.javalib.utils.Clock;
 import com.lostcode.javalib.utils.Convert;
+import com.lostcode.javalib.utils.GdxClock;
 import com.lostcode.javalib.utils.LogManager;
+import com.lostcode.javalib.utils.Profiler;
 import com.lostcode.javalib.utils.Random;
+import com.lostcode.javalib.utils.RenderPipeline;
 import com.lostcode.javalib.utils.SpriteSheet;
 
 /**
@@ -40,6 +49,11 @@ public abstract class EntityWorld implements Disposable {
 
 	// region Fields
 
+	private static final LogManager.Handle GAME_LOOP = LogManager
+			.getHandle("Game Loop");
+	private static final LogManager.Handle ENTITIES = LogManager
+			.getHandle("Entities");
+
 	private Random r = new Random();
 
 	private boolean gameOver = false;
@@ -50,6 +64,23 @@ public abstract class EntityWorld implements Disposable {
 
 	private float timeCoefficient = 1;
 
+	private long nextSerial = 0;
+
+	private Clock clock = new GdxClock();
+	private float deltaSeconds;
+
+	private final Profiler profiler = new Profiler();
+	private final int contactsScope = profiler.registerScope("Contacts");
+	private final int systemsScope = profiler.registerScope("Systems");
+	private final int entitiesScope = profiler.registerScope("Entities");
+	private final int processesScope = profiler.registerScope("Processes");
+	private final int activeRegionScope = profiler.registerScope("Active Region");
+	private final int mapStreamingScope = profiler.registerScope("Map Streaming");
+	private final int tileCollisionScope = profiler.registerScope("Tile Collision");
+	private final int navigationScope = profiler.registerScope("Navigation");
+	private final int physicsScope = profiler.registerScope("Physics");
+	private final int renderScope = profiler.registerScope("Render");
+
 	/** The InputMultiplexer managing this world's game. */
 	protected InputMultiplexer input;
 
@@ -68,6 +99,18 @@ public abstract class EntityWorld implements Disposable {
 	/** This world's {@link PhysicsWorld} */
 	protected PhysicsWorld physicsWorld;
 
+	/** This world's {@link ActiveRegion}. */
+	protected ActiveRegion activeRegion;
+
+	/** The {@link TileMapStreamer} streaming this world's map, if any. */
+	protected TileMapStreamer mapStreamer;
+
+	/** The {@link Navigation} over this world's map, if any. */
+	protected Navigation navigation;
+
+	/** The {@link TileCollisionLayer}s of this world's maps. */
+	protected Array<TileCollisionLayer> collisionLayers = new Array<TileCollisionLayer>();
+
 	/** The world's {@link ContactManager}. */
 	protected ContactManager contactManager;
 
@@ -77,6 +120,14 @@ public abstract class EntityWorld implements Disposable {
 	/** The {@link SpriteSheet} used for this game. */
 	protected SpriteSheet spriteSheet;
 
+	/** The particle effects loaded for this world. */
+	protected ParticleEffectLibrary particleEffects = new ParticleEffectLibrary();
+
+	/** The {@link RenderPipeline} this world's render systems draw into. */
+	protected RenderPipeline renderPipeline = new RenderPipeline();
+
+	private boolean ownsRenderPipeline = true;
+
 	// endregion
 
 	// region Initialization
@@ -107,6 +158,7 @@ public abstract class EntityWorld implements Disposable {
 		this.camera = camera;
 
 		physicsWorld = new PhysicsWorld(gravity);
+		activeRegion = new ActiveRegion(this);
 		contactManager = new ContactManager(this);
 		processes = new ProcessManager();
 
@@ -116,7 +168,7 @@ public abstract class EntityWorld implements Disposable {
 		buildEntities();
 		positionCamera();
 		
-		LogManager.debug("Game Loop", "*****WORLD INITIALIZED*****");
+		GAME_LOOP.debug("*****WORLD INITIALIZED*****");
 	}
 
 	/**
@@ -136,6 +188,7 @@ public abstract class EntityWorld implements Disposable {
 	protected void buildSystems() {
 
 		// RENDER
+		systems.addSystem(new AnimationSystem()); // Before drawing
 		systems.addSystem(new RenderSystem(camera));
 		debugView = (DebugRenderSystem) systems
 				.addSystem(new DebugRenderSystem(input, getBox2DWorld(),
@@ -181,10 +234,20 @@ public abstract class EntityWorld implements Disposable {
 			groupTemplate.dispose();
 		}
 
+		if (mapStreamer != null)
+			mapStreamer.dispose();
+
+		if (navigation != null)
+			navigation.dispose();
+
 		systems.dispose();
+		particleEffects.dispose();
+
+		if (ownsRenderPipeline)
+			renderPipeline.dispose();
 		physicsWorld.dispose();
 
-		LogManager.debug("Game Loop", "*****WORLD DISPOSED*****");
+		GAME_LOOP.debug("*****WORLD DISPOSED*****");
 		
 	}
 
@@ -218,6 +281,31 @@ public abstract class EntityWorld implements Disposable {
 		this.timeCoefficient = timeCoefficient;
 	}
 
+	/**
+	 * @return The {@link Clock} this world reads frame time from.
+	 */
+	public Clock getClock() {
+		return clock;
+	}
+
+	/**
+	 * Sets the {@link Clock} this world reads frame time from.
+	 * 
+	 * @param clock
+	 *            The new clock.
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * @return The seconds being simulated by the current (or last) call of
+	 *         process(), with the time coefficient applied.
+	 */
+	public float getDeltaSeconds() {
+		return deltaSeconds;
+	}
+
 	/**
 	 * @return This world's boundaries, in meters.
 	 */
@@ -230,6 +318,81 @@ public abstract class EntityWorld implements Disposable {
 		return physicsWorld;
 	}
 
+	/**
+	 * @return This world's {@link ActiveRegion}, which deactivates distant
+	 *         bodies when enabled.
+	 */
+	public ActiveRegion getActiveRegion() {
+		return activeRegion;
+	}
+
+	/**
+	 * @return The {@link TileMapStreamer} streaming this world's map, or null.
+	 */
+	public TileMapStreamer getMapStreamer() {
+		return mapStreamer;
+	}
+
+	/**
+	 * Sets the {@link TileMapStreamer} that streams this world's map. It is
+	 * processed every frame, before the physics step.
+	 * 
+	 * @param mapStreamer
+	 *            The streamer, or null to stop streaming. A replaced streamer
+	 *            is not disposed.
+	 */
+	public void setMapStreamer(TileMapStreamer mapStreamer) {
+		this.mapStreamer = mapStreamer;
+	}
+
+	/**
+	 * @return The {@link Navigation} over this world's map, or null.
+	 */
+	public Navigation getNavigation() {
+		return navigation;
+	}
+
+	/**
+	 * Sets the {@link Navigation} over this world's map. Its queued path
+	 * requests are processed every frame, within its time budget.
+	 * 
+	 * @param navigation
+	 *            The navigation, or null. A replaced navigation is not
+	 *            disposed.
+	 */
+	public void setNavigation(Navigation navigation) {
+		this.navigation = navigation;
+	}
+
+	/**
+	 * Adds a {@link TileCollisionLayer}, whose dirty regions will be rebuilt
+	 * every frame, before the physics step.
+	 * 
+	 * @param collisionLayer
+	 *            The collision layer.
+	 */
+	public void addCollisionLayer(TileCollisionLayer collisionLayer) {
+		collisionLayers.add(collisionLayer);
+	}
+
+	/**
+	 * Removes a {@link TileCollisionLayer}.
+	 * 
+	 * @param collisionLayer
+	 *            The collision layer.
+	 */
+	public void removeCollisionLayer(TileCollisionLayer collisionLayer) {
+		collisionLayers.removeValue(collisionLayer, true);
+	}
+
+	/**
+	 * @return The {@link Profiler} timing each phase of this world's
+	 *         processing and each of its systems.
+	 */
+	public Profiler getProfiler() {
+		return profiler;
+	}
+
 	/**
 	 * @return The {@link SpriteSheet} used for this game.
 	 */
@@ -237,6 +400,39 @@ public abstract class EntityWorld implements Disposable {
 		return spriteSheet;
 	}
 
+	/**
+	 * @return The particle effects loaded for this world. Load effects while
+	 *         building templates, so spawning them doesn't touch the disk.
+	 */
+	public ParticleEffectLibrary getParticleEffects() {
+		return particleEffects;
+	}
+
+	/**
+	 * @return The {@link RenderPipeline} this world's render systems draw
+	 *         into.
+	 */
+	public RenderPipeline getRenderPipeline() {
+		return renderPipeline;
+	}
+
+	/**
+	 * Makes this world's render systems draw into a shared pipeline, such as
+	 * the game's, so the world and the screens above it are drawn with one
+	 * batch. The world then leaves rendering and disposing the pipeline to
+	 * its owner.
+	 * 
+	 * @param renderPipeline
+	 *            The shared pipeline.
+	 */
+	public void setRenderPipeline(RenderPipeline renderPipeline) {
+		if (ownsRenderPipeline)
+			this.renderPipeline.dispose();
+
+		this.renderPipeline = renderPipeline;
+		ownsRenderPipeline = false;
+	}
+
 	/**
 	 * @return This world's Box2D {@link World}.
 	 */
@@ -265,6 +461,13 @@ public abstract class EntityWorld implements Disposable {
 		return entities.getEntities().size;
 	}
 
+	/**
+	 * @return This world's {@link EntityManager}.
+	 */
+	public EntityManager getEntityManager() {
+		return entities;
+	}
+
 	/**
 	 * @return This world's {@link ProcessManager}.
 	 */
@@ -328,27 +531,74 @@ public abstract class EntityWorld implements Disposable {
 	 */
 	public void process() {
 
-		LogManager.debug("Game Loop", "Collision handling started");
+		profiler.beginFrame();
+
+		deltaSeconds = clock.getDeltaTime() * timeCoefficient;
+
+		GAME_LOOP.debug("Collision handling started");
+		profiler.begin(contactsScope);
 		contactManager.process();
-		LogManager.debug("Game Loop", "Collision handling finished");
+		profiler.end(contactsScope);
+		GAME_LOOP.debug("Collision handling finished");
 		
-		LogManager.debug("Game Loop", "System processing started");
+		GAME_LOOP.debug("System processing started");
+		profiler.begin(systemsScope);
 		systems.process(entities.getNewEntities(),
 				entities.getChangedEntities(), entities.getRemovedEntities(),
-				Gdx.graphics.getDeltaTime() * timeCoefficient);
-		LogManager.debug("Game Loop", "System processing ended");
+				deltaSeconds);
+		profiler.end(systemsScope);
+		GAME_LOOP.debug("System processing ended");
+
+		// A shared pipeline is rendered by its owner instead.
+		if (ownsRenderPipeline) {
+			profiler.begin(renderScope);
+			renderPipeline.render();
+			profiler.end(renderScope);
+		}
 		
-		LogManager.debug("Game Loop", "Entity management started");
+		GAME_LOOP.debug("Entity management started");
+		profiler.begin(entitiesScope);
 		entities.process();
-		LogManager.debug("Game Loop", "Entity management finished");
+		profiler.end(entitiesScope);
+		GAME_LOOP.debug("Entity management finished");
 		
-		LogManager.debug("Game Loop", "Process management started");
-		processes.process(this, Gdx.graphics.getDeltaTime() * timeCoefficient);
-		LogManager.debug("Game Loop", "Process management finished");
+		GAME_LOOP.debug("Process management started");
+		profiler.begin(processesScope);
+		processes.process(this, deltaSeconds);
+		profiler.end(processesScope);
+		GAME_LOOP.debug("Process management finished");
 		
-		LogManager.debug("Game Loop", "Physics simulation started");
-		physicsWorld.process(Gdx.graphics.getDeltaTime() * timeCoefficient);
-		LogManager.debug("Game Loop", "Physics simulation finished");
+		profiler.begin(activeRegionScope);
+		activeRegion.process(deltaSeconds);
+		profiler.end(activeRegionScope);
+
+		if (mapStreamer != null) {
+			profiler.begin(mapStreamingScope);
+			mapStreamer.process(deltaSeconds);
+			profiler.end(mapStreamingScope);
+		}
+
+		if (navigation != null) {
+			profiler.begin(navigationScope);
+			navigation.process(deltaSeconds);
+			profiler.end(navigationScope);
+		}
+
+		if (collisionLayers.size > 0) {
+			profiler.begin(tileCollisionScope);
+			for (int i = 0; i < collisionLayers.size; i++) {
+				collisionLayers.get(i).update();
+			}
+			profiler.end(tileCollisionScope);
+		}
+
+		GAME_LOOP.debug("Physics simulation started");
+		profiler.begin(physicsScope);
+		physicsWorld.process(deltaSeconds);
+		profiler.end(physicsScope);
+		GAME_LOOP.debug("Physics simulation finished");
+
+		profiler.endFrame();
 	}
 
 	// endregion
@@ -375,14 +625,36 @@ public abstract class EntityWorld implements Disposable {
 		}
 		
 		e = templates.get(template).buildEntity(e, this, args); //initialize from template
+		e.setOrigin(nextSerial++, template, args);
 
 		entities.add(e);
 		
-		LogManager.debug("Entities", "Entity created");
+		ENTITIES.debug("Entity created");
 		
 		return e;
 	}
 
+	/**
+	 * Re-creates an {@link Entity} that existed earlier, keeping its original
+	 * serial number. Used when restoring snapshots.
+	 * 
+	 * @param serial
+	 *            The entity's original serial number.
+	 * @param template
+	 *            The tag of the template that originally built it.
+	 * @param args
+	 *            The arguments originally passed to the template.
+	 * @return The re-created entity.
+	 */
+	public Entity recreateEntity(long serial, String template, Object[] args) {
+		Entity e = createEntity(template, args);
+		e.setOrigin(serial, template, args);
+
+		nextSerial = Math.max(nextSerial, serial + 1);
+
+		return e;
+	}
+
 	/**
 	 * Creates a group of Entities using the {@link EntityGroupTemplate}
 	 * associated with the given tag.
@@ -398,6 +670,7 @@ public abstract class EntityWorld implements Disposable {
 				args);
 
 		for (Entity e : group) {
+			e.setOrigin(nextSerial++, null, null);
 			entities.add(e); // Add the group to the physicsWorld.
 		}
 
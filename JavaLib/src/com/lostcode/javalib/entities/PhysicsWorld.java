@@ -1,13 +1,29 @@
 package com.lostcode.javalib.entities;
 
+import java.util.Arrays;
+
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.RayCastCallback;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.lostcode.javalib.utils.metrics.Counter;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
 
 /**
  * Wrapper class of Box2D {@link World}. Manages the world's time step using the
  * method described <a
  * href="http://gafferongames.com/game-physics/fix-your-timestep/">here</a>.
+ * The world is only ever advanced in fixed steps. The transforms of every body
+ * before and after the last step are kept in packed arrays, so that rendering
+ * can interpolate between them using {@link #getElapsedRatio()}. The bodies
+ * that moved since the frame that stepped before are listed as well, so that
+ * nothing has to check every body for movement again.
  * 
  * @author Natman64
  * 
@@ -22,17 +38,48 @@ public final class PhysicsWorld implements Disposable {
 	/** The maximum number of steps per processing loop. */
 	private static final int MAX_STEPS = 5;
 
+	/**
+	 * The number of floats stored per body in the state arrays: x, y and
+	 * angle.
+	 */
+	public static final int STATE_SIZE = 3;
+
 	// endregion
 
 	// region Fields
 
+	private static final Gauge BODIES = MetricsRegistry.getDefault().gauge(
+			"javalib_physics_bodies", "Bodies in the Box2D world");
+	private static final Gauge CONTACTS = MetricsRegistry.getDefault()
+			.gauge("javalib_physics_contacts",
+					"Contacts in the Box2D world after the last step");
+	private static final Gauge STEPS = MetricsRegistry.getDefault().gauge(
+			"javalib_physics_steps_per_frame",
+			"Physics steps taken during the last frame");
+	private static final Counter RAYCASTS = MetricsRegistry.getDefault()
+			.counter("javalib_physics_raycasts_total",
+					"Raycasts and particle sweeps performed");
+	private static final Gauge FRAME_RAYCASTS = MetricsRegistry
+			.getDefault().gauge("javalib_physics_raycasts_per_frame",
+					"Raycasts and particle sweeps during the last frame");
+
 	private World world;
+	private int raycastCount;
 	private int velocityIterations;
 	private int positionIterations;
 
 	private float elapsedTime;
 	private float elapsedRatio;
 
+	private final Array<Body> snapshotBodies = new Array<Body>();
+	private final ObjectIntMap<Body> snapshotIndices = new ObjectIntMap<Body>();
+	private float[] previousStates = new float[STATE_SIZE * 64];
+	private float[] currentStates = new float[STATE_SIZE * 64];
+	private float[] lastStates = new float[STATE_SIZE * 64];
+	private final Array<Body> movedBodies = new Array<Body>(false, 16);
+	private int captureCount;
+	private int staticGeneration;
+
 	// endregion
 
 	// region Initialization
@@ -94,13 +141,147 @@ public final class PhysicsWorld implements Disposable {
 	}
 
 	/**
-	 * @return The remainder of the previous delta time that has not yet been
-	 *         processed by the physics simulation.
+	 * @return The fraction of a time step that has accumulated but not yet
+	 *         been simulated. Used to interpolate between the previous and
+	 *         current body states.
 	 */
 	public float getElapsedRatio() {
 		return elapsedRatio;
 	}
 
+	/**
+	 * @return The seconds accumulated that have not yet been simulated.
+	 */
+	public float getAccumulatedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Sets the seconds accumulated that have not yet been simulated. Used when
+	 * restoring a snapshot.
+	 * 
+	 * @param accumulatedTime
+	 *            The accumulated seconds.
+	 */
+	public void setAccumulatedTime(float accumulatedTime) {
+		elapsedTime = accumulatedTime;
+		elapsedRatio = elapsedTime / TIME_STEP;
+	}
+
+	/**
+	 * @return The bodies whose states were captured by the last step, in the
+	 *         same order as the state arrays.
+	 */
+	public Array<Body> getSnapshotBodies() {
+		return snapshotBodies;
+	}
+
+	/**
+	 * @return The number of bodies whose states were captured by the last
+	 *         step.
+	 */
+	public int getSnapshotCount() {
+		return snapshotBodies.size;
+	}
+
+	/**
+	 * @return Packed body states (x, y, angle) from before the last step.
+	 *         Only the first {@link #getSnapshotCount()} *
+	 *         {@link #STATE_SIZE} values are valid.
+	 */
+	public float[] getPreviousStates() {
+		return previousStates;
+	}
+
+	/**
+	 * @return Packed body states (x, y, angle) from after the last step.
+	 *         Only the first {@link #getSnapshotCount()} *
+	 *         {@link #STATE_SIZE} values are valid.
+	 */
+	public float[] getCurrentStates() {
+		return currentStates;
+	}
+
+	/**
+	 * @return The bodies whose position or angle changed between the last two
+	 *         frames that stepped the world, including bodies that are new.
+	 *         Bodies moved without being stepped, such as sleeping bodies that
+	 *         were teleported, are listed once the world steps again.
+	 */
+	public Array<Body> getMovedBodies() {
+		return movedBodies;
+	}
+
+	/**
+	 * @return The number of frames that have stepped the world. The moved
+	 *         bodies only change when this does.
+	 */
+	public int getCaptureCount() {
+		return captureCount;
+	}
+
+	/**
+	 * @param body
+	 *            The Box2D body.
+	 * @return How far the body moved during the last step, in meters, or 0 if
+	 *         its snapshot is missing or stale. Interpolated positions are
+	 *         never farther than this from the body's position.
+	 */
+	public float getStepDistance(Body body) {
+		int i = snapshotIndex(body);
+
+		if (i < 0)
+			return 0f;
+
+		float dx = currentStates[i] - previousStates[i];
+		float dy = currentStates[i + 1] - previousStates[i + 1];
+
+		return (float) Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * Interpolates a body's position between its previous and current states.
+	 * Bodies that have not been stepped yet, or that have been moved since the
+	 * last step, report their actual position.
+	 * 
+	 * @param body
+	 *            The Box2D body.
+	 * @param out
+	 *            The vector that will hold the result.
+	 * @return out, for chaining.
+	 */
+	public Vector2 getInterpolatedPosition(Body body, Vector2 out) {
+		Vector2 position = body.getPosition();
+		int i = snapshotIndex(body);
+
+		if (i < 0)
+			return out.set(position);
+
+		float x = previousStates[i];
+		float y = previousStates[i + 1];
+
+		return out.set(x + (currentStates[i] - x) * elapsedRatio, y
+				+ (currentStates[i + 1] - y) * elapsedRatio);
+	}
+
+	/**
+	 * Interpolates a body's angle between its previous and current states.
+	 * 
+	 * @param body
+	 *            The Box2D body.
+	 * @return The interpolated angle, in radians.
+	 */
+	public float getInterpolatedAngle(Body body) {
+		int i = snapshotIndex(body);
+
+		if (i < 0)
+			return body.getAngle();
+
+		float angle = previousStates[i + 2];
+
+		return angle + (currentStates[i + 2] - angle) * elapsedRatio;
+	}
+
 	/**
 	 * @return The number of velocity iterations
 	 */
@@ -166,14 +347,103 @@ public final class PhysicsWorld implements Disposable {
 											// of doom
 
 		for (int i = 0; i < steps; i++) {
+			if (i == steps - 1)
+				capturePreviousStates();
+
 			singleStep();
 		}
 
-		world.step(elapsedTime, velocityIterations, positionIterations);
-		elapsedTime = 0f; //This is temporary to fix temporal aliasing
-		
+		if (steps > 0)
+			captureCurrentStates();
+
 		world.clearForces();
-		
+
+		STEPS.set(steps);
+		BODIES.set(world.getBodyCount());
+		CONTACTS.set(world.getContactCount());
+		FRAME_RAYCASTS.set(raycastCount);
+		raycastCount = 0;
+	}
+
+	/**
+	 * Casts a ray through the world. Use this rather than the Box2D world's
+	 * rayCast() so that raycasts are counted by the metrics.
+	 * 
+	 * @param callback
+	 *            Called for each fixture the ray hits.
+	 * @param point1
+	 *            The start of the ray, in meters.
+	 * @param point2
+	 *            The end of the ray, in meters.
+	 */
+	public void rayCast(RayCastCallback callback, Vector2 point1,
+			Vector2 point2) {
+		raycastCount++;
+		RAYCASTS.increment();
+
+		world.rayCast(callback, point1, point2);
+	}
+
+	/**
+	 * Counts raycasts that were performed without {@link #rayCast}, such as
+	 * the sweeps of a ParticleCollisionGrid, in the metrics.
+	 * 
+	 * @param count
+	 *            The number of raycasts.
+	 */
+	public void countRaycasts(int count) {
+		raycastCount += count;
+		RAYCASTS.add(count);
+	}
+
+	// endregion
+
+	// region Bodies
+
+	/**
+	 * Creates a body. Use this rather than the Box2D world's createBody() for
+	 * static bodies, so that geometry caches see the change.
+	 * 
+	 * @param bodyDef
+	 *            The definition of the body.
+	 * @return The body.
+	 */
+	public Body createBody(BodyDef bodyDef) {
+		if (bodyDef.type == BodyType.StaticBody)
+			staticGeneration++;
+
+		return world.createBody(bodyDef);
+	}
+
+	/**
+	 * Destroys a body. Use this rather than the Box2D world's destroyBody()
+	 * for static bodies, so that geometry caches see the change.
+	 * 
+	 * @param body
+	 *            The body to destroy.
+	 */
+	public void destroyBody(Body body) {
+		if (body.getType() == BodyType.StaticBody)
+			staticGeneration++;
+
+		world.destroyBody(body);
+	}
+
+	/**
+	 * Marks the static geometry as changed. Needed when a static body is
+	 * moved or its fixtures change after the frame it was created in.
+	 */
+	public void invalidateStatic() {
+		staticGeneration++;
+	}
+
+	/**
+	 * @return A number that changes whenever static bodies are created,
+	 *         destroyed or invalidated. Box2D reuses body objects, so the set
+	 *         of static bodies can't tell a replaced body from the old one.
+	 */
+	public int getStaticGeneration() {
+		return staticGeneration;
 	}
 
 	// endregion
@@ -183,6 +453,89 @@ public final class PhysicsWorld implements Disposable {
 	private void singleStep() {
 		world.step(TIME_STEP, velocityIterations, positionIterations);
 	}
+
+	private void capturePreviousStates() {
+		world.getBodies(snapshotBodies);
+
+		int length = snapshotBodies.size * STATE_SIZE;
+
+		if (previousStates.length < length) {
+			int capacity = length + length / 2;
+
+			// The current states are still read below.
+			previousStates = new float[capacity];
+			currentStates = Arrays.copyOf(currentStates, capacity);
+			lastStates = new float[capacity];
+		}
+
+		for (int i = 0; i < snapshotBodies.size; i++) {
+			Body body = snapshotBodies.get(i);
+			Vector2 position = body.getPosition();
+			int index = i * STATE_SIZE;
+
+			// Where the last frame that stepped left the body.
+			int last = snapshotIndices.get(body, -1);
+
+			if (last >= 0)
+				System.arraycopy(currentStates, last, lastStates, index,
+						STATE_SIZE);
+			else
+				lastStates[index] = Float.NaN;
+
+			previousStates[index] = position.x;
+			previousStates[index + 1] = position.y;
+			previousStates[index + 2] = body.getAngle();
+		}
+
+		snapshotIndices.clear();
+
+		for (int i = 0; i < snapshotBodies.size; i++) {
+			snapshotIndices.put(snapshotBodies.get(i), i * STATE_SIZE);
+		}
+	}
+
+	private void captureCurrentStates() {
+		movedBodies.clear();
+
+		for (int i = 0; i < snapshotBodies.size; i++) {
+			Body body = snapshotBodies.get(i);
+			Vector2 position = body.getPosition();
+			int index = i * STATE_SIZE;
+
+			currentStates[index] = position.x;
+			currentStates[index + 1] = position.y;
+			currentStates[index + 2] = body.getAngle();
+
+			// New bodies have no last state, and NaN never compares equal.
+			if (currentStates[index] != lastStates[index]
+					|| currentStates[index + 1] != lastStates[index + 1]
+					|| currentStates[index + 2] != lastStates[index + 2])
+				movedBodies.add(body);
+		}
+
+		captureCount++;
+	}
+
+	/**
+	 * @return The index of a body's state, or -1 if its snapshot is missing or
+	 *         stale. Box2D recycles body objects, so a snapshot is only trusted
+	 *         while the body still sits where the last step left it.
+	 */
+	private int snapshotIndex(Body body) {
+		int i = snapshotIndices.get(body, -1);
+
+		if (i < 0)
+			return -1;
+
+		Vector2 position = body.getPosition();
+
+		if (position.x != currentStates[i]
+				|| position.y != currentStates[i + 1]
+				|| body.getAngle() != currentStates[i + 2])
+			return -1;
+
+		return i;
+	}
 	
 	public void setGravity(Vector2 gravity){
 		world.setGravity(gravity);
@@ -3,8 +3,11 @@ package com.lostcode.javalib.entities;
 import java.util.Iterator;
 
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
 import com.lostcode.javalib.entities.processes.Process;
 import com.lostcode.javalib.entities.processes.ProcessState;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
 
 /**
  * Manages all processes in a given EntityWorld.
@@ -16,7 +19,11 @@ public class ProcessManager {
 
 	// region Fields
 
+	private static final Gauge ACTIVE = MetricsRegistry.getDefault().gauge(
+			"javalib_processes", "Processes attached to the ProcessManager");
+
 	private Array<Process> attachedProcesses = new Array<Process>();
+	private final ObjectSet<Process> restoredProcesses = new ObjectSet<Process>();
 
 	// endregion
 
@@ -58,6 +65,75 @@ public class ProcessManager {
 		}
 	}
 
+	/**
+	 * @return The processes currently attached. Do not modify.
+	 */
+	public Array<Process> getProcesses() {
+		return attachedProcesses;
+	}
+
+	/**
+	 * Replaces the attached processes with a previously recorded set. Running
+	 * processes are restarted; ended ones will be cleaned up by the next call
+	 * of process(). Only the states are set here; a WorldSnapshot reads back
+	 * each process's own state first.
+	 * <p>
+	 * Running processes that aren't in the set or among its children are
+	 * ended as aborted, so they unlink from their entities' events, and their
+	 * onEnd() is called.
+	 * 
+	 * @param world
+	 *            The world the processes run in.
+	 * @param processes
+	 *            The processes to attach.
+	 * @param states
+	 *            The state of each process.
+	 */
+	public void restore(EntityWorld world, Array<Process> processes,
+			Array<ProcessState> states) {
+		for (int i = 0; i < processes.size; i++) {
+			addRestored(processes.get(i));
+		}
+
+		for (int i = 0; i < attachedProcesses.size; i++) {
+			Process p = attachedProcesses.get(i);
+
+			if (restoredProcesses.contains(p))
+				continue;
+
+			// Processes that already ended keep their state.
+			if (p.getState() == ProcessState.RUNNING)
+				p.end(ProcessState.ABORTED);
+
+			p.onEnd(world, p.getState());
+		}
+
+		restoredProcesses.clear();
+		attachedProcesses.clear();
+
+		for (int i = 0; i < processes.size; i++) {
+			Process p = processes.get(i);
+			ProcessState state = states.get(i);
+
+			attachedProcesses.add(p);
+
+			if (state == ProcessState.RUNNING)
+				p.start();
+			else
+				p.end(state);
+		}
+	}
+
+	private void addRestored(Process p) {
+		restoredProcesses.add(p);
+
+		Array<Process> children = p.getChildren();
+
+		for (int i = 0; i < children.size; i++) {
+			addRestored(children.get(i));
+		}
+	}
+
 	// endregion
 
 	// region Processing
@@ -91,6 +167,8 @@ public class ProcessManager {
 				i.remove();
 			}
 		}
+
+		ACTIVE.set(attachedProcesses.size);
 	}
 
 	// endregion
@@ -0,0 +1,180 @@
+package com.lostcode.javalib.entities;
+
+import com.lostcode.javalib.utils.Clock;
+import com.lostcode.javalib.utils.FixedClock;
+
+/**
+ * Steps an {@link EntityWorld} a given number of ticks as fast as possible,
+ * using a {@link FixedClock} and with render systems excluded. Useful for
+ * server-side simulation, soak tests and fast-forwarding matches.
+ * <p>
+ * The runner does not need a display, but libGDX must still be initialized.
+ * Without a window, create a HeadlessApplication (gdx-backend-headless) before
+ * constructing the world, and load the Box2D natives.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class SimulationRunner {
+
+	// region Fields
+
+	/** The default seconds simulated per tick. */
+	public static final float DEFAULT_STEP = 1 / 60f;
+
+	private final EntityWorld world;
+	private final FixedClock clock;
+
+	private long totalTicks;
+	private float simulatedSeconds;
+	private long elapsedNanos;
+
+	private int lastTicks;
+	private long lastNanos;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs a SimulationRunner that simulates {@link #DEFAULT_STEP}
+	 * seconds per tick.
+	 *
+	 * @param world
+	 *            The world to simulate.
+	 */
+	public SimulationRunner(EntityWorld world) {
+		this(world, DEFAULT_STEP);
+	}
+
+	/**
+	 * Constructs a SimulationRunner.
+	 *
+	 * @param world
+	 *            The world to simulate.
+	 * @param step
+	 *            The seconds simulated per tick.
+	 */
+	public SimulationRunner(EntityWorld world, float step) {
+		this.world = world;
+		this.clock = new FixedClock(step);
+	}
+
+	// endregion
+
+	// region Processing
+
+	/**
+	 * Processes the world for the given number of ticks, or until the game is
+	 * over. The world's clock and rendering state are restored afterwards.
+	 *
+	 * @param ticks
+	 *            The number of ticks to simulate.
+	 * @return The number of ticks that were actually simulated.
+	 */
+	public int run(int ticks) {
+		Clock previousClock = world.getClock();
+		SystemManager systems = world.getSystemManager();
+		boolean previousRendering = systems.isRenderingEnabled();
+
+		world.setClock(clock);
+		systems.setRenderingEnabled(false);
+
+		int tick = 0;
+		long start = System.nanoTime();
+
+		try {
+			for (; tick < ticks && !world.isGameOver(); tick++) {
+				world.process();
+			}
+		} finally {
+			lastNanos = System.nanoTime() - start;
+			lastTicks = tick;
+
+			totalTicks += tick;
+			simulatedSeconds += tick * world.getDeltaSeconds();
+			elapsedNanos += lastNanos;
+
+			world.setClock(previousClock);
+			systems.setRenderingEnabled(previousRendering);
+		}
+
+		return tick;
+	}
+
+	// endregion
+
+	// region Statistics
+
+	/**
+	 * @return The seconds simulated per tick.
+	 */
+	public float getStep() {
+		return clock.getStep();
+	}
+
+	/**
+	 * @param step
+	 *            The seconds simulated per tick.
+	 */
+	public void setStep(float step) {
+		clock.setStep(step);
+	}
+
+	/**
+	 * @return The total number of ticks simulated by this runner.
+	 */
+	public long getTotalTicks() {
+		return totalTicks;
+	}
+
+	/**
+	 * @return The total game seconds simulated by this runner.
+	 */
+	public float getSimulatedSeconds() {
+		return simulatedSeconds;
+	}
+
+	/**
+	 * @return The total real seconds spent simulating.
+	 */
+	public float getElapsedSeconds() {
+		return elapsedNanos / 1000000000f;
+	}
+
+	/**
+	 * @return The number of ticks simulated per real second during the last
+	 *         run.
+	 */
+	public float getTicksPerSecond() {
+		if (lastNanos == 0)
+			return 0f;
+
+		return lastTicks / (lastNanos / 1000000000f);
+	}
+
+	/**
+	 * @return How many times faster than real time the simulation has run
+	 *         overall.
+	 */
+	public float getSpeedup() {
+		if (elapsedNanos == 0)
+			return 0f;
+
+		return simulatedSeconds / getElapsedSeconds();
+	}
+
+	/**
+	 * Resets all statistics.
+	 */
+	public void resetStatistics() {
+		totalTicks = 0;
+		simulatedSeconds = 0f;
+		elapsedNanos = 0;
+		lastTicks = 0;
+		lastNanos = 0;
+	}
+
+	// endregion
+
+}
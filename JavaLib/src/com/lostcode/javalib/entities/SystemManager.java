@@ -1,14 +1,16 @@
 package com.lostcode.javalib.entities;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
 import com.lostcode.javalib.entities.systems.EntitySystem;
 import com.lostcode.javalib.utils.LogManager;
+import com.lostcode.javalib.utils.Profiler;
 
 /**
  * Manages all of the {@link EntityWorld}'s systems.
@@ -18,8 +20,16 @@ import com.lostcode.javalib.utils.LogManager;
  */
 public class SystemManager implements Disposable {
 
+	private static final LogManager.Handle LOG = LogManager
+			.getHandle("Systems");
+
 	private EntityWorld world;
 	private List<EntitySystem> systems = new ArrayList<EntitySystem>();
+	private IntArray profilerScopes = new IntArray();
+
+	private Map<String, Float> performance = new LinkedHashMap<String, Float>();
+
+	private boolean renderingEnabled = true;
 
 	// region Initialization/Disposal
 
@@ -42,6 +52,7 @@ public class SystemManager implements Disposable {
 			systems.get(i).dispose();
 			systems.remove(i);
 		}
+		profilerScopes.clear();
 	}
 
 	// endregion
@@ -71,10 +82,30 @@ public class SystemManager implements Disposable {
 		}
 
 		systems.add(system);
+		profilerScopes.add(world.getProfiler().registerScope(
+				system.getClass().getSimpleName()));
 
 		return system;
 	}
 
+	/**
+	 * @return Whether render systems are processed.
+	 */
+	public boolean isRenderingEnabled() {
+		return renderingEnabled;
+	}
+
+	/**
+	 * Sets whether render systems are processed. Render systems still track
+	 * their entities while disabled, so they can be enabled again at any time.
+	 * 
+	 * @param renderingEnabled
+	 *            Whether render systems should be processed.
+	 */
+	public void setRenderingEnabled(boolean renderingEnabled) {
+		this.renderingEnabled = renderingEnabled;
+	}
+
 	// endregion
 
 	// region Events
@@ -117,7 +148,10 @@ public class SystemManager implements Disposable {
 			Array<Entity> changedEntities, Array<Entity> removedEntities,
 			float deltaSeconds) {
 
-		for (EntitySystem system : systems) {
+		Profiler profiler = world.getProfiler();
+
+		for (int s = 0; s < systems.size(); s++) {
+			EntitySystem system = systems.get(s);
 
 			// Processes all of new Entities.
 			for (Entity e : newEntities) {
@@ -132,6 +166,8 @@ public class SystemManager implements Disposable {
 				if (system.isProcessing(e)) {
 					if (!system.canProcess(e)) {
 						system.remove(e);
+					} else {
+						system.onChanged(e);
 					}
 				} else {
 					if (system.canProcess(e)) {
@@ -150,39 +186,88 @@ public class SystemManager implements Disposable {
 				}
 			}
 
+			if (!renderingEnabled && system.isRenderSystem())
+				continue;
+
 			if (system.getInterval() > 0) {
 				system.addElapsedInterval(deltaSeconds);
 
 				if (system.getElapsedInterval() >= system.getInterval()) {
 					
-					LogManager.debug("Systems", system.getClass().getSimpleName() + " processing started");
-					system.processEntities();
-					LogManager.debug("Systems", system.getClass().getSimpleName() + " processing finished");
+					processSystem(system, profiler, profilerScopes.get(s));
 					
 					system.resetElapsedInterval();
 					
 				}
 			} else {
-				LogManager.debug("Systems", system.getClass().getSimpleName() + " processing started");
-				system.processEntities();
-				LogManager.debug("Systems", system.getClass().getSimpleName() + " processing finished");
+				processSystem(system, profiler, profilerScopes.get(s));
 			}
 
 		}
 
 	}
 
+	private void processSystem(EntitySystem system, Profiler profiler,
+			int scope) {
+		boolean debug = LOG.isDebugEnabled();
+
+		if (debug)
+			LOG.debug(system.getClass().getSimpleName() + " processing started");
+
+		long start = System.nanoTime();
+
+		profiler.begin(scope);
+		system.processEntities();
+		profiler.end(scope);
+
+		system.setProcessTime((System.nanoTime() - start) / 1000000000f);
+
+		if (debug)
+			LOG.debug(system.getClass().getSimpleName() + " processing finished");
+	}
+
 	// endregion
 
 	// region System Performance
 
 	/**
-	 * @return A map of system names with their respective delta times, for
-	 *         measuring performance.
+	 * @param system
+	 *            A system in this manager.
+	 * @return The ID of the {@link Profiler} scope timing the system, or -1 if
+	 *         the system isn't in this manager.
 	 */
-	public Map<String, Float> systemPerformance() {
-		Map<String, Float> performance = new HashMap<String, Float>();
+	public int getProfilerScope(EntitySystem system) {
+		int index = systems.indexOf(system);
+
+		return index >= 0 ? profilerScopes.get(index) : -1;
+	}
+
+	/**
+	 * Sets the bytes a system may allocate per frame while the profiler is
+	 * tracking allocations. Frames that go over are counted by
+	 * {@link Profiler#getBudgetViolations(int)}, and
+	 * {@link Profiler#checkAllocationBudgets()} reports them.
+	 * 
+	 * @param system
+	 *            A system in this manager.
+	 * @param bytes
+	 *            The budget, usually 0 for systems that run every frame, or -1
+	 *            for none.
+	 */
+	public void setAllocationBudget(EntitySystem system, long bytes) {
+		int scope = getProfilerScope(system);
 
+		if (scope >= 0)
+			world.getProfiler().setAllocationBudget(scope, bytes);
+	}
+
+	/**
+	 * @return A map of system names with the seconds each took during its last
+	 *         call, for measuring performance. The same map is updated and
+	 *         returned by every call; see {@link EntityWorld#getProfiler()}
+	 *         for more detailed timing.
+	 */
+	public Map<String, Float> systemPerformance() {
 		for (EntitySystem system : systems) {
 			performance.put(system.getClass().getSimpleName(),
 					system.processTime());
@@ -95,6 +95,14 @@ public abstract class ComponentManager {
 		return getComponent(type) != null;
 	}
 
+	/**
+	 * @return All of this container's components, in the order they were
+	 *         added. Do not modify.
+	 */
+	public Array<Component> getComponents() {
+		return components;
+	}
+
 	/**
 	 * Clears all of this manager's components.
 	 */
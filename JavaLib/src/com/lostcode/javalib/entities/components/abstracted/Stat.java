@@ -1,9 +1,12 @@
 package com.lostcode.javalib.entities.components.abstracted;
 
+import java.nio.ByteBuffer;
+
 import com.lostcode.javalib.entities.EntityWorld;
 import com.lostcode.javalib.entities.components.Component;
 import com.lostcode.javalib.entities.processes.Process;
 import com.lostcode.javalib.entities.processes.ProcessState;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 
 /**
  * Base class for Components such as a health bar, magic meter, or any other
@@ -12,11 +15,11 @@ import com.lostcode.javalib.entities.processes.ProcessState;
  * @author Natman64
  * 
  */
-public abstract class Stat implements Component {
+public abstract class Stat implements Component, Snapshotable {
 
 	// region Regeneration Process
 
-	private class RegenerationProcess extends Process {
+	private class RegenerationProcess extends Process implements Snapshotable {
 
 		private Stat stat;
 		private double rate;
@@ -36,6 +39,16 @@ public abstract class Stat implements Component {
 			stat.setCurrentValue(current);
 		}
 
+		@Override
+		public void writeSnapshot(ByteBuffer buffer) {
+			buffer.putDouble(rate);
+		}
+
+		@Override
+		public void readSnapshot(ByteBuffer buffer) {
+			rate = buffer.getDouble();
+		}
+
 		@Override
 		public void onEnd(EntityWorld world, ProcessState endState) {
 		}
@@ -201,6 +214,22 @@ public abstract class Stat implements Component {
 
 	// endregion
 
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putDouble(current);
+		buffer.putDouble(max);
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		current = buffer.getDouble(); // Assigned directly, so no events fire.
+		max = buffer.getDouble();
+	}
+
+	// endregion
+
 	// region Events
 
 	/**
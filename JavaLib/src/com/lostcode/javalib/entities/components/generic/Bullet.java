@@ -1,8 +1,11 @@
 package com.lostcode.javalib.entities.components.generic;
 
+import java.nio.ByteBuffer;
+
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.components.Component;
 import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 
 /**
  * Generic component for bullet Entities.
@@ -10,7 +13,7 @@ import com.lostcode.javalib.entities.components.ComponentManager;
  * @author MadcowD
  * @created Jul 23, 2013
  */
-public class Bullet implements Component {
+public class Bullet implements Component, Snapshotable {
 
 	// region Fields/Initialization
 
@@ -55,6 +58,22 @@ public class Bullet implements Component {
 
 	// endregion
 
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putFloat(damage);
+		buffer.putFloat(distance);
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		damage = buffer.getFloat();
+		distance = buffer.getFloat();
+	}
+
+	// endregion
+
 	// region Events
 
 	@Override
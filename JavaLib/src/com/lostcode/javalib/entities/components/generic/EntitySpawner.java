@@ -1,7 +1,10 @@
 package com.lostcode.javalib.entities.components.generic;
 
+import java.nio.ByteBuffer;
+
 import com.lostcode.javalib.entities.components.Component;
 import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 import com.lostcode.javalib.entities.templates.EntityCreationArgs;
 
 /**
@@ -10,7 +13,7 @@ import com.lostcode.javalib.entities.templates.EntityCreationArgs;
  * @author MadcowD
  * @created Jul 27, 2013
  */
-public class EntitySpawner implements Component {
+public class EntitySpawner implements Component, Snapshotable {
 
 	// region Fields
 
@@ -111,6 +114,22 @@ public class EntitySpawner implements Component {
 
 	// endregion
 
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putFloat(spawnDelay);
+		buffer.putFloat(elapsed);
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		spawnDelay = buffer.getFloat();
+		elapsed = buffer.getFloat();
+	}
+
+	// endregion
+
 	// region Events
 
 	@Override
@@ -1,5 +1,7 @@
 package com.lostcode.javalib.entities.components.physical;
 
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
@@ -8,6 +10,7 @@ import com.badlogic.gdx.physics.box2d.Shape;
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.EntityWorld;
 import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 import com.lostcode.javalib.utils.LogManager;
 
 /**
@@ -17,10 +20,16 @@ import com.lostcode.javalib.utils.LogManager;
  * @author Natman64
  * 
  */
-public class Body implements Transform, Velocity {
+public class Body implements Transform, Velocity, Snapshotable {
 
 	// region Fields/Initialization
 
+	/** Snapshot flags. */
+	private static final byte AWAKE = 1, ACTIVE = 2;
+
+	private static final LogManager.Handle LOG = LogManager
+			.getHandle("Physics");
+
 	private EntityWorld entityWorld;
 	private com.badlogic.gdx.physics.box2d.Body body;
 
@@ -46,10 +55,10 @@ public class Body implements Transform, Velocity {
 		bodyDef.type = bodyType;
 		bodyDef.position.set(position);
 
-		body = world.getBox2DWorld().createBody(bodyDef);
+		body = world.getPhysicsWorld().createBody(bodyDef);
 		body.setUserData(e);
 		
-		LogManager.debug("Physics", "Body Created");
+		LOG.debug("Body Created");
 
 		FixtureDef fixtureDef = new FixtureDef();
 		fixtureDef.shape = shape;
@@ -76,10 +85,10 @@ public class Body implements Transform, Velocity {
 		bodyDef.type = bodyType;
 		bodyDef.position.set(position);
 
-		body = world.getBox2DWorld().createBody(bodyDef);
+		body = world.getPhysicsWorld().createBody(bodyDef);
 		body.setUserData(e);
 		
-		LogManager.debug("Physics", "Body Created");
+		LOG.debug("Body Created");
 	}
 
 	/**
@@ -112,10 +121,10 @@ public class Body implements Transform, Velocity {
 	 */
 	public Body(EntityWorld world, Entity e, BodyDef bd) {
 		entityWorld = world;
-		body = world.getBox2DWorld().createBody(bd);
+		body = world.getPhysicsWorld().createBody(bd);
 		body.setUserData(e);
 		
-		LogManager.debug("Physics", "Body Created");
+		LOG.debug("Body Created");
 	}
 
 	// endregion
@@ -140,6 +149,21 @@ public class Body implements Transform, Velocity {
 		return pos;
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.set(body.getPosition());
+	}
+
+	@Override
+	public float getX() {
+		return body.getPosition().x;
+	}
+
+	@Override
+	public float getY() {
+		return body.getPosition().y;
+	}
+
 	@Override
 	public void setPosition(Vector2 position) {
 		body.setTransform(position, body.getAngle());
@@ -152,7 +176,7 @@ public class Body implements Transform, Velocity {
 
 	@Override
 	public void setRotation(float rotation) {
-		body.setTransform(getPosition(), rotation);
+		body.setTransform(body.getPosition(), rotation);
 	}
 
 	@Override
@@ -169,6 +193,11 @@ public class Body implements Transform, Velocity {
 		return body.getLinearVelocity();
 	}
 
+	@Override
+	public Vector2 getLinearVelocity(Vector2 out) {
+		return out.set(body.getLinearVelocity());
+	}
+
 	@Override
 	public void setLinearVelocity(Vector2 linearVelocity) {
 		body.setLinearVelocity(linearVelocity);
@@ -186,6 +215,42 @@ public class Body implements Transform, Velocity {
 
 	// endregion
 
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		Vector2 position = body.getPosition();
+		Vector2 velocity = body.getLinearVelocity();
+
+		buffer.putFloat(position.x);
+		buffer.putFloat(position.y);
+		buffer.putFloat(body.getAngle());
+		buffer.putFloat(velocity.x);
+		buffer.putFloat(velocity.y);
+		buffer.putFloat(body.getAngularVelocity());
+		buffer.put((byte) ((body.isAwake() ? AWAKE : 0) | (body.isActive() ? ACTIVE
+				: 0)));
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		float x = buffer.getFloat();
+		float y = buffer.getFloat();
+		float angle = buffer.getFloat();
+		float vx = buffer.getFloat();
+		float vy = buffer.getFloat();
+		float angularVelocity = buffer.getFloat();
+		byte flags = buffer.get();
+
+		body.setTransform(x, y, angle);
+		body.setLinearVelocity(vx, vy);
+		body.setAngularVelocity(angularVelocity);
+		body.setActive((flags & ACTIVE) != 0);
+		body.setAwake((flags & AWAKE) != 0);
+	}
+
+	// endregion
+
 	// region Events
 
 	@Override
@@ -195,9 +260,9 @@ public class Body implements Transform, Velocity {
 
 	@Override
 	public void onRemove(ComponentManager container) {
-		entityWorld.getBox2DWorld().destroyBody(body);
+		entityWorld.getPhysicsWorld().destroyBody(body);
 		
-		LogManager.debug("Physics", "Body Destroyed");
+		LOG.debug("Body Destroyed");
 	}
 
 	// endregion
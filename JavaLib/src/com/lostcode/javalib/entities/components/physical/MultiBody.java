@@ -35,6 +35,11 @@ public class MultiBody extends MultiComponent<Body> implements Transform,
 		return base.getLinearVelocity();
 	}
 
+	@Override
+	public Vector2 getLinearVelocity(Vector2 out) {
+		return base.getLinearVelocity(out);
+	}
+
 	@Override
 	public void setLinearVelocity(Vector2 linearVelocity) {
 		for (Body child : children) {
@@ -63,6 +68,21 @@ public class MultiBody extends MultiComponent<Body> implements Transform,
 		return base.getPosition();
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return base.getPosition(out);
+	}
+
+	@Override
+	public float getX() {
+		return base.getX();
+	}
+
+	@Override
+	public float getY() {
+		return base.getY();
+	}
+
 	@Override
 	public void setPosition(Vector2 position) {
 		Vector2 offset = position.cpy().sub(base.getPosition());
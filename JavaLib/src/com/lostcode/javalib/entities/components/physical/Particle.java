@@ -1,14 +1,17 @@
 package com.lostcode.javalib.entities.components.physical;
 
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.math.Vector2;
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 
 /**
  * @author MadcowD
  * @created Jul 23, 2013 The particle class.
  */
-public class Particle implements Velocity, Transform {
+public class Particle implements Velocity, Transform, Snapshotable {
 
 	// region Fields
 
@@ -38,7 +41,7 @@ public class Particle implements Velocity, Transform {
 
 		this.origin = origin;
 		this.rotation = rotation;
-		this.position = position;
+		this.position = position.cpy();
 	}
 
 	/**
@@ -62,9 +65,36 @@ public class Particle implements Velocity, Transform {
 		return position.cpy();
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.set(position);
+	}
+
+	@Override
+	public float getX() {
+		return position.x;
+	}
+
+	@Override
+	public float getY() {
+		return position.y;
+	}
+
 	@Override
 	public void setPosition(Vector2 position) {
-		this.position = position;
+		this.position.set(position);
+	}
+
+	/**
+	 * Sets the position of this Particle without allocating.
+	 * 
+	 * @param x
+	 *            The x coordinate.
+	 * @param y
+	 *            The y coordinate.
+	 */
+	public void setPosition(float x, float y) {
+		position.set(x, y);
 	}
 
 	@Override
@@ -91,6 +121,11 @@ public class Particle implements Velocity, Transform {
 		return linearVelocity.cpy();
 	}
 
+	@Override
+	public Vector2 getLinearVelocity(Vector2 out) {
+		return out.set(linearVelocity);
+	}
+
 	@Override
 	public void setLinearVelocity(Vector2 linearVelocity) {
 		this.linearVelocity = linearVelocity.cpy();
@@ -108,6 +143,28 @@ public class Particle implements Velocity, Transform {
 
 	// endregion
 
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putFloat(position.x);
+		buffer.putFloat(position.y);
+		buffer.putFloat(rotation);
+		buffer.putFloat(linearVelocity.x);
+		buffer.putFloat(linearVelocity.y);
+		buffer.putFloat(angularVelocity);
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		position.set(buffer.getFloat(), buffer.getFloat());
+		rotation = buffer.getFloat();
+		linearVelocity.set(buffer.getFloat(), buffer.getFloat());
+		angularVelocity = buffer.getFloat();
+	}
+
+	// endregion
+
 	// region Events
 
 	@Override
@@ -21,6 +21,9 @@ public class Sensor implements Component {
 
 	// region Fields
 
+	private static final LogManager.Handle LOG = LogManager
+			.getHandle("SENSOR");
+
 	private final Array<Entity> entitiesInView = new Array<Entity>();
 
 	/**
@@ -100,8 +103,8 @@ public class Sensor implements Component {
 	public void onEscaped(Entity e, final EntityWorld world) {
 		entitiesInView.removeValue(e, true);
 
-		LogManager.debug("SENSOR", "E: " + e.getTag() + " escaped to Sensor"
-				+ this);
+		if (LOG.isDebugEnabled())
+			LOG.debug("E: " + e.getTag() + " escaped to Sensor" + this);
 
 		e.onDeleted.removeCallback(this);
 	}
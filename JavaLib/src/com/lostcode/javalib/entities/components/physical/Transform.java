@@ -14,6 +14,25 @@ public interface Transform extends Component {
 	 */
 	public Vector2 getPosition();
 
+	/**
+	 * Copies the position of this Transform without allocating.
+	 * 
+	 * @param out
+	 *            The vector to store the position in.
+	 * @return out, for chaining.
+	 */
+	public Vector2 getPosition(Vector2 out);
+
+	/**
+	 * @return The x coordinate of this Transform's position.
+	 */
+	public float getX();
+
+	/**
+	 * @return The y coordinate of this Transform's position.
+	 */
+	public float getY();
+
 	/**
 	 * Sets the position of this Transform.
 	 * 
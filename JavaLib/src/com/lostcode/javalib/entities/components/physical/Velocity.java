@@ -17,6 +17,15 @@ public interface Velocity extends Component {
 	 */
 	public Vector2 getLinearVelocity();
 
+	/**
+	 * Copies the linear velocity without allocating.
+	 * 
+	 * @param out
+	 *            The vector to store the velocity in.
+	 * @return out, for chaining.
+	 */
+	public Vector2 getLinearVelocity(Vector2 out);
+
 	/**
 	 * Sets linear velocity
 	 * 
@@ -0,0 +1,26 @@
+package com.lostcode.javalib.entities.components.render;
+
+import com.lostcode.javalib.entities.components.Component;
+
+/**
+ * A component whose clock is advanced by the AnimationSystem every frame,
+ * separately from drawing, so it keeps running while it is culled.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public interface Animated extends Component {
+
+	/**
+	 * Advances the clock. Components that are expensive to update may only
+	 * collect the time while they aren't drawn, until an interval has been
+	 * collected.
+	 *
+	 * @param deltaSeconds
+	 *            The number of seconds to advance by.
+	 * @param hiddenInterval
+	 *            The number of seconds between updates while hidden.
+	 */
+	public void advance(float deltaSeconds, float hiddenInterval);
+
+}
@@ -3,6 +3,7 @@ package com.lostcode.javalib.entities.components.render;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -14,10 +15,17 @@ import com.lostcode.javalib.utils.SpriteSheet;
  * A sprite that contains multiple Animations, each mapped to a String showing
  * the state which that animation represents. (Jumping, running, etc.)
  * 
+ * Once the AnimationSystem advances the clock, drawing no longer does, so
+ * the animation keeps running while it is culled.
+ * 
+ * For many animated entities, an {@link AnimationController} is cheaper: its
+ * states are shared, switched by integer ID, and only advanced every hidden
+ * interval while they aren't drawn.
+ * 
  * @author Natman64
  * 
  */
-public class AnimatedSprite implements Renderable {
+public class AnimatedSprite implements Renderable, Batchable, Animated {
 
 	// region Fields
 
@@ -34,6 +42,7 @@ public class AnimatedSprite implements Renderable {
 	private int layer = 0;
 
 	private boolean pause = false;
+	private boolean advanced = false;
 
 	// endregion
 
@@ -164,21 +173,57 @@ public class AnimatedSprite implements Renderable {
 						.getRegionHeight() / 2));
 	}
 	
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		TextureRegion region = getCurrentFrame(0f);
+		return out.set(position).add(region.getRegionWidth() / 2,
+				region.getRegionHeight() / 2);
+	}
+
 	@Override
 	public Vector2 getOrigin() {
 		return origin.cpy();
 	}
 
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return out.set(origin);
+	}
+
 	@Override
 	public float getRotation() {
 		return rotation;
 	}
 
+	/**
+	 * @return The horizontal scale.
+	 */
+	public float getScaleX() {
+		return scaleX;
+	}
+
+	/**
+	 * @return The vertical scale.
+	 */
+	public float getScaleY() {
+		return scaleY;
+	}
+
 	@Override
 	public int getLayer() {
 		return layer;
 	}
 
+	@Override
+	public Texture getTexture() {
+		return animations.get(state).getCurrentFrame(0f).getTexture();
+	}
+
+	@Override
+	public int getBlendState() {
+		return BLEND_DEFAULT;
+	}
+
 	/**
 	 * @return The current animation state key.
 	 */
@@ -214,6 +259,23 @@ public class AnimatedSprite implements Renderable {
 
 	// region Mutators
 
+	/**
+	 * Advances the clock. Called by the AnimationSystem; drawing no longer
+	 * advances it afterwards.
+	 * 
+	 * @param deltaSeconds
+	 *            The number of seconds to advance by.
+	 * @param hiddenInterval
+	 *            Unused, since advancing only adds to the clock.
+	 */
+	@Override
+	public void advance(float deltaSeconds, float hiddenInterval) {
+		advanced = true;
+
+		if (!pause)
+			stateTime += deltaSeconds;
+	}
+
 	/**
 	 * Pauses the animation and ends looping.
 	 */
@@ -230,7 +292,12 @@ public class AnimatedSprite implements Renderable {
 
 	@Override
 	public void setPosition(Vector2 position) {
-		this.position = position.cpy().sub(origin);
+		setPosition(position.x, position.y);
+	}
+
+	@Override
+	public void setPosition(float x, float y) {
+		position.set(x - origin.x, y - origin.y);
 	}
 
 	@Override
@@ -282,7 +349,7 @@ public class AnimatedSprite implements Renderable {
 
 	@Override
 	public void draw(SpriteBatch spriteBatch, float deltaSeconds) {
-		TextureRegion region = getCurrentFrame(deltaSeconds);
+		TextureRegion region = getCurrentFrame(advanced ? 0f : deltaSeconds);
 		spriteBatch.draw(region, position.x, position.y, origin.x, origin.y,
 				region.getRegionWidth(), region.getRegionHeight(), scaleX,
 				scaleY, 0f);
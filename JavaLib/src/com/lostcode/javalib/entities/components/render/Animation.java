@@ -6,18 +6,21 @@ import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
 import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.utils.FrameSet;
 import com.lostcode.javalib.utils.SpriteSheet;
 
 /**
  * Component wrapper for a LibGDX
  * {@link com.badlogic.gdx.graphics.g2d.Animation Animation}.
  * 
+ * Once the AnimationSystem advances the clock, drawing no longer does, so
+ * the animation keeps running while it is culled.
+ * 
  * @author Natman64
  * 
  */
-public class Animation implements Renderable {
+public class Animation implements Renderable, Animated {
 
 	// region Animation Types
 
@@ -50,8 +53,9 @@ public class Animation implements Renderable {
 	
 	private float stateTime = 0f;
 	private boolean looping = true;
+	private boolean advanced = false;
 	
-	private Vector2 position;
+	private Vector2 position = new Vector2();
 	private float rotation = 0f;
 	private float scaleX = 1f;
 	private float scaleY = 1f;
@@ -64,7 +68,8 @@ public class Animation implements Renderable {
 
 	/**
 	 * Constructs an Animation using a SpriteSheet. Using a SpriteSheet will
-	 * increase performance.
+	 * increase performance, and the frames are shared with every other
+	 * Animation of the same region.
 	 * 
 	 * @param spriteSheet
 	 *            The game's SpriteSheet.
@@ -89,7 +94,8 @@ public class Animation implements Renderable {
 
 	/**
 	 * Constructs an Animation using a SpriteSheet. Using a SpriteSheet will
-	 * increase performance.
+	 * increase performance, and the frames are shared with every other
+	 * Animation of the same region.
 	 * 
 	 * @param spriteSheet
 	 *            The game's SpriteSheet.
@@ -112,43 +118,31 @@ public class Animation implements Renderable {
 			int frameRows, int xPadding, int yPadding, PlayMode playType,
 			float frameDuration) {
 
-		Array<TextureRegion> regions = new Array<TextureRegion>();
-
-		TextureRegion animationRegion = spriteSheet.getRegion(key);
-
-		int frameWidth = (animationRegion.getRegionWidth() - xPadding
-				* (frameCols - 1))
-				/ frameCols;
-		int frameHeight = (animationRegion.getRegionHeight() - yPadding
-				* (frameRows - 1))
-				/ frameRows;
-
-		for (int y = 0; y < frameRows; y++) {
-
-			int yCoord = animationRegion.getRegionY() + y * frameHeight + y
-					* yPadding;
-
-			for (int x = 0; x < frameCols; x++) {
-
-				int xCoord = animationRegion.getRegionX() + x * frameWidth + x
-						* xPadding;
-
-				TextureRegion region = new TextureRegion(
-						spriteSheet.getTexture(), xCoord, yCoord, frameWidth,
-						frameHeight);
+		this(spriteSheet.getFrames(key, frameCols, frameRows, xPadding,
+				yPadding), playType, frameDuration);
 
-				regions.add(region);
+	}
 
-			}
-		}
+	/**
+	 * Constructs an Animation from frames shared with other Animations, such
+	 * as those cached by {@link SpriteSheet#getFrames}.
+	 * 
+	 * @param frames
+	 *            The Animation's frames.
+	 * @param playType
+	 *            How this Animation should animate.
+	 * @param frameDuration
+	 *            The duration of each animation frame.
+	 */
+	public Animation(FrameSet frames, PlayMode playType, float frameDuration) {
 
-		animation = new com.badlogic.gdx.graphics.g2d.Animation(frameDuration,
-				regions, playType);
+		animation = frames.createAnimation(frameDuration, playType);
 
 		this.frameDuration = frameDuration;
 		this.timeCoefficient = 1f;
 		
-		setOrigin(new Vector2(frameWidth / 2, frameHeight / 2));
+		setOrigin(new Vector2(frames.getFrameWidth() / 2,
+				frames.getFrameHeight() / 2));
 		
 	}
 
@@ -288,11 +282,21 @@ public class Animation implements Renderable {
 		return position.cpy();
 	}
 	
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.set(position);
+	}
+
 	@Override
 	public Vector2 getOrigin() {
 		return origin.cpy();
 	}
 
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return out.set(origin);
+	}
+
 	@Override
 	public float getRotation() {
 		return rotation;
@@ -334,9 +338,29 @@ public class Animation implements Renderable {
 
 	// region Mutators
 
+	/**
+	 * Advances the clock. Called by the AnimationSystem; drawing no longer
+	 * advances it afterwards.
+	 * 
+	 * @param deltaSeconds
+	 *            The number of seconds to advance by.
+	 * @param hiddenInterval
+	 *            Unused, since advancing only adds to the clock.
+	 */
+	@Override
+	public void advance(float deltaSeconds, float hiddenInterval) {
+		advanced = true;
+		stateTime += deltaSeconds * timeCoefficient;
+	}
+
 	@Override
 	public void setPosition(Vector2 position) {
-		this.position = new Vector2(position).sub(origin);
+		setPosition(position.x, position.y);
+	}
+
+	@Override
+	public void setPosition(float x, float y) {
+		position.set(x - origin.x, y - origin.y);
 	}
 
 	@Override
@@ -386,7 +410,8 @@ public class Animation implements Renderable {
 
 	@Override
 	public void draw(SpriteBatch spriteBatch, float deltaSeconds) {
-		TextureRegion region = getCurrentFrame(deltaSeconds * timeCoefficient);
+		TextureRegion region = getCurrentFrame(advanced ? 0f
+				: deltaSeconds * timeCoefficient);
 		spriteBatch.draw(region, position.x, position.y, origin.x, origin.y,
 				region.getRegionWidth(), region.getRegionHeight(), scaleX,
 				scaleY, rotation);
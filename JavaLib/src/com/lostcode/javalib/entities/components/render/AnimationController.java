@@ -0,0 +1,432 @@
+package com.lostcode.javalib.entities.components.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.lostcode.javalib.entities.components.ComponentManager;
+
+/**
+ * Plays the states of an {@link AnimationSet}, switching between them by
+ * integer ID. The controller only holds its own clock and current frame; the
+ * frames and transition rules are shared with every other controller of the
+ * same set.
+ * <p>
+ * Clocks are advanced by the AnimationSystem, separately from drawing, so
+ * drawing only reads the current frame. Controllers that weren't drawn in
+ * the last frame, such as those that were culled, are advanced less often.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class AnimationController implements Renderable, Batchable, Animated {
+
+	// region Fields
+
+	/** Limits how many finished states can be passed through in one update. */
+	private static final int MAX_CHAINED_STATES = 16;
+
+	private final AnimationSet set;
+
+	private int state;
+	private AnimationSet.State current;
+	private float stateTime = 0f;
+	private float speed = 1f;
+	private boolean paused = false;
+	private boolean finished = false;
+
+	private TextureRegion frame;
+	private int frameNumber = -1;
+
+	private float pendingTime = 0f;
+	private boolean drawn = false;
+
+	private Vector2 position = new Vector2();
+	private Vector2 origin = new Vector2();
+	private float rotation = 0f;
+	private float scaleX = 1f;
+	private float scaleY = 1f;
+	private int layer = 0;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs an AnimationController in the set's first state. The origin
+	 * is the center of that state's frames.
+	 *
+	 * @param set
+	 *            The states to play.
+	 */
+	public AnimationController(AnimationSet set) {
+		this(set, 0);
+	}
+
+	/**
+	 * Constructs an AnimationController. The origin is the center of the
+	 * initial state's frames.
+	 *
+	 * @param set
+	 *            The states to play.
+	 * @param initialState
+	 *            The ID of the initial state.
+	 */
+	public AnimationController(AnimationSet set, int initialState) {
+		this.set = set;
+
+		setState(initialState, false);
+		origin.set(frame.getRegionWidth() / 2, frame.getRegionHeight() / 2);
+	}
+
+	// endregion
+
+	// region Events
+
+	@Override
+	public void onAdd(ComponentManager container) {
+	}
+
+	@Override
+	public void onRemove(ComponentManager container) {
+	}
+
+	// endregion
+
+	// region Playback
+
+	/**
+	 * Advances the clock, following the set's transitions when a state
+	 * finishes.
+	 *
+	 * @param deltaSeconds
+	 *            The number of seconds to advance by.
+	 */
+	public void update(float deltaSeconds) {
+		pendingTime = 0f;
+
+		if (paused)
+			return;
+
+		stateTime += deltaSeconds * speed;
+		updateFrame();
+
+		for (int i = 0; finished && current.next != AnimationSet.NONE
+				&& i < MAX_CHAINED_STATES; i++) {
+			// Carry the time past the end into the next state.
+			float excess = stateTime - current.sequence.length
+					* current.frameDuration;
+
+			setState(current.next, false);
+			stateTime = excess;
+			updateFrame();
+		}
+	}
+
+	/**
+	 * Advances the clock, or only collects the time if the controller wasn't
+	 * drawn since the last call and less than an interval has been collected.
+	 * Called by the AnimationSystem.
+	 *
+	 * @param deltaSeconds
+	 *            The number of seconds to advance by.
+	 * @param hiddenInterval
+	 *            The number of seconds between updates while hidden.
+	 */
+	@Override
+	public void advance(float deltaSeconds, float hiddenInterval) {
+		pendingTime += deltaSeconds;
+
+		boolean visible = drawn;
+		drawn = false;
+
+		if (visible || pendingTime >= hiddenInterval)
+			update(pendingTime);
+	}
+
+	private void updateFrame() {
+		AnimationSet.State s = current;
+		int length = s.sequence.length;
+		int number = s.frameDuration > 0f ? (int) (stateTime / s.frameDuration)
+				: 0;
+
+		if (s.looping) {
+			finished = false;
+
+			if (s.random) {
+				// A new random frame whenever the frame would change.
+				if (number != frameNumber || frame == null)
+					frame = s.frames[MathUtils.random(length - 1)];
+			} else {
+				frame = s.frames[s.sequence[number % length]];
+			}
+		} else {
+			finished = number >= length;
+			frame = s.frames[s.sequence[Math.min(number, length - 1)]];
+		}
+
+		frameNumber = number;
+	}
+
+	/**
+	 * Moves to a state, unless the controller is already in it.
+	 *
+	 * @param state
+	 *            The ID of the state.
+	 */
+	public void play(int state) {
+		if (state != this.state)
+			setState(state, false);
+	}
+
+	/**
+	 * Moves to a state.
+	 *
+	 * @param state
+	 *            The ID of the state.
+	 * @param keepStateTime
+	 *            Whether the state time should be kept instead of reset to 0.
+	 */
+	public void setState(int state, boolean keepStateTime) {
+		current = set.getState(state);
+		this.state = state;
+
+		if (!keepStateTime)
+			stateTime = 0f;
+
+		frame = null;
+		frameNumber = -1;
+		updateFrame();
+	}
+
+	/**
+	 * Follows the transition of an event from the current state, if there is
+	 * one.
+	 *
+	 * @param event
+	 *            The event.
+	 * @return Whether the state changed.
+	 */
+	public boolean trigger(int event) {
+		int to = set.getTransition(state, event);
+
+		if (to == AnimationSet.NONE)
+			return false;
+
+		setState(to, false);
+		return true;
+	}
+
+	/**
+	 * Stops the clock.
+	 */
+	public void pause() {
+		paused = true;
+	}
+
+	/**
+	 * Restarts the clock.
+	 */
+	public void resume() {
+		paused = false;
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The states this controller plays.
+	 */
+	public AnimationSet getAnimationSet() {
+		return set;
+	}
+
+	/**
+	 * @return The ID of the current state.
+	 */
+	public int getState() {
+		return state;
+	}
+
+	/**
+	 * @return The name of the current state.
+	 */
+	public String getStateName() {
+		return current.name;
+	}
+
+	/**
+	 * @return How long the current state has been playing, in seconds.
+	 */
+	public float getStateTime() {
+		return stateTime;
+	}
+
+	/**
+	 * @return Whether the current state doesn't loop and has played through.
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * @return Whether the clock is stopped.
+	 */
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * @return How fast the clock runs. 1 is normal speed.
+	 */
+	public float getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * @return The frame that is drawn.
+	 */
+	public TextureRegion getCurrentFrame() {
+		return frame;
+	}
+
+	@Override
+	public float getWidth() {
+		return frame.getRegionWidth();
+	}
+
+	@Override
+	public float getHeight() {
+		return frame.getRegionHeight();
+	}
+
+	@Override
+	public Vector2 getPosition() {
+		return getPosition(new Vector2());
+	}
+
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.set(position).add(origin);
+	}
+
+	@Override
+	public Vector2 getOrigin() {
+		return origin.cpy();
+	}
+
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return out.set(origin);
+	}
+
+	@Override
+	public float getRotation() {
+		return rotation;
+	}
+
+	/**
+	 * @return The horizontal scale.
+	 */
+	public float getScaleX() {
+		return scaleX;
+	}
+
+	/**
+	 * @return The vertical scale.
+	 */
+	public float getScaleY() {
+		return scaleY;
+	}
+
+	@Override
+	public int getLayer() {
+		return layer;
+	}
+
+	@Override
+	public Texture getTexture() {
+		return frame.getTexture();
+	}
+
+	@Override
+	public int getBlendState() {
+		return BLEND_DEFAULT;
+	}
+
+	// endregion
+
+	// region Mutators
+
+	/**
+	 * Sets how long the current state has been playing.
+	 *
+	 * @param stateTime
+	 *            The time, in seconds.
+	 */
+	public void setStateTime(float stateTime) {
+		this.stateTime = stateTime;
+		updateFrame();
+	}
+
+	/**
+	 * @param speed
+	 *            How fast the clock should run. 1 is normal speed.
+	 */
+	public void setSpeed(float speed) {
+		this.speed = speed;
+	}
+
+	@Override
+	public void setPosition(Vector2 position) {
+		setPosition(position.x, position.y);
+	}
+
+	@Override
+	public void setPosition(float x, float y) {
+		position.set(x - origin.x, y - origin.y);
+	}
+
+	@Override
+	public void setRotation(float degrees) {
+		this.rotation = degrees;
+	}
+
+	@Override
+	public void setScale(float scaleX, float scaleY) {
+		this.scaleX = scaleX;
+		this.scaleY = scaleY;
+	}
+
+	@Override
+	public void setOrigin(Vector2 origin) {
+		this.origin.set(origin);
+	}
+
+	@Override
+	public void setLayer(int layer) {
+		this.layer = layer;
+	}
+
+	// endregion
+
+	// region Rendering
+
+	@Override
+	public void draw(SpriteBatch spriteBatch, float deltaSeconds) {
+		// Catch up on time collected while hidden.
+		if (pendingTime > 0f)
+			update(pendingTime);
+
+		drawn = true;
+
+		spriteBatch.draw(frame, position.x, position.y, origin.x, origin.y,
+				frame.getRegionWidth(), frame.getRegionHeight(), scaleX,
+				scaleY, rotation);
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,295 @@
+package com.lostcode.javalib.entities.components.render;
+
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.lostcode.javalib.utils.FrameSet;
+import com.lostcode.javalib.utils.SpriteSheet;
+
+/**
+ * The states of an animated entity, and the rules for moving between them. A
+ * set is built once and shared by every {@link AnimationController} of the
+ * same kind of entity, so controllers only hold their own clock.
+ * <p>
+ * States are numbered in the order they are added. Each one has a table of
+ * frames in the order its play mode shows them, so finding the current frame
+ * is a division and an array lookup. A state that doesn't loop can be
+ * followed by another state when it finishes, and events can move a
+ * controller from one state to another, such as from "run" to "jump".
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class AnimationSet {
+
+	// region Fields
+
+	/** Returned when there is no such state or transition. */
+	public static final int NONE = -1;
+
+	/** The state of an event that applies from any state. */
+	public static final int ANY = -2;
+
+	static final class State {
+		String name;
+		TextureRegion[] frames;
+		int[] sequence;
+		float frameDuration;
+		boolean looping;
+		boolean random;
+		int next = NONE;
+		final IntIntMap transitions = new IntIntMap(4);
+	}
+
+	private final Array<State> states = new Array<State>();
+	private final ObjectIntMap<String> stateIds = new ObjectIntMap<String>();
+	private final IntIntMap anyTransitions = new IntIntMap(4);
+
+	// endregion
+
+	// region States
+
+	/**
+	 * Adds a state.
+	 *
+	 * @param name
+	 *            The state's name.
+	 * @param frames
+	 *            The state's frames, such as those from
+	 *            {@link SpriteSheet#getFrames}.
+	 * @param playMode
+	 *            How the state should animate.
+	 * @param frameDuration
+	 *            The duration of each frame, in seconds.
+	 * @return The state's ID.
+	 */
+	public int addState(String name, FrameSet frames, PlayMode playMode,
+			float frameDuration) {
+		if (stateIds.containsKey(name))
+			throw new IllegalArgumentException("The state " + name
+					+ " already exists.");
+
+		if (frames.getFrameCount() == 0)
+			throw new IllegalArgumentException("The state " + name
+					+ " has no frames.");
+
+		State state = new State();
+		state.name = name;
+		state.frameDuration = frameDuration;
+
+		int count = frames.getFrameCount();
+		state.frames = new TextureRegion[count];
+
+		for (int i = 0; i < count; i++) {
+			state.frames[i] = frames.getFrame(i);
+		}
+
+		state.sequence = createSequence(playMode, count);
+		state.looping = playMode == PlayMode.LOOP
+				|| playMode == PlayMode.LOOP_REVERSED
+				|| playMode == PlayMode.LOOP_PINGPONG
+				|| playMode == PlayMode.LOOP_RANDOM;
+		state.random = playMode == PlayMode.LOOP_RANDOM;
+
+		int id = states.size;
+		states.add(state);
+		stateIds.put(name, id);
+
+		return id;
+	}
+
+	/**
+	 * Adds a state whose frames are in one row of a SpriteSheet region.
+	 *
+	 * @param name
+	 *            The state's name.
+	 * @param spriteSheet
+	 *            The game's SpriteSheet.
+	 * @param key
+	 *            The key of the region containing every frame.
+	 * @param frameCount
+	 *            The number of frames.
+	 * @param playMode
+	 *            How the state should animate.
+	 * @param frameDuration
+	 *            The duration of each frame, in seconds.
+	 * @return The state's ID.
+	 */
+	public int addState(String name, SpriteSheet spriteSheet, String key,
+			int frameCount, PlayMode playMode, float frameDuration) {
+		return addState(name, spriteSheet.getFrames(key, frameCount, 1, 0, 0),
+				playMode, frameDuration);
+	}
+
+	/**
+	 * The order in which a play mode shows a state's frames.
+	 */
+	private static int[] createSequence(PlayMode playMode, int count) {
+		int[] sequence;
+
+		switch (playMode) {
+		case REVERSED:
+		case LOOP_REVERSED:
+			sequence = new int[count];
+
+			for (int i = 0; i < count; i++) {
+				sequence[i] = count - 1 - i;
+			}
+			break;
+
+		case LOOP_PINGPONG:
+			// There and back, without repeating either end.
+			sequence = new int[Math.max(1, count * 2 - 2)];
+
+			for (int i = 0; i < sequence.length; i++) {
+				sequence[i] = i < count ? i : sequence.length - i;
+			}
+			break;
+
+		default:
+			sequence = new int[count];
+
+			for (int i = 0; i < count; i++) {
+				sequence[i] = i;
+			}
+			break;
+		}
+
+		return sequence;
+	}
+
+	/**
+	 * @return The number of states.
+	 */
+	public int getStateCount() {
+		return states.size;
+	}
+
+	/**
+	 * @param name
+	 *            The name of a state.
+	 * @return The state's ID, or {@link #NONE} if there is no such state.
+	 */
+	public int getStateId(String name) {
+		return stateIds.get(name, NONE);
+	}
+
+	/**
+	 * @param state
+	 *            A state's ID.
+	 * @return The state's name.
+	 */
+	public String getStateName(int state) {
+		return getState(state).name;
+	}
+
+	/**
+	 * @param state
+	 *            A state's ID.
+	 * @return The number of frames in the state.
+	 */
+	public int getFrameCount(int state) {
+		return getState(state).frames.length;
+	}
+
+	/**
+	 * @param state
+	 *            A state's ID.
+	 * @return The number of seconds the state takes to play once.
+	 */
+	public float getDuration(int state) {
+		State s = getState(state);
+		return s.sequence.length * s.frameDuration;
+	}
+
+	/**
+	 * @param state
+	 *            A state's ID.
+	 * @return Whether the state loops.
+	 */
+	public boolean isLooping(int state) {
+		return getState(state).looping;
+	}
+
+	State getState(int state) {
+		if (state < 0 || state >= states.size)
+			throw new IllegalArgumentException("The AnimationSet has no state "
+					+ state + ".");
+
+		return states.get(state);
+	}
+
+	// endregion
+
+	// region Transitions
+
+	/**
+	 * Sets the state that follows a state that doesn't loop, once it
+	 * finishes.
+	 *
+	 * @param state
+	 *            A state's ID.
+	 * @param next
+	 *            The following state's ID, or {@link #NONE} to stay on the
+	 *            last frame.
+	 */
+	public void setNext(int state, int next) {
+		if (next != NONE)
+			getState(next);
+
+		getState(state).next = next;
+	}
+
+	/**
+	 * @param state
+	 *            A state's ID.
+	 * @return The state that follows it once it finishes, or {@link #NONE}.
+	 */
+	public int getNext(int state) {
+		return getState(state).next;
+	}
+
+	/**
+	 * Adds a transition, so that an event moves a controller from one state
+	 * to another. Transitions from a specific state take precedence over
+	 * those from {@link #ANY} state.
+	 *
+	 * @param from
+	 *            The ID of the state the transition applies in, or
+	 *            {@link #ANY}.
+	 * @param event
+	 *            The event, which can be any number chosen by the game.
+	 * @param to
+	 *            The ID of the state to move to.
+	 */
+	public void addTransition(int from, int event, int to) {
+		getState(to);
+
+		if (from == ANY)
+			anyTransitions.put(event, to);
+		else
+			getState(from).transitions.put(event, to);
+	}
+
+	/**
+	 * @param state
+	 *            A state's ID.
+	 * @param event
+	 *            An event.
+	 * @return The ID of the state the event moves to, or {@link #NONE} if
+	 *         the event does nothing in the state.
+	 */
+	public int getTransition(int state, int event) {
+		int to = getState(state).transitions.get(event, NONE);
+
+		if (to == NONE)
+			to = anyTransitions.get(event, NONE);
+
+		return to;
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,33 @@
+package com.lostcode.javalib.entities.components.render;
+
+import com.badlogic.gdx.graphics.Texture;
+
+/**
+ * Optional interface for {@link Renderable Renderables} that tells the
+ * RenderSystem what they draw with, so that Renderables sharing a texture and
+ * blend state can be drawn together in one SpriteBatch flush.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public interface Batchable {
+
+	/** The blend state of Renderables that leave the SpriteBatch's alone. */
+	public static final int BLEND_DEFAULT = 0;
+
+	/** The blend state of Renderables that switch to additive blending. */
+	public static final int BLEND_ADDITIVE = 1;
+
+	/**
+	 * @return The texture this Renderable currently draws with, or null if it
+	 *         is unknown or varies.
+	 */
+	public Texture getTexture();
+
+	/**
+	 * @return The blend state this Renderable draws with. Either one of the
+	 *         BLEND_ constants, or a value up to 15 for custom states.
+	 */
+	public int getBlendState();
+
+}
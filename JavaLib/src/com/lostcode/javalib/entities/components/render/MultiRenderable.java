@@ -7,12 +7,13 @@ import com.lostcode.javalib.entities.components.ComponentManager;
 import com.lostcode.javalib.entities.components.MultiComponent;
 
 /**
- * A Renderable {@link MultiComponent}. The Renderables are drawn in order.
+ * A Renderable {@link MultiComponent}. The Renderables are drawn in order,
+ * and the {@link Animated} ones are advanced with it.
  * 
  * @author Natman64
  * @created Aug 12, 2013
  */
-public class MultiRenderable extends MultiComponent<Renderable> implements Renderable {
+public class MultiRenderable extends MultiComponent<Renderable> implements Renderable, Animated {
 
 	// region Initialization
 
@@ -77,10 +78,20 @@ public class MultiRenderable extends MultiComponent<Renderable> implements Rende
 		return base.getPosition();
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return base.getPosition(out);
+	}
+
 	@Override
 	public Vector2 getOrigin() {
 		return base.getOrigin();
 	}
+
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return base.getOrigin(out);
+	}
 	
 	@Override
 	public float getRotation() {
@@ -106,6 +117,13 @@ public class MultiRenderable extends MultiComponent<Renderable> implements Rende
 		return;
 	}
 
+	@Override
+	public void setPosition(float x, float y) {
+		for (Renderable child : children) {
+			child.setPosition(x, y);
+		}
+	}
+
 	@Override
 	public void setRotation(float degrees) {
 		for (Renderable child : children) {
@@ -134,6 +152,14 @@ public class MultiRenderable extends MultiComponent<Renderable> implements Rende
 		base.setLayer(layer);
 	}
 
+	@Override
+	public void advance(float deltaSeconds, float hiddenInterval) {
+		for (Renderable child : children) {
+			if (child instanceof Animated)
+				((Animated) child).advance(deltaSeconds, hiddenInterval);
+		}
+	}
+
 	// endregion
 
 	// region Rendering
@@ -58,6 +58,17 @@ public class Parallax implements Component {
 		return new Vector2(camera.position.x, camera.position.y);
 	}
 
+	/**
+	 * Copies the position of the camera without allocating.
+	 * 
+	 * @param out
+	 *            The vector to store the position in.
+	 * @return out, for chaining.
+	 */
+	public Vector2 getCameraPosition(Vector2 out) {
+		return out.set(camera.position.x, camera.position.y);
+	}
+
 	// endregion
 
 	// region Methods
@@ -2,39 +2,90 @@ package com.lostcode.javalib.entities.components.render;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
 import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
 import com.badlogic.gdx.graphics.g2d.ParticleEmitter.ScaledNumericValue;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.components.ComponentManager;
 
 /**
  * The particle effect component for instantiating particle effects.
+ * <p>
+ * Effects obtained from a {@link ParticleEffectLibrary} are copies of a
+ * prototype that was loaded once, and are returned to the library's pool when
+ * they complete or when the component is removed, such as when its entity is
+ * deleted. An effect dropped by the library's budget draws nothing and counts
+ * as complete.
+ * <p>
+ * The AnimationSystem updates the effect separately from drawing, so an
+ * effect completes, returns to its pool and deletes its entity even while it
+ * isn't drawn. Effects have no size, so the RenderSystem never culls them.
  * 
  * @author MadcowD
  * @created Jul 27, 2013
  */
-public class ParticleEffect implements Renderable {
+public class ParticleEffect implements Renderable, Batchable, Animated {
 
 	// region Fields/Initialization
 
 	private com.badlogic.gdx.graphics.g2d.ParticleEffect particleEffect;
 
+	private ParticleEffectLibrary library;
+	private ComponentManager container;
+	private boolean deleteOnComplete = false;
+
 	private int layer = 0;
 
+	private float pendingTime = 0f;
+	private boolean drawn = false;
+	private boolean advanced = false;
+
 	/**
-	 * Creates a particle effect
+	 * Creates a particle effect, loading its file and images. Prefer
+	 * {@link #ParticleEffect(ParticleEffectLibrary, String)} for effects that
+	 * are spawned often.
 	 */
 	public ParticleEffect(FileHandle effect, FileHandle imageDir) {
 		this.particleEffect = new com.badlogic.gdx.graphics.g2d.ParticleEffect();
 		particleEffect.load(effect, imageDir);
 	}
 
+	/**
+	 * Creates a particle effect from a pooled copy of a loaded effect. The
+	 * effect is already started.
+	 * 
+	 * @param library
+	 *            The library containing the effect.
+	 * @param name
+	 *            The name of the effect.
+	 */
+	public ParticleEffect(ParticleEffectLibrary library, String name) {
+		this.library = library;
+		this.particleEffect = library.obtain(name);
+	}
+
 	/**
 	 * Starts the particle effect.
 	 */
 	public void start() {
-		particleEffect.start();
+		if (particleEffect != null)
+			particleEffect.start();
+	}
+
+	/**
+	 * Returns a pooled effect to its library. The component draws nothing
+	 * afterwards.
+	 */
+	public void free() {
+		if (library != null && particleEffect != null)
+			library.free((PooledEffect) particleEffect);
+
+		if (library != null)
+			particleEffect = null;
 	}
 
 	// endregion
@@ -43,10 +94,14 @@ public class ParticleEffect implements Renderable {
 
 	@Override
 	public void onAdd(ComponentManager container) {
+		this.container = container;
 	}
 
 	@Override
 	public void onRemove(ComponentManager container) {
+		this.container = null;
+
+		free();
 	}
 
 	// endregion
@@ -68,10 +123,20 @@ public class ParticleEffect implements Renderable {
 		return new Vector2();
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.setZero();
+	}
+
 	@Override
 	public Vector2 getOrigin() {
 		return new Vector2();
 	}
+
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return out.setZero();
+	}
 	
 	@Override
 	public float getRotation() {
@@ -83,24 +148,98 @@ public class ParticleEffect implements Renderable {
 		return layer;
 	}
 
+	/**
+	 * @return Whether the effect has finished, or was dropped or freed.
+	 */
+	public boolean isComplete() {
+		return particleEffect == null || particleEffect.isComplete();
+	}
+
+	/**
+	 * @return Whether the entity is deleted once the effect completes.
+	 */
+	public boolean isDeletingOnComplete() {
+		return deleteOnComplete;
+	}
+
+	/**
+	 * @param deleteOnComplete
+	 *            Whether the entity should be deleted once the effect
+	 *            completes, such as for an explosion.
+	 */
+	public void setDeleteOnComplete(boolean deleteOnComplete) {
+		this.deleteOnComplete = deleteOnComplete;
+	}
+
+	/**
+	 * @return The texture shared by every emitter, or null if they differ.
+	 */
+	@Override
+	public Texture getTexture() {
+		if (particleEffect == null)
+			return null;
+
+		Array<ParticleEmitter> emitters = particleEffect.getEmitters();
+		Texture texture = null;
+
+		for (int i = 0; i < emitters.size; i++) {
+			ParticleEmitter emitter = emitters.get(i);
+
+			if (emitter.getSprite() == null)
+				continue;
+
+			if (texture == null)
+				texture = emitter.getSprite().getTexture();
+			else if (texture != emitter.getSprite().getTexture())
+				return null;
+		}
+
+		return texture;
+	}
+
+	@Override
+	public int getBlendState() {
+		if (particleEffect == null)
+			return BLEND_DEFAULT;
+
+		Array<ParticleEmitter> emitters = particleEffect.getEmitters();
+
+		for (int i = 0; i < emitters.size; i++) {
+			if (emitters.get(i).isAdditive())
+				return BLEND_ADDITIVE;
+		}
+
+		return BLEND_DEFAULT;
+	}
+
 	// endregion
 
 	// region Mutators
 
 	@Override
 	public void setPosition(Vector2 position) {
-		particleEffect.setPosition(position.x, position.y);
+		setPosition(position.x, position.y);
+	}
+
+	@Override
+	public void setPosition(float x, float y) {
+		if (particleEffect != null)
+			particleEffect.setPosition(x, y);
 	}
 
 	@Override
 	public void setRotation(float degrees) {
+		if (particleEffect == null)
+			return;
+
 		ScaledNumericValue v = particleEffect.getEmitters().first().getAngle();
 		v.setHigh(degrees + 90f, degrees -90f);
 		v.setLow(degrees);
 	}
 	
 	public ParticleEmitter getEmitter(){
-		return particleEffect.getEmitters().first();
+		return particleEffect == null ? null : particleEffect.getEmitters()
+				.first();
 	}
 
 	@Override
@@ -108,6 +247,9 @@ public class ParticleEffect implements Renderable {
 	}
 	
 	public void setColor(Color tint){
+		if (particleEffect == null)
+			return;
+
 		particleEffect.getEmitters().first().getTint().setColors(new float[] {tint.r, tint.g, tint.b});
 	}
 
@@ -120,9 +262,59 @@ public class ParticleEffect implements Renderable {
 
 	// region Rendering
 
+	/**
+	 * Updates the effect, or only collects the time if it wasn't drawn since
+	 * the last call and less than an interval has been collected. Called by
+	 * the AnimationSystem; drawing no longer updates the effect afterwards.
+	 * 
+	 * @param deltaSeconds
+	 *            The number of seconds to advance by.
+	 * @param hiddenInterval
+	 *            The number of seconds between updates while hidden.
+	 */
+	@Override
+	public void advance(float deltaSeconds, float hiddenInterval) {
+		advanced = true;
+		pendingTime += deltaSeconds;
+
+		boolean visible = drawn;
+		drawn = false;
+
+		if (visible || pendingTime >= hiddenInterval)
+			update();
+	}
+
+	/**
+	 * Updates the effect by the collected time, then frees it and deletes the
+	 * entity if it completed.
+	 */
+	private void update() {
+		if (particleEffect != null) {
+			particleEffect.update(pendingTime);
+
+			if (particleEffect.isComplete())
+				free();
+		}
+
+		pendingTime = 0f;
+
+		if (deleteOnComplete && isComplete() && container instanceof Entity)
+			((Entity) container).delete();
+	}
+
 	@Override
 	public void draw(SpriteBatch spriteBatch, float deltaSeconds) {
-		particleEffect.draw(spriteBatch, deltaSeconds);
+		if (!advanced)
+			pendingTime += deltaSeconds;
+
+		// Catch up on time collected while hidden.
+		if (pendingTime > 0f)
+			update();
+
+		drawn = true;
+
+		if (particleEffect != null)
+			particleEffect.draw(spriteBatch);
 	}
 
 	@Override
@@ -0,0 +1,361 @@
+package com.lostcode.javalib.entities.components.render;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.lostcode.javalib.utils.SpriteSheet;
+import com.lostcode.javalib.utils.metrics.Counter;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
+
+/**
+ * Loads each particle effect once, as a prototype, and hands out copies of it
+ * from a pool. Loading parses the effect file and its images, so it belongs
+ * in loading screens rather than in the middle of a fight; obtaining a copy
+ * only resets one that was freed before.
+ * <p>
+ * Live effects are limited by a budget of emitters and particles shared by
+ * every effect in the library. Each effect reserves the maximum particle
+ * count of its emitters, and an effect that would go over the budget is
+ * dropped instead of started.
+ * <p>
+ * The {@link ParticleEffect} component frees its copy automatically when the
+ * effect completes or the entity is deleted.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class ParticleEffectLibrary implements Disposable {
+
+	// region Fields
+
+	/** The default number of copies made when an effect is loaded. */
+	public static final int DEFAULT_PREWARM = 4;
+
+	/** The default number of freed copies kept for each effect. */
+	public static final int DEFAULT_POOL_SIZE = 32;
+
+	/** The default number of emitters that can be live at once. */
+	public static final int DEFAULT_MAX_EMITTERS = 256;
+
+	/** The default number of particles that can be reserved at once. */
+	public static final int DEFAULT_MAX_PARTICLES = 16384;
+
+	private static final Gauge LIVE_EMITTERS = MetricsRegistry.getDefault()
+			.gauge("javalib_particles_live_emitters",
+					"Particle emitters of live pooled effects");
+	private static final Gauge RESERVED_PARTICLES = MetricsRegistry
+			.getDefault().gauge("javalib_particles_reserved",
+					"Particles reserved by live pooled effects");
+	private static final Counter DROPPED = MetricsRegistry.getDefault()
+			.counter("javalib_particles_dropped_total",
+					"Particle effects dropped for exceeding the budget");
+
+	private static final class Prototype {
+		com.badlogic.gdx.graphics.g2d.ParticleEffect effect;
+		ParticleEffectPool pool;
+		int emitters;
+		int particles;
+		int live;
+	}
+
+	private final ObjectMap<String, Prototype> prototypes = new ObjectMap<String, Prototype>();
+	private final ObjectMap<PooledEffect, Prototype> liveEffects = new ObjectMap<PooledEffect, Prototype>();
+	private final Array<PooledEffect> prewarmed = new Array<PooledEffect>();
+
+	private int maxEmitters = DEFAULT_MAX_EMITTERS;
+	private int maxParticles = DEFAULT_MAX_PARTICLES;
+	private int liveEmitters;
+	private int reservedParticles;
+	private int droppedCount;
+
+	// endregion
+
+	// region Loading
+
+	/**
+	 * Loads an effect whose images are separate files.
+	 *
+	 * @param name
+	 *            The name the effect is obtained by.
+	 * @param effectFile
+	 *            The effect file.
+	 * @param imageDir
+	 *            The directory containing the effect's images.
+	 */
+	public void load(String name, FileHandle effectFile, FileHandle imageDir) {
+		com.badlogic.gdx.graphics.g2d.ParticleEffect effect = new com.badlogic.gdx.graphics.g2d.ParticleEffect();
+		effect.load(effectFile, imageDir);
+
+		add(name, effect, DEFAULT_PREWARM, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * Loads an effect whose images are regions of a SpriteSheet, keyed by
+	 * their file names without extensions. The effect then draws from the
+	 * sheet's pages, so it can share flushes with other sprites.
+	 *
+	 * @param name
+	 *            The name the effect is obtained by.
+	 * @param effectFile
+	 *            The effect file.
+	 * @param spriteSheet
+	 *            The game's SpriteSheet.
+	 */
+	public void load(String name, FileHandle effectFile, SpriteSheet spriteSheet) {
+		com.badlogic.gdx.graphics.g2d.ParticleEffect effect = new com.badlogic.gdx.graphics.g2d.ParticleEffect();
+		effect.loadEmitters(effectFile);
+
+		Array<ParticleEmitter> emitters = effect.getEmitters();
+
+		for (int i = 0; i < emitters.size; i++) {
+			ParticleEmitter emitter = emitters.get(i);
+			String key = getImageName(emitter.getImagePath());
+			TextureRegion region = spriteSheet.getRegion(key);
+
+			if (region == null)
+				throw new IllegalArgumentException(
+						"The SpriteSheet has no region " + key + ".");
+
+			emitter.setSprite(new Sprite(region));
+		}
+
+		add(name, effect, DEFAULT_PREWARM, DEFAULT_POOL_SIZE);
+	}
+
+	/**
+	 * Adds an effect that is already loaded. The library disposes of it.
+	 *
+	 * @param name
+	 *            The name the effect is obtained by.
+	 * @param effect
+	 *            The prototype of the effect.
+	 * @param prewarm
+	 *            The number of copies to make right away.
+	 * @param poolSize
+	 *            The number of freed copies to keep.
+	 */
+	public void add(String name,
+			com.badlogic.gdx.graphics.g2d.ParticleEffect effect, int prewarm,
+			int poolSize) {
+		if (prototypes.containsKey(name))
+			throw new IllegalArgumentException("The effect " + name
+					+ " is already loaded.");
+
+		Prototype prototype = new Prototype();
+		prototype.effect = effect;
+		prototype.pool = new ParticleEffectPool(effect, Math.max(prewarm, 1),
+				poolSize);
+
+		Array<ParticleEmitter> emitters = effect.getEmitters();
+		prototype.emitters = emitters.size;
+
+		for (int i = 0; i < emitters.size; i++) {
+			prototype.particles += emitters.get(i).getMaxParticleCount();
+		}
+
+		// Copy now, rather than when the first effect is obtained.
+		for (int i = 0; i < prewarm; i++) {
+			prewarmed.add(prototype.pool.obtain());
+		}
+		prototype.pool.freeAll(prewarmed);
+		prewarmed.clear();
+
+		prototypes.put(name, prototype);
+	}
+
+	/**
+	 * @param name
+	 *            The name of an effect.
+	 * @return Whether the effect is loaded.
+	 */
+	public boolean isLoaded(String name) {
+		return prototypes.containsKey(name);
+	}
+
+	private static String getImageName(String imagePath) {
+		String name = imagePath.replace('\\', '/');
+		name = name.substring(name.lastIndexOf('/') + 1);
+
+		int dot = name.lastIndexOf('.');
+		return dot < 0 ? name : name.substring(0, dot);
+	}
+
+	// endregion
+
+	// region Pooling
+
+	/**
+	 * Obtains a started copy of an effect, unless it would go over the
+	 * budget.
+	 *
+	 * @param name
+	 *            The name of the effect.
+	 * @return The copy, or null if it was dropped.
+	 */
+	public PooledEffect obtain(String name) {
+		Prototype prototype = prototypes.get(name);
+
+		if (prototype == null)
+			throw new IllegalArgumentException("The effect " + name
+					+ " isn't loaded.");
+
+		if (liveEmitters + prototype.emitters > maxEmitters
+				|| reservedParticles + prototype.particles > maxParticles) {
+			droppedCount++;
+			DROPPED.increment();
+			return null;
+		}
+
+		PooledEffect effect = prototype.pool.obtain();
+
+		prototype.live++;
+		liveEmitters += prototype.emitters;
+		reservedParticles += prototype.particles;
+		liveEffects.put(effect, prototype);
+
+		updateMetrics();
+
+		return effect;
+	}
+
+	/**
+	 * Returns a copy to its pool. Angles and tints changed since it was
+	 * obtained are restored from the prototype.
+	 *
+	 * @param effect
+	 *            A copy obtained from this library. Copies that were already
+	 *            freed are ignored.
+	 */
+	public void free(PooledEffect effect) {
+		Prototype prototype = liveEffects.remove(effect);
+
+		if (prototype == null)
+			return;
+
+		Array<ParticleEmitter> source = prototype.effect.getEmitters();
+		Array<ParticleEmitter> emitters = effect.getEmitters();
+
+		for (int i = 0; i < emitters.size; i++) {
+			emitters.get(i).getAngle().load(source.get(i).getAngle());
+			emitters.get(i).getTint().load(source.get(i).getTint());
+		}
+
+		prototype.live--;
+		liveEmitters -= prototype.emitters;
+		reservedParticles -= prototype.particles;
+
+		effect.free();
+
+		updateMetrics();
+	}
+
+	private void updateMetrics() {
+		LIVE_EMITTERS.set(liveEmitters);
+		RESERVED_PARTICLES.set(reservedParticles);
+	}
+
+	// endregion
+
+	// region Budget
+
+	/**
+	 * Sets the budget shared by every live effect.
+	 *
+	 * @param maxEmitters
+	 *            The number of emitters that can be live at once.
+	 * @param maxParticles
+	 *            The number of particles that can be reserved at once.
+	 */
+	public void setBudget(int maxEmitters, int maxParticles) {
+		this.maxEmitters = maxEmitters;
+		this.maxParticles = maxParticles;
+	}
+
+	/**
+	 * @return The number of emitters that can be live at once.
+	 */
+	public int getMaxEmitters() {
+		return maxEmitters;
+	}
+
+	/**
+	 * @return The number of particles that can be reserved at once.
+	 */
+	public int getMaxParticles() {
+		return maxParticles;
+	}
+
+	/**
+	 * @return The number of emitters of live effects.
+	 */
+	public int getLiveEmitterCount() {
+		return liveEmitters;
+	}
+
+	/**
+	 * @return The number of particles reserved by live effects.
+	 */
+	public int getReservedParticleCount() {
+		return reservedParticles;
+	}
+
+	/**
+	 * @param name
+	 *            The name of an effect.
+	 * @return The number of live copies of the effect.
+	 */
+	public int getLiveCount(String name) {
+		Prototype prototype = prototypes.get(name);
+		return prototype == null ? 0 : prototype.live;
+	}
+
+	/**
+	 * @param name
+	 *            The name of an effect.
+	 * @return The number of freed copies of the effect waiting to be reused.
+	 */
+	public int getFreeCount(String name) {
+		Prototype prototype = prototypes.get(name);
+		return prototype == null ? 0 : prototype.pool.getFree();
+	}
+
+	/**
+	 * @return The number of effects dropped for going over the budget.
+	 */
+	public int getDroppedCount() {
+		return droppedCount;
+	}
+
+	// endregion
+
+	// region Disposal
+
+	/**
+	 * Disposes of every prototype, along with the images it loaded. Copies
+	 * that are still live must not be drawn afterwards.
+	 */
+	@Override
+	public void dispose() {
+		for (Prototype prototype : prototypes.values()) {
+			prototype.pool.clear();
+			prototype.effect.dispose();
+		}
+
+		prototypes.clear();
+		liveEffects.clear();
+
+		liveEmitters = 0;
+		reservedParticles = 0;
+		updateMetrics();
+	}
+
+	// endregion
+
+}
@@ -29,10 +29,28 @@ public interface Renderable extends Component {
 	 */
 	public Vector2 getPosition();
 
+	/**
+	 * Copies this Renderable component's position without allocating.
+	 * 
+	 * @param out
+	 *            The vector to store the position in.
+	 * @return out, for chaining.
+	 */
+	public Vector2 getPosition(Vector2 out);
+
 	/**
 	 * @return This Renderable's origin.
 	 */
 	public Vector2 getOrigin();
+
+	/**
+	 * Copies this Renderable's origin without allocating.
+	 * 
+	 * @param out
+	 *            The vector to store the origin in.
+	 * @return out, for chaining.
+	 */
+	public Vector2 getOrigin(Vector2 out);
 	
 	/**
 	 * @return This Renderable's rotation, in radians.
@@ -56,6 +74,17 @@ public interface Renderable extends Component {
 	 */
 	public void setPosition(Vector2 position);
 
+	/**
+	 * Sets the position where this component should be rendered, without
+	 * allocating.
+	 * 
+	 * @param x
+	 *            The x coordinate.
+	 * @param y
+	 *            The y coordinate.
+	 */
+	public void setPosition(float x, float y);
+
 	/**
 	 * Sets the rotation at which the component should be rendered.
 	 * 
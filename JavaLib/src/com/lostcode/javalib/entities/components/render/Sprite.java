@@ -16,7 +16,7 @@ import com.lostcode.javalib.utils.SpriteSheet;
  * @author Natman64
  * 
  */
-public class Sprite implements Renderable {
+public class Sprite implements Renderable, Batchable {
 
 	// region Fields/Initialization
 
@@ -200,10 +200,21 @@ public class Sprite implements Renderable {
 				+ sprite.getOriginY());
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.set(sprite.getX() + sprite.getOriginX(), sprite.getY()
+				+ sprite.getOriginY());
+	}
+
 	@Override
 	public Vector2 getOrigin() {
 		return new Vector2(sprite.getOriginX(), sprite.getOriginY());
 	}
+
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return out.set(sprite.getOriginX(), sprite.getOriginY());
+	}
 	
 	@Override
 	public float getRotation() {
@@ -215,6 +226,30 @@ public class Sprite implements Renderable {
 		return layer;
 	}
 
+	/**
+	 * @return The Sprite's horizontal scale.
+	 */
+	public float getScaleX() {
+		return sprite.getScaleX();
+	}
+
+	/**
+	 * @return The Sprite's vertical scale.
+	 */
+	public float getScaleY() {
+		return sprite.getScaleY();
+	}
+
+	@Override
+	public Texture getTexture() {
+		return sprite.getTexture();
+	}
+
+	@Override
+	public int getBlendState() {
+		return BLEND_DEFAULT;
+	}
+
 	// endregion
 
 	// region Mutators
@@ -227,8 +262,12 @@ public class Sprite implements Renderable {
 	 */
 	@Override
 	public void setPosition(Vector2 position) {
-		sprite.setPosition(position.x - sprite.getOriginX(), position.y
-				- sprite.getOriginY());
+		setPosition(position.x, position.y);
+	}
+
+	@Override
+	public void setPosition(float x, float y) {
+		sprite.setPosition(x - sprite.getOriginX(), y - sprite.getOriginY());
 	}
 
 	/**
@@ -0,0 +1,206 @@
+package com.lostcode.javalib.entities.navigation;
+
+import com.badlogic.gdx.math.Vector2;
+import com.lostcode.javalib.entities.tiles.TileGrid;
+
+/**
+ * The direction towards one goal from every cell of a {@link TileGrid}, for
+ * moving many agents to the same place. One search from the goal fills in the
+ * cost of every cell, and each cell then points at its cheapest neighbour, so
+ * an agent only needs to look up the cell it stands in.
+ * <p>
+ * Fields are created by {@link Navigation#getFlowField}. When the grid
+ * changes, the field is marked stale and rebuilt by the next lookup.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class FlowField {
+
+	// region Fields
+
+	/** The direction of cells that are solid, unreachable or the goal. */
+	public static final int NONE = -1;
+
+	private final TileGrid grid;
+	private final GridSearch search;
+	private final int columns;
+	private final int rows;
+
+	private final float[] costs;
+	private final byte[] directions;
+
+	private int goalColumn;
+	private int goalRow;
+	private boolean stale = true;
+	private int buildCount;
+
+	// endregion
+
+	// region Initialization
+
+	FlowField(TileGrid grid, GridSearch search, int goalColumn, int goalRow) {
+		this.grid = grid;
+		this.search = search;
+
+		columns = grid.getColumns();
+		rows = grid.getRows();
+
+		costs = new float[columns * rows];
+		directions = new byte[costs.length];
+
+		setGoal(goalColumn, goalRow);
+	}
+
+	void setGoal(int goalColumn, int goalRow) {
+		this.goalColumn = goalColumn;
+		this.goalRow = goalRow;
+
+		stale = true;
+	}
+
+	// endregion
+
+	// region Building
+
+	/**
+	 * Marks the field stale, so it is rebuilt by the next lookup.
+	 */
+	public void invalidate() {
+		stale = true;
+	}
+
+	/**
+	 * @return Whether the field will be rebuilt by the next lookup.
+	 */
+	public boolean isStale() {
+		return stale;
+	}
+
+	/**
+	 * Rebuilds the field if it is stale.
+	 */
+	public void update() {
+		if (!stale)
+			return;
+
+		stale = false;
+		buildCount++;
+
+		search.expand(goalColumn, goalRow, 0, 0, columns, rows);
+
+		for (int cell = 0; cell < costs.length; cell++) {
+			costs[cell] = search.getCost(cell);
+		}
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				int cell = row * columns + column;
+				float best = costs[cell];
+				int direction = NONE;
+
+				if (best != GridSearch.UNREACHABLE) {
+					for (int d = 0; d < 8; d++) {
+						if (!search.canMove(column, row, d))
+							continue;
+
+						float cost = costs[cell + GridSearch.DY[d] * columns
+								+ GridSearch.DX[d]];
+
+						if (cost < best) {
+							best = cost;
+							direction = d;
+						}
+					}
+				}
+
+				directions[cell] = (byte) direction;
+			}
+		}
+	}
+
+	// endregion
+
+	// region Lookups
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return The direction to step in, from 0 to 7, or {@link #NONE}.
+	 */
+	public int getDirection(int column, int row) {
+		if (!grid.contains(column, row))
+			return NONE;
+
+		update();
+
+		return directions[row * columns + column];
+	}
+
+	/**
+	 * Gets the direction to move in from a point.
+	 *
+	 * @param x
+	 *            The x coordinate of the point, in pixels.
+	 * @param y
+	 *            The y coordinate of the point, in pixels.
+	 * @param out
+	 *            Set to the unit vector of the direction, or zero if there is
+	 *            none.
+	 * @return False if there is no direction, such as at the goal.
+	 */
+	public boolean getDirection(float x, float y, Vector2 out) {
+		int direction = getDirection(grid.getColumn(x), grid.getRow(y));
+
+		if (direction == NONE) {
+			out.set(0f, 0f);
+			return false;
+		}
+
+		out.set(GridSearch.DX[direction], GridSearch.DY[direction]).nor();
+		return true;
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return The cost of reaching the goal from the cell, or
+	 *         {@link GridSearch#UNREACHABLE}.
+	 */
+	public float getCost(int column, int row) {
+		if (!grid.contains(column, row))
+			return GridSearch.UNREACHABLE;
+
+		update();
+
+		return costs[row * columns + column];
+	}
+
+	/**
+	 * @return The x coordinate of the goal cell.
+	 */
+	public int getGoalColumn() {
+		return goalColumn;
+	}
+
+	/**
+	 * @return The y coordinate of the goal cell.
+	 */
+	public int getGoalRow() {
+		return goalRow;
+	}
+
+	/**
+	 * @return The number of times the field was built.
+	 */
+	public int getBuildCount() {
+		return buildCount;
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,334 @@
+package com.lostcode.javalib.entities.navigation;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.lostcode.javalib.entities.tiles.TileGrid;
+
+/**
+ * A* and Dijkstra searches over the empty cells of a {@link TileGrid}. Agents
+ * move in eight directions, but never diagonally past a solid cell. Searches
+ * can be bounded to a rectangle of cells, which is how the hierarchical
+ * search plans inside a single cluster.
+ * <p>
+ * All working memory is allocated up front, so a search allocates nothing.
+ * The costs of the last search stay readable through {@link #getCost}.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class GridSearch {
+
+	// region Fields
+
+	/** The cost of a diagonal step. Straight steps cost 1. */
+	public static final float DIAGONAL_COST = 1.4142135f;
+
+	/** The cost of an unreachable cell. */
+	public static final float UNREACHABLE = Float.POSITIVE_INFINITY;
+
+	/** Column and row offsets of the eight directions, straight ones first. */
+	static final int[] DX = { 1, 0, -1, 0, 1, -1, -1, 1 };
+	static final int[] DY = { 0, 1, 0, -1, 1, 1, -1, -1 };
+
+	private final TileGrid grid;
+	private final int columns;
+	private final int rows;
+
+	private final float[] costs;
+	private final int[] parents;
+	private final int[] stamps;
+	private final int[] closed;
+	private int stamp;
+
+	private final NodeHeap open = new NodeHeap();
+	private final IntArray reversed = new IntArray();
+
+	private int minColumn, minRow, maxColumn, maxRow;
+	private int expandedCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a search over a grid. Changes to the grid's cells are seen by
+	 * later searches, but its size must not change.
+	 *
+	 * @param grid
+	 *            The grid.
+	 */
+	public GridSearch(TileGrid grid) {
+		this.grid = grid;
+
+		columns = grid.getColumns();
+		rows = grid.getRows();
+
+		costs = new float[columns * rows];
+		parents = new int[costs.length];
+		stamps = new int[costs.length];
+		closed = new int[costs.length];
+	}
+
+	// endregion
+
+	// region Movement
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return Whether agents can stand in the cell.
+	 */
+	public boolean isWalkable(int column, int row) {
+		return grid.contains(column, row) && !grid.isSolid(column, row);
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a walkable cell.
+	 * @param row
+	 *            The y coordinate of the cell.
+	 * @param direction
+	 *            One of the eight directions, from 0 to 7. The first four are
+	 *            straight.
+	 * @return Whether an agent can step from the cell in the direction.
+	 */
+	public boolean canMove(int column, int row, int direction) {
+		int toColumn = column + DX[direction];
+		int toRow = row + DY[direction];
+
+		if (!isWalkable(toColumn, toRow))
+			return false;
+
+		return direction < 4
+				|| (isWalkable(toColumn, row) && isWalkable(column, toRow));
+	}
+
+	// endregion
+
+	// region Searching
+
+	/**
+	 * Finds the cheapest path between two cells.
+	 *
+	 * @param startColumn
+	 *            The x coordinate of the start.
+	 * @param startRow
+	 *            The y coordinate of the start.
+	 * @param goalColumn
+	 *            The x coordinate of the goal.
+	 * @param goalRow
+	 *            The y coordinate of the goal.
+	 * @param path
+	 *            The cell indices (row * columns + column) of the path, from
+	 *            start to goal, are added to this. May be null.
+	 * @return The cost of the path, or -1 if there is none.
+	 */
+	public float findPath(int startColumn, int startRow, int goalColumn,
+			int goalRow, IntArray path) {
+		return findPath(startColumn, startRow, goalColumn, goalRow, 0, 0,
+				columns, rows, path);
+	}
+
+	/**
+	 * Finds the cheapest path between two cells that stays inside a rectangle
+	 * of cells.
+	 *
+	 * @param startColumn
+	 *            The x coordinate of the start.
+	 * @param startRow
+	 *            The y coordinate of the start.
+	 * @param goalColumn
+	 *            The x coordinate of the goal.
+	 * @param goalRow
+	 *            The y coordinate of the goal.
+	 * @param minColumn
+	 *            The first column of the rectangle.
+	 * @param minRow
+	 *            The first row of the rectangle.
+	 * @param maxColumn
+	 *            The column after the rectangle's last.
+	 * @param maxRow
+	 *            The row after the rectangle's last.
+	 * @param path
+	 *            The cell indices of the path, from start to goal, are added
+	 *            to this. May be null.
+	 * @return The cost of the path, or -1 if there is none.
+	 */
+	public float findPath(int startColumn, int startRow, int goalColumn,
+			int goalRow, int minColumn, int minRow, int maxColumn,
+			int maxRow, IntArray path) {
+		if (!isWalkable(startColumn, startRow)
+				|| !isWalkable(goalColumn, goalRow))
+			return -1f;
+
+		int goal = goalRow * columns + goalColumn;
+
+		search(startRow * columns + startColumn, goal, minColumn, minRow,
+				maxColumn, maxRow);
+
+		if (closed[goal] != stamp)
+			return -1f;
+
+		if (path != null) {
+			reversed.clear();
+
+			for (int cell = goal; cell >= 0; cell = parents[cell]) {
+				reversed.add(cell);
+			}
+
+			for (int i = reversed.size - 1; i >= 0; i--) {
+				path.add(reversed.get(i));
+			}
+		}
+
+		return costs[goal];
+	}
+
+	/**
+	 * Finds the cost of reaching every cell of a rectangle from one cell. Read
+	 * the costs with {@link #getCost}.
+	 *
+	 * @param column
+	 *            The x coordinate of the start.
+	 * @param row
+	 *            The y coordinate of the start.
+	 * @param minColumn
+	 *            The first column of the rectangle.
+	 * @param minRow
+	 *            The first row of the rectangle.
+	 * @param maxColumn
+	 *            The column after the rectangle's last.
+	 * @param maxRow
+	 *            The row after the rectangle's last.
+	 */
+	public void expand(int column, int row, int minColumn, int minRow,
+			int maxColumn, int maxRow) {
+		if (!isWalkable(column, row)) {
+			nextStamp();
+			return;
+		}
+
+		search(row * columns + column, -1, minColumn, minRow, maxColumn,
+				maxRow);
+	}
+
+	/**
+	 * @param cell
+	 *            The index of a cell (row * columns + column).
+	 * @return The cost of reaching the cell in the last search, or
+	 *         {@link #UNREACHABLE}. Only cells closed by the search are exact.
+	 */
+	public float getCost(int cell) {
+		return closed[cell] == stamp ? costs[cell] : UNREACHABLE;
+	}
+
+	/**
+	 * @param cell
+	 *            The index of a cell closed by the last search.
+	 * @return The cell it was reached from, or -1 for the start or a cell the
+	 *         search didn't close.
+	 */
+	int getParent(int cell) {
+		return closed[cell] == stamp ? parents[cell] : -1;
+	}
+
+	/**
+	 * @return The number of cells the last search expanded.
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	private void search(int start, int goal, int minColumn, int minRow,
+			int maxColumn, int maxRow) {
+		this.minColumn = Math.max(0, minColumn);
+		this.minRow = Math.max(0, minRow);
+		this.maxColumn = Math.min(columns, maxColumn);
+		this.maxRow = Math.min(rows, maxRow);
+
+		nextStamp();
+		open.clear();
+		expandedCount = 0;
+
+		int goalColumn = goal < 0 ? 0 : goal % columns;
+		int goalRow = goal < 0 ? 0 : goal / columns;
+
+		if (!inBounds(start % columns, start / columns))
+			return;
+
+		stamps[start] = stamp;
+		costs[start] = 0f;
+		parents[start] = -1;
+		open.push(start, 0f);
+
+		while (!open.isEmpty()) {
+			int cell = open.pop();
+
+			if (closed[cell] == stamp)
+				continue;
+
+			closed[cell] = stamp;
+			expandedCount++;
+
+			if (cell == goal)
+				return;
+
+			int column = cell % columns;
+			int row = cell / columns;
+			float cost = costs[cell];
+
+			for (int direction = 0; direction < 8; direction++) {
+				int toColumn = column + DX[direction];
+				int toRow = row + DY[direction];
+
+				if (!inBounds(toColumn, toRow)
+						|| !canMove(column, row, direction))
+					continue;
+
+				int next = toRow * columns + toColumn;
+				float nextCost = cost + (direction < 4 ? 1f : DIAGONAL_COST);
+
+				if (stamps[next] == stamp && costs[next] <= nextCost)
+					continue;
+
+				stamps[next] = stamp;
+				costs[next] = nextCost;
+				parents[next] = cell;
+
+				float estimate = goal < 0 ? 0f : heuristic(toColumn, toRow,
+						goalColumn, goalRow);
+				open.push(next, nextCost + estimate);
+			}
+		}
+	}
+
+	private boolean inBounds(int column, int row) {
+		return column >= minColumn && row >= minRow && column < maxColumn
+				&& row < maxRow;
+	}
+
+	private void nextStamp() {
+		if (++stamp == Integer.MAX_VALUE) {
+			Arrays.fill(stamps, 0);
+			Arrays.fill(closed, 0);
+			stamp = 1;
+		}
+	}
+
+	/**
+	 * The octile distance between two cells, which never overestimates the
+	 * cost of a path between them.
+	 */
+	static float heuristic(int column1, int row1, int column2, int row2) {
+		int dx = Math.abs(column1 - column2);
+		int dy = Math.abs(row1 - row2);
+
+		return Math.max(dx, dy) + (DIAGONAL_COST - 1f) * Math.min(dx, dy);
+	}
+
+	// endregion
+
+}
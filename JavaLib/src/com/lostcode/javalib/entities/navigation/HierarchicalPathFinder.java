@@ -0,0 +1,612 @@
+package com.lostcode.javalib.entities.navigation;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.lostcode.javalib.entities.tiles.TileGrid;
+
+/**
+ * Hierarchical A* (HPA*) over a {@link TileGrid}. The grid is split into
+ * square clusters. Wherever empty cells meet across the border of two
+ * clusters, transitions are placed: one in the middle of a narrow entrance,
+ * or one at each end of a wide one. Each cluster caches the cost between
+ * every pair of its transitions, which together form a small abstract graph.
+ * <p>
+ * A path is planned on the abstract graph first, and then refined into cells
+ * one cluster at a time, so long paths only search a fraction of the grid.
+ * The searches that find the costs also leave a tree of steps towards each
+ * transition, which is kept, so refining needs no search between
+ * transitions.
+ * Paths are near optimal rather than optimal. When a cell changes, only its
+ * cluster, and the neighbour sharing its border, are rebuilt before the next
+ * search.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class HierarchicalPathFinder {
+
+	// region Fields
+
+	/** The default width and height of a cluster, in cells. */
+	public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+	/** Entrances at least this wide get a transition at each end. */
+	private static final int WIDE_ENTRANCE = 6;
+
+	private static final int START = -1;
+
+	private static final class Cluster {
+		int minColumn, minRow, maxColumn, maxRow;
+
+		/** The cell of each transition, and the cell across the border. */
+		final IntArray cells = new IntArray();
+		final IntArray partners = new IntArray();
+
+		/** The cost between each pair of transitions. */
+		float[] costs = new float[0];
+
+		/**
+		 * For each transition and each cell of the cluster, the direction of
+		 * the next step towards the transition, or -1.
+		 */
+		byte[] steps = new byte[0];
+	}
+
+	private final GridSearch search;
+	private final int columns;
+	private final int rows;
+	private final int clusterSize;
+	private final int clustersX;
+	private final Cluster[] clusters;
+	private final boolean[] dirty;
+	private final IntArray dirtyClusters = new IntArray();
+
+	/**
+	 * Each cluster has at most this many transitions, so abstract nodes are
+	 * numbered cluster * capacity + transition, and the goal comes last.
+	 */
+	private final int capacity;
+	private final int goalNode;
+
+	private final NodeHeap open = new NodeHeap();
+	private final float[] costs;
+	private final int[] parents;
+	private final int[] stamps;
+	private final int[] closed;
+	private int stamp;
+	private final FloatArray startCosts = new FloatArray();
+	private final FloatArray goalCosts = new FloatArray();
+	private final IntArray nodes = new IntArray();
+	private final IntArray segment = new IntArray();
+
+	private int goalColumn, goalRow;
+	private int rebuildCount;
+	private int expandedCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a path finder. The abstract graph is built by the first search.
+	 *
+	 * @param grid
+	 *            The grid.
+	 * @param search
+	 *            The search over the grid, used to plan inside clusters.
+	 * @param clusterSize
+	 *            The width and height of a cluster, in cells.
+	 */
+	public HierarchicalPathFinder(TileGrid grid, GridSearch search,
+			int clusterSize) {
+		if (clusterSize < 1)
+			throw new IllegalArgumentException("Invalid cluster size "
+					+ clusterSize + ".");
+
+		this.search = search;
+		this.clusterSize = clusterSize;
+
+		columns = grid.getColumns();
+		rows = grid.getRows();
+
+		clustersX = (columns + clusterSize - 1) / clusterSize;
+		int clustersY = (rows + clusterSize - 1) / clusterSize;
+
+		clusters = new Cluster[clustersX * clustersY];
+		dirty = new boolean[clusters.length];
+
+		// Two transitions per entrance, and at most one entrance per two
+		// cells of each of the four borders, or two per seven cells.
+		capacity = 4 * clusterSize;
+		goalNode = clusters.length * capacity;
+
+		costs = new float[goalNode + 1];
+		parents = new int[costs.length];
+		stamps = new int[costs.length];
+		closed = new int[costs.length];
+
+		for (int i = 0; i < clusters.length; i++) {
+			Cluster cluster = new Cluster();
+			cluster.minColumn = (i % clustersX) * clusterSize;
+			cluster.minRow = (i / clustersX) * clusterSize;
+			cluster.maxColumn = Math.min(cluster.minColumn + clusterSize,
+					columns);
+			cluster.maxRow = Math.min(cluster.minRow + clusterSize, rows);
+
+			clusters[i] = cluster;
+		}
+
+		invalidate();
+	}
+
+	// endregion
+
+	// region Invalidation
+
+	/**
+	 * Marks the clusters affected by a changed cell dirty.
+	 *
+	 * @param column
+	 *            The x coordinate of the cell.
+	 * @param row
+	 *            The y coordinate of the cell.
+	 */
+	public void invalidate(int column, int row) {
+		if (column < 0 || row < 0 || column >= columns || row >= rows)
+			return;
+
+		int cluster = getCluster(column, row);
+		markDirty(cluster);
+
+		// Transitions on a border depend on the cells of both clusters.
+		int localColumn = column % clusterSize;
+		int localRow = row % clusterSize;
+
+		if (localColumn == 0 && column > 0)
+			markDirty(cluster - 1);
+		if (localColumn == clusterSize - 1 && column + 1 < columns)
+			markDirty(cluster + 1);
+		if (localRow == 0 && row > 0)
+			markDirty(cluster - clustersX);
+		if (localRow == clusterSize - 1 && row + 1 < rows)
+			markDirty(cluster + clustersX);
+	}
+
+	/**
+	 * Marks every cluster dirty.
+	 */
+	public void invalidate() {
+		for (int i = 0; i < clusters.length; i++) {
+			markDirty(i);
+		}
+	}
+
+	private void markDirty(int cluster) {
+		if (dirty[cluster])
+			return;
+
+		dirty[cluster] = true;
+		dirtyClusters.add(cluster);
+	}
+
+	/**
+	 * Rebuilds the abstract graph of every dirty cluster. Searches do this
+	 * themselves, but calling it ahead of time keeps the cost out of them.
+	 *
+	 * @return The number of clusters rebuilt.
+	 */
+	public int update() {
+		int rebuilt = dirtyClusters.size;
+
+		for (int i = 0; i < dirtyClusters.size; i++) {
+			int cluster = dirtyClusters.get(i);
+
+			dirty[cluster] = false;
+			build(clusters[cluster]);
+		}
+
+		dirtyClusters.clear();
+		rebuildCount += rebuilt;
+
+		return rebuilt;
+	}
+
+	// endregion
+
+	// region Building
+
+	private void build(Cluster cluster) {
+		cluster.cells.clear();
+		cluster.partners.clear();
+
+		int width = cluster.maxColumn - cluster.minColumn;
+		int height = cluster.maxRow - cluster.minRow;
+
+		if (cluster.minColumn > 0)
+			scanBorder(cluster, cluster.minColumn, cluster.minRow, 0, 1, -1,
+					0, height);
+		if (cluster.maxColumn < columns)
+			scanBorder(cluster, cluster.maxColumn - 1, cluster.minRow, 0, 1,
+					1, 0, height);
+		if (cluster.minRow > 0)
+			scanBorder(cluster, cluster.minColumn, cluster.minRow, 1, 0, 0,
+					-1, width);
+		if (cluster.maxRow < rows)
+			scanBorder(cluster, cluster.minColumn, cluster.maxRow - 1, 1, 0,
+					0, 1, width);
+
+		int count = cluster.cells.size;
+
+		int area = width * height;
+
+		if (cluster.costs.length < count * count)
+			cluster.costs = new float[count * count];
+		if (cluster.steps.length < count * area)
+			cluster.steps = new byte[count * area];
+
+		for (int i = 0; i < count; i++) {
+			int cell = cluster.cells.get(i);
+
+			search.expand(cell % columns, cell / columns, cluster.minColumn,
+					cluster.minRow, cluster.maxColumn, cluster.maxRow);
+
+			for (int j = 0; j < count; j++) {
+				cluster.costs[i * count + j] = search.getCost(cluster.cells
+						.get(j));
+			}
+
+			for (int local = 0; local < area; local++) {
+				int column = cluster.minColumn + local % width;
+				int row = cluster.minRow + local / width;
+				int parent = search.getParent(row * columns + column);
+
+				cluster.steps[i * area + local] = (byte) (parent < 0 ? -1
+						: getDirection(parent % columns - column, parent
+								/ columns - row));
+			}
+		}
+	}
+
+	private static int getDirection(int dx, int dy) {
+		for (int direction = 0; direction < 8; direction++) {
+			if (GridSearch.DX[direction] == dx
+					&& GridSearch.DY[direction] == dy)
+				return direction;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Places transitions along one border. Both clusters sharing the border
+	 * scan the same pairs of cells, so they place matching transitions.
+	 */
+	private void scanBorder(Cluster cluster, int column, int row,
+			int stepColumn, int stepRow, int outColumn, int outRow, int length) {
+		int runStart = -1;
+
+		for (int t = 0; t <= length; t++) {
+			int c = column + stepColumn * t;
+			int r = row + stepRow * t;
+
+			if (t < length && search.isWalkable(c, r)
+					&& search.isWalkable(c + outColumn, r + outRow)) {
+				if (runStart < 0)
+					runStart = t;
+				continue;
+			}
+
+			if (runStart < 0)
+				continue;
+
+			int runLength = t - runStart;
+
+			if (runLength < WIDE_ENTRANCE) {
+				addTransition(cluster, column, row, stepColumn, stepRow,
+						outColumn, outRow, runStart + runLength / 2);
+			} else {
+				addTransition(cluster, column, row, stepColumn, stepRow,
+						outColumn, outRow, runStart);
+				addTransition(cluster, column, row, stepColumn, stepRow,
+						outColumn, outRow, t - 1);
+			}
+
+			runStart = -1;
+		}
+	}
+
+	private void addTransition(Cluster cluster, int column, int row,
+			int stepColumn, int stepRow, int outColumn, int outRow, int t) {
+		int cell = (row + stepRow * t) * columns + column + stepColumn * t;
+
+		cluster.cells.add(cell);
+		cluster.partners.add(cell + outRow * columns + outColumn);
+	}
+
+	// endregion
+
+	// region Searching
+
+	/**
+	 * Finds a path between two cells.
+	 *
+	 * @param startColumn
+	 *            The x coordinate of the start.
+	 * @param startRow
+	 *            The y coordinate of the start.
+	 * @param goalColumn
+	 *            The x coordinate of the goal.
+	 * @param goalRow
+	 *            The y coordinate of the goal.
+	 * @param path
+	 *            The cell indices of the path, from start to goal, are added
+	 *            to this.
+	 * @return The cost of the path, or -1 if there is none.
+	 */
+	public float findPath(int startColumn, int startRow, int goalColumn,
+			int goalRow, IntArray path) {
+		if (!search.isWalkable(startColumn, startRow)
+				|| !search.isWalkable(goalColumn, goalRow))
+			return -1f;
+
+		update();
+
+		this.goalColumn = goalColumn;
+		this.goalRow = goalRow;
+		expandedCount = 0;
+
+		int startCluster = getCluster(startColumn, startRow);
+		int goalCluster = getCluster(goalColumn, goalRow);
+		Cluster start = clusters[startCluster];
+		Cluster goal = clusters[goalCluster];
+
+		// Nearby goals rarely need the abstract graph.
+		if (startCluster == goalCluster) {
+			float cost = search.findPath(startColumn, startRow, goalColumn,
+					goalRow, start.minColumn, start.minRow, start.maxColumn,
+					start.maxRow, path);
+
+			if (cost >= 0f)
+				return cost;
+		}
+
+		getCosts(start, startColumn, startRow, startCosts);
+		getCosts(goal, goalColumn, goalRow, goalCosts);
+
+		open.clear();
+
+		if (++stamp == Integer.MAX_VALUE) {
+			Arrays.fill(stamps, 0);
+			Arrays.fill(closed, 0);
+			stamp = 1;
+		}
+
+		for (int i = 0; i < start.cells.size; i++) {
+			relax(key(startCluster, i), startCosts.get(i), START);
+		}
+
+		boolean found = false;
+
+		while (!open.isEmpty()) {
+			int node = open.pop();
+
+			if (node == goalNode) {
+				found = true;
+				break;
+			}
+
+			if (closed[node] == stamp)
+				continue;
+
+			closed[node] = stamp;
+			expandedCount++;
+
+			int clusterIndex = node / capacity;
+			int local = node % capacity;
+			Cluster cluster = clusters[clusterIndex];
+			float cost = costs[node];
+			int count = cluster.cells.size;
+
+			if (clusterIndex == goalCluster)
+				relax(goalNode, cost + goalCosts.get(local), node);
+
+			for (int j = 0; j < count; j++) {
+				if (j != local)
+					relax(key(clusterIndex, j), cost
+							+ cluster.costs[local * count + j], node);
+			}
+
+			// Step across the border.
+			int cell = cluster.cells.get(local);
+			int partnerCell = cluster.partners.get(local);
+			int partnerIndex = getCluster(partnerCell % columns, partnerCell
+					/ columns);
+			Cluster partner = clusters[partnerIndex];
+
+			for (int j = 0; j < partner.cells.size; j++) {
+				if (partner.cells.get(j) == partnerCell
+						&& partner.partners.get(j) == cell) {
+					relax(key(partnerIndex, j), cost + 1f, node);
+					break;
+				}
+			}
+		}
+
+		if (!found)
+			return -1f;
+
+		nodes.clear();
+		for (int node = goalNode; node != START; node = parents[node]) {
+			nodes.add(node);
+		}
+
+		refine(startColumn, startRow, startCluster, goalCluster, path);
+
+		return costs[goalNode];
+	}
+
+	private void getCosts(Cluster cluster, int column, int row, FloatArray out) {
+		search.expand(column, row, cluster.minColumn, cluster.minRow,
+				cluster.maxColumn, cluster.maxRow);
+
+		out.clear();
+		for (int i = 0; i < cluster.cells.size; i++) {
+			out.add(search.getCost(cluster.cells.get(i)));
+		}
+	}
+
+	private void relax(int node, float cost, int parent) {
+		if (cost == GridSearch.UNREACHABLE || closed[node] == stamp)
+			return;
+
+		if (stamps[node] == stamp && cost >= costs[node])
+			return;
+
+		stamps[node] = stamp;
+		costs[node] = cost;
+		parents[node] = parent;
+
+		float estimate = 0f;
+
+		if (node != goalNode) {
+			int cell = clusters[node / capacity].cells.get(node % capacity);
+			estimate = GridSearch.heuristic(cell % columns, cell / columns,
+					goalColumn, goalRow);
+		}
+
+		open.push(node, cost + estimate);
+	}
+
+	/**
+	 * Turns the abstract nodes, stored from goal to start, into cells.
+	 */
+	private void refine(int startColumn, int startRow, int startCluster,
+			int goalCluster, IntArray path) {
+		path.add(startRow * columns + startColumn);
+
+		int previous = startRow * columns + startColumn;
+		int previousCluster = startCluster;
+		int previousLocal = -1;
+
+		for (int i = nodes.size - 1; i >= 0; i--) {
+			int node = nodes.get(i);
+			int cluster;
+			int cell;
+			int local = -1;
+
+			if (node == goalNode) {
+				cluster = goalCluster;
+				cell = goalRow * columns + goalColumn;
+			} else {
+				cluster = node / capacity;
+				local = node % capacity;
+				cell = clusters[cluster].cells.get(local);
+			}
+
+			if (cluster != previousCluster) {
+				path.add(cell); // across the border
+			} else if (cell == previous) {
+				// Two transitions in a corner cell.
+			} else if (previousLocal >= 0 && local >= 0) {
+				addSteps(clusters[cluster], previousLocal, previous, cell,
+						path);
+			} else {
+				Cluster bounds = clusters[cluster];
+
+				segment.clear();
+				search.findPath(previous % columns, previous / columns, cell
+						% columns, cell / columns, bounds.minColumn,
+						bounds.minRow, bounds.maxColumn, bounds.maxRow,
+						segment);
+
+				for (int j = 1; j < segment.size; j++) {
+					path.add(segment.get(j));
+				}
+			}
+
+			previous = cell;
+			previousCluster = cluster;
+			previousLocal = local;
+		}
+	}
+
+	/**
+	 * Adds the cached steps from one transition to a cell of its cluster.
+	 */
+	private void addSteps(Cluster cluster, int transition, int from, int to,
+			IntArray path) {
+		int width = cluster.maxColumn - cluster.minColumn;
+		int area = width * (cluster.maxRow - cluster.minRow);
+
+		// The tree leads towards the transition, so walk it backwards.
+		segment.clear();
+
+		for (int cell = to; cell != from;) {
+			segment.add(cell);
+
+			int column = cell % columns;
+			int row = cell / columns;
+			int direction = cluster.steps[transition * area
+					+ (row - cluster.minRow) * width
+					+ (column - cluster.minColumn)];
+
+			cell += GridSearch.DY[direction] * columns
+					+ GridSearch.DX[direction];
+		}
+
+		for (int j = segment.size - 1; j >= 0; j--) {
+			path.add(segment.get(j));
+		}
+	}
+
+	private int getCluster(int column, int row) {
+		return (row / clusterSize) * clustersX + column / clusterSize;
+	}
+
+	private int key(int cluster, int local) {
+		return cluster * capacity + local;
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The width and height of a cluster, in cells.
+	 */
+	public int getClusterSize() {
+		return clusterSize;
+	}
+
+	/**
+	 * @return The number of transitions in the abstract graph.
+	 */
+	public int getNodeCount() {
+		int count = 0;
+
+		for (int i = 0; i < clusters.length; i++) {
+			count += clusters[i].cells.size;
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return The number of cluster rebuilds so far.
+	 */
+	public int getRebuildCount() {
+		return rebuildCount;
+	}
+
+	/**
+	 * @return The number of abstract nodes the last search expanded.
+	 */
+	public int getExpandedCount() {
+		return expandedCount;
+	}
+
+	// endregion
+
+}
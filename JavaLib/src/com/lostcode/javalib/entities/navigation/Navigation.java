@@ -0,0 +1,357 @@
+package com.lostcode.javalib.entities.navigation;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.lostcode.javalib.entities.tiles.TileGrid;
+import com.lostcode.javalib.utils.metrics.Counter;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
+
+/**
+ * Navigation over the {@link TileGrid} of a TileMap. Paths are planned with
+ * {@link HierarchicalPathFinder}, and many agents heading for one goal can
+ * share a {@link FlowField}. Changes to the grid, such as those made by
+ * TileMap.setTile(), only invalidate the clusters and fields they affect.
+ * <p>
+ * Paths can be found right away with {@link #findPath}, or queued with
+ * {@link #submit}. Queued requests are processed by {@link #process(float)},
+ * which the EntityWorld calls every frame, until the frame's time budget is
+ * spent. At least one request is processed per frame, so none starve.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class Navigation implements TileGrid.Listener, Disposable {
+
+	// region Fields
+
+	/** The default number of milliseconds spent on queued requests per frame. */
+	public static final float DEFAULT_BUDGET = 1f;
+
+	/** The default number of flow fields kept. */
+	public static final int DEFAULT_MAX_FLOW_FIELDS = 8;
+
+	private static final Gauge QUEUED = MetricsRegistry.getDefault().gauge(
+			"javalib_navigation_queued_requests",
+			"Path requests waiting to be processed");
+	private static final Counter PATHS = MetricsRegistry.getDefault()
+			.counter("javalib_navigation_paths_total", "Paths searched");
+
+	private final TileGrid grid;
+	private final GridSearch search;
+	private final HierarchicalPathFinder pathFinder;
+
+	private final Array<FlowField> flowFields = new Array<FlowField>();
+	private int maxFlowFields = DEFAULT_MAX_FLOW_FIELDS;
+
+	private final Array<PathRequest> queue = new Array<PathRequest>();
+	private int head;
+	private float budget = DEFAULT_BUDGET;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates navigation over a grid, with the default cluster size.
+	 *
+	 * @param grid
+	 *            The grid, such as TileMap.getGrid().
+	 */
+	public Navigation(TileGrid grid) {
+		this(grid, HierarchicalPathFinder.DEFAULT_CLUSTER_SIZE);
+	}
+
+	/**
+	 * Creates navigation over a grid.
+	 *
+	 * @param grid
+	 *            The grid, such as TileMap.getGrid().
+	 * @param clusterSize
+	 *            The width and height of the path finder's clusters, in cells.
+	 */
+	public Navigation(TileGrid grid, int clusterSize) {
+		this.grid = grid;
+
+		search = new GridSearch(grid);
+		pathFinder = new HierarchicalPathFinder(grid, search, clusterSize);
+
+		grid.addListener(this);
+	}
+
+	/**
+	 * Stops listening to the grid.
+	 */
+	@Override
+	public void dispose() {
+		grid.removeListener(this);
+	}
+
+	// endregion
+
+	// region Paths
+
+	/**
+	 * Finds a path right away.
+	 *
+	 * @param startX
+	 *            The x coordinate of the start, in pixels.
+	 * @param startY
+	 *            The y coordinate of the start, in pixels.
+	 * @param goalX
+	 *            The x coordinate of the goal, in pixels.
+	 * @param goalY
+	 *            The y coordinate of the goal, in pixels.
+	 * @param path
+	 *            Set to the path, or cleared if there is none.
+	 * @return Whether a path was found.
+	 */
+	public boolean findPath(float startX, float startY, float goalX,
+			float goalY, TilePath path) {
+		return findPath(grid.getColumn(startX), grid.getRow(startY),
+				grid.getColumn(goalX), grid.getRow(goalY), path);
+	}
+
+	/**
+	 * Finds a path between two cells right away.
+	 *
+	 * @param startColumn
+	 *            The x coordinate of the start.
+	 * @param startRow
+	 *            The y coordinate of the start.
+	 * @param goalColumn
+	 *            The x coordinate of the goal.
+	 * @param goalRow
+	 *            The y coordinate of the goal.
+	 * @param path
+	 *            Set to the path, or cleared if there is none.
+	 * @return Whether a path was found.
+	 */
+	public boolean findPath(int startColumn, int startRow, int goalColumn,
+			int goalRow, TilePath path) {
+		path.clear();
+		PATHS.increment();
+
+		float cost = pathFinder.findPath(startColumn, startRow, goalColumn,
+				goalRow, path.getCells());
+
+		if (cost < 0f) {
+			path.clear();
+			return false;
+		}
+
+		path.set(grid, cost);
+		return true;
+	}
+
+	/**
+	 * Queues a new request.
+	 *
+	 * @param startX
+	 *            The x coordinate of the start, in pixels.
+	 * @param startY
+	 *            The y coordinate of the start, in pixels.
+	 * @param goalX
+	 *            The x coordinate of the goal, in pixels.
+	 * @param goalY
+	 *            The y coordinate of the goal, in pixels.
+	 * @return The request.
+	 */
+	public PathRequest requestPath(float startX, float startY, float goalX,
+			float goalY) {
+		PathRequest request = new PathRequest(startX, startY, goalX, goalY);
+		submit(request);
+		return request;
+	}
+
+	/**
+	 * Queues a request, which must not be pending already.
+	 *
+	 * @param request
+	 *            The request.
+	 */
+	public void submit(PathRequest request) {
+		if (request.state == PathRequest.State.PENDING)
+			throw new IllegalStateException("The request is already pending.");
+
+		request.state = PathRequest.State.PENDING;
+		queue.add(request);
+	}
+
+	/**
+	 * Processes queued requests until the time budget is spent. Dirty
+	 * clusters are rebuilt first.
+	 *
+	 * @param deltaSeconds
+	 *            The time since the last call, in seconds.
+	 */
+	public void process(float deltaSeconds) {
+		long deadline = System.nanoTime() + (long) (budget * 1000000f);
+
+		pathFinder.update();
+
+		int processed = 0;
+
+		while (head < queue.size
+				&& (processed == 0 || System.nanoTime() < deadline)) {
+			PathRequest request = queue.get(head);
+			queue.set(head++, null);
+
+			if (request.state != PathRequest.State.PENDING)
+				continue; // cancelled
+
+			boolean found = findPath(request.startX, request.startY,
+					request.goalX, request.goalY, request.getPath());
+
+			request.state = found ? PathRequest.State.FOUND
+					: PathRequest.State.FAILED;
+			processed++;
+		}
+
+		// Drop the processed requests from the front of the queue.
+		if (head == queue.size) {
+			queue.clear();
+			head = 0;
+		} else if (head > queue.size / 2) {
+			for (int i = head; i < queue.size; i++) {
+				queue.set(i - head, queue.get(i));
+			}
+
+			queue.truncate(queue.size - head);
+			head = 0;
+		}
+
+		QUEUED.set(queue.size - head);
+	}
+
+	/**
+	 * @return The number of requests waiting in the queue.
+	 */
+	public int getQueuedCount() {
+		return queue.size - head;
+	}
+
+	/**
+	 * @return The number of milliseconds spent on queued requests per frame.
+	 */
+	public float getBudget() {
+		return budget;
+	}
+
+	/**
+	 * @param budget
+	 *            The number of milliseconds spent on queued requests per
+	 *            frame.
+	 */
+	public void setBudget(float budget) {
+		this.budget = budget;
+	}
+
+	// endregion
+
+	// region Flow Fields
+
+	/**
+	 * Gets the flow field towards a goal, building it if needed. The most
+	 * recently used fields are kept, and the oldest is reused for a new goal.
+	 *
+	 * @param goalX
+	 *            The x coordinate of the goal, in pixels.
+	 * @param goalY
+	 *            The y coordinate of the goal, in pixels.
+	 * @return The flow field.
+	 */
+	public FlowField getFlowField(float goalX, float goalY) {
+		return getFlowField(grid.getColumn(goalX), grid.getRow(goalY));
+	}
+
+	/**
+	 * Gets the flow field towards a goal cell, building it if needed.
+	 *
+	 * @param goalColumn
+	 *            The x coordinate of the goal.
+	 * @param goalRow
+	 *            The y coordinate of the goal.
+	 * @return The flow field.
+	 */
+	public FlowField getFlowField(int goalColumn, int goalRow) {
+		FlowField field = null;
+
+		for (int i = flowFields.size - 1; i >= 0; i--) {
+			FlowField candidate = flowFields.get(i);
+
+			if (candidate.getGoalColumn() == goalColumn
+					&& candidate.getGoalRow() == goalRow) {
+				field = flowFields.removeIndex(i);
+				break;
+			}
+		}
+
+		if (field == null) {
+			if (flowFields.size >= maxFlowFields && flowFields.size > 0) {
+				field = flowFields.removeIndex(0);
+				field.setGoal(goalColumn, goalRow);
+			} else {
+				field = new FlowField(grid, search, goalColumn, goalRow);
+			}
+		}
+
+		flowFields.add(field); // most recently used last
+		field.update();
+
+		return field;
+	}
+
+	/**
+	 * @param maxFlowFields
+	 *            The number of flow fields kept.
+	 */
+	public void setMaxFlowFields(int maxFlowFields) {
+		this.maxFlowFields = maxFlowFields;
+
+		while (flowFields.size > maxFlowFields) {
+			flowFields.removeIndex(0);
+		}
+	}
+
+	// endregion
+
+	// region Invalidation
+
+	@Override
+	public void cellChanged(int column, int row, boolean solid) {
+		pathFinder.invalidate(column, row);
+
+		for (int i = 0; i < flowFields.size; i++) {
+			flowFields.get(i).invalidate();
+		}
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The grid.
+	 */
+	public TileGrid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * @return The search over the grid's cells.
+	 */
+	public GridSearch getSearch() {
+		return search;
+	}
+
+	/**
+	 * @return The hierarchical path finder.
+	 */
+	public HierarchicalPathFinder getPathFinder() {
+		return pathFinder;
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,96 @@
+package com.lostcode.javalib.entities.navigation;
+
+/**
+ * A binary min-heap of int nodes keyed by floats, for the open lists of the
+ * navigation searches. A node may be pushed more than once; the search skips
+ * the copies it has already closed.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+final class NodeHeap {
+
+	private int[] nodes = new int[64];
+	private float[] keys = new float[64];
+	private int size;
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param node
+	 *            The node.
+	 * @param key
+	 *            Its priority. Lower keys are popped first.
+	 */
+	void push(int node, float key) {
+		if (size == nodes.length) {
+			int[] newNodes = new int[size * 2];
+			float[] newKeys = new float[size * 2];
+			System.arraycopy(nodes, 0, newNodes, 0, size);
+			System.arraycopy(keys, 0, newKeys, 0, size);
+			nodes = newNodes;
+			keys = newKeys;
+		}
+
+		int index = size++;
+
+		while (index > 0) {
+			int parent = (index - 1) >> 1;
+
+			if (keys[parent] <= key)
+				break;
+
+			nodes[index] = nodes[parent];
+			keys[index] = keys[parent];
+			index = parent;
+		}
+
+		nodes[index] = node;
+		keys[index] = key;
+	}
+
+	/**
+	 * Removes the node with the lowest key.
+	 *
+	 * @return The node.
+	 */
+	int pop() {
+		int top = nodes[0];
+		size--;
+
+		int node = nodes[size];
+		float key = keys[size];
+		int index = 0;
+
+		while (true) {
+			int child = index * 2 + 1;
+
+			if (child >= size)
+				break;
+
+			if (child + 1 < size && keys[child + 1] < keys[child])
+				child++;
+
+			if (keys[child] >= key)
+				break;
+
+			nodes[index] = nodes[child];
+			keys[index] = keys[child];
+			index = child;
+		}
+
+		nodes[index] = node;
+		keys[index] = key;
+
+		return top;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.lostcode.javalib.entities.navigation;
+
+/**
+ * A path search queued with {@link Navigation#submit}. Poll
+ * {@link #getState()} until the search is done; the path is then available
+ * from {@link #getPath()}. Requests can be reused once they are done.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class PathRequest {
+
+	// region Fields
+
+	/** The states of a request. */
+	public enum State {
+		/** The request is waiting in the queue. */
+		PENDING,
+		/** A path was found. */
+		FOUND,
+		/** There is no path. */
+		FAILED,
+		/** The request was cancelled before it was processed. */
+		CANCELLED
+	}
+
+	float startX, startY, goalX, goalY;
+	State state; // null until submitted
+
+	private final TilePath path = new TilePath();
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates a request.
+	 *
+	 * @param startX
+	 *            The x coordinate of the start, in pixels.
+	 * @param startY
+	 *            The y coordinate of the start, in pixels.
+	 * @param goalX
+	 *            The x coordinate of the goal, in pixels.
+	 * @param goalY
+	 *            The y coordinate of the goal, in pixels.
+	 */
+	public PathRequest(float startX, float startY, float goalX, float goalY) {
+		set(startX, startY, goalX, goalY);
+	}
+
+	/**
+	 * Changes the start and goal of a request that isn't pending.
+	 *
+	 * @param startX
+	 *            The x coordinate of the start, in pixels.
+	 * @param startY
+	 *            The y coordinate of the start, in pixels.
+	 * @param goalX
+	 *            The x coordinate of the goal, in pixels.
+	 * @param goalY
+	 *            The y coordinate of the goal, in pixels.
+	 */
+	public void set(float startX, float startY, float goalX, float goalY) {
+		if (state == State.PENDING)
+			throw new IllegalStateException("The request is still pending.");
+
+		this.startX = startX;
+		this.startY = startY;
+		this.goalX = goalX;
+		this.goalY = goalY;
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * Cancels the request if it is still pending.
+	 */
+	public void cancel() {
+		if (state == State.PENDING)
+			state = State.CANCELLED;
+	}
+
+	/**
+	 * @return The request's state, or null if it was never submitted.
+	 */
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * @return Whether the request is no longer pending.
+	 */
+	public boolean isDone() {
+		return state != State.PENDING;
+	}
+
+	/**
+	 * @return The path, once the state is {@link State#FOUND}.
+	 */
+	public TilePath getPath() {
+		return path;
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,105 @@
+package com.lostcode.javalib.entities.navigation;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.lostcode.javalib.entities.tiles.TileGrid;
+
+/**
+ * A path through the cells of a {@link TileGrid}, from start to goal. Paths
+ * can be reused for any number of searches.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class TilePath {
+
+	// region Fields
+
+	private final IntArray cells = new IntArray();
+	private TileGrid grid;
+	private float cost;
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The number of cells in the path, including the start and goal.
+	 */
+	public int getLength() {
+		return cells.size;
+	}
+
+	/**
+	 * @return Whether the path has no cells.
+	 */
+	public boolean isEmpty() {
+		return cells.size == 0;
+	}
+
+	/**
+	 * @return The cost of the path. Straight steps cost 1.
+	 */
+	public float getCost() {
+		return cost;
+	}
+
+	/**
+	 * @param index
+	 *            The index of a cell in the path.
+	 * @return The cell's x coordinate.
+	 */
+	public int getColumn(int index) {
+		return cells.get(index) % grid.getColumns();
+	}
+
+	/**
+	 * @param index
+	 *            The index of a cell in the path.
+	 * @return The cell's y coordinate.
+	 */
+	public int getRow(int index) {
+		return cells.get(index) / grid.getColumns();
+	}
+
+	/**
+	 * @param index
+	 *            The index of a cell in the path.
+	 * @return The x coordinate of the cell's center, in pixels.
+	 */
+	public float getX(int index) {
+		return grid.getCenterX(getColumn(index));
+	}
+
+	/**
+	 * @param index
+	 *            The index of a cell in the path.
+	 * @return The y coordinate of the cell's center, in pixels.
+	 */
+	public float getY(int index) {
+		return grid.getCenterY(getRow(index));
+	}
+
+	// endregion
+
+	// region Mutators
+
+	/**
+	 * Removes every cell.
+	 */
+	public void clear() {
+		cells.clear();
+		cost = 0f;
+	}
+
+	IntArray getCells() {
+		return cells;
+	}
+
+	void set(TileGrid grid, float cost) {
+		this.grid = grid;
+		this.cost = cost;
+	}
+
+	// endregion
+
+}
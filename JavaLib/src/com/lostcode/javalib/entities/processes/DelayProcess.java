@@ -1,6 +1,9 @@
 package com.lostcode.javalib.entities.processes;
 
+import java.nio.ByteBuffer;
+
 import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 
 /**
  * A {@link Process} that simply waits for a specified amount of time before
@@ -9,7 +12,7 @@ import com.lostcode.javalib.entities.EntityWorld;
  * @author Natman64
  * 
  */
-public class DelayProcess extends Process {
+public class DelayProcess extends Process implements Snapshotable {
 
 	// region Fields
 
@@ -49,6 +52,20 @@ public class DelayProcess extends Process {
 
 	// endregion
 
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putFloat(time);
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		time = buffer.getFloat();
+	}
+
+	// endregion
+
 	// region Events
 
 	@Override
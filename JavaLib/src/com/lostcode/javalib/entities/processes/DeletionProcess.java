@@ -1,16 +1,23 @@
 package com.lostcode.javalib.entities.processes;
 
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.utils.LongMap;
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.snapshots.Relinkable;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 
 /**
  * Deletes an Entity. Meant to be timed with a {@link DelayProcess}.
  * @author Natman64
  * @created Oct 13, 2013
  */
-public class DeletionProcess extends Process {
+public class DeletionProcess extends Process implements Snapshotable,
+		Relinkable {
 	
 	private Entity e;
+	private long serial;
 	
 	/**
 	 * Creates a DeletionProcess.
@@ -22,10 +29,27 @@ public class DeletionProcess extends Process {
 	
 	@Override
 	public void update(EntityWorld world, float deltaTime) {
-		e.delete(); //delete the entity
+		if (e != null)
+			e.delete(); //delete the entity
 		end(ProcessState.SUCCEEDED); //end
 	}
 
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putLong(e == null ? -1 : e.getSerial());
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		serial = buffer.getLong();
+	}
+
+	@Override
+	public void relink(LongMap<Entity> entities) {
+		// Null if the entity couldn't be rebuilt; there is nothing to delete.
+		e = entities.get(serial);
+	}
+
 	@Override
 	public void onEnd(EntityWorld world, ProcessState endState) {
 		
@@ -1,6 +1,9 @@
 package com.lostcode.javalib.entities.processes;
 
+import java.nio.ByteBuffer;
+
 import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 
 /**
  * A {@link Process} that just spawns an Entity using the arguments given given
@@ -9,7 +12,7 @@ import com.lostcode.javalib.entities.EntityWorld;
  * 
  */
 
-public class SpawnProcess extends Process {
+public class SpawnProcess extends Process implements Snapshotable {
 
 	private String template;
 	private Object[] arguments;
@@ -29,6 +32,15 @@ public class SpawnProcess extends Process {
 		end(ProcessState.SUCCEEDED);
 	}
 
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		// Nothing changes after construction.
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+	}
+
 	@Override
 	public void onEnd(EntityWorld world, ProcessState endState) {}
 
@@ -0,0 +1,27 @@
+package com.lostcode.javalib.entities.snapshots;
+
+import com.badlogic.gdx.utils.LongMap;
+import com.lostcode.javalib.entities.Entity;
+
+/**
+ * Interface for {@link Snapshotable} objects that refer to entities. Entity
+ * objects are pooled, so an entity rebuilt by a {@link WorldSnapshot} may be
+ * a different object than the one that was captured, and the captured object
+ * may belong to another entity by then. References are written as serial
+ * numbers and looked up again once every entity has been restored.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public interface Relinkable {
+
+	/**
+	 * Replaces entity references with the restored entities. Called after
+	 * {@link Snapshotable#readSnapshot(java.nio.ByteBuffer)}.
+	 *
+	 * @param entities
+	 *            Every restored entity, by serial number.
+	 */
+	public void relink(LongMap<Entity> entities);
+
+}
@@ -0,0 +1,203 @@
+package com.lostcode.javalib.entities.snapshots;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Constants and encoding helpers shared by {@link SaveWriter} and
+ * {@link SaveReader}.
+ * <p>
+ * A save file starts with a header: magic (int), version (short), the byte
+ * order of component records (byte), a reserved byte, and the chunk count
+ * (int). Every chunk that follows has a type (int) and payload length (int).
+ * The file structure itself is little-endian.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+final class SaveFormat {
+
+	// region Constants
+
+	static final int MAGIC = 0x4A4C5356; // "JLSV"
+	static final short VERSION = 1;
+
+	static final int HEADER_SIZE = 12;
+	static final int CHUNK_HEADER_SIZE = 8;
+	static final int CHUNK_COUNT_OFFSET = 8;
+
+	static final int CHUNK_END = 0;
+	static final int CHUNK_CLASSES = 1;
+	static final int CHUNK_ENTITIES = 2;
+
+	static final byte ORDER_BIG_ENDIAN = 0;
+	static final byte ORDER_LITTLE_ENDIAN = 1;
+
+	private static final byte ARG_NULL = 0;
+	private static final byte ARG_BOOLEAN = 1;
+	private static final byte ARG_INT = 2;
+	private static final byte ARG_LONG = 3;
+	private static final byte ARG_FLOAT = 4;
+	private static final byte ARG_DOUBLE = 5;
+	private static final byte ARG_STRING = 6;
+	private static final byte ARG_VECTOR2 = 7;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	// endregion
+
+	private SaveFormat() {
+	}
+
+	// region Strings
+
+	static int maxStringSize(String value) {
+		return 4 + (value == null ? 0 : value.length() * 3);
+	}
+
+	static void putString(ByteBuffer buffer, String value) {
+		if (value == null) {
+			buffer.putInt(-1);
+			return;
+		}
+
+		byte[] bytes = value.getBytes(UTF8);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+	static String getString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+
+		if (length < 0)
+			return null;
+
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+
+		return new String(bytes, UTF8);
+	}
+
+	// endregion
+
+	// region Template Arguments
+
+	/**
+	 * @return Whether every argument is of a type that can be saved.
+	 */
+	static boolean canEncode(Object[] args) {
+		if (args == null)
+			return true;
+
+		for (Object arg : args) {
+			if (arg != null && !(arg instanceof Boolean)
+					&& !(arg instanceof Integer) && !(arg instanceof Long)
+					&& !(arg instanceof Float) && !(arg instanceof Double)
+					&& !(arg instanceof String) && !(arg instanceof Vector2))
+				return false;
+		}
+
+		return true;
+	}
+
+	static int maxArgsSize(Object[] args) {
+		int size = 4;
+
+		if (args == null)
+			return size;
+
+		for (Object arg : args) {
+			if (arg instanceof String)
+				size += 1 + maxStringSize((String) arg);
+			else
+				size += 9;
+		}
+
+		return size;
+	}
+
+	static void putArgs(ByteBuffer buffer, Object[] args) {
+		if (args == null) {
+			buffer.putInt(0);
+			return;
+		}
+
+		buffer.putInt(args.length);
+
+		for (Object arg : args) {
+			if (arg == null) {
+				buffer.put(ARG_NULL);
+			} else if (arg instanceof Boolean) {
+				buffer.put(ARG_BOOLEAN);
+				buffer.put((byte) (((Boolean) arg) ? 1 : 0));
+			} else if (arg instanceof Integer) {
+				buffer.put(ARG_INT);
+				buffer.putInt((Integer) arg);
+			} else if (arg instanceof Long) {
+				buffer.put(ARG_LONG);
+				buffer.putLong((Long) arg);
+			} else if (arg instanceof Float) {
+				buffer.put(ARG_FLOAT);
+				buffer.putFloat((Float) arg);
+			} else if (arg instanceof Double) {
+				buffer.put(ARG_DOUBLE);
+				buffer.putDouble((Double) arg);
+			} else if (arg instanceof String) {
+				buffer.put(ARG_STRING);
+				putString(buffer, (String) arg);
+			} else if (arg instanceof Vector2) {
+				buffer.put(ARG_VECTOR2);
+				buffer.putFloat(((Vector2) arg).x);
+				buffer.putFloat(((Vector2) arg).y);
+			} else {
+				throw new GdxRuntimeException("Cannot save template argument of type "
+						+ arg.getClass().getName());
+			}
+		}
+	}
+
+	static Object[] getArgs(ByteBuffer buffer) {
+		Object[] args = new Object[buffer.getInt()];
+
+		for (int i = 0; i < args.length; i++) {
+			byte type = buffer.get();
+
+			switch (type) {
+			case ARG_NULL:
+				break;
+			case ARG_BOOLEAN:
+				args[i] = buffer.get() != 0;
+				break;
+			case ARG_INT:
+				args[i] = buffer.getInt();
+				break;
+			case ARG_LONG:
+				args[i] = buffer.getLong();
+				break;
+			case ARG_FLOAT:
+				args[i] = buffer.getFloat();
+				break;
+			case ARG_DOUBLE:
+				args[i] = buffer.getDouble();
+				break;
+			case ARG_STRING:
+				args[i] = getString(buffer);
+				break;
+			case ARG_VECTOR2:
+				args[i] = new Vector2(buffer.getFloat(), buffer.getFloat());
+				break;
+			default:
+				throw new GdxRuntimeException("Unknown template argument type "
+						+ type);
+			}
+		}
+
+		return args;
+	}
+
+	// endregion
+
+}
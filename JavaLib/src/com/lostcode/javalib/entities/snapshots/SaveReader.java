@@ -0,0 +1,225 @@
+package com.lostcode.javalib.entities.snapshots;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.EntityWorld;
+
+/**
+ * Loads a file written by {@link SaveWriter}. Opening a save only maps the
+ * file and indexes its chunks; entities are materialized one chunk at a time,
+ * either on demand with {@link #loadChunk} or spread across frames with
+ * {@link #loadNext}.
+ * <p>
+ * Entities are rebuilt with their original templates and serial numbers, so
+ * the world being loaded into should not already contain them.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class SaveReader {
+
+	// region Fields
+
+	private MappedByteBuffer in;
+	private ByteOrder recordOrder;
+
+	private final IntArray chunkOffsets = new IntArray();
+	private final Array<Class<?>> classes = new Array<Class<?>>();
+
+	private boolean[] loaded;
+	private int nextChunk;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Opens a save file and indexes its chunks.
+	 *
+	 * @param source
+	 *            The save file.
+	 * @throws IOException
+	 *             If the file can't be read.
+	 */
+	public SaveReader(File source) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(source, "r");
+
+		try {
+			in = file.getChannel().map(MapMode.READ_ONLY, 0, file.length());
+		} finally {
+			file.close(); // The mapping stays valid after closing.
+		}
+
+		in.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (in.remaining() < SaveFormat.HEADER_SIZE
+				|| in.getInt() != SaveFormat.MAGIC)
+			throw new GdxRuntimeException(source.getName()
+					+ " is not a save file");
+
+		short version = in.getShort();
+		if (version > SaveFormat.VERSION)
+			throw new GdxRuntimeException(source.getName()
+					+ " was saved by a newer version (" + version + ")");
+
+		recordOrder = in.get() == SaveFormat.ORDER_LITTLE_ENDIAN ? ByteOrder.LITTLE_ENDIAN
+				: ByteOrder.BIG_ENDIAN;
+		in.get(); // Reserved
+		in.getInt(); // Chunk count
+
+		indexChunks();
+
+		loaded = new boolean[chunkOffsets.size];
+	}
+
+	private void indexChunks() {
+		while (in.remaining() >= SaveFormat.CHUNK_HEADER_SIZE) {
+			int position = in.position();
+			int type = in.getInt();
+			int length = in.getInt();
+
+			if (type == SaveFormat.CHUNK_END)
+				break;
+
+			if (type == SaveFormat.CHUNK_CLASSES)
+				readClasses();
+			else if (type == SaveFormat.CHUNK_ENTITIES)
+				chunkOffsets.add(position + SaveFormat.CHUNK_HEADER_SIZE);
+
+			// Unknown chunk types are skipped.
+			in.position(position + SaveFormat.CHUNK_HEADER_SIZE + length);
+		}
+	}
+
+	private void readClasses() {
+		int count = in.getInt();
+
+		for (int i = 0; i < count; i++) {
+			String name = SaveFormat.getString(in);
+
+			try {
+				classes.add(Class.forName(name));
+			} catch (ClassNotFoundException ex) {
+				throw new GdxRuntimeException("Saved component class " + name
+						+ " no longer exists", ex);
+			}
+		}
+	}
+
+	// endregion
+
+	// region Loading
+
+	/**
+	 * @return The number of entity chunks in the file.
+	 */
+	public int getChunkCount() {
+		return chunkOffsets.size;
+	}
+
+	/**
+	 * @param index
+	 *            The index of an entity chunk.
+	 * @return Whether the chunk has been loaded.
+	 */
+	public boolean isLoaded(int index) {
+		return loaded[index];
+	}
+
+	/**
+	 * @return Whether every chunk has been loaded.
+	 */
+	public boolean isComplete() {
+		return nextUnloaded() < 0;
+	}
+
+	/**
+	 * Creates the entities of one chunk. Chunks that are already loaded are
+	 * ignored.
+	 *
+	 * @param world
+	 *            The world to create the entities in.
+	 * @param index
+	 *            The index of the chunk.
+	 * @return The number of entities created.
+	 */
+	public int loadChunk(EntityWorld world, int index) {
+		if (loaded[index])
+			return 0;
+
+		loaded[index] = true;
+
+		ByteBuffer chunk = in.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		chunk.position(chunkOffsets.get(index));
+
+		int count = chunk.getInt();
+
+		for (int i = 0; i < count; i++) {
+			long serial = chunk.getLong();
+			String tag = SaveFormat.getString(chunk);
+			Object[] args = SaveFormat.getArgs(chunk);
+			int length = chunk.getInt();
+
+			int end = chunk.position() + length;
+
+			Entity e = world.recreateEntity(serial, tag, args);
+
+			chunk.order(recordOrder);
+			WorldSnapshot.restoreComponents(e, chunk, classes);
+			chunk.order(ByteOrder.LITTLE_ENDIAN);
+
+			chunk.position(end);
+		}
+
+		return count;
+	}
+
+	/**
+	 * Loads the next chunk that hasn't been loaded. Call once per frame to
+	 * spread loading out.
+	 *
+	 * @param world
+	 *            The world to create the entities in.
+	 * @return False if every chunk was already loaded.
+	 */
+	public boolean loadNext(EntityWorld world) {
+		int index = nextUnloaded();
+
+		if (index < 0)
+			return false;
+
+		loadChunk(world, index);
+		return true;
+	}
+
+	/**
+	 * Loads every remaining chunk.
+	 *
+	 * @param world
+	 *            The world to create the entities in.
+	 */
+	public void loadAll(EntityWorld world) {
+		while (loadNext(world))
+			;
+	}
+
+	private int nextUnloaded() {
+		while (nextChunk < loaded.length && loaded[nextChunk])
+			nextChunk++;
+
+		return nextChunk < loaded.length ? nextChunk : -1;
+	}
+
+	// endregion
+
+}
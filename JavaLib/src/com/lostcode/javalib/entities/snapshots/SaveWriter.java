@@ -0,0 +1,327 @@
+package com.lostcode.javalib.entities.snapshots;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.lostcode.javalib.entities.EntityWorld;
+
+/**
+ * Saves an {@link EntityWorld} to a memory-mapped file without stalling the
+ * game. {@link #begin} takes a {@link WorldSnapshot} of the world, and each
+ * call of {@link #step()} then copies a limited number of bytes from the
+ * snapshot into the file, so a save can be spread across many frames.
+ * <p>
+ * Entities are written in chunks, each holding the template tag, template
+ * arguments and component record of up to {@link #ENTITIES_PER_CHUNK}
+ * entities. Entities whose template arguments are not primitives, Strings or
+ * Vector2s, or that were created by group templates, are skipped. Processes
+ * are not saved. TileMap edits are saved as part of the TileMap component.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class SaveWriter {
+
+	// region Fields
+
+	/** The default number of bytes written per call of step(). */
+	public static final int DEFAULT_FRAME_BUDGET = 256 * 1024;
+
+	/** The maximum number of entities in one chunk. */
+	public static final int ENTITIES_PER_CHUNK = 128;
+
+	private final WorldSnapshot snapshot = new WorldSnapshot();
+
+	private int frameBudget = DEFAULT_FRAME_BUDGET;
+
+	private RandomAccessFile file;
+	private FileChannel channel;
+	private MappedByteBuffer out;
+
+	private int nextEntity;
+	private int chunkCount;
+	private int skippedCount;
+
+	// endregion
+
+	// region Accessors/Mutators
+
+	/**
+	 * @return The number of bytes written per call of step().
+	 */
+	public int getFrameBudget() {
+		return frameBudget;
+	}
+
+	/**
+	 * @param frameBudget
+	 *            The number of bytes written per call of step().
+	 */
+	public void setFrameBudget(int frameBudget) {
+		this.frameBudget = frameBudget;
+	}
+
+	/**
+	 * @return Whether a save is in progress.
+	 */
+	public boolean isSaving() {
+		return channel != null;
+	}
+
+	/**
+	 * @return How much of the current save has been written, from 0 to 1.
+	 */
+	public float getProgress() {
+		if (snapshot.getEntityCount() == 0)
+			return isSaving() ? 0f : 1f;
+
+		return nextEntity / (float) snapshot.getEntityCount();
+	}
+
+	/**
+	 * @return The number of entities that could not be saved by the current
+	 *         or last save.
+	 */
+	public int getSkippedCount() {
+		return skippedCount;
+	}
+
+	// endregion
+
+	// region Saving
+
+	/**
+	 * Captures the world and starts saving it.
+	 *
+	 * @param world
+	 *            The world to save.
+	 * @param destination
+	 *            The file to write. It will be overwritten.
+	 * @throws IOException
+	 *             If the file can't be opened.
+	 */
+	public void begin(EntityWorld world, File destination) throws IOException {
+		if (isSaving())
+			throw new GdxRuntimeException("A save is already in progress");
+
+		snapshot.capture(world);
+
+		nextEntity = 0;
+		chunkCount = 0;
+		skippedCount = 0;
+
+		file = new RandomAccessFile(destination, "rw");
+		channel = file.getChannel();
+		map(SaveFormat.HEADER_SIZE + snapshot.getSize() * 2 + 4096, 0);
+
+		out.putInt(SaveFormat.MAGIC);
+		out.putShort(SaveFormat.VERSION);
+		out.put(snapshot.getData().order() == ByteOrder.LITTLE_ENDIAN ? SaveFormat.ORDER_LITTLE_ENDIAN
+				: SaveFormat.ORDER_BIG_ENDIAN);
+		out.put((byte) 0);
+		out.putInt(0); // Chunk count, written by complete().
+
+		writeClasses();
+	}
+
+	/**
+	 * Writes up to the frame budget.
+	 *
+	 * @return True once the save is complete.
+	 * @throws IOException
+	 *             If the file can't be written.
+	 */
+	public boolean step() throws IOException {
+		return step(frameBudget);
+	}
+
+	/**
+	 * Writes chunks until at least the given number of bytes have been written
+	 * or the save is complete.
+	 *
+	 * @param byteBudget
+	 *            The number of bytes to write.
+	 * @return True once the save is complete.
+	 * @throws IOException
+	 *             If the file can't be written.
+	 */
+	public boolean step(int byteBudget) throws IOException {
+		if (!isSaving())
+			return true;
+
+		int start = out.position();
+
+		while (nextEntity < snapshot.getEntityCount()
+				&& out.position() - start < byteBudget) {
+			writeEntityChunk();
+		}
+
+		if (nextEntity < snapshot.getEntityCount())
+			return false;
+
+		complete();
+		return true;
+	}
+
+	/**
+	 * Writes the rest of the save immediately.
+	 *
+	 * @throws IOException
+	 *             If the file can't be written.
+	 */
+	public void finish() throws IOException {
+		step(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Stops the current save. The file is left incomplete.
+	 */
+	public void abort() {
+		close();
+	}
+
+	// endregion
+
+	// region Chunks
+
+	private void writeClasses() throws IOException {
+		Array<Class<?>> classes = snapshot.getClasses();
+
+		int size = 4;
+		for (int i = 0; i < classes.size; i++) {
+			size += SaveFormat.maxStringSize(classes.get(i).getName());
+		}
+		ensureCapacity(SaveFormat.CHUNK_HEADER_SIZE + size);
+
+		int chunk = beginChunk(SaveFormat.CHUNK_CLASSES);
+
+		out.putInt(classes.size);
+		for (int i = 0; i < classes.size; i++) {
+			SaveFormat.putString(out, classes.get(i).getName());
+		}
+
+		endChunk(chunk);
+	}
+
+	private void writeEntityChunk() throws IOException {
+		ensureCapacity(SaveFormat.CHUNK_HEADER_SIZE + 4);
+
+		int chunk = beginChunk(SaveFormat.CHUNK_ENTITIES);
+		int countPosition = out.position();
+		out.putInt(0);
+
+		ByteBuffer data = snapshot.getData();
+		int count = 0;
+
+		for (; count < ENTITIES_PER_CHUNK
+				&& nextEntity < snapshot.getEntityCount(); nextEntity++) {
+			int i = nextEntity;
+
+			String tag = snapshot.getTemplateTag(i);
+			Object[] args = snapshot.getTemplateArgs(i);
+
+			if (tag == null || !SaveFormat.canEncode(args)) {
+				skippedCount++;
+				continue;
+			}
+
+			int length = snapshot.getComponentLength(i);
+
+			ensureCapacity(8 + SaveFormat.maxStringSize(tag)
+					+ SaveFormat.maxArgsSize(args) + 4 + length);
+
+			out.putLong(snapshot.getSerial(i));
+			SaveFormat.putString(out, tag);
+			SaveFormat.putArgs(out, args);
+			out.putInt(length);
+
+			int offset = snapshot.getComponentOffset(i);
+			data.limit(offset + length);
+			data.position(offset);
+			out.put(data);
+			data.limit(data.capacity());
+
+			count++;
+		}
+
+		out.putInt(countPosition, count);
+		endChunk(chunk);
+	}
+
+	private int beginChunk(int type) {
+		int position = out.position();
+
+		out.putInt(type);
+		out.putInt(0); // Length, written by endChunk().
+
+		return position;
+	}
+
+	private void endChunk(int chunkPosition) {
+		out.putInt(chunkPosition + 4, out.position() - chunkPosition
+				- SaveFormat.CHUNK_HEADER_SIZE);
+		chunkCount++;
+	}
+
+	private void complete() throws IOException {
+		ensureCapacity(SaveFormat.CHUNK_HEADER_SIZE);
+
+		out.putInt(SaveFormat.CHUNK_END);
+		out.putInt(0);
+		out.putInt(SaveFormat.CHUNK_COUNT_OFFSET, chunkCount);
+
+		int length = out.position();
+
+		out.force();
+		out = null;
+
+		try {
+			channel.truncate(length);
+		} catch (IOException ex) {
+			// Some platforms refuse to truncate mapped files. Readers stop at
+			// the end chunk, so the unused tail is harmless.
+		}
+
+		close();
+	}
+
+	// endregion
+
+	// region Mapping
+
+	private void ensureCapacity(int bytes) throws IOException {
+		if (out.remaining() < bytes)
+			map(Math.max(out.capacity() * 2, out.position() + bytes),
+					out.position());
+	}
+
+	private void map(long size, int position) throws IOException {
+		out = channel.map(MapMode.READ_WRITE, 0, size);
+		out.order(ByteOrder.LITTLE_ENDIAN);
+		out.position(position);
+	}
+
+	private void close() {
+		try {
+			if (file != null)
+				file.close();
+		} catch (IOException ex) {
+			throw new GdxRuntimeException(ex);
+		} finally {
+			file = null;
+			channel = null;
+			out = null;
+		}
+	}
+
+	// endregion
+
+}
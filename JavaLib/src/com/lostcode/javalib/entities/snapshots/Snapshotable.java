@@ -0,0 +1,39 @@
+package com.lostcode.javalib.entities.snapshots;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface for {@link com.lostcode.javalib.entities.components.Component
+ * Components} and {@link com.lostcode.javalib.entities.processes.Process
+ * Processes} whose state can be written to and read from a
+ * {@link WorldSnapshot}. Only mutable state is written; anything set by the
+ * object's template or constructor is assumed to be unchanged on restore.
+ * <p>
+ * Every process attached when a world is captured must implement this, along
+ * with the children it will attach. Processes without mutable state
+ * implement it with empty methods.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public interface Snapshotable {
+
+	/**
+	 * Writes this object's state to the buffer.
+	 * 
+	 * @param buffer
+	 *            The snapshot buffer, positioned where the state should be
+	 *            written.
+	 */
+	public void writeSnapshot(ByteBuffer buffer);
+
+	/**
+	 * Reads this object's state from the buffer. Must read exactly what
+	 * {@link #writeSnapshot(ByteBuffer)} wrote.
+	 * 
+	 * @param buffer
+	 *            The snapshot buffer, positioned at this object's state.
+	 */
+	public void readSnapshot(ByteBuffer buffer);
+
+}
@@ -0,0 +1,494 @@
+package com.lostcode.javalib.entities.snapshots;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongArray;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.components.Component;
+import com.lostcode.javalib.entities.processes.Process;
+import com.lostcode.javalib.entities.processes.ProcessState;
+
+/**
+ * A binary snapshot of an {@link EntityWorld}. The state of every
+ * {@link Snapshotable} component and process is packed into one buffer, which
+ * is reused between captures. Restoring happens in place: entities that still
+ * exist are updated, entities created since the capture are deleted, and
+ * entities deleted since the capture are rebuilt from their template (reusing
+ * pooled Entity objects) before their state is read back.
+ * <p>
+ * Every attached process, and every child waiting to be attached when its
+ * parent succeeds, must be Snapshotable; capturing throws otherwise. Process
+ * objects are kept rather than rebuilt, so their state is only rolled back
+ * through what they write. Processes without mutable state implement
+ * Snapshotable with empty methods. The captured children of each process are
+ * restored along with it, so a child that ran after the capture is put back
+ * in its captured state. Processes that refer to entities implement
+ * {@link Relinkable}, since a rebuilt entity may be a different object.
+ * Processes attached since the capture are ended.
+ * <p>
+ * Entities created by group templates cannot be rebuilt, and event callbacks
+ * linking processes to rebuilt entities are not restored.
+ * <p>
+ * Layout of one entity record: serial (long), component count (short), then
+ * for each Snapshotable component its class index (int), byte length (int)
+ * and state. Processes follow the entities, each parent before its children.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class WorldSnapshot {
+
+	// region Fields
+
+	/** The default initial size of the buffer, in bytes. */
+	public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+	private ByteBuffer buffer;
+
+	private final LongArray serials = new LongArray();
+	private final IntArray recordOffsets = new IntArray();
+	private final Array<String> templateTags = new Array<String>();
+	private final Array<Object[]> templateArgs = new Array<Object[]>();
+
+	private final Array<Class<?>> classes = new Array<Class<?>>();
+	private final ObjectIntMap<Class<?>> classIndices = new ObjectIntMap<Class<?>>();
+
+	private final Array<Process> processes = new Array<Process>();
+	private final Array<ProcessState> processStates = new Array<ProcessState>();
+	private final IntArray processOffsets = new IntArray();
+	private final IntArray childCounts = new IntArray();
+
+	private final Array<Process> rootProcesses = new Array<Process>();
+	private final Array<ProcessState> rootStates = new Array<ProcessState>();
+
+	private float accumulatedTime;
+	private int size;
+
+	private final LongMap<Entity> liveEntities = new LongMap<Entity>();
+	private final LongMap<Entity> restoredEntities = new LongMap<Entity>();
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs an empty WorldSnapshot with the default capacity.
+	 */
+	public WorldSnapshot() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty WorldSnapshot.
+	 *
+	 * @param capacity
+	 *            The initial size of the buffer, in bytes. The buffer grows as
+	 *            needed.
+	 */
+	public WorldSnapshot(int capacity) {
+		buffer = ByteBuffer.allocateDirect(capacity).order(
+				ByteOrder.nativeOrder());
+	}
+
+	// endregion
+
+	// region Capture
+
+	/**
+	 * Captures the current state of the world, replacing any previous capture.
+	 *
+	 * @param world
+	 *            The world to capture.
+	 */
+	public void capture(EntityWorld world) {
+		Array<Process> attached = world.getProcessManager().getProcesses();
+
+		// Checked first, so a failed capture leaves the last one intact.
+		for (int i = 0; i < attached.size; i++) {
+			checkSnapshotable(attached.get(i));
+		}
+
+		while (true) {
+			try {
+				tryCapture(world);
+				return;
+			} catch (BufferOverflowException ex) {
+				buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2)
+						.order(ByteOrder.nativeOrder());
+			}
+		}
+	}
+
+	private void tryCapture(EntityWorld world) {
+		clear();
+
+		Array<Entity> entities = world.getEntityManager().getEntities();
+
+		for (int i = 0; i < entities.size; i++) {
+			Entity e = entities.get(i);
+
+			if (e.isDeleted())
+				continue;
+
+			serials.add(e.getSerial());
+			recordOffsets.add(buffer.position());
+			templateTags.add(e.getTemplateTag());
+			templateArgs.add(e.getTemplateArgs());
+
+			buffer.putLong(e.getSerial());
+			writeComponents(e, buffer, classes, classIndices);
+		}
+
+		Array<Process> attached = world.getProcessManager().getProcesses();
+
+		for (int i = 0; i < attached.size; i++) {
+			writeProcess(attached.get(i));
+		}
+
+		accumulatedTime = world.getPhysicsWorld().getAccumulatedTime();
+		size = buffer.position();
+	}
+
+	/**
+	 * Writes a process, then each of its children.
+	 */
+	private void writeProcess(Process p) {
+		Array<Process> children = p.getChildren();
+
+		processes.add(p);
+		processStates.add(p.getState());
+		processOffsets.add(buffer.position());
+		childCounts.add(children.size);
+
+		((Snapshotable) p).writeSnapshot(buffer);
+
+		for (int i = 0; i < children.size; i++) {
+			writeProcess(children.get(i));
+		}
+	}
+
+	private static void checkSnapshotable(Process p) {
+		if (!(p instanceof Snapshotable))
+			throw new GdxRuntimeException(p.getClass().getName()
+					+ " must implement Snapshotable to be captured");
+
+		Array<Process> children = p.getChildren();
+
+		for (int i = 0; i < children.size; i++) {
+			checkSnapshotable(children.get(i));
+		}
+	}
+
+	/**
+	 * Writes a component record of an entity, which
+	 * {@link #restoreComponents(Entity, ByteBuffer, Array)} can read back.
+	 *
+	 * @param e
+	 *            The entity to write.
+	 * @param buffer
+	 *            The buffer to write the record to.
+	 * @param classes
+	 *            The class table the record refers to. New classes are added
+	 *            to it.
+	 * @param classIndices
+	 *            The index of each class in the table.
+	 */
+	public static void writeComponents(Entity e, ByteBuffer buffer,
+			Array<Class<?>> classes, ObjectIntMap<Class<?>> classIndices) {
+		Array<Component> components = e.getComponents();
+
+		int countPosition = buffer.position();
+		buffer.putShort((short) 0);
+
+		short count = 0;
+
+		for (int i = 0; i < components.size; i++) {
+			Component c = components.get(i);
+
+			if (!(c instanceof Snapshotable))
+				continue;
+
+			buffer.putInt(classIndex(c.getClass(), classes, classIndices));
+
+			int lengthPosition = buffer.position();
+			buffer.putInt(0);
+
+			((Snapshotable) c).writeSnapshot(buffer);
+
+			buffer.putInt(lengthPosition, buffer.position() - lengthPosition
+					- 4);
+			count++;
+		}
+
+		buffer.putShort(countPosition, count);
+	}
+
+	private static int classIndex(Class<?> type, Array<Class<?>> classes,
+			ObjectIntMap<Class<?>> classIndices) {
+		int index = classIndices.get(type, -1);
+
+		if (index < 0) {
+			index = classes.size;
+			classes.add(type);
+			classIndices.put(type, index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Clears the snapshot, keeping its buffer.
+	 */
+	public void clear() {
+		buffer.clear();
+
+		serials.clear();
+		recordOffsets.clear();
+		templateTags.clear();
+		templateArgs.clear();
+		classes.clear();
+		classIndices.clear();
+		processes.clear();
+		processStates.clear();
+		processOffsets.clear();
+		childCounts.clear();
+
+		accumulatedTime = 0f;
+		size = 0;
+	}
+
+	// endregion
+
+	// region Restore
+
+	/**
+	 * Restores the world to the captured state.
+	 *
+	 * @param world
+	 *            The world that was captured.
+	 */
+	public void restore(EntityWorld world) {
+		Array<Entity> entities = world.getEntityManager().getEntities();
+
+		liveEntities.clear();
+		for (int i = 0; i < entities.size; i++) {
+			Entity e = entities.get(i);
+
+			if (!e.isDeleted())
+				liveEntities.put(e.getSerial(), e);
+		}
+
+		for (int i = 0; i < serials.size; i++) {
+			long serial = serials.get(i);
+			Entity e = liveEntities.remove(serial);
+
+			if (e == null) {
+				String tag = templateTags.get(i);
+
+				if (tag == null)
+					continue; // Built by a group template; can't be rebuilt.
+
+				e = world.recreateEntity(serial, tag, templateArgs.get(i));
+			}
+
+			restoredEntities.put(serial, e);
+
+			buffer.position(recordOffsets.get(i) + 8);
+			restoreComponents(e, buffer, classes);
+		}
+
+		// Delete everything created after the capture.
+		for (Entity e : liveEntities.values()) {
+			e.delete();
+		}
+		liveEntities.clear();
+
+		for (int i = 0; i < processes.size;) {
+			rootProcesses.add(processes.get(i));
+			rootStates.add(processStates.get(i));
+
+			i = restoreProcess(i);
+		}
+
+		world.getProcessManager().restore(world, rootProcesses, rootStates);
+		rootProcesses.clear();
+		rootStates.clear();
+		restoredEntities.clear();
+		world.getPhysicsWorld().setAccumulatedTime(accumulatedTime);
+	}
+
+	/**
+	 * Reads a process's state and puts back its captured children, then does
+	 * the same for each child.
+	 *
+	 * @return The index of the next process that isn't a descendant.
+	 */
+	private int restoreProcess(int index) {
+		Process p = processes.get(index);
+
+		buffer.position(processOffsets.get(index));
+		((Snapshotable) p).readSnapshot(buffer);
+
+		if (p instanceof Relinkable)
+			((Relinkable) p).relink(restoredEntities);
+
+		Array<Process> children = p.getChildren();
+		children.clear();
+
+		int next = index + 1;
+
+		for (int c = 0; c < childCounts.get(index); c++) {
+			children.add(processes.get(next));
+			next = restoreProcess(next);
+		}
+
+		return next;
+	}
+
+	/**
+	 * Reads a component record written by a snapshot into an entity. Records
+	 * whose class does not match the entity's next Snapshotable component are
+	 * skipped.
+	 *
+	 * @param e
+	 *            The entity to restore.
+	 * @param buffer
+	 *            A buffer positioned at the record's component count.
+	 * @param classes
+	 *            The class table of the snapshot that wrote the record.
+	 */
+	public static void restoreComponents(Entity e, ByteBuffer buffer,
+			Array<Class<?>> classes) {
+		Array<Component> components = e.getComponents();
+
+		int count = buffer.getShort();
+		int next = 0;
+
+		for (int r = 0; r < count; r++) {
+			Class<?> type = classes.get(buffer.getInt());
+			int length = buffer.getInt();
+			int end = buffer.position() + length;
+
+			while (next < components.size
+					&& !(components.get(next) instanceof Snapshotable))
+				next++;
+
+			if (next < components.size
+					&& components.get(next).getClass() == type) {
+				((Snapshotable) components.get(next)).readSnapshot(buffer);
+
+				if (buffer.position() != end)
+					throw new GdxRuntimeException(type.getSimpleName()
+							+ " read a different amount than it wrote");
+
+				next++;
+			}
+
+			buffer.position(end);
+		}
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The number of bytes used by the last capture.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * @return A read-only view of the captured bytes.
+	 */
+	public ByteBuffer getData() {
+		ByteBuffer data = buffer.duplicate();
+		data.position(0);
+		data.limit(size);
+
+		return data.asReadOnlyBuffer().order(buffer.order());
+	}
+
+	/**
+	 * @return The number of entities captured.
+	 */
+	public int getEntityCount() {
+		return serials.size;
+	}
+
+	/**
+	 * @param index
+	 *            The index of a captured entity.
+	 * @return The entity's serial number.
+	 */
+	public long getSerial(int index) {
+		return serials.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            The index of a captured entity.
+	 * @return The tag of the template that built the entity, or null.
+	 */
+	public String getTemplateTag(int index) {
+		return templateTags.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            The index of a captured entity.
+	 * @return The arguments passed to the entity's template.
+	 */
+	public Object[] getTemplateArgs(int index) {
+		return templateArgs.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            The index of a captured entity.
+	 * @return The offset of the entity's component record (its component
+	 *         count) in {@link #getData()}.
+	 */
+	public int getComponentOffset(int index) {
+		return recordOffsets.get(index) + 8;
+	}
+
+	/**
+	 * @param index
+	 *            The index of a captured entity.
+	 * @return The length of the entity's component record, in bytes.
+	 */
+	public int getComponentLength(int index) {
+		int end = index + 1 < recordOffsets.size ? recordOffsets
+				.get(index + 1) : (processOffsets.size > 0 ? processOffsets
+				.get(0) : size);
+
+		return end - getComponentOffset(index);
+	}
+
+	/**
+	 * @return The classes referenced by component records, by index.
+	 */
+	public Array<Class<?>> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * @return The seconds the physics world had accumulated when captured.
+	 */
+	public float getAccumulatedTime() {
+		return accumulatedTime;
+	}
+
+	// endregion
+
+}
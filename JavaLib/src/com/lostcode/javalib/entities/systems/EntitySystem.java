@@ -1,6 +1,5 @@
 package com.lostcode.javalib.entities.systems;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.lostcode.javalib.entities.Entity;
@@ -23,7 +22,6 @@ public abstract class EntitySystem implements Disposable {
 	 */
 	protected Array<Entity> entities = new Array<Entity>();
 
-	private long previousTime;
 	private float processTime;
 
 	private float interval = 0f;
@@ -130,17 +128,10 @@ public abstract class EntitySystem implements Disposable {
 	 */
 	public void processEntities() {
 
-		long time = System.nanoTime();
-
 		for (Entity e : entities) {
 			process(e);
 		}
 
-		previousTime = time;
-		time = System.nanoTime();
-
-		processTime = (float) ((time - previousTime) / 1000.0);
-
 		processingListChanged = false;
 	}
 
@@ -154,6 +145,18 @@ public abstract class EntitySystem implements Disposable {
 
 	// endregion
 
+	// region Rendering
+
+	/**
+	 * @return Whether this system only draws, and can be skipped when a world
+	 *         is simulated without a display.
+	 */
+	public boolean isRenderSystem() {
+		return false;
+	}
+
+	// endregion
+
 	// region Events
 
 	/**
@@ -177,7 +180,7 @@ public abstract class EntitySystem implements Disposable {
 	 *         the previous call of processEntities().
 	 */
 	public float deltaSeconds() {
-		return Gdx.graphics.getDeltaTime() * world.getTimeCoefficient();
+		return world.getDeltaSeconds();
 	}
 
 	/**
@@ -188,6 +191,19 @@ public abstract class EntitySystem implements Disposable {
 		return processTime;
 	}
 
+	/**
+	 * Sets the amount of seconds this system took during its last call of
+	 * processEntities(). Called by the
+	 * {@link com.lostcode.javalib.entities.SystemManager SystemManager}, which
+	 * times the whole call, including any overriding logic.
+	 * 
+	 * @param processTime
+	 *            The seconds taken.
+	 */
+	public void setProcessTime(float processTime) {
+		this.processTime = processTime;
+	}
+
 	// endregion
 
 	// region Entity Management
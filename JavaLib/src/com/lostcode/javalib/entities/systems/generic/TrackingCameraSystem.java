@@ -20,6 +20,7 @@ public class TrackingCameraSystem extends TagSystem {
 	private Camera camera;
 	private Rectangle bounds;
 	private Vector2 offset;
+	private final Vector2 position = new Vector2();
 
 	/**
 	 * Constructs a TrackingCameraSystem.
@@ -89,7 +90,7 @@ public class TrackingCameraSystem extends TagSystem {
 
 		Transform t = (Transform) e.getComponent(Transform.class);
 
-		Vector2 pos = Convert.metersToPixels(t.getPosition());
+		Vector2 pos = Convert.metersToPixels(t.getPosition(position), position);
 
 		pos.add(offset);
 
@@ -63,7 +63,7 @@ public class EntityRemovalSystem extends ComponentSystem {
 	protected void process(Entity e) {
 		Transform t = (Transform) e.getComponent(Transform.class);
 
-		if (!bounds.contains(t.getPosition().x, t.getPosition().y))
+		if (!bounds.contains(t.getX(), t.getY()))
 			e.delete();
 	}
 
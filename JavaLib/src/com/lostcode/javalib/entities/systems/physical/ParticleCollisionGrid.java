@@ -0,0 +1,861 @@
+package com.lostcode.javalib.entities.systems.physical;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.PhysicsWorld;
+import com.lostcode.javalib.entities.components.physical.Collidable;
+
+/**
+ * Uniform grid of Box2D fixture geometry used by the {@link ParticleSystem} to
+ * sweep every collidable particle in one batched pass, instead of issuing a
+ * {@link World#rayCast} per particle. Static fixtures are baked into the grid
+ * once and only rebuilt when static bodies are created or destroyed through
+ * the {@link PhysicsWorld}, or when the set of active static bodies changes.
+ * Dynamic and
+ * kinematic fixtures are re-indexed once per frame, the first time a sweep is
+ * requested. Hits are written into preallocated buffers and dispatched by
+ * {@link #dispatchContacts()} after the pass.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class ParticleCollisionGrid {
+
+	// region Constants
+
+	/** The default width and height of a grid cell, in meters. */
+	public static final float DEFAULT_CELL_SIZE = 2f;
+
+	/** The maximum number of cells a grid may be divided into. */
+	private static final int MAX_CELLS = 1 << 20;
+
+	/** Extra space around the world bounds covered by the grid, in meters. */
+	private static final float BOUNDS_MARGIN = 5f;
+
+	private static final int POLYGON = 0;
+	private static final int CIRCLE = 1;
+	private static final int EDGE = 2;
+
+	// endregion
+
+	// region Shape Sets
+
+	/**
+	 * Packed world-space geometry for a set of fixtures, along with a
+	 * compressed cell index (cell start offsets and cell items).
+	 */
+	private static final class ShapeSet {
+
+		int count;
+		int[] types = new int[64];
+		int[] vertexStarts = new int[64];
+		int[] vertexCounts = new int[64];
+		float[] radii = new float[64];
+		float[] bounds = new float[64 * 4];
+		Fixture[] fixtures = new Fixture[64];
+		int[] stamps = new int[64];
+
+		float[] vertices = new float[256];
+		int vertexCount;
+
+		int[] cellStarts = new int[1];
+		int[] cellItems = new int[64];
+
+		void clear() {
+			for (int i = 0; i < count; i++) {
+				fixtures[i] = null;
+			}
+
+			count = 0;
+			vertexCount = 0;
+		}
+
+		int add(int type, Fixture fixture, float radius) {
+			if (count == types.length) {
+				int size = count * 2;
+				types = copy(types, size);
+				vertexStarts = copy(vertexStarts, size);
+				vertexCounts = copy(vertexCounts, size);
+				radii = copy(radii, size);
+				bounds = copy(bounds, size * 4);
+				stamps = new int[size];
+
+				Fixture[] newFixtures = new Fixture[size];
+				System.arraycopy(fixtures, 0, newFixtures, 0, count);
+				fixtures = newFixtures;
+			}
+
+			types[count] = type;
+			vertexStarts[count] = vertexCount;
+			vertexCounts[count] = 0;
+			radii[count] = radius;
+			fixtures[count] = fixture;
+
+			bounds[count * 4] = Float.MAX_VALUE;
+			bounds[count * 4 + 1] = Float.MAX_VALUE;
+			bounds[count * 4 + 2] = -Float.MAX_VALUE;
+			bounds[count * 4 + 3] = -Float.MAX_VALUE;
+
+			return count++;
+		}
+
+		void addVertex(int shape, float x, float y) {
+			if (vertexCount * 2 + 2 > vertices.length) {
+				vertices = copy(vertices, vertices.length * 2);
+			}
+
+			vertices[vertexCount * 2] = x;
+			vertices[vertexCount * 2 + 1] = y;
+			vertexCount++;
+			vertexCounts[shape]++;
+
+			float r = radii[shape];
+			int b = shape * 4;
+			bounds[b] = Math.min(bounds[b], x - r);
+			bounds[b + 1] = Math.min(bounds[b + 1], y - r);
+			bounds[b + 2] = Math.max(bounds[b + 2], x + r);
+			bounds[b + 3] = Math.max(bounds[b + 3], y + r);
+		}
+
+	}
+
+	// endregion
+
+	// region Fields
+
+	private final ShapeSet staticShapes = new ShapeSet();
+	private final ShapeSet dynamicShapes = new ShapeSet();
+
+	private final Array<Body> bodies = new Array<Body>();
+	private final Vector2 vertex = new Vector2();
+
+	private boolean dynamicBuilt = false;
+
+	private float cellSize;
+	private float originX;
+	private float originY;
+	private int columns;
+	private int rows;
+
+	private int staticBodyCount = -1;
+	private int staticSignature;
+	private int staticGeneration;
+
+	private int stamp = 0;
+
+	// Per-sweep hit buffers
+	private float[] hitFractions = new float[16];
+	private Fixture[] hitFixtures = new Fixture[16];
+	private int hitCount;
+
+	// Contacts queued until the end of the pass
+	private Entity[] contactSources = new Entity[32];
+	private Entity[] contactVictims = new Entity[32];
+	private Collidable[] contactCollidables = new Collidable[32];
+	private int contactCount;
+
+	// Statistics
+	private PhysicsWorld physics;
+	private int sweeps;
+	private long sweepNanos;
+	private int lastSweeps;
+	private long lastSweepNanos;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs a ParticleCollisionGrid.
+	 *
+	 * @param cellSize
+	 *            The width and height of each grid cell, in meters.
+	 */
+	public ParticleCollisionGrid(float cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * Constructs a ParticleCollisionGrid with the default cell size.
+	 */
+	public ParticleCollisionGrid() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The number of sweeps performed during the last completed pass.
+	 */
+	public int getSweepCount() {
+		return lastSweeps;
+	}
+
+	/**
+	 * @return The throughput of the last completed pass, in particles swept
+	 *         per millisecond. 0 if no particles were swept.
+	 */
+	public float getSweepsPerMillisecond() {
+		if (lastSweepNanos == 0)
+			return 0f;
+
+		return lastSweeps / (lastSweepNanos / 1000000f);
+	}
+
+	/**
+	 * @return The number of static shapes baked into the grid.
+	 */
+	public int getStaticShapeCount() {
+		return staticShapes.count;
+	}
+
+	/**
+	 * @return The number of dynamic shapes indexed during the current pass.
+	 */
+	public int getDynamicShapeCount() {
+		return dynamicShapes.count;
+	}
+
+	// endregion
+
+	// region Pass Management
+
+	/**
+	 * Prepares the grid for a new pass. Static geometry is rebuilt if the
+	 * physics world's static generation, the set of active static bodies or
+	 * the world bounds have changed. Dynamic geometry is indexed lazily by the
+	 * first sweep of the pass.
+	 *
+	 * @param physics
+	 *            The physics world being swept against.
+	 * @param worldBounds
+	 *            The bounds of the world, in meters.
+	 */
+	public void begin(PhysicsWorld physics, Rectangle worldBounds) {
+		this.physics = physics;
+		World world = physics.getWorld();
+
+		dynamicBuilt = false;
+
+		if (updateLayout(worldBounds)) {
+			staticBodyCount = -1; // Force a static rebuild
+		}
+
+		world.getBodies(bodies);
+
+		int count = 0;
+		int signature = 0;
+
+		for (int i = 0; i < bodies.size; i++) {
+			Body body = bodies.get(i);
+
+			if (body.getType() == BodyType.StaticBody && body.isActive()) {
+				count++;
+				signature = signature * 31 + System.identityHashCode(body);
+			}
+		}
+
+		// Box2D reuses body objects, so a replaced body can leave the count
+		// and signature as they were.
+		if (count != staticBodyCount || signature != staticSignature
+				|| physics.getStaticGeneration() != staticGeneration) {
+			staticBodyCount = count;
+			staticSignature = signature;
+			staticGeneration = physics.getStaticGeneration();
+
+			buildShapes(staticShapes, true);
+		}
+
+		sweeps = 0;
+		sweepNanos = 0;
+	}
+
+	/**
+	 * Forces the static geometry to be rebuilt at the start of the next pass.
+	 * {@link PhysicsWorld#invalidateStatic()} does the same for every grid.
+	 */
+	public void invalidateStatic() {
+		staticBodyCount = -1;
+	}
+
+	/**
+	 * Invokes {@link Collidable#onBeginContact} for every contact found during
+	 * this pass, then clears the contact buffer. The pass's sweeps are
+	 * counted as raycasts by the PhysicsWorld's metrics.
+	 */
+	public void dispatchContacts() {
+		lastSweeps = sweeps;
+		lastSweepNanos = sweepNanos;
+
+		// Each sweep stands in for a raycast against the world.
+		if (physics != null)
+			physics.countRaycasts(sweeps);
+
+		// Callbacks may start another pass, so work from a stable count.
+		int count = contactCount;
+		contactCount = 0;
+
+		for (int i = 0; i < count; i++) {
+			contactCollidables[i].onBeginContact(contactSources[i],
+					contactVictims[i]);
+
+			contactSources[i] = null;
+			contactVictims[i] = null;
+			contactCollidables[i] = null;
+		}
+
+		bodies.clear();
+	}
+
+	// endregion
+
+	// region Sweeping
+
+	/**
+	 * Sweeps a particle from one point to another, reporting hits to its
+	 * {@link Collidable} component in order of distance. Hit fixtures are
+	 * handled the way a Box2D ray cast callback would handle them: -1 filters
+	 * the fixture, 0 terminates the sweep and queues a contact, a fraction
+	 * clips the sweep and 1 continues it.
+	 *
+	 * @param source
+	 *            The Entity that owns the particle.
+	 * @param collidable
+	 *            The particle's Collidable component.
+	 * @param x0
+	 *            The starting x coordinate, in meters.
+	 * @param y0
+	 *            The starting y coordinate, in meters.
+	 * @param x1
+	 *            The ending x coordinate, in meters.
+	 * @param y1
+	 *            The ending y coordinate, in meters.
+	 */
+	public void sweep(Entity source, Collidable collidable, float x0,
+			float y0, float x1, float y1) {
+		long time = System.nanoTime();
+
+		if (!dynamicBuilt) {
+			buildShapes(dynamicShapes, false);
+			dynamicBuilt = true;
+		}
+
+		sweeps++;
+
+		float dx = x1 - x0;
+		float dy = y1 - y0;
+
+		if (dx * dx + dy * dy > 0f) {
+			hitCount = 0;
+
+			collect(staticShapes, x0, y0, dx, dy);
+			collect(dynamicShapes, x0, y0, dx, dy);
+
+			sortHits();
+			report(source, collidable);
+		}
+
+		sweepNanos += System.nanoTime() - time;
+	}
+
+	private void collect(ShapeSet set, float x0, float y0, float dx, float dy) {
+		if (set.count == 0)
+			return;
+
+		stamp++;
+
+		int minCol = column(Math.min(x0, x0 + dx));
+		int maxCol = column(Math.max(x0, x0 + dx));
+		int minRow = row(Math.min(y0, y0 + dy));
+		int maxRow = row(Math.max(y0, y0 + dy));
+
+		for (int r = minRow; r <= maxRow; r++) {
+			for (int c = minCol; c <= maxCol; c++) {
+				int cell = r * columns + c;
+
+				for (int i = set.cellStarts[cell]; i < set.cellStarts[cell + 1]; i++) {
+					int shape = set.cellItems[i];
+
+					if (set.stamps[shape] == stamp)
+						continue;
+
+					set.stamps[shape] = stamp;
+
+					float fraction = intersect(set, shape, x0, y0, dx, dy);
+
+					if (fraction >= 0f) {
+						addHit(fraction, set.fixtures[shape]);
+					}
+				}
+			}
+		}
+	}
+
+	private void report(Entity source, Collidable collidable) {
+		float maxFraction = 1f;
+
+		for (int i = 0; i < hitCount; i++) {
+			if (hitFractions[i] > maxFraction)
+				break;
+
+			Entity victim = (Entity) hitFixtures[i].getBody().getUserData();
+
+			if (victim == source)
+				continue;
+
+			float result = collidable.continueCollision(source, victim);
+
+			if (result == 0f) {
+				addContact(source, victim, collidable);
+				break;
+			} else if (result > 0f && result < maxFraction) {
+				maxFraction = result;
+			}
+		}
+
+		for (int i = 0; i < hitCount; i++) {
+			hitFixtures[i] = null;
+		}
+	}
+
+	// endregion
+
+	// region Intersection
+
+	/**
+	 * @return The fraction along the segment at which it enters the shape, or
+	 *         -1 if it does not.
+	 */
+	private float intersect(ShapeSet set, int shape, float px, float py,
+			float dx, float dy) {
+		int b = shape * 4;
+
+		// Broad test against the shape's bounding box
+		float tMin = 0f;
+		float tMax = 1f;
+
+		if (dx != 0f) {
+			float t1 = (set.bounds[b] - px) / dx;
+			float t2 = (set.bounds[b + 2] - px) / dx;
+			tMin = Math.max(tMin, Math.min(t1, t2));
+			tMax = Math.min(tMax, Math.max(t1, t2));
+		} else if (px < set.bounds[b] || px > set.bounds[b + 2]) {
+			return -1f;
+		}
+
+		if (dy != 0f) {
+			float t1 = (set.bounds[b + 1] - py) / dy;
+			float t2 = (set.bounds[b + 3] - py) / dy;
+			tMin = Math.max(tMin, Math.min(t1, t2));
+			tMax = Math.min(tMax, Math.max(t1, t2));
+		} else if (py < set.bounds[b + 1] || py > set.bounds[b + 3]) {
+			return -1f;
+		}
+
+		if (tMin > tMax)
+			return -1f;
+
+		float[] v = set.vertices;
+		int start = set.vertexStarts[shape] * 2;
+
+		switch (set.types[shape]) {
+
+		case POLYGON:
+			return intersectPolygon(v, start, set.vertexCounts[shape], px, py,
+					dx, dy);
+
+		case CIRCLE:
+			return intersectCircle(v[start], v[start + 1], set.radii[shape],
+					px, py, dx, dy);
+
+		case EDGE:
+			return intersectEdge(v[start], v[start + 1], v[start + 2],
+					v[start + 3], px, py, dx, dy);
+
+		}
+
+		return -1f;
+	}
+
+	private static float intersectPolygon(float[] v, int start, int count,
+			float px, float py, float dx, float dy) {
+		float lower = 0f;
+		float upper = 1f;
+		boolean entered = false;
+
+		for (int i = 0; i < count; i++) {
+			int a = start + i * 2;
+			int n = start + ((i + 1) % count) * 2;
+
+			// Outward normal of a counter-clockwise edge
+			float nx = v[n + 1] - v[a + 1];
+			float ny = v[a] - v[n];
+
+			float numerator = nx * (v[a] - px) + ny * (v[a + 1] - py);
+			float denominator = nx * dx + ny * dy;
+
+			if (denominator == 0f) {
+				if (numerator < 0f)
+					return -1f;
+			} else if (denominator < 0f && numerator < lower * denominator) {
+				lower = numerator / denominator;
+				entered = true;
+			} else if (denominator > 0f && numerator < upper * denominator) {
+				upper = numerator / denominator;
+			}
+
+			if (upper < lower)
+				return -1f;
+		}
+
+		return entered ? lower : -1f;
+	}
+
+	private static float intersectCircle(float cx, float cy, float radius,
+			float px, float py, float dx, float dy) {
+		float sx = px - cx;
+		float sy = py - cy;
+		float b = sx * sx + sy * sy - radius * radius;
+
+		float c = sx * dx + sy * dy;
+		float rr = dx * dx + dy * dy;
+		float sigma = c * c - rr * b;
+
+		if (sigma < 0f || rr == 0f)
+			return -1f;
+
+		float a = -(c + (float) Math.sqrt(sigma));
+
+		if (a >= 0f && a <= rr)
+			return a / rr;
+
+		return -1f;
+	}
+
+	private static float intersectEdge(float x1, float y1, float x2, float y2,
+			float px, float py, float dx, float dy) {
+		float ex = x2 - x1;
+		float ey = y2 - y1;
+
+		float nx = ey;
+		float ny = -ex;
+
+		float denominator = nx * dx + ny * dy;
+
+		if (denominator == 0f)
+			return -1f;
+
+		float t = (nx * (x1 - px) + ny * (y1 - py)) / denominator;
+
+		if (t < 0f || t > 1f)
+			return -1f;
+
+		float qx = px + t * dx - x1;
+		float qy = py + t * dy - y1;
+		float s = (qx * ex + qy * ey) / (ex * ex + ey * ey);
+
+		if (s < 0f || s > 1f)
+			return -1f;
+
+		return t;
+	}
+
+	// endregion
+
+	// region Building
+
+	/**
+	 * Recomputes the grid layout from the world bounds.
+	 *
+	 * @return Whether the layout changed.
+	 */
+	private boolean updateLayout(Rectangle worldBounds) {
+		float x = worldBounds.x - BOUNDS_MARGIN;
+		float y = worldBounds.y - BOUNDS_MARGIN;
+		float width = worldBounds.width + BOUNDS_MARGIN * 2;
+		float height = worldBounds.height + BOUNDS_MARGIN * 2;
+
+		float size = cellSize;
+		int cols = Math.max(1, (int) Math.ceil(width / size));
+		int rws = Math.max(1, (int) Math.ceil(height / size));
+
+		while ((long) cols * rws > MAX_CELLS) {
+			size *= 2;
+			cols = Math.max(1, (int) Math.ceil(width / size));
+			rws = Math.max(1, (int) Math.ceil(height / size));
+		}
+
+		if (x == originX && y == originY && cols == columns && rws == rows)
+			return false;
+
+		originX = x;
+		originY = y;
+		columns = cols;
+		rows = rws;
+		cellSize = size;
+
+		return true;
+	}
+
+	private int column(float x) {
+		int c = (int) ((x - originX) / cellSize);
+		return c < 0 ? 0 : (c >= columns ? columns - 1 : c);
+	}
+
+	private int row(float y) {
+		int r = (int) ((y - originY) / cellSize);
+		return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+	}
+
+	private void buildShapes(ShapeSet set, boolean statics) {
+		set.clear();
+
+		for (int i = 0; i < bodies.size; i++) {
+			Body body = bodies.get(i);
+
+			if (!body.isActive()
+					|| (body.getType() == BodyType.StaticBody) != statics)
+				continue;
+
+			Transform transform = body.getTransform();
+			Array<Fixture> fixtures = body.getFixtureList();
+
+			for (int j = 0; j < fixtures.size; j++) {
+				Fixture fixture = fixtures.get(j);
+
+				if (fixture.isSensor())
+					continue;
+
+				addFixture(set, fixture, transform);
+			}
+		}
+
+		index(set);
+	}
+
+	private void addFixture(ShapeSet set, Fixture fixture, Transform transform) {
+		Shape shape = fixture.getShape();
+
+		switch (fixture.getType()) {
+
+		case Polygon: {
+			PolygonShape polygon = (PolygonShape) shape;
+			int s = set.add(POLYGON, fixture, 0f);
+
+			for (int i = 0; i < polygon.getVertexCount(); i++) {
+				polygon.getVertex(i, vertex);
+				transform.mul(vertex);
+				set.addVertex(s, vertex.x, vertex.y);
+			}
+			break;
+		}
+
+		case Circle: {
+			CircleShape circle = (CircleShape) shape;
+			int s = set.add(CIRCLE, fixture, circle.getRadius());
+
+			vertex.set(circle.getPosition());
+			transform.mul(vertex);
+			set.addVertex(s, vertex.x, vertex.y);
+			break;
+		}
+
+		case Edge: {
+			EdgeShape edge = (EdgeShape) shape;
+			int s = set.add(EDGE, fixture, 0f);
+
+			edge.getVertex1(vertex);
+			transform.mul(vertex);
+			set.addVertex(s, vertex.x, vertex.y);
+
+			edge.getVertex2(vertex);
+			transform.mul(vertex);
+			set.addVertex(s, vertex.x, vertex.y);
+			break;
+		}
+
+		case Chain: {
+			ChainShape chain = (ChainShape) shape;
+			int count = chain.getVertexCount();
+
+			// Each link of the chain is indexed as its own edge.
+			chain.getVertex(0, vertex);
+			transform.mul(vertex);
+			float prevX = vertex.x;
+			float prevY = vertex.y;
+
+			for (int i = 1; i < count; i++) {
+				chain.getVertex(i, vertex);
+				transform.mul(vertex);
+
+				int s = set.add(EDGE, fixture, 0f);
+				set.addVertex(s, prevX, prevY);
+				set.addVertex(s, vertex.x, vertex.y);
+
+				prevX = vertex.x;
+				prevY = vertex.y;
+			}
+			break;
+		}
+
+		}
+	}
+
+	/**
+	 * Builds the compressed cell index of a shape set.
+	 */
+	private void index(ShapeSet set) {
+		int cells = columns * rows;
+
+		if (set.cellStarts.length < cells + 1) {
+			set.cellStarts = new int[cells + 1];
+		} else {
+			for (int i = 0; i <= cells; i++) {
+				set.cellStarts[i] = 0;
+			}
+		}
+
+		// Count the items of each cell
+		int total = 0;
+
+		for (int s = 0; s < set.count; s++) {
+			int b = s * 4;
+			int minCol = column(set.bounds[b]);
+			int maxCol = column(set.bounds[b + 2]);
+			int minRow = row(set.bounds[b + 1]);
+			int maxRow = row(set.bounds[b + 3]);
+
+			for (int r = minRow; r <= maxRow; r++) {
+				for (int c = minCol; c <= maxCol; c++) {
+					set.cellStarts[r * columns + c + 1]++;
+					total++;
+				}
+			}
+		}
+
+		for (int i = 0; i < cells; i++) {
+			set.cellStarts[i + 1] += set.cellStarts[i];
+		}
+
+		if (set.cellItems.length < total) {
+			set.cellItems = new int[total + total / 2];
+		}
+
+		// Fill, using the end of each range as a moving cursor
+		for (int s = set.count - 1; s >= 0; s--) {
+			int b = s * 4;
+			int minCol = column(set.bounds[b]);
+			int maxCol = column(set.bounds[b + 2]);
+			int minRow = row(set.bounds[b + 1]);
+			int maxRow = row(set.bounds[b + 3]);
+
+			for (int r = minRow; r <= maxRow; r++) {
+				for (int c = minCol; c <= maxCol; c++) {
+					set.cellItems[--set.cellStarts[r * columns + c + 1]] = s;
+				}
+			}
+		}
+
+		// Every cursor now points at the start of the previous cell's range.
+		for (int i = 0; i < cells; i++) {
+			set.cellStarts[i] = set.cellStarts[i + 1];
+		}
+		set.cellStarts[cells] = total;
+
+		for (int s = 0; s < set.count; s++) {
+			set.stamps[s] = 0;
+		}
+	}
+
+	// endregion
+
+	// region Helpers
+
+	private void addHit(float fraction, Fixture fixture) {
+		if (hitCount == hitFractions.length) {
+			hitFractions = copy(hitFractions, hitCount * 2);
+
+			Fixture[] fixtures = new Fixture[hitCount * 2];
+			System.arraycopy(hitFixtures, 0, fixtures, 0, hitCount);
+			hitFixtures = fixtures;
+		}
+
+		hitFractions[hitCount] = fraction;
+		hitFixtures[hitCount] = fixture;
+		hitCount++;
+	}
+
+	/**
+	 * Insertion sort, since a sweep rarely hits more than a few fixtures.
+	 */
+	private void sortHits() {
+		for (int i = 1; i < hitCount; i++) {
+			float fraction = hitFractions[i];
+			Fixture fixture = hitFixtures[i];
+
+			int j = i - 1;
+
+			while (j >= 0 && hitFractions[j] > fraction) {
+				hitFractions[j + 1] = hitFractions[j];
+				hitFixtures[j + 1] = hitFixtures[j];
+				j--;
+			}
+
+			hitFractions[j + 1] = fraction;
+			hitFixtures[j + 1] = fixture;
+		}
+	}
+
+	private void addContact(Entity source, Entity victim, Collidable collidable) {
+		if (contactCount == contactSources.length) {
+			int size = contactCount * 2;
+
+			Entity[] sources = new Entity[size];
+			Entity[] victims = new Entity[size];
+			Collidable[] collidables = new Collidable[size];
+
+			System.arraycopy(contactSources, 0, sources, 0, contactCount);
+			System.arraycopy(contactVictims, 0, victims, 0, contactCount);
+			System.arraycopy(contactCollidables, 0, collidables, 0,
+					contactCount);
+
+			contactSources = sources;
+			contactVictims = victims;
+			contactCollidables = collidables;
+		}
+
+		contactSources[contactCount] = source;
+		contactVictims[contactCount] = victim;
+		contactCollidables[contactCount] = collidable;
+		contactCount++;
+	}
+
+	private static int[] copy(int[] array, int size) {
+		int[] result = new int[size];
+		System.arraycopy(array, 0, result, 0, Math.min(array.length, size));
+		return result;
+	}
+
+	private static float[] copy(float[] array, int size) {
+		float[] result = new float[size];
+		System.arraycopy(array, 0, result, 0, Math.min(array.length, size));
+		return result;
+	}
+
+	// endregion
+
+}
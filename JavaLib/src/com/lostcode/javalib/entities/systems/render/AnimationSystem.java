@@ -0,0 +1,158 @@
+package com.lostcode.javalib.entities.systems.render;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.components.render.Animated;
+import com.lostcode.javalib.entities.components.render.AnimationController;
+import com.lostcode.javalib.entities.systems.ComponentSystem;
+
+/**
+ * Advances the clock of every {@link Animated} component, such as an
+ * {@link AnimationController}, in one pass before the {@link RenderSystem}
+ * draws, so drawing only reads each component's current frame. Components
+ * that are culled keep running. They are kept in a packed list, so the pass
+ * doesn't look up components.
+ * <p>
+ * Controllers that weren't drawn in the last frame, such as those outside
+ * the camera's view, only pick a new frame every hidden interval. Their time
+ * is still collected, so they are in the right place once they are drawn
+ * again.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class AnimationSystem extends ComponentSystem {
+
+	// region Fields
+
+	/** The default number of seconds between updates of hidden components. */
+	public static final float DEFAULT_HIDDEN_INTERVAL = 0.25f;
+
+	private final Array<Animated> animated = new Array<Animated>(false, 16,
+			Animated.class);
+	private final Array<Entity> owners = new Array<Entity>(false, 16);
+	private final ObjectIntMap<Entity> indices = new ObjectIntMap<Entity>();
+
+	private float hiddenInterval = DEFAULT_HIDDEN_INTERVAL;
+	private boolean paused = false;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs an AnimationSystem.
+	 */
+	@SuppressWarnings("unchecked")
+	public AnimationSystem() {
+		super(Animated.class);
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The number of seconds between updates of components that
+	 *         weren't drawn.
+	 */
+	public float getHiddenInterval() {
+		return hiddenInterval;
+	}
+
+	/**
+	 * @param hiddenInterval
+	 *            The number of seconds between updates of components that
+	 *            weren't drawn. 0 updates them every frame.
+	 */
+	public void setHiddenInterval(float hiddenInterval) {
+		this.hiddenInterval = hiddenInterval;
+	}
+
+	/**
+	 * @return The number of components being advanced.
+	 */
+	public int getAnimatedCount() {
+		return animated.size;
+	}
+
+	// endregion
+
+	// region Processing
+
+	@Override
+	public void processEntities() {
+		if (!paused) {
+			float delta = deltaSeconds();
+			Animated[] items = animated.items;
+
+			for (int i = 0, n = animated.size; i < n; i++) {
+				items[i].advance(delta, hiddenInterval);
+			}
+		}
+
+		processingListChanged = false;
+	}
+
+	@Override
+	protected void process(Entity e) {
+		Animated a = e.getComponent(Animated.class);
+		a.advance(deltaSeconds(), hiddenInterval);
+	}
+
+	// endregion
+
+	// region Events
+
+	@Override
+	public void pause() {
+		paused = true;
+	}
+
+	@Override
+	public void resume() {
+		paused = false;
+	}
+
+	@Override
+	protected void onAdded(Entity e) {
+		indices.put(e, animated.size);
+		owners.add(e);
+		animated.add((Animated) e.getComponent(Animated.class));
+	}
+
+	@Override
+	public void onChanged(Entity e) {
+		int index = indices.get(e, -1);
+
+		// The entity may have been given a new component.
+		if (index >= 0)
+			animated.set(index, (Animated) e.getComponent(Animated.class));
+	}
+
+	@Override
+	protected void onRemoved(Entity e) {
+		int index = indices.remove(e, -1);
+
+		if (index < 0)
+			return;
+
+		// Move the last component into the gap.
+		Entity last = owners.pop();
+		Animated lastAnimated = animated.pop();
+
+		if (last != e) {
+			owners.set(index, last);
+			animated.set(index, lastAnimated);
+			indices.put(last, index);
+		}
+	}
+
+	// endregion
+
+}
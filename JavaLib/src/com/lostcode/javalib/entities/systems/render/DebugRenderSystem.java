@@ -1,8 +1,6 @@
 package com.lostcode.javalib.entities.systems.render;
 
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.List;
 
 import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
@@ -15,13 +13,25 @@ import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Box2DDebugRenderer;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.IntArray;
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.SystemManager;
 import com.lostcode.javalib.entities.systems.InputSystem;
 import com.lostcode.javalib.utils.Convert;
+import com.lostcode.javalib.utils.LogManager;
+import com.lostcode.javalib.utils.Profiler;
+import com.lostcode.javalib.utils.RenderPipeline;
+import com.lostcode.javalib.utils.metrics.Metric;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
 
 /**
- * System for rendering debug information.
+ * System for rendering debug information. F1 toggles the overlay, which shows
+ * the {@link Profiler} timings of every phase and system and the values of the
+ * default {@link MetricsRegistry}. F2 exports the captured frames as a Chrome
+ * trace. F3 toggles allocation tracking, which adds the bytes each scope
+ * allocated in the last frame.
+ * <p>
+ * The overlay is drawn in the debug pass of the world's {@link RenderPipeline}.
  * 
  * @author Natman64
  * 
@@ -38,6 +48,16 @@ public final class DebugRenderSystem extends InputSystem {
 	private BitmapFont font;
 	private Box2DDebugRenderer physicsDebugRenderer;
 	private Vector2 mousePosition;
+	private final Matrix4 renderMatrix = new Matrix4();
+
+	private IntArray scopeOrder = new IntArray();
+
+	private final RenderPipeline.Pass pass = new RenderPipeline.Pass() {
+		@Override
+		public void draw(SpriteBatch spriteBatch) {
+			drawOverlay(spriteBatch);
+		}
+	};
 
 	public boolean enabled = false;
 	public boolean visible = false;
@@ -68,7 +88,15 @@ public final class DebugRenderSystem extends InputSystem {
 
 		this.systems = systems;
 
-		spriteBatch = new SpriteBatch();
+		mousePosition = new Vector2();
+
+	}
+
+	/**
+	 * Creates the GL resources used for drawing. Called on first use, so
+	 * headless worlds can construct this system.
+	 */
+	private void createRenderers() {
 		font = new BitmapFont();
 		font.setColor(1f, 1f, 1f, 0.5f);
 
@@ -77,16 +105,14 @@ public final class DebugRenderSystem extends InputSystem {
 		}
 
 		physicsDebugRenderer = new Box2DDebugRenderer();
-
-		mousePosition = new Vector2();
-
 	}
 
 	@Override
 	public void dispose() {
-		spriteBatch.dispose();
-		font.dispose();
-		physicsDebugRenderer.dispose();
+		if (font != null) {
+			font.dispose();
+			physicsDebugRenderer.dispose();
+		}
 		super.dispose();
 	}
 
@@ -99,8 +125,13 @@ public final class DebugRenderSystem extends InputSystem {
 		return false;
 	}
 
+	@Override
+	public boolean isRenderSystem() {
+		return true;
+	}
+
 	/**
-	 * Renders the physics debug view.
+	 * Submits the physics debug view and the overlay, if they are visible.
 	 */
 	@Override
 	public void processEntities() {
@@ -111,69 +142,138 @@ public final class DebugRenderSystem extends InputSystem {
 
 			if (visible) {
 
-				Matrix4 renderMatrix = camera.combined.cpy();
-				renderMatrix.scl(Convert.getPixelMeterRatio());
+				if (font == null)
+					createRenderers();
+
+				renderMatrix.set(camera.combined).scl(
+						Convert.getPixelMeterRatio());
+
+				world.getRenderPipeline().submit(RenderPipeline.DEBUG, pass);
+			}
+		}
+	}
+
+	/**
+	 * Renders the physics debug view, then the overlay's text in screen
+	 * coordinates. Called by the pipeline, in the debug pass.
+	 */
+	private void drawOverlay(SpriteBatch spriteBatch) {
+		this.spriteBatch = spriteBatch;
+
+		// The Box2D renderer draws with its own shapes, outside the batch.
+		spriteBatch.end();
+		physicsDebugRenderer.render(physicsWorld, renderMatrix);
+		spriteBatch.begin();
+
+		int i = 1;
 
-				physicsDebugRenderer.render(physicsWorld, renderMatrix);
+		if (Gdx.app.getType() == ApplicationType.Android) {
+			i = 7; // Start drawing text further up to avoid being
+					// covered by UI elements.
+		} else { // don't draw system performance on android.
+			i = drawProfiler(i);
+			i = drawMetrics(i);
+		}
 
-				Map<String, Float> performance = systems.systemPerformance();
+		font.draw(spriteBatch, "FPS: " + Gdx.graphics.getFramesPerSecond(),
+				0, i++ * font.getLineHeight());
+		font.draw(spriteBatch, "Entities: " + this.world.getEntityCount(), 0,
+				i++ * font.getLineHeight());
+		font.draw(spriteBatch, "Camera pos: " + camera.position.toString(), 0,
+				i++ * font.getLineHeight());
+		font.draw(spriteBatch, "Mouse pos: " + mousePosition.toString(), 0,
+				i++ * font.getLineHeight());
+
+		// real mouse position
+		font.draw(spriteBatch,
+				"World mouse pos: " + world.toWorldCoordinates(mousePosition),
+				0, i++ * font.getLineHeight());
+	}
 
-				spriteBatch.begin();
-				
-				int i = 1;
+	/**
+	 * Draws one line per profiler scope, children indented beneath their
+	 * parents.
+	 * 
+	 * @param line
+	 *            The first line to draw on, counting up from the bottom.
+	 * @return The next free line.
+	 */
+	private int drawProfiler(int line) {
+		Profiler profiler = world.getProfiler();
 
-				if (Gdx.app.getType() == ApplicationType.Android) {
-					i = 7; // Start drawing text further up to avoid being
-							// covered by UI elements.
-				} else { // don't draw system performance on android.
+		scopeOrder.clear();
+		addScopes(profiler, -1);
 
-					String systemName = "";
-					Float systemPerformance = 0f;
+		// Lines count upward, so draw the tree from its last scope.
+		for (int s = scopeOrder.size - 1; s >= 0; s--) {
+			int scope = scopeOrder.get(s);
 
-					Entry<String, Float> next;
-					Iterator<Entry<String, Float>> iter = performance
-							.entrySet().iterator();
+			if (profiler.getSampleCount(scope) == 0)
+				continue;
 
-					while (iter.hasNext()) {
+			StringBuilder text = new StringBuilder();
+			for (int d = 0; d < profiler.getScopeDepth(scope); d++) {
+				text.append("    ");
+			}
+			text.append(profiler.getScopeName(scope)).append(": ");
+			text.append(format(profiler.getLastTime(scope))).append(" ms  avg ");
+			text.append(format(profiler.getAverageTime(scope))).append("  p50 ");
+			text.append(format(profiler.getPercentile(scope, 0.5f))).append("  p95 ");
+			text.append(format(profiler.getPercentile(scope, 0.95f))).append("  p99 ");
+			text.append(format(profiler.getPercentile(scope, 0.99f)));
+
+			if (profiler.isTrackingAllocations())
+				text.append("  ").append(profiler.getLastBytes(scope))
+						.append(" B");
+
+			font.draw(spriteBatch, text, 0, line++ * font.getLineHeight());
+		}
+
+		return line;
+	}
 
-						next = iter.next();
-						systemName = next.getKey();
-						systemPerformance = next.getValue();
+	/**
+	 * Draws one line per registered metric.
+	 * 
+	 * @param line
+	 *            The first line to draw on, counting up from the bottom.
+	 * @return The next free line.
+	 */
+	private int drawMetrics(int line) {
+		List<Metric> metrics = MetricsRegistry.getDefault().getMetrics();
 
-						font.draw(spriteBatch, systemName + ": "
-								+ systemPerformance.toString(), 0,
-								i * font.getLineHeight());
+		for (int m = metrics.size() - 1; m >= 0; m--) {
+			Metric metric = metrics.get(m);
 
-						i++;
-					}
-				}
+			font.draw(spriteBatch, metric.getName() + ": "
+					+ format(metric.getValue()), 0, line++
+					* font.getLineHeight());
+		}
 
-				font.draw(spriteBatch,
-						"FPS: " + Gdx.graphics.getFramesPerSecond(), 0, i++
-								* font.getLineHeight());
-				font.draw(spriteBatch,
-						"Entities: " + this.world.getEntityCount(), 0, i++
-								* font.getLineHeight());
-				font.draw(spriteBatch,
-						"Camera pos: " + camera.position.toString(), 0, i++
-								* font.getLineHeight());
-				font.draw(spriteBatch,
-						"Mouse pos: " + mousePosition.toString(), 0,
-						i++ * font.getLineHeight());
+		return line;
+	}
 
-				// real mouse position
-				font.draw(
-						spriteBatch,
-						"World mouse pos: "
-								+ world.toWorldCoordinates(mousePosition), 0,
-						i++ * font.getLineHeight());
+	private static String format(double value) {
+		if (value == Math.rint(value))
+			return Long.toString((long) value);
 
-				spriteBatch.end();
+		return String.format("%.2f", value);
+	}
 
+	private void addScopes(Profiler profiler, int parent) {
+		for (int scope = 0; scope < profiler.getScopeCount(); scope++) {
+			if (profiler.getScopeParent(scope) == parent
+					&& (parent >= 0 || scope == Profiler.FRAME)) {
+				scopeOrder.add(scope);
+				addScopes(profiler, scope);
 			}
 		}
 	}
 
+	private static String format(float millis) {
+		return String.format("%.2f", millis);
+	}
+
 	@Override
 	protected void process(Entity e) {
 	}
@@ -189,6 +289,24 @@ public final class DebugRenderSystem extends InputSystem {
 			return true;
 		}
 
+		if (keycode == Keys.F3 && enabled) {
+			Profiler profiler = world.getProfiler();
+
+			if (!profiler.setTrackingAllocations(!profiler
+					.isTrackingAllocations()))
+				LogManager.info("Profiler",
+						"Allocation tracking is not supported here");
+			return true;
+		}
+
+		if (keycode == Keys.F2 && enabled) {
+			String fileName = "trace-" + System.currentTimeMillis() + ".json";
+			world.getProfiler().exportChromeTrace(Gdx.files.local(fileName));
+
+			LogManager.info("Profiler", "Exported trace to " + fileName);
+			return true;
+		}
+
 		return false;
 	}
 
@@ -11,10 +11,12 @@ import com.lostcode.javalib.entities.components.physical.Transform;
 import com.lostcode.javalib.entities.components.render.Renderable;
 import com.lostcode.javalib.entities.systems.ComponentSystem;
 import com.lostcode.javalib.utils.Convert;
+import com.lostcode.javalib.utils.RenderPipeline;
 
 /**
  * Generic system that renders health bars above every entity that has a Health
- * component.
+ * component. The bars are drawn in the overlay pass of the world's
+ * {@link RenderPipeline}, above every entity.
  * 
  * @author Natman64
  * @created Jul 27, 2013
@@ -28,9 +30,21 @@ public class HealthRenderSystem extends ComponentSystem {
 	private SpriteBatch spriteBatch;
 	private Camera camera;
 
+	private FileHandle backTextureHandle;
+	private FileHandle frontTextureHandle;
+
 	private Texture backTexture;
 	private Texture frontTexture;
 
+	private final Vector2 position = new Vector2();
+
+	private final RenderPipeline.Pass pass = new RenderPipeline.Pass() {
+		@Override
+		public void draw(SpriteBatch spriteBatch) {
+			drawBars(spriteBatch);
+		}
+	};
+
 	// endregion
 
 	// region Initialization/Disposal
@@ -50,16 +64,16 @@ public class HealthRenderSystem extends ComponentSystem {
 			FileHandle frontTextureHandle) {
 		super(Health.class, Transform.class, Renderable.class);
 
-		spriteBatch = new SpriteBatch();
 		this.camera = camera;
 
-		backTexture = new Texture(backTextureHandle);
-		frontTexture = new Texture(frontTextureHandle);
+		this.backTextureHandle = backTextureHandle;
+		this.frontTextureHandle = frontTextureHandle;
 	}
 
 	@Override
 	public void dispose() {
-		spriteBatch.dispose();
+		if (backTexture == null)
+			return;
 
 		backTexture.dispose();
 		frontTexture.dispose();
@@ -67,16 +81,41 @@ public class HealthRenderSystem extends ComponentSystem {
 
 	// endregion
 
+	// region Accessors
+
+	@Override
+	public boolean isRenderSystem() {
+		return true;
+	}
+
+	// endregion
+
 	// region Processing
 
 	@Override
 	public void processEntities() {
-		spriteBatch.setProjectionMatrix(camera.combined);
-		spriteBatch.begin();
+		// GL resources are created on first use, so headless worlds can
+		// construct this system.
+		if (backTexture == null) {
+			backTexture = new Texture(backTextureHandle);
+			frontTexture = new Texture(frontTextureHandle);
+		}
+
+		world.getRenderPipeline().submit(RenderPipeline.OVERLAY,
+				camera.combined, pass);
+
+		processingListChanged = false;
+	}
 
-		super.processEntities();
+	/**
+	 * Draws the bars. Called by the pipeline, in the overlay pass.
+	 */
+	private void drawBars(SpriteBatch spriteBatch) {
+		this.spriteBatch = spriteBatch;
 
-		spriteBatch.end();
+		for (int i = 0; i < entities.size; i++) {
+			process(entities.get(i));
+		}
 	}
 
 	@Override
@@ -89,11 +128,10 @@ public class HealthRenderSystem extends ComponentSystem {
 		Transform transform = (Transform) e.getComponent(Transform.class);
 		Renderable sprite = (Renderable) e.getComponent(Renderable.class);
 
-		Vector2 pos = transform.getPosition().cpy();
-
-		pos = Convert.metersToPixels(pos);
-		pos.add(new Vector2(-sprite.getWidth() / 2, sprite.getHeight() / 2
-				+ VERTICAL_OFFSET));
+		Vector2 pos = Convert.metersToPixels(transform.getPosition(position),
+				position);
+		pos.add(-sprite.getWidth() / 2, sprite.getHeight() / 2
+				+ VERTICAL_OFFSET);
 
 		float height = backTexture.getHeight();
 		float width = sprite.getWidth();
@@ -0,0 +1,596 @@
+package com.lostcode.javalib.entities.systems.render;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.components.render.Batchable;
+import com.lostcode.javalib.entities.components.render.Renderable;
+
+/**
+ * The draw order of a {@link RenderSystem}. Every entity is given a 64-bit
+ * sort key, and entities are kept in one bucket per layer, each sorted by key.
+ * <p>
+ * From the most significant bits down, a key holds:
+ * <ul>
+ * <li>16 bits: the layer, signed, so keys compare as plain longs.</li>
+ * <li>4 bits: the blend state, for {@link Batchable} Renderables.</li>
+ * <li>24 bits: an ID of the texture, for {@link Batchable} Renderables. An
+ * ID is released once no entity uses its texture, and reused.</li>
+ * <li>20 bits: the order in which entities were added, which keeps the order
+ * stable. Live entities are numbered again when it runs out, so the order
+ * holds for up to 2^20 entities at once.</li>
+ * </ul>
+ * So within a layer, Renderables sharing a blend state and texture are drawn
+ * together, and the SpriteBatch flushes less often. Call
+ * {@link #setBatching(boolean)} with false to draw each layer in the order
+ * entities were added instead.
+ * <p>
+ * {@link #update()} recomputes every key, which is cheap, but only re-sorts
+ * the buckets whose keys changed. Entities that change layers move between
+ * buckets. Adding an entity appends it to its bucket and removing one swaps
+ * the bucket's last entity into its place, so neither costs more than the
+ * bucket's next sort.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class RenderQueue {
+
+	// region Key Layout
+
+	private static final int LAYER_SHIFT = 48;
+	private static final int BLEND_SHIFT = 44;
+	private static final int TEXTURE_SHIFT = 20;
+
+	private static final long BLEND_MASK = 0xFL;
+	private static final long TEXTURE_MASK = 0xFFFFFFL;
+	private static final long SEQUENCE_MASK = 0xFFFFFL;
+
+	/**
+	 * Builds a sort key.
+	 *
+	 * @param layer
+	 *            The layer, from -32768 to 32767.
+	 * @param blendState
+	 *            The blend state, from 0 to 15.
+	 * @param textureId
+	 *            The texture ID, from 0 to 2^24 - 1.
+	 * @param sequence
+	 *            The order of addition. Only the low 20 bits are used.
+	 * @return The key.
+	 */
+	public static long makeKey(int layer, int blendState, int textureId,
+			int sequence) {
+		return (long) layer << LAYER_SHIFT
+				| (blendState & BLEND_MASK) << BLEND_SHIFT
+				| (textureId & TEXTURE_MASK) << TEXTURE_SHIFT
+				| (sequence & SEQUENCE_MASK);
+	}
+
+	/**
+	 * @param key
+	 *            A sort key.
+	 * @return The layer stored in the key.
+	 */
+	public static int getLayer(long key) {
+		return (int) (key >> LAYER_SHIFT);
+	}
+
+	/**
+	 * @param key
+	 *            A sort key.
+	 * @return The texture ID stored in the key.
+	 */
+	public static int getTextureId(long key) {
+		return (int) ((key >>> TEXTURE_SHIFT) & TEXTURE_MASK);
+	}
+
+	/**
+	 * @param key
+	 *            A sort key.
+	 * @return The blend state stored in the key.
+	 */
+	public static int getBlendState(long key) {
+		return (int) ((key >>> BLEND_SHIFT) & BLEND_MASK);
+	}
+
+	// endregion
+
+	// region Fields
+
+	/**
+	 * An entity's place in the queue. The RenderSystem keeps its own
+	 * references to entries, so that it can stamp the ones it will draw
+	 * without looking them up.
+	 */
+	static final class Entry {
+		Entity entity;
+		Renderable renderable;
+		Batchable batchable;
+		Bucket bucket;
+		int index;
+		int sequence;
+		long key;
+		Texture texture;
+		int textureId;
+		int visibleFrame;
+	}
+
+	private static final class Bucket {
+		final int layer;
+		final Array<Entry> entries = new Array<Entry>(true, 16, Entry.class);
+		boolean dirty;
+
+		Bucket(int layer) {
+			this.layer = layer;
+		}
+	}
+
+	private static final Comparator<Entry> entryComparator = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			return o1.key < o2.key ? -1 : (o1.key > o2.key ? 1 : 0);
+		}
+	};
+
+	private static final Comparator<Entry> sequenceComparator = new Comparator<Entry>() {
+		@Override
+		public int compare(Entry o1, Entry o2) {
+			return o1.sequence - o2.sequence;
+		}
+	};
+
+	private static final Comparator<Bucket> bucketComparator = new Comparator<Bucket>() {
+		@Override
+		public int compare(Bucket o1, Bucket o2) {
+			return o1.layer - o2.layer;
+		}
+	};
+
+	private final ObjectMap<Entity, Entry> entries = new ObjectMap<Entity, Entry>();
+	private final IntMap<Bucket> bucketsByLayer = new IntMap<Bucket>();
+	private final Array<Bucket> buckets = new Array<Bucket>();
+	private final Array<Entry> moved = new Array<Entry>();
+	private final Array<Entry> renumbered = new Array<Entry>();
+
+	private final Pool<Entry> entryPool = new Pool<Entry>() {
+		@Override
+		protected Entry newObject() {
+			return new Entry();
+		}
+	};
+
+	private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<Texture>();
+	private final ObjectIntMap<Texture> textureUsers = new ObjectIntMap<Texture>();
+	private final IntArray freeTextureIds = new IntArray();
+	private int nextTextureId = 1;
+
+	private boolean batching = true;
+	private int nextSequence;
+	private int textureSwitches;
+
+	// endregion
+
+	// region Entities
+
+	/**
+	 * Adds an entity to the queue.
+	 *
+	 * @param e
+	 *            An entity with a Renderable.
+	 */
+	public void add(Entity e) {
+		if (entries.containsKey(e))
+			return;
+
+		Entry entry = entryPool.obtain();
+		entry.entity = e;
+		entry.visibleFrame = 0;
+		setRenderable(entry, e.getComponent(Renderable.class));
+
+		if (nextSequence > SEQUENCE_MASK)
+			renumber();
+
+		entry.sequence = nextSequence++;
+		entry.key = computeKey(entry);
+
+		entries.put(e, entry);
+		insert(entry, bucket(getLayer(entry.key)));
+	}
+
+	/**
+	 * Removes an entity from the queue.
+	 *
+	 * @param e
+	 *            The entity to remove.
+	 */
+	public void remove(Entity e) {
+		Entry entry = entries.remove(e);
+
+		if (entry == null)
+			return;
+
+		detach(entry);
+		setTexture(entry, null);
+
+		entry.entity = null;
+		setRenderable(entry, null);
+		entryPool.free(entry);
+	}
+
+	/**
+	 * Looks up an entity's Renderable again, in case its components changed.
+	 *
+	 * @param e
+	 *            The changed entity.
+	 */
+	public void refresh(Entity e) {
+		Entry entry = entries.get(e);
+
+		if (entry != null)
+			setRenderable(entry, e.getComponent(Renderable.class));
+	}
+
+	/**
+	 * @param e
+	 *            An entity.
+	 * @return The entity's entry, or null if it isn't queued. The entry is
+	 *         reused once the entity is removed.
+	 */
+	Entry getEntry(Entity e) {
+		return entries.get(e);
+	}
+
+	/**
+	 * Removes every entity.
+	 */
+	public void clear() {
+		for (Entry entry : entries.values()) {
+			entry.entity = null;
+			entry.texture = null;
+			entry.textureId = 0;
+			setRenderable(entry, null);
+			entryPool.free(entry);
+		}
+
+		entries.clear();
+		bucketsByLayer.clear();
+		buckets.clear();
+		nextSequence = 0;
+
+		textureIds.clear();
+		textureUsers.clear();
+		freeTextureIds.clear();
+		nextTextureId = 1;
+	}
+
+	/**
+	 * Numbers the live entries from 0 again, in the order they were added,
+	 * once the sequence runs out of bits. Their order doesn't change, so no
+	 * bucket needs sorting.
+	 */
+	private void renumber() {
+		for (Entry entry : entries.values()) {
+			renumbered.add(entry);
+		}
+		renumbered.sort(sequenceComparator);
+
+		for (int i = 0; i < renumbered.size; i++) {
+			Entry entry = renumbered.get(i);
+
+			entry.sequence = i;
+			entry.key = (entry.key & ~SEQUENCE_MASK) | i;
+		}
+
+		nextSequence = renumbered.size;
+		renumbered.clear();
+	}
+
+	/**
+	 * @return The number of entities in the queue.
+	 */
+	public int size() {
+		return entries.size;
+	}
+
+	// endregion
+
+	// region Ordering
+
+	/**
+	 * @return Whether Renderables are grouped by blend state and texture
+	 *         within each layer.
+	 */
+	public boolean isBatching() {
+		return batching;
+	}
+
+	/**
+	 * Sets whether Renderables are grouped by blend state and texture within
+	 * each layer. If not, each layer is drawn in the order its entities were
+	 * added.
+	 *
+	 * @param batching
+	 *            Whether to group Renderables.
+	 */
+	public void setBatching(boolean batching) {
+		this.batching = batching;
+	}
+
+	/**
+	 * Recomputes every key, moves entities whose layer changed and re-sorts
+	 * the buckets that need it.
+	 */
+	public void update() {
+		moved.clear();
+
+		for (int b = 0; b < buckets.size; b++) {
+			Bucket bucket = buckets.get(b);
+			Entry[] items = bucket.entries.items;
+
+			for (int i = 0; i < bucket.entries.size; i++) {
+				Entry entry = items[i];
+				long key = computeKey(entry);
+
+				if (key == entry.key)
+					continue;
+
+				entry.key = key;
+
+				if (getLayer(key) != bucket.layer)
+					moved.add(entry);
+				else
+					bucket.dirty = true;
+			}
+		}
+
+		// Every entry leaves its old bucket first, so the buckets only hold
+		// keys of their own layer while entries are inserted.
+		for (int i = 0; i < moved.size; i++) {
+			detach(moved.get(i));
+		}
+		for (int i = 0; i < moved.size; i++) {
+			Entry entry = moved.get(i);
+			insert(entry, bucket(getLayer(entry.key)));
+		}
+		moved.clear();
+
+		sortBuckets();
+
+		textureSwitches = 0;
+		int lastTexture = -1;
+
+		for (int b = 0; b < buckets.size; b++) {
+			Bucket bucket = buckets.get(b);
+			Entry[] items = bucket.entries.items;
+
+			for (int i = 0; i < bucket.entries.size; i++) {
+				int texture = getTextureId(items[i].key);
+
+				if (texture != lastTexture)
+					textureSwitches++;
+				lastTexture = texture;
+			}
+		}
+	}
+
+	/**
+	 * Re-sorts the buckets whose order was broken since they were last
+	 * sorted, without recomputing keys. Called by {@link #update()}, and
+	 * needed before iterating when entities may have been added or removed
+	 * since.
+	 */
+	public void sortBuckets() {
+		for (int b = 0; b < buckets.size; b++) {
+			Bucket bucket = buckets.get(b);
+
+			if (bucket.dirty) {
+				bucket.entries.sort(entryComparator);
+				reindex(bucket, 0);
+				bucket.dirty = false;
+			}
+		}
+	}
+
+	/**
+	 * @return The number of times the texture changes in the current draw
+	 *         order, as of the last {@link #update()}. Each change costs a
+	 *         SpriteBatch flush.
+	 */
+	public int getTextureSwitches() {
+		return textureSwitches;
+	}
+
+	private long computeKey(Entry entry) {
+		Batchable batchable = entry.batchable;
+
+		int blend = 0;
+		Texture texture = null;
+
+		if (batching && batchable != null) {
+			blend = batchable.getBlendState();
+			texture = batchable.getTexture();
+		}
+
+		if (texture != entry.texture)
+			setTexture(entry, texture);
+
+		return makeKey(entry.renderable.getLayer(), blend, entry.textureId,
+				entry.sequence);
+	}
+
+	private static void setRenderable(Entry entry, Renderable r) {
+		entry.renderable = r;
+
+		// Checked once here rather than every frame; a failed instanceof on
+		// an interface is surprisingly slow.
+		entry.batchable = r instanceof Batchable ? (Batchable) r : null;
+	}
+
+	/**
+	 * Changes the texture an entry's key refers to. Each texture's ID is kept
+	 * while any entry uses it, so disposed textures aren't held and IDs stay
+	 * within their 24 bits.
+	 */
+	private void setTexture(Entry entry, Texture texture) {
+		Texture old = entry.texture;
+
+		if (old != null && textureUsers.getAndIncrement(old, 0, -1) == 1) {
+			textureUsers.remove(old, 0);
+			freeTextureIds.add(textureIds.remove(old, 0));
+		}
+
+		entry.texture = texture;
+		entry.textureId = 0;
+
+		if (texture == null)
+			return;
+
+		int id = textureIds.get(texture, 0);
+
+		if (id == 0) {
+			id = freeTextureIds.size > 0 ? freeTextureIds.pop()
+					: nextTextureId++;
+			textureIds.put(texture, id);
+		}
+
+		textureUsers.getAndIncrement(texture, 0, 1);
+		entry.textureId = id;
+	}
+
+	// endregion
+
+	// region Iteration
+
+	/**
+	 * @return The number of layer buckets, including empty ones.
+	 */
+	public int getBucketCount() {
+		return buckets.size;
+	}
+
+	/**
+	 * @param bucket
+	 *            The index of a bucket. Buckets are ordered by layer.
+	 * @return The layer of the bucket.
+	 */
+	public int getBucketLayer(int bucket) {
+		return buckets.get(bucket).layer;
+	}
+
+	/**
+	 * @param bucket
+	 *            The index of a bucket.
+	 * @return The number of entities in the bucket.
+	 */
+	public int getBucketSize(int bucket) {
+		return buckets.get(bucket).entries.size;
+	}
+
+	/**
+	 * @param bucket
+	 *            The index of a bucket.
+	 * @param index
+	 *            The index of an entity within the bucket.
+	 * @return The entity.
+	 */
+	public Entity getEntity(int bucket, int index) {
+		return buckets.get(bucket).entries.get(index).entity;
+	}
+
+	/**
+	 * @param bucket
+	 *            The index of a bucket.
+	 * @param index
+	 *            The index of an entity within the bucket.
+	 * @return The entity's entry.
+	 */
+	Entry getEntry(int bucket, int index) {
+		return buckets.get(bucket).entries.items[index];
+	}
+
+	/**
+	 * @param bucket
+	 *            The index of a bucket.
+	 * @param index
+	 *            The index of an entity within the bucket.
+	 * @return The entity's Renderable.
+	 */
+	public Renderable getRenderable(int bucket, int index) {
+		return buckets.get(bucket).entries.get(index).renderable;
+	}
+
+	/**
+	 * @param bucket
+	 *            The index of a bucket.
+	 * @param index
+	 *            The index of an entity within the bucket.
+	 * @return The entity's sort key.
+	 */
+	public long getKey(int bucket, int index) {
+		return buckets.get(bucket).entries.get(index).key;
+	}
+
+	// endregion
+
+	// region Buckets
+
+	private Bucket bucket(int layer) {
+		Bucket bucket = bucketsByLayer.get(layer);
+
+		if (bucket == null) {
+			bucket = new Bucket(layer);
+			bucketsByLayer.put(layer, bucket);
+			buckets.add(bucket);
+			buckets.sort(bucketComparator);
+		}
+
+		return bucket;
+	}
+
+	private static void insert(Entry entry, Bucket bucket) {
+		Array<Entry> bucketEntries = bucket.entries;
+		int size = bucketEntries.size;
+
+		// New entities usually have the highest sequence, so the bucket tends
+		// to stay sorted.
+		if (size > 0 && bucketEntries.items[size - 1].key > entry.key)
+			bucket.dirty = true;
+
+		entry.bucket = bucket;
+		entry.index = size;
+		bucketEntries.add(entry);
+	}
+
+	private static void detach(Entry entry) {
+		Bucket bucket = entry.bucket;
+		Array<Entry> bucketEntries = bucket.entries;
+		Entry last = bucketEntries.pop();
+
+		if (last != entry) {
+			bucketEntries.items[entry.index] = last;
+			last.index = entry.index;
+			bucket.dirty = true;
+		}
+
+		entry.bucket = null;
+	}
+
+	private static void reindex(Bucket bucket, int start) {
+		Entry[] items = bucket.entries.items;
+
+		for (int i = start; i < bucket.entries.size; i++) {
+			items[i].index = i;
+		}
+	}
+
+	// endregion
+
+}
@@ -1,47 +1,119 @@
 package com.lostcode.javalib.entities.systems.render;
 
-import java.util.Comparator;
-
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.PhysicsWorld;
+import com.lostcode.javalib.entities.components.physical.Body;
 import com.lostcode.javalib.entities.components.physical.Transform;
+import com.lostcode.javalib.entities.components.render.AnimatedSprite;
+import com.lostcode.javalib.entities.components.render.AnimationController;
 import com.lostcode.javalib.entities.components.render.Parallax;
 import com.lostcode.javalib.entities.components.render.Renderable;
+import com.lostcode.javalib.entities.components.render.Sprite;
 import com.lostcode.javalib.entities.systems.ComponentSystem;
 import com.lostcode.javalib.utils.Convert;
+import com.lostcode.javalib.utils.RenderPipeline;
+import com.lostcode.javalib.utils.SpatialGrid;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
 
 /**
  * System for rendering every {@link Entity} that has a {@link Renderable}
- * component.
+ * component. Entities with a {@link Body} are drawn between their last two
+ * physics states, so that movement stays smooth when the frame rate does not
+ * match the fixed time step of the {@link PhysicsWorld}.
+ * <p>
+ * Draw order is kept by a {@link RenderQueue}, which sorts by layer and then
+ * groups Renderables by texture, and is only re-sorted where it changed.
+ * <p>
+ * Entities with a {@link Transform} are culled against the camera's view.
+ * Their bounds are kept in a {@link SpatialGrid}. Bodies' bounds are only
+ * updated when the PhysicsWorld reports that they moved, so resting bodies
+ * cost nothing; other Transforms are updated every frame. Bounds cover the
+ * Renderable at any rotation, but Renderables that draw outside their width
+ * and height need a cull margin. Entities without a Transform, with a
+ * {@link Parallax} component or with no size are always drawn. The entries
+ * of the entities within the view and of those that are always drawn are
+ * stamped with the frame, and drawing walks the queue, which is already in
+ * order, skipping entries without the stamp. So nothing is sorted per frame.
+ * <p>
+ * Drawing doesn't advance animations; the AnimationSystem does, so culled
+ * animations keep running.
+ * <p>
+ * Entities are drawn in the world pass of the world's {@link RenderPipeline},
+ * which shares one batch with every other render system.
  * 
  * @author Natman64
  * 
  */
 public final class RenderSystem extends ComponentSystem {
 
-	/**
-	 * Comparator implementation used for properly layering Renderables.
-	 * 
-	 * @author Natman64
-	 * 
-	 */
-	private class RenderableComparator implements Comparator<Entity> {
+	private static final Gauge SPRITES = MetricsRegistry.getDefault().gauge(
+			"javalib_render_sprites", "Renderables drawn during the last frame");
+	private static final Gauge TEXTURE_SWITCHES = MetricsRegistry
+			.getDefault().gauge("javalib_render_texture_switches",
+					"Texture changes in the last frame's draw order");
+	private static final Gauge CULLED = MetricsRegistry.getDefault().gauge(
+			"javalib_render_culled",
+			"Renderables skipped during the last frame as off-screen");
 
-		@Override
-		public int compare(Entity o1, Entity o2) {
-			Renderable r1 = o1.getComponent(Renderable.class);
-			Renderable r2 = o2.getComponent(Renderable.class);
+	/** The width and height of the culling grid's cells, in pixels. */
+	public static final float CULL_CELL_SIZE = 256f;
 
-			return r1.getLayer() - r2.getLayer();
-		}
+	/**
+	 * The culling state of an entity.
+	 */
+	private static final class Cullable {
+		Entity entity;
+		RenderQueue.Entry entry;
+		Transform transform;
+		Renderable renderable;
+		com.badlogic.gdx.physics.box2d.Body body;
 
+		int index;
+		int unboundedIndex = -1;
+		int looseIndex = -1;
+		boolean cullable;
+		boolean moved;
+		boolean bounded;
 	}
 
 	private Camera camera;
 	private SpriteBatch spriteBatch;
-	private RenderableComparator comparator = new RenderableComparator();
+	private final RenderQueue queue = new RenderQueue();
+
+	private final RenderPipeline.Pass pass = new RenderPipeline.Pass() {
+		@Override
+		public void draw(SpriteBatch spriteBatch) {
+			drawEntities(spriteBatch);
+		}
+	};
+
+	private boolean interpolate = true;
+	private final Vector2 position = new Vector2();
+	private final Vector2 origin = new Vector2();
+	private final Vector2 cameraPosition = new Vector2();
+
+	private boolean culling = true;
+	private float cullMargin;
+	private final SpatialGrid<Cullable> grid = new SpatialGrid<Cullable>(
+			CULL_CELL_SIZE);
+	private final ObjectMap<Entity, Cullable> cullables = new ObjectMap<Entity, Cullable>();
+	private final Array<Cullable> cullableList = new Array<Cullable>(false,
+			16);
+	private final Array<Cullable> unbounded = new Array<Cullable>(false, 16);
+	private final Array<Cullable> loose = new Array<Cullable>(false, 16);
+	private final Array<Cullable> pending = new Array<Cullable>(false, 16);
+	private final Array<Cullable> visible = new Array<Cullable>(false, 16);
+	private int captureCount = -1;
+	private int frame;
+	private int visibleCount;
+	private int culledCount;
 
 	// region Initialization/Disposal
 
@@ -56,56 +128,204 @@ public final class RenderSystem extends ComponentSystem {
 		super(Renderable.class);
 
 		this.camera = camera;
-
-		spriteBatch = new SpriteBatch();
-		spriteBatch.enableBlending();
 	}
 
 	@Override
 	public void dispose() {
-		spriteBatch.dispose();
+	}
+
+	// endregion
+
+	// region Accessors
+
+	@Override
+	public boolean isRenderSystem() {
+		return true;
+	}
+
+	/**
+	 * @return Whether physics bodies are drawn at interpolated positions.
+	 */
+	public boolean isInterpolating() {
+		return interpolate;
+	}
+
+	/**
+	 * @param interpolate
+	 *            Whether physics bodies should be drawn at interpolated
+	 *            positions.
+	 */
+	public void setInterpolating(boolean interpolate) {
+		this.interpolate = interpolate;
+	}
+
+	/**
+	 * @return The queue holding this system's draw order.
+	 */
+	public RenderQueue getRenderQueue() {
+		return queue;
+	}
+
+	/**
+	 * @return Whether entities outside the camera's view are skipped.
+	 */
+	public boolean isCulling() {
+		return culling;
+	}
+
+	/**
+	 * @param culling
+	 *            Whether entities outside the camera's view should be
+	 *            skipped.
+	 */
+	public void setCulling(boolean culling) {
+		// Bodies may have moved while they weren't followed.
+		if (culling && !this.culling)
+			invalidateAll();
+
+		this.culling = culling;
+	}
+
+	/**
+	 * @return The extra space around each Renderable's bounds, in pixels.
+	 */
+	public float getCullMargin() {
+		return cullMargin;
+	}
+
+	/**
+	 * Sets the extra space around each Renderable's bounds. Needed when
+	 * Renderables draw beyond their width and height.
+	 * 
+	 * @param cullMargin
+	 *            The margin, in pixels.
+	 */
+	public void setCullMargin(float cullMargin) {
+		this.cullMargin = cullMargin;
+
+		invalidateAll();
+	}
+
+	/**
+	 * @return The number of entities drawn during the last frame.
+	 */
+	public int getVisibleCount() {
+		return visibleCount;
+	}
+
+	/**
+	 * @return The number of entities skipped as off-screen during the last
+	 *         frame.
+	 */
+	public int getCulledCount() {
+		return culledCount;
+	}
+
+	/**
+	 * Marks an entity's bounds as out of date. Only needed when a body is
+	 * moved between steps and should be drawn in its new place before the
+	 * world steps again, or when its Renderable changes size.
+	 * 
+	 * @param e
+	 *            The entity.
+	 */
+	public void invalidateBounds(Entity e) {
+		Cullable c = cullables.get(e);
+
+		if (c != null)
+			invalidate(c);
 	}
 
 	// endregion
 
 	// region Processing
 
+	/**
+	 * Brings the draw order up to date, so that lower layers are drawn first.
+	 */
+	public void sortEntities() {
+		queue.update();
+	}
+
 	@Override
 	public void processEntities() {
 
-		// if (processingListChanged)
-		entities.sort(comparator);
+		sortEntities();
 
 		camera.update();
-		spriteBatch.setProjectionMatrix(camera.combined);
 
-		spriteBatch.begin();
+		if (culling)
+			cull();
+
+		world.getRenderPipeline().submit(RenderPipeline.WORLD,
+				camera.combined, pass);
+
+		processingListChanged = false;
+	}
+
+	/**
+	 * Draws the entities in the queue's order, or only those that weren't
+	 * culled. Called by the pipeline, in the world pass.
+	 */
+	private void drawEntities(SpriteBatch spriteBatch) {
+		this.spriteBatch = spriteBatch;
+
+		visibleCount = 0;
+		culledCount = 0;
+
+		// Entities may have been added or removed since the queue was sorted.
+		queue.sortBuckets();
 
-		super.processEntities();
+		for (int b = 0; b < queue.getBucketCount(); b++) {
+			for (int i = 0; i < queue.getBucketSize(b); i++) {
+				RenderQueue.Entry entry = queue.getEntry(b, i);
 
-		spriteBatch.end();
+				if (culling && entry.visibleFrame != frame)
+					continue;
 
+				draw(entry.entity, entry.renderable);
+				visibleCount++;
+			}
+		}
+
+		if (culling)
+			culledCount = queue.size() - visibleCount;
+
+		SPRITES.set(visibleCount);
+		CULLED.set(culledCount);
+		TEXTURE_SWITCHES.set(queue.getTextureSwitches());
 	}
 
 	@Override
 	protected void process(Entity e) {
+		draw(e, e.getComponent(Renderable.class));
+	}
 
-		Renderable r = (Renderable) e.getComponent(Renderable.class);
+	private void draw(Entity e, Renderable r) {
 
 		if (e.hasComponent(Transform.class)) {
 			Transform t = (Transform) e.getComponent(Transform.class);
 
-			Vector2 pos = Convert.metersToPixels(t.getPosition().cpy());
-			float angle = t.getRotation();
+			Vector2 pos = Convert.metersToPixels(getPosition(t, position),
+					position);
+			float angle;
+
+			if (interpolate && t instanceof Body) {
+				angle = world.getPhysicsWorld().getInterpolatedAngle(
+						((Body) t).getBody());
+			} else {
+				angle = t.getRotation();
+			}
 
 			// Handle position setting for parallax scrolling.
 			if (e.hasComponent(Parallax.class)) {
 				Parallax p = e.getComponent(Parallax.class);
 				// v = (v - c.p) * modulus_velocity
-				r.setPosition((new Vector2(p.getCameraPosition())).scl(
-						(1 - p.getDepthRatio())).add(pos.cpy()));
+				Vector2 parallax = p.getCameraPosition(cameraPosition)
+						.scl(1 - p.getDepthRatio()).add(pos);
+				r.setPosition(parallax.x, parallax.y);
 			} else {
-				r.setPosition(pos); //Or set normally if this Entity isn't parallax
+				r.setPosition(pos.x, pos.y); //Or set normally if this Entity isn't parallax
 			}
 				
 			r.setRotation((float) Math.toDegrees(angle));
@@ -114,6 +334,315 @@ public final class RenderSystem extends ComponentSystem {
 
 	}
 
+	/**
+	 * Finds where a Transform should be drawn, in meters.
+	 */
+	private Vector2 getPosition(Transform t, Vector2 out) {
+		if (interpolate && t instanceof Body) {
+			return world.getPhysicsWorld().getInterpolatedPosition(
+					((Body) t).getBody(), out);
+		}
+
+		return t.getPosition(out);
+	}
+
+	// endregion
+
+	// region Culling
+
+	/**
+	 * Updates the bounds of entities that moved, then stamps the entries of
+	 * the ones within the camera's view and the ones that are always drawn
+	 * with the frame.
+	 */
+	private void cull() {
+		PhysicsWorld physics = world.getPhysicsWorld();
+
+		if (physics.getCaptureCount() != captureCount) {
+			captureCount = physics.getCaptureCount();
+
+			Array<com.badlogic.gdx.physics.box2d.Body> moved = physics
+					.getMovedBodies();
+
+			for (int i = 0; i < moved.size; i++) {
+				com.badlogic.gdx.physics.box2d.Body body = moved.get(i);
+				Object data = body.getUserData();
+
+				if (data instanceof Entity) {
+					Cullable c = cullables.get((Entity) data);
+
+					if (c != null && c.body == body)
+						invalidate(c);
+				}
+			}
+		}
+
+		for (int i = 0; i < pending.size; i++) {
+			Cullable c = pending.get(i);
+
+			c.moved = false;
+
+			if (c.cullable)
+				updateBounds(c);
+		}
+		pending.clear();
+
+		// Transforms that aren't bodies don't report movement.
+		for (int i = 0; i < loose.size; i++) {
+			updateBounds(loose.get(i));
+		}
+
+		// The view's bounding box, which also covers rotated cameras.
+		Vector3[] corners = camera.frustum.planePoints;
+
+		float minX = corners[0].x;
+		float minY = corners[0].y;
+		float maxX = minX;
+		float maxY = minY;
+
+		for (int i = 1; i < corners.length; i++) {
+			minX = Math.min(minX, corners[i].x);
+			minY = Math.min(minY, corners[i].y);
+			maxX = Math.max(maxX, corners[i].x);
+			maxY = Math.max(maxY, corners[i].y);
+		}
+
+		// Zero is never a frame, so fresh entries aren't drawn by accident.
+		if (++frame == 0)
+			frame = 1;
+
+		grid.query(minX, minY, maxX - minX, maxY - minY, visible);
+
+		for (int i = 0; i < visible.size; i++) {
+			visible.get(i).entry.visibleFrame = frame;
+		}
+		for (int i = 0; i < unbounded.size; i++) {
+			unbounded.get(i).entry.visibleFrame = frame;
+		}
+
+		visible.clear();
+	}
+
+	private void updateBounds(Cullable c) {
+		Renderable r = c.renderable;
+
+		float width = r.getWidth();
+		float height = r.getHeight();
+
+		if (width <= 0f || height <= 0f) {
+			// Nothing to measure, so it is always drawn.
+			unbind(c);
+			return;
+		}
+
+		c.transform.getPosition(position);
+		float x = Convert.metersToPixels(position.x);
+		float y = Convert.metersToPixels(position.y);
+
+		// Renderables are positioned by their origin and rotate around it, so
+		// the farthest corner from the origin bounds every rotation.
+		r.getOrigin(origin);
+		float scale = getScale(r);
+		float extentX = Math.max(origin.x, width - origin.x) * scale;
+		float extentY = Math.max(origin.y, height - origin.y) * scale;
+		float radius = (float) Math.sqrt(extentX * extentX + extentY
+				* extentY) + cullMargin;
+
+		// Bodies are drawn between their last two states, so the bounds cover
+		// the whole step.
+		if (c.body != null)
+			radius += Convert.metersToPixels(world.getPhysicsWorld()
+					.getStepDistance(c.body));
+
+		grid.put(c, x - radius, y - radius, radius * 2, radius * 2);
+
+		if (!c.bounded) {
+			c.bounded = true;
+			removeUnbounded(c);
+		}
+	}
+
+	private static float getScale(Renderable r) {
+		if (r instanceof Sprite) {
+			Sprite sprite = (Sprite) r;
+			return Math.max(Math.abs(sprite.getScaleX()),
+					Math.abs(sprite.getScaleY()));
+		}
+
+		if (r instanceof AnimatedSprite) {
+			AnimatedSprite sprite = (AnimatedSprite) r;
+			return Math.max(Math.abs(sprite.getScaleX()),
+					Math.abs(sprite.getScaleY()));
+		}
+
+		if (r instanceof AnimationController) {
+			AnimationController controller = (AnimationController) r;
+			return Math.max(Math.abs(controller.getScaleX()),
+					Math.abs(controller.getScaleY()));
+		}
+
+		return 1f;
+	}
+
+	/**
+	 * Queues an entity's bounds to be updated before the next cull. Loose
+	 * Transforms are updated every frame anyway.
+	 */
+	private void invalidate(Cullable c) {
+		if (c.moved || !c.cullable || c.looseIndex >= 0)
+			return;
+
+		c.moved = true;
+		pending.add(c);
+	}
+
+	private void invalidateAll() {
+		for (int i = 0; i < cullableList.size; i++) {
+			invalidate(cullableList.get(i));
+		}
+	}
+
+	private void track(Entity e) {
+		Cullable c = cullables.get(e);
+
+		if (c == null) {
+			c = new Cullable();
+			c.entity = e;
+			c.index = cullableList.size;
+
+			cullables.put(e, c);
+			cullableList.add(c);
+
+			// Drawn until its bounds are known.
+			addUnbounded(c);
+		}
+
+		c.entry = queue.getEntry(e);
+		c.renderable = c.entry.renderable;
+		c.transform = (Transform) e.getComponent(Transform.class);
+		c.cullable = c.transform != null && !e.hasComponent(Parallax.class);
+		c.body = c.cullable && c.transform instanceof Body ? ((Body) c.transform)
+				.getBody() : null;
+
+		if (!c.cullable) {
+			removeLoose(c);
+			unbind(c);
+			return;
+		}
+
+		if (c.body == null) {
+			addLoose(c);
+		} else {
+			removeLoose(c);
+			invalidate(c);
+		}
+	}
+
+	private void untrack(Entity e) {
+		Cullable c = cullables.remove(e);
+
+		if (c == null)
+			return;
+
+		if (c.bounded)
+			grid.remove(c);
+		if (c.moved)
+			pending.removeValue(c, true);
+
+		removeUnbounded(c);
+		removeLoose(c);
+
+		Cullable last = cullableList.pop();
+
+		if (last != c) {
+			cullableList.set(c.index, last);
+			last.index = c.index;
+		}
+	}
+
+	/**
+	 * Takes an entity out of the grid, so that it is always drawn.
+	 */
+	private void unbind(Cullable c) {
+		if (c.bounded) {
+			grid.remove(c);
+			c.bounded = false;
+		}
+
+		addUnbounded(c);
+	}
+
+	private void addUnbounded(Cullable c) {
+		if (c.unboundedIndex >= 0)
+			return;
+
+		c.unboundedIndex = unbounded.size;
+		unbounded.add(c);
+	}
+
+	private void removeUnbounded(Cullable c) {
+		if (c.unboundedIndex < 0)
+			return;
+
+		Cullable last = unbounded.pop();
+
+		if (last != c) {
+			unbounded.set(c.unboundedIndex, last);
+			last.unboundedIndex = c.unboundedIndex;
+		}
+
+		c.unboundedIndex = -1;
+	}
+
+	private void addLoose(Cullable c) {
+		if (c.looseIndex >= 0)
+			return;
+
+		if (c.moved) {
+			pending.removeValue(c, true);
+			c.moved = false;
+		}
+
+		c.looseIndex = loose.size;
+		loose.add(c);
+	}
+
+	private void removeLoose(Cullable c) {
+		if (c.looseIndex < 0)
+			return;
+
+		Cullable last = loose.pop();
+
+		if (last != c) {
+			loose.set(c.looseIndex, last);
+			last.looseIndex = c.looseIndex;
+		}
+
+		c.looseIndex = -1;
+	}
+
+	// endregion
+
+	// region Events
+
+	@Override
+	protected void onAdded(Entity e) {
+		queue.add(e);
+		track(e);
+	}
+
+	@Override
+	public void onChanged(Entity e) {
+		queue.refresh(e);
+		track(e);
+	}
+
+	@Override
+	protected void onRemoved(Entity e) {
+		queue.remove(e);
+		untrack(e);
+	}
+
 	// endregion
 
 }
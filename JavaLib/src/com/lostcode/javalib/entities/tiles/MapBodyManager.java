@@ -13,6 +13,7 @@ import com.badlogic.gdx.maps.objects.PolygonMapObject;
 import com.badlogic.gdx.maps.objects.PolylineMapObject;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.objects.TextureMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.Circle;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -23,14 +24,17 @@ import com.badlogic.gdx.physics.box2d.CircleShape;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.badlogic.gdx.physics.box2d.Shape;
-import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntSet;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.LongArray;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.XmlReader;
 import com.badlogic.gdx.utils.XmlReader.Element;
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.PhysicsWorld;
 
 /**
  * @author David Saltares Mร�?rquez david.saltares at gmail.com
@@ -48,15 +52,53 @@ import com.lostcode.javalib.entities.EntityWorld;
  * 
  *          In case no material property is found, it'll get a default one.
  * 
+ *          Rectangles without an "Entity" property are merged per material
+ *          before bodies are created (Added). The layer's "merge" property
+ *          chooses how: "boxes" (the default) covers them with as few boxes as
+ *          possible, "chains" replaces them with ChainShape outlines, and
+ *          "none" creates a body for every rectangle. See
+ *          {@link RectangleMerger}.
+ * 
+ *          Tile layers named "collision", or with the property "collision"
+ *          set to "true", become {@link TileCollisionLayer}s, whose bodies are
+ *          rebuilt per region when their tiles change (Added).
+ * 
  */
 public class MapBodyManager {
 	private Logger m_logger;
 	private EntityWorld m_world; // added
-	private World m_physicsWorld;
+	private PhysicsWorld m_physicsWorld;
 	private float m_units;
 	private Array<Body> m_bodies = new Array<Body>();
 	private ObjectMap<String, FixtureDef> m_materials = new ObjectMap<String, FixtureDef>();
 
+	// Added
+	private float m_offsetX;
+	private float m_offsetY;
+	private IntSet m_skipped = new IntSet();
+	private Array<Entity> m_entities = new Array<Entity>();
+	private IntArray m_entityObjects = new IntArray();
+	private LongArray m_entitySerials = new LongArray();
+
+	/** How rectangles are merged. */
+	public enum MergeMode {
+		/** Every rectangle gets its own body. */
+		NONE,
+		/** Rectangles are merged into as few boxes as possible. */
+		BOXES,
+		/** Rectangles are replaced by the outlines of their area. */
+		CHAINS
+	}
+
+	private MergeMode m_mergeMode = MergeMode.BOXES;
+	private ObjectMap<String, RectangleMerger> m_mergers = new ObjectMap<String, RectangleMerger>();
+	private int m_sourceBodyCount;
+	private int m_fixtureCount;
+	private Array<Rectangle> m_boxes = new Array<Rectangle>();
+	private Array<float[]> m_outlines = new Array<float[]>();
+	private Array<TileCollisionLayer> m_collisionLayers = new Array<TileCollisionLayer>();
+	private int m_regionSize = TileCollisionLayer.DEFAULT_REGION_SIZE;
+
 	/**
 	 * @param world
 	 *            the EntityWorld to work with
@@ -74,7 +116,7 @@ public class MapBodyManager {
 		m_logger.info("initialising");
 
 		m_world = world;
-		m_physicsWorld = world.getBox2DWorld();
+		m_physicsWorld = world.getPhysicsWorld();
 		m_units = unitsPerPixel;
 
 		FixtureDef defaultFixture = new FixtureDef();
@@ -89,15 +131,206 @@ public class MapBodyManager {
 		}
 	}
 
+	/**
+	 * Offsets every body created afterwards, for maps that don't start at the
+	 * origin.
+	 * 
+	 * @param x
+	 *            horizontal offset, in pixels.
+	 * @param y
+	 *            vertical offset, in pixels.
+	 */
+	public void setOffset(float x, float y) {
+		m_offsetX = x;
+		m_offsetY = y;
+	}
+
+	/**
+	 * @return how rectangles are merged when the physics layer has no "merge"
+	 *         property.
+	 */
+	public MergeMode getMergeMode() {
+		return m_mergeMode;
+	}
+
+	/**
+	 * @param mergeMode
+	 *            how rectangles are merged when the physics layer has no
+	 *            "merge" property.
+	 */
+	public void setMergeMode(MergeMode mergeMode) {
+		m_mergeMode = mergeMode;
+	}
+
+	/**
+	 * @return the number of static bodies that would have been created
+	 *         without merging, one per map object.
+	 */
+	public int getSourceBodyCount() {
+		return m_sourceBodyCount;
+	}
+
+	/**
+	 * @return the number of static bodies created.
+	 */
+	public int getBodyCount() {
+		return m_bodies.size;
+	}
+
+	/**
+	 * @return the number of fixtures on the static bodies created.
+	 */
+	public int getFixtureCount() {
+		return m_fixtureCount;
+	}
+
+	/**
+	 * @param regionSize
+	 *            width and height, in tiles, of the regions of collision
+	 *            layers created afterwards.
+	 */
+	public void setRegionSize(int regionSize) {
+		m_regionSize = regionSize;
+	}
+
+	/**
+	 * @return the number of tile collision layers.
+	 */
+	public int getCollisionLayerCount() {
+		return m_collisionLayers.size;
+	}
+
+	/**
+	 * @param index
+	 *            index of a tile collision layer.
+	 * @return the collision layer.
+	 */
+	public TileCollisionLayer getCollisionLayer(int index) {
+		return m_collisionLayers.get(index);
+	}
+
+	/**
+	 * Marks the collision of a changed tile dirty, if the tile belongs to a
+	 * collision layer. The region is rebuilt by {@link #updateCollision()},
+	 * which the EntityWorld calls before every physics step.
+	 * 
+	 * @param layer
+	 *            layer of the tile.
+	 * @param x
+	 *            x coordinate of the tile.
+	 * @param y
+	 *            y coordinate of the tile.
+	 */
+	public void invalidateTile(MapLayer layer, int x, int y) {
+		for (int i = 0; i < m_collisionLayers.size; i++) {
+			TileCollisionLayer collisionLayer = m_collisionLayers.get(i);
+
+			if (collisionLayer.getLayer() == layer)
+				collisionLayer.invalidate(x, y);
+		}
+	}
+
+	/**
+	 * Rebuilds the dirty regions of every collision layer right away, such as
+	 * before raycasting against tiles changed this frame.
+	 */
+	public void updateCollision() {
+		for (int i = 0; i < m_collisionLayers.size; i++) {
+			m_collisionLayers.get(i).update();
+		}
+	}
+
+	/**
+	 * @return indices, within the physics layer, of the objects that won't be
+	 *         created.
+	 */
+	public IntSet getSkippedObjects() {
+		return m_skipped;
+	}
+
+	/**
+	 * @return the number of entities created from map objects.
+	 */
+	public int getEntityCount() {
+		return m_entities.size;
+	}
+
+	/**
+	 * @param index
+	 *            index of a created entity.
+	 * @return the entity. Check {@link #isEntityAlive(int)} first, since it
+	 *         may have been deleted and reused.
+	 */
+	public Entity getEntity(int index) {
+		return m_entities.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            index of a created entity.
+	 * @return the index, within the physics layer, of the object the entity
+	 *         was created from.
+	 */
+	public int getEntityObject(int index) {
+		return m_entityObjects.get(index);
+	}
+
+	/**
+	 * @param index
+	 *            index of a created entity.
+	 * @return whether the entity still exists.
+	 */
+	public boolean isEntityAlive(int index) {
+		Entity e = m_entities.get(index);
+		return !e.isDeleted() && e.getSerial() == m_entitySerials.get(index);
+	}
+
 	/**
 	 * @param map
 	 *            will use the "physics" layer of this map to look for shapes in
 	 *            order to create the static bodies.
 	 */
 	public void createPhysics(Map map) {
+		createCollisionLayers(map); // Added
 		createPhysics(map, "physics");
 	}
 
+	/**
+	 * Creates a collision layer for every tile layer marked as one (Added).
+	 */
+	private void createCollisionLayers(Map map) {
+		for (MapLayer layer : map.getLayers()) {
+			if (!TileCollisionLayer.isCollisionLayer(layer))
+				continue;
+
+			TileCollisionLayer collisionLayer = new TileCollisionLayer(this,
+					(TiledMapTileLayer) layer, getMergeMode(layer.getProperties()),
+					m_regionSize);
+			collisionLayer.update();
+
+			m_collisionLayers.add(collisionLayer);
+			m_world.addCollisionLayer(collisionLayer);
+
+			m_logger.info("created " + collisionLayer.getBodyCount()
+					+ " bodies with " + collisionLayer.getFixtureCount()
+					+ " fixtures for collision layer " + layer.getName());
+		}
+	}
+
+	private MergeMode getMergeMode(MapProperties properties) {
+		String mergeProperty = (String) properties.get("merge");
+
+		if (mergeProperty != null) {
+			try {
+				return MergeMode.valueOf(mergeProperty.toUpperCase());
+			} catch (IllegalArgumentException e) {
+				m_logger.error("unknown merge mode " + mergeProperty);
+			}
+		}
+
+		return m_mergeMode;
+	}
+
 	/**
 	 * @param map
 	 *            map to be used to create the static bodies.
@@ -114,14 +347,42 @@ public class MapBodyManager {
 
 		MapObjects objects = layer.getObjects();
 		Iterator<MapObject> objectIt = objects.iterator();
+		int objectIndex = -1; // Added
+
+		MergeMode mergeMode = getMergeMode(layer.getProperties()); // Added
 
 		while (objectIt.hasNext()) {
 			MapObject object = objectIt.next();
+			objectIndex++;
+
+			if (m_skipped.contains(objectIndex)) { // Added
+				continue;
+			}
 
 			if (object instanceof TextureMapObject) {
 				continue;
 			}
 
+			// Added
+			if (mergeMode != MergeMode.NONE
+					&& object instanceof RectangleMapObject
+					&& !object.getProperties().containsKey("Entity")) {
+				String material = (String) object.getProperties().get(
+						"material");
+				if (material == null || !m_materials.containsKey(material))
+					material = "default";
+
+				RectangleMerger merger = m_mergers.get(material);
+				if (merger == null) {
+					merger = new RectangleMerger();
+					m_mergers.put(material, merger);
+				}
+
+				merger.add(((RectangleMapObject) object).getRectangle());
+				m_sourceBodyCount++;
+				continue;
+			}
+
 			Shape shape;
 
 			if (object instanceof RectangleMapObject) {
@@ -153,6 +414,7 @@ public class MapBodyManager {
 
 			BodyDef bodyDef = new BodyDef();
 			bodyDef.type = BodyDef.BodyType.StaticBody;
+			bodyDef.position.set(m_offsetX * m_units, m_offsetY * m_units); // Added
 
 			// Added
 			if (properties.containsKey("Entity")) {
@@ -162,24 +424,140 @@ public class MapBodyManager {
 				Entity e = m_world.createEntity(template, bodyDef, fixtureDef,
 						properties);
 
-				Body body = ((com.lostcode.javalib.entities.components.physical.Body) e
-						.getComponent(com.lostcode.javalib.entities.components.physical.Body.class))
-						.getBody();
-
-				m_bodies.add(body); // Add the body so that the Entity will be
-									// refreshed/deleted when the map is
+				// Track the Entity so that it will be deleted with the map.
+				// Its body is destroyed by the Entity, and may already be gone.
+				m_entities.add(e);
+				m_entityObjects.add(objectIndex);
+				m_entitySerials.add(e.getSerial());
 
 			} else {
 				Body body = m_physicsWorld.createBody(bodyDef);
 				body.createFixture(fixtureDef);
 
 				m_bodies.add(body);
+				m_sourceBodyCount++; // Added
+				m_fixtureCount++;
 
 				fixtureDef.shape = null;
 				shape.dispose();
 			}
 
 		}
+
+		createMergedBodies(mergeMode); // Added
+
+		m_logger.info("created " + m_bodies.size + " bodies with "
+				+ m_fixtureCount + " fixtures from " + m_sourceBodyCount
+				+ " objects");
+	}
+
+	/**
+	 * Creates one body for each material's merged rectangles (Added).
+	 */
+	private void createMergedBodies(MergeMode mergeMode) {
+		for (ObjectMap.Entry<String, RectangleMerger> entry : m_mergers
+				.entries()) {
+			BodyDef bodyDef = new BodyDef();
+			bodyDef.type = BodyDef.BodyType.StaticBody;
+			bodyDef.position.set(m_offsetX * m_units, m_offsetY * m_units);
+
+			Body body = m_physicsWorld.createBody(bodyDef);
+			m_bodies.add(body);
+
+			m_fixtureCount += addMergedFixtures(body, m_materials.get(entry.key),
+					entry.value, mergeMode);
+		}
+
+		m_mergers.clear();
+	}
+
+	/**
+	 * Adds the merged rectangles of a merger to a body (Added).
+	 * 
+	 * @return the number of fixtures added.
+	 */
+	int addMergedFixtures(Body body, FixtureDef fixtureDef,
+			RectangleMerger merger, MergeMode mergeMode) {
+		Array<Rectangle> boxes = m_boxes;
+		Array<float[]> outlines = m_outlines;
+		int count = 0;
+
+		boxes.clear();
+		outlines.clear();
+
+		if (mergeMode == MergeMode.CHAINS && merger.traceOutlines(outlines)) {
+			for (float[] outline : outlines) {
+				Vector2[] vertices = new Vector2[outline.length / 2];
+
+				for (int i = 0; i < vertices.length; i++) {
+					vertices[i] = new Vector2(outline[i * 2] * m_units,
+							outline[i * 2 + 1] * m_units);
+				}
+
+				ChainShape chain = new ChainShape();
+				chain.createLoop(vertices);
+				addFixture(body, fixtureDef, chain);
+				count++;
+			}
+		} else {
+			if (mergeMode == MergeMode.NONE || !merger.mergeBoxes(boxes)) {
+				if (mergeMode != MergeMode.NONE)
+					m_logger.error("too many rectangles to merge");
+
+				boxes.clear();
+				for (int i = 0; i < merger.size(); i++) {
+					boxes.add(merger.getRectangle(i, new Rectangle()));
+				}
+			}
+
+			for (Rectangle box : boxes) {
+				PolygonShape polygon = new PolygonShape();
+				polygon.setAsBox(box.width * 0.5f * m_units, box.height * 0.5f
+						* m_units, new Vector2((box.x + box.width * 0.5f)
+						* m_units, (box.y + box.height * 0.5f) * m_units),
+						0.0f);
+				addFixture(body, fixtureDef, polygon);
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return the physics world bodies are created in (Added).
+	 */
+	PhysicsWorld getPhysicsWorld() {
+		return m_physicsWorld;
+	}
+
+	/**
+	 * Gets the offset of created bodies, in metres (Added).
+	 */
+	Vector2 getOffset(Vector2 out) {
+		return out.set(m_offsetX * m_units, m_offsetY * m_units);
+	}
+
+	/**
+	 * @return the named material, or the default one if it doesn't exist
+	 *         (Added).
+	 */
+	FixtureDef getMaterial(String name) {
+		FixtureDef fixtureDef = m_materials.get(name);
+
+		if (fixtureDef == null) {
+			m_logger.error("material does not exist " + name + " using default");
+			fixtureDef = m_materials.get("default");
+		}
+
+		return fixtureDef;
+	}
+
+	private void addFixture(Body body, FixtureDef fixtureDef, Shape shape) {
+		fixtureDef.shape = shape;
+		body.createFixture(fixtureDef);
+		fixtureDef.shape = null;
+		shape.dispose();
 	}
 
 	/**
@@ -187,16 +565,27 @@ public class MapBodyManager {
 	 * deletes associated entities..
 	 */
 	public void destroyPhysics() {
+		for (TileCollisionLayer collisionLayer : m_collisionLayers) { // Added
+			collisionLayer.destroy();
+			m_world.removeCollisionLayer(collisionLayer);
+		}
+		m_collisionLayers.clear();
+
 		for (Body body : m_bodies) {
-			if (body.getUserData() != null) { // Added
-				Entity e = (Entity) body.getUserData();
-				e.delete();
-			} else { // Added
-				m_physicsWorld.destroyBody(body);
-			}
+			m_physicsWorld.destroyBody(body);
+		}
+
+		for (int i = 0; i < m_entities.size; i++) { // Added
+			if (isEntityAlive(i))
+				m_entities.get(i).delete();
 		}
 
 		m_bodies.clear();
+		m_sourceBodyCount = 0;
+		m_fixtureCount = 0;
+		m_entities.clear();
+		m_entityObjects.clear();
+		m_entitySerials.clear();
 	}
 
 	private void loadMaterialsFile(String materialsFile) {
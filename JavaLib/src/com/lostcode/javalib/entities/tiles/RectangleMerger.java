@@ -0,0 +1,375 @@
+package com.lostcode.javalib.entities.tiles;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Merges a set of axis-aligned rectangles into fewer, larger ones covering the
+ * same area, or into the outlines of that area. Adjacent and overlapping
+ * rectangles are both merged.
+ * <p>
+ * The rectangles' edges split the plane into a grid of cells, which is filled
+ * where any rectangle covers it. Boxes are then grown greedily across filled
+ * cells, and outlines follow the boundary between filled and empty cells. This
+ * works for any coordinates, but a grid of more than {@link #MAX_CELLS} cells
+ * is not merged at all; tile-aligned levels stay far below that.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class RectangleMerger {
+
+	// region Fields
+
+	/** The most grid cells a merge may use. */
+	public static final int MAX_CELLS = 1 << 22;
+
+	private static final int RIGHT = 0, UP = 1, LEFT = 2, DOWN = 3;
+
+	private final FloatArray rectangles = new FloatArray();
+
+	private float[] xs;
+	private float[] ys;
+	private int columns;
+	private int rows;
+	private boolean[] filled;
+
+	// endregion
+
+	// region Rectangles
+
+	/**
+	 * Adds a rectangle. Rectangles without area are ignored.
+	 *
+	 * @param x
+	 *            The left of the rectangle.
+	 * @param y
+	 *            The bottom of the rectangle.
+	 * @param width
+	 *            The width of the rectangle.
+	 * @param height
+	 *            The height of the rectangle.
+	 */
+	public void add(float x, float y, float width, float height) {
+		if (width <= 0f || height <= 0f)
+			return;
+
+		rectangles.add(x);
+		rectangles.add(y);
+		rectangles.add(x + width);
+		rectangles.add(y + height);
+
+		// The grid of an earlier merge no longer covers every rectangle.
+		xs = null;
+		ys = null;
+		filled = null;
+	}
+
+	/**
+	 * Adds a rectangle. Rectangles without area are ignored.
+	 *
+	 * @param rectangle
+	 *            The rectangle.
+	 */
+	public void add(Rectangle rectangle) {
+		add(rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+	}
+
+	/**
+	 * Gets a rectangle that was added.
+	 *
+	 * @param index
+	 *            The index of the rectangle.
+	 * @param out
+	 *            The rectangle to store it in.
+	 * @return The rectangle.
+	 */
+	public Rectangle getRectangle(int index, Rectangle out) {
+		float x = rectangles.get(index * 4);
+		float y = rectangles.get(index * 4 + 1);
+
+		return out.set(x, y, rectangles.get(index * 4 + 2) - x,
+				rectangles.get(index * 4 + 3) - y);
+	}
+
+	/**
+	 * @return The number of rectangles added.
+	 */
+	public int size() {
+		return rectangles.size / 4;
+	}
+
+	/**
+	 * Removes every rectangle.
+	 */
+	public void clear() {
+		rectangles.clear();
+
+		xs = null;
+		ys = null;
+		filled = null;
+	}
+
+	// endregion
+
+	// region Merging
+
+	/**
+	 * Covers the area of the rectangles with as few boxes as a greedy pass
+	 * finds. Each box is grown as far right as it can, and then as far up.
+	 *
+	 * @param out
+	 *            The array the boxes are added to.
+	 * @return False if the grid would be too large, in which case nothing is
+	 *         added.
+	 */
+	public boolean mergeBoxes(Array<Rectangle> out) {
+		if (!rasterize())
+			return false;
+
+		boolean[] used = new boolean[filled.length];
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				int index = row * columns + column;
+
+				if (!filled[index] || used[index])
+					continue;
+
+				int right = column + 1;
+				while (right < columns && isFree(right, row, used))
+					right++;
+
+				int top = row + 1;
+				while (top < rows && isRowFree(column, right, top, used))
+					top++;
+
+				for (int r = row; r < top; r++) {
+					for (int c = column; c < right; c++) {
+						used[r * columns + c] = true;
+					}
+				}
+
+				out.add(new Rectangle(xs[column], ys[row], xs[right]
+						- xs[column], ys[top] - ys[row]));
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Traces the outlines of the area covered by the rectangles. Outer
+	 * outlines run counter-clockwise and the outlines of holes clockwise, and
+	 * only corners are kept.
+	 *
+	 * @param out
+	 *            The array each outline is added to, as x and y pairs.
+	 * @return False if the grid would be too large, in which case nothing is
+	 *         added.
+	 */
+	public boolean traceOutlines(Array<float[]> out) {
+		if (!rasterize())
+			return false;
+
+		// Boundary edges between grid points, with the filled side on the left.
+		IntArray edges = new IntArray();
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				if (!isFilled(column, row))
+					continue;
+
+				if (!isFilled(column, row - 1))
+					addEdge(edges, column, row, RIGHT);
+				if (!isFilled(column + 1, row))
+					addEdge(edges, column + 1, row, UP);
+				if (!isFilled(column, row + 1))
+					addEdge(edges, column + 1, row + 1, LEFT);
+				if (!isFilled(column - 1, row))
+					addEdge(edges, column, row + 1, DOWN);
+			}
+		}
+
+		int edgeCount = edges.size / 3;
+
+		// At most two edges leave any grid point.
+		LongMap<int[]> outgoing = new LongMap<int[]>();
+
+		for (int e = 0; e < edgeCount; e++) {
+			long key = point(edges.get(e * 3), edges.get(e * 3 + 1));
+			int[] leaving = outgoing.get(key);
+
+			if (leaving == null) {
+				outgoing.put(key, new int[] { e, -1 });
+			} else {
+				leaving[1] = e;
+			}
+		}
+
+		boolean[] used = new boolean[edgeCount];
+		FloatArray outline = new FloatArray();
+
+		for (int start = 0; start < edgeCount; start++) {
+			if (used[start])
+				continue;
+
+			outline.clear();
+
+			int e = start;
+			int previous = edges.get(start * 3 + 2);
+
+			while (true) {
+				used[e] = true;
+
+				int x = edges.get(e * 3);
+				int y = edges.get(e * 3 + 1);
+				int direction = edges.get(e * 3 + 2);
+
+				if (direction != previous || outline.size == 0) {
+					outline.add(xs[x]);
+					outline.add(ys[y]);
+				}
+
+				previous = direction;
+
+				int[] leaving = outgoing.get(point(x + dx(direction), y
+						+ dy(direction)));
+				int next = leaving[0];
+
+				if (leaving[1] >= 0) {
+					// A pinch point: turn left, keeping the loops apart.
+					if (used[next]
+							|| (!used[leaving[1]] && edges
+									.get(leaving[1] * 3 + 2) == (direction + 1) % 4))
+						next = leaving[1];
+				}
+
+				if (used[next])
+					break;
+
+				e = next;
+			}
+
+			// The start may lie in the middle of a straight run.
+			if (outline.size > 4 && edges.get(start * 3 + 2) == previous) {
+				outline.removeIndex(0);
+				outline.removeIndex(0);
+			}
+
+			if (outline.size >= 6)
+				out.add(outline.toArray());
+		}
+
+		return true;
+	}
+
+	// endregion
+
+	// region Grid
+
+	private boolean rasterize() {
+		if (filled != null)
+			return true;
+
+		int count = size();
+
+		xs = new float[count * 2];
+		ys = new float[count * 2];
+
+		for (int i = 0; i < count; i++) {
+			xs[i * 2] = rectangles.get(i * 4);
+			xs[i * 2 + 1] = rectangles.get(i * 4 + 2);
+			ys[i * 2] = rectangles.get(i * 4 + 1);
+			ys[i * 2 + 1] = rectangles.get(i * 4 + 3);
+		}
+
+		xs = unique(xs);
+		ys = unique(ys);
+
+		columns = Math.max(0, xs.length - 1);
+		rows = Math.max(0, ys.length - 1);
+
+		if ((long) columns * rows > MAX_CELLS) {
+			xs = null;
+			ys = null;
+			return false;
+		}
+
+		filled = new boolean[columns * rows];
+
+		for (int i = 0; i < count; i++) {
+			int column1 = Arrays.binarySearch(xs, rectangles.get(i * 4));
+			int row1 = Arrays.binarySearch(ys, rectangles.get(i * 4 + 1));
+			int column2 = Arrays.binarySearch(xs, rectangles.get(i * 4 + 2));
+			int row2 = Arrays.binarySearch(ys, rectangles.get(i * 4 + 3));
+
+			for (int row = row1; row < row2; row++) {
+				for (int column = column1; column < column2; column++) {
+					filled[row * columns + column] = true;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private static float[] unique(float[] values) {
+		Arrays.sort(values);
+
+		int size = 0;
+
+		for (int i = 0; i < values.length; i++) {
+			if (size == 0 || values[i] != values[size - 1])
+				values[size++] = values[i];
+		}
+
+		return Arrays.copyOf(values, size);
+	}
+
+	private boolean isFilled(int column, int row) {
+		return column >= 0 && row >= 0 && column < columns && row < rows
+				&& filled[row * columns + column];
+	}
+
+	private boolean isFree(int column, int row, boolean[] used) {
+		int index = row * columns + column;
+		return filled[index] && !used[index];
+	}
+
+	private boolean isRowFree(int column1, int column2, int row,
+			boolean[] used) {
+		for (int column = column1; column < column2; column++) {
+			if (!isFree(column, row, used))
+				return false;
+		}
+
+		return true;
+	}
+
+	private static void addEdge(IntArray edges, int x, int y, int direction) {
+		edges.add(x);
+		edges.add(y);
+		edges.add(direction);
+	}
+
+	private static long point(int x, int y) {
+		return (long) x << 32 | (y & 0xFFFFFFFFL);
+	}
+
+	private static int dx(int direction) {
+		return direction == RIGHT ? 1 : direction == LEFT ? -1 : 0;
+	}
+
+	private static int dy(int direction) {
+		return direction == UP ? 1 : direction == DOWN ? -1 : 0;
+	}
+
+	// endregion
+
+}
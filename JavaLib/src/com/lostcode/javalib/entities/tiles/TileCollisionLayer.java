@@ -0,0 +1,324 @@
+package com.lostcode.javalib.entities.tiles;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.lostcode.javalib.entities.PhysicsWorld;
+import com.lostcode.javalib.entities.tiles.MapBodyManager.MergeMode;
+
+/**
+ * Static collision derived from a tile layer. Every tile of the layer is
+ * solid, unless its tile has the property "solid" set to "false", and its
+ * material is taken from the tile's "material" property.
+ * <p>
+ * The layer is split into square regions of tiles, and each region that has
+ * any solid tiles gets one static body. Its tiles are merged per material the
+ * same way {@link MapBodyManager} merges rectangle objects. Changing a tile
+ * only marks its region dirty, and {@link #update()} rebuilds the dirty
+ * regions, so an explosion that clears many tiles rebuilds each touched
+ * region once, rather than the whole map.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class TileCollisionLayer {
+
+	// region Fields
+
+	/** The default width and height of a region, in tiles. */
+	public static final int DEFAULT_REGION_SIZE = 16;
+
+	private final MapBodyManager manager;
+	private final PhysicsWorld physicsWorld;
+	private final TiledMapTileLayer layer;
+	private final MergeMode mergeMode;
+	private final int regionSize;
+
+	private final int columns;
+	private final int rows;
+	private final Body[] bodies;
+	private final int[] fixtureCounts;
+	private final boolean[] dirty;
+	private final IntArray dirtyRegions = new IntArray();
+
+	private final ObjectMap<String, RectangleMerger> mergers = new ObjectMap<String, RectangleMerger>();
+
+	private int bodyCount;
+	private int fixtureCount;
+	private int rebuildCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Creates the collision of a tile layer. No bodies exist until
+	 * {@link #update()} is called.
+	 *
+	 * @param manager
+	 *            The MapBodyManager providing the materials, scale and offset.
+	 * @param layer
+	 *            The tile layer.
+	 * @param mergeMode
+	 *            How the tiles of each region are merged.
+	 * @param regionSize
+	 *            The width and height of each region, in tiles.
+	 */
+	public TileCollisionLayer(MapBodyManager manager, TiledMapTileLayer layer,
+			MergeMode mergeMode, int regionSize) {
+		this.manager = manager;
+		this.physicsWorld = manager.getPhysicsWorld();
+		this.layer = layer;
+		this.mergeMode = mergeMode;
+		this.regionSize = regionSize;
+
+		columns = (layer.getWidth() + regionSize - 1) / regionSize;
+		rows = (layer.getHeight() + regionSize - 1) / regionSize;
+
+		bodies = new Body[columns * rows];
+		fixtureCounts = new int[bodies.length];
+		dirty = new boolean[bodies.length];
+
+		invalidate();
+	}
+
+	/**
+	 * @param layer
+	 *            A map layer.
+	 * @return Whether the layer is a tile layer named "collision", or with the
+	 *         property "collision" set to "true".
+	 */
+	public static boolean isCollisionLayer(MapLayer layer) {
+		return layer instanceof TiledMapTileLayer
+				&& (layer.getName().equals("collision") || "true"
+						.equals(layer.getProperties().get("collision")));
+	}
+
+	// endregion
+
+	// region Invalidation
+
+	/**
+	 * Marks the region containing a tile dirty, after the tile was changed.
+	 *
+	 * @param x
+	 *            The x coordinate of the tile.
+	 * @param y
+	 *            The y coordinate of the tile.
+	 */
+	public void invalidate(int x, int y) {
+		if (x < 0 || y < 0 || x >= layer.getWidth() || y >= layer.getHeight())
+			return;
+
+		markDirty((y / regionSize) * columns + x / regionSize);
+	}
+
+	/**
+	 * Marks every region dirty.
+	 */
+	public void invalidate() {
+		for (int region = 0; region < dirty.length; region++) {
+			markDirty(region);
+		}
+	}
+
+	private void markDirty(int region) {
+		if (dirty[region])
+			return;
+
+		dirty[region] = true;
+		dirtyRegions.add(region);
+	}
+
+	/**
+	 * @return Whether any region needs to be rebuilt.
+	 */
+	public boolean isDirty() {
+		return dirtyRegions.size > 0;
+	}
+
+	// endregion
+
+	// region Rebuilding
+
+	/**
+	 * Rebuilds the bodies of every dirty region. Nothing happens while the
+	 * Box2D world is stepping, in which case the regions stay dirty.
+	 *
+	 * @return The number of regions rebuilt.
+	 */
+	public int update() {
+		if (physicsWorld.getWorld().isLocked())
+			return 0;
+
+		int rebuilt = dirtyRegions.size;
+
+		for (int i = 0; i < dirtyRegions.size; i++) {
+			int region = dirtyRegions.get(i);
+
+			dirty[region] = false;
+			rebuildRegion(region);
+		}
+
+		dirtyRegions.clear();
+		rebuildCount += rebuilt;
+
+		return rebuilt;
+	}
+
+	private void rebuildRegion(int region) {
+		destroyRegion(region);
+
+		int startX = (region % columns) * regionSize;
+		int startY = (region / columns) * regionSize;
+		int endX = Math.min(startX + regionSize, layer.getWidth());
+		int endY = Math.min(startY + regionSize, layer.getHeight());
+
+		float tileWidth = layer.getTileWidth();
+		float tileHeight = layer.getTileHeight();
+
+		boolean solid = false;
+
+		for (int y = startY; y < endY; y++) {
+			for (int x = startX; x < endX; x++) {
+				Cell cell = layer.getCell(x, y);
+				TiledMapTile tile = cell == null ? null : cell.getTile();
+
+				if (tile == null)
+					continue;
+
+				MapProperties properties = tile.getProperties();
+
+				if ("false".equals(properties.get("solid")))
+					continue;
+
+				String material = (String) properties.get("material");
+				if (material == null)
+					material = "default";
+
+				RectangleMerger merger = mergers.get(material);
+				if (merger == null) {
+					merger = new RectangleMerger();
+					mergers.put(material, merger);
+				}
+
+				merger.add(x * tileWidth, y * tileHeight, tileWidth,
+						tileHeight);
+				solid = true;
+			}
+		}
+
+		if (!solid)
+			return;
+
+		BodyDef bodyDef = new BodyDef();
+		bodyDef.type = BodyDef.BodyType.StaticBody;
+		manager.getOffset(bodyDef.position);
+
+		Body body = physicsWorld.createBody(bodyDef);
+		int fixtures = 0;
+
+		for (ObjectMap.Entry<String, RectangleMerger> entry : mergers.entries()) {
+			if (entry.value.size() == 0)
+				continue;
+
+			fixtures += manager.addMergedFixtures(body,
+					manager.getMaterial(entry.key), entry.value, mergeMode);
+			entry.value.clear();
+		}
+
+		bodies[region] = body;
+		fixtureCounts[region] = fixtures;
+		bodyCount++;
+		fixtureCount += fixtures;
+	}
+
+	private void destroyRegion(int region) {
+		Body body = bodies[region];
+
+		if (body == null)
+			return;
+
+		physicsWorld.destroyBody(body);
+
+		bodies[region] = null;
+		bodyCount--;
+		fixtureCount -= fixtureCounts[region];
+		fixtureCounts[region] = 0;
+	}
+
+	/**
+	 * Destroys every body of the layer. A later {@link #update()} builds them
+	 * again.
+	 */
+	public void destroy() {
+		for (int region = 0; region < bodies.length; region++) {
+			destroyRegion(region);
+		}
+
+		invalidate();
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The tile layer.
+	 */
+	public TiledMapTileLayer getLayer() {
+		return layer;
+	}
+
+	/**
+	 * @return The width and height of each region, in tiles.
+	 */
+	public int getRegionSize() {
+		return regionSize;
+	}
+
+	/**
+	 * @param x
+	 *            The x coordinate of a tile.
+	 * @param y
+	 *            The y coordinate of a tile.
+	 * @return The body of the region containing the tile, or null if the
+	 *         region has no solid tiles or hasn't been built.
+	 */
+	public Body getBody(int x, int y) {
+		if (x < 0 || y < 0 || x >= layer.getWidth() || y >= layer.getHeight())
+			return null;
+
+		return bodies[(y / regionSize) * columns + x / regionSize];
+	}
+
+	/**
+	 * @return The number of bodies, one per region with solid tiles.
+	 */
+	public int getBodyCount() {
+		return bodyCount;
+	}
+
+	/**
+	 * @return The number of fixtures on the layer's bodies.
+	 */
+	public int getFixtureCount() {
+		return fixtureCount;
+	}
+
+	/**
+	 * @return The number of region rebuilds so far.
+	 */
+	public int getRebuildCount() {
+		return rebuildCount;
+	}
+
+	// endregion
+
+}
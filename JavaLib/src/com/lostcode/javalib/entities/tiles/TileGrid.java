@@ -0,0 +1,545 @@
+package com.lostcode.javalib.entities.tiles;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.math.GridPoint2;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A packed grid of the solid tiles of a map's collision layers, for answering
+ * tile world questions without going through Box2D. Each cell holds one byte:
+ * 0 if it is empty, or the index of its material. Solidity and materials
+ * follow the same rules as {@link TileCollisionLayer}, and a cell is solid if
+ * it is solid in any collision layer.
+ * <p>
+ * Queries take world coordinates in pixels, so the map's offset is accounted
+ * for. Cells outside the map are empty. Listeners are told about every cell
+ * whose material changes, such as navigation data that must be rebuilt.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class TileGrid {
+
+	// region Listener
+
+	/**
+	 * Listens for changes to the cells of a TileGrid.
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after a cell's material changed.
+		 *
+		 * @param column
+		 *            The x coordinate of the cell.
+		 * @param row
+		 *            The y coordinate of the cell.
+		 * @param solid
+		 *            Whether the cell is now solid.
+		 */
+		public void cellChanged(int column, int row, boolean solid);
+
+	}
+
+	// endregion
+
+	// region Fields
+
+	/** The material index of an empty cell. */
+	public static final int EMPTY = 0;
+
+	private final Array<TiledMapTileLayer> layers = new Array<TiledMapTileLayer>();
+	private final Array<String> materials = new Array<String>();
+
+	private final float originX;
+	private final float originY;
+	private final float tileWidth;
+	private final float tileHeight;
+	private final int columns;
+	private final int rows;
+	private final byte[] cells;
+
+	private final Array<Listener> listeners = new Array<Listener>();
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Builds the grid of a map's collision layers.
+	 *
+	 * @param map
+	 *            The map.
+	 * @param x
+	 *            The x coordinate of the map's bottom left corner, in pixels.
+	 * @param y
+	 *            The y coordinate of the map's bottom left corner, in pixels.
+	 */
+	public TileGrid(TiledMap map, float x, float y) {
+		originX = x;
+		originY = y;
+
+		materials.add(null); // EMPTY
+
+		int columns = 0;
+		int rows = 0;
+		float tileWidth = 1f;
+		float tileHeight = 1f;
+
+		for (MapLayer layer : map.getLayers()) {
+			if (!TileCollisionLayer.isCollisionLayer(layer))
+				continue;
+
+			TiledMapTileLayer tileLayer = (TiledMapTileLayer) layer;
+
+			if (layers.size == 0) {
+				tileWidth = tileLayer.getTileWidth();
+				tileHeight = tileLayer.getTileHeight();
+			}
+
+			layers.add(tileLayer);
+			columns = Math.max(columns, tileLayer.getWidth());
+			rows = Math.max(rows, tileLayer.getHeight());
+		}
+
+		this.columns = columns;
+		this.rows = rows;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+
+		cells = new byte[columns * rows];
+
+		for (int row = 0; row < rows; row++) {
+			for (int column = 0; column < columns; column++) {
+				update(column, row);
+			}
+		}
+	}
+
+	// endregion
+
+	// region Updating
+
+	/**
+	 * Updates a cell after a tile was changed. Changes to layers that aren't
+	 * collision layers are ignored.
+	 *
+	 * @param layer
+	 *            The layer of the tile.
+	 * @param column
+	 *            The x coordinate of the tile.
+	 * @param row
+	 *            The y coordinate of the tile.
+	 */
+	public void update(MapLayer layer, int column, int row) {
+		if (!(layer instanceof TiledMapTileLayer)
+				|| !layers.contains((TiledMapTileLayer) layer, true))
+			return;
+
+		if (!contains(column, row))
+			return;
+
+		int index = row * columns + column;
+		byte previous = cells[index];
+
+		update(column, row);
+
+		if (cells[index] == previous)
+			return;
+
+		for (int i = 0; i < listeners.size; i++) {
+			listeners.get(i).cellChanged(column, row, cells[index] != EMPTY);
+		}
+	}
+
+	/**
+	 * @param listener
+	 *            A listener to tell about changed cells.
+	 */
+	public void addListener(Listener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * @param listener
+	 *            A listener to stop telling about changed cells.
+	 */
+	public void removeListener(Listener listener) {
+		listeners.removeValue(listener, true);
+	}
+
+	private void update(int column, int row) {
+		int material = EMPTY;
+
+		for (int i = 0; i < layers.size && material == EMPTY; i++) {
+			material = getMaterialIndex(layers.get(i).getCell(column, row));
+		}
+
+		cells[row * columns + column] = (byte) material;
+	}
+
+	private int getMaterialIndex(Cell cell) {
+		TiledMapTile tile = cell == null ? null : cell.getTile();
+
+		if (tile == null)
+			return EMPTY;
+
+		MapProperties properties = tile.getProperties();
+
+		if ("false".equals(properties.get("solid")))
+			return EMPTY;
+
+		String material = (String) properties.get("material");
+		if (material == null)
+			material = "default";
+
+		int index = materials.indexOf(material, false);
+
+		if (index < 0) {
+			if (materials.size > 255)
+				throw new IllegalStateException(
+						"A TileGrid can't have more than 255 materials.");
+
+			index = materials.size;
+			materials.add(material);
+		}
+
+		return index;
+	}
+
+	// endregion
+
+	// region Cell Queries
+
+	/**
+	 * @return The number of columns.
+	 */
+	public int getColumns() {
+		return columns;
+	}
+
+	/**
+	 * @return The number of rows.
+	 */
+	public int getRows() {
+		return rows;
+	}
+
+	/**
+	 * @return The width of a cell, in pixels.
+	 */
+	public float getTileWidth() {
+		return tileWidth;
+	}
+
+	/**
+	 * @return The height of a cell, in pixels.
+	 */
+	public float getTileHeight() {
+		return tileHeight;
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return Whether the cell is inside the map.
+	 */
+	public boolean contains(int column, int row) {
+		return column >= 0 && row >= 0 && column < columns && row < rows;
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return Whether the cell is solid.
+	 */
+	public boolean isSolid(int column, int row) {
+		return contains(column, row) && cells[row * columns + column] != EMPTY;
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return The index of the cell's material, or {@link #EMPTY}.
+	 */
+	public int getMaterialIndex(int column, int row) {
+		return contains(column, row) ? cells[row * columns + column] & 0xFF
+				: EMPTY;
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return The name of the cell's material, or null if it is empty.
+	 */
+	public String getMaterial(int column, int row) {
+		return materials.get(getMaterialIndex(column, row));
+	}
+
+	/**
+	 * @param index
+	 *            The index of a material.
+	 * @return The material's name, or null for {@link #EMPTY}.
+	 */
+	public String getMaterialName(int index) {
+		return materials.get(index);
+	}
+
+	// endregion
+
+	// region Point Queries
+
+	/**
+	 * @param x
+	 *            An x coordinate, in pixels.
+	 * @return The column containing it. It may be outside the map.
+	 */
+	public int getColumn(float x) {
+		return (int) Math.floor((x - originX) / tileWidth);
+	}
+
+	/**
+	 * @param y
+	 *            A y coordinate, in pixels.
+	 * @return The row containing it. It may be outside the map.
+	 */
+	public int getRow(float y) {
+		return (int) Math.floor((y - originY) / tileHeight);
+	}
+
+	/**
+	 * @param column
+	 *            The x coordinate of a cell.
+	 * @return The x coordinate of the cell's center, in pixels.
+	 */
+	public float getCenterX(int column) {
+		return originX + (column + 0.5f) * tileWidth;
+	}
+
+	/**
+	 * @param row
+	 *            The y coordinate of a cell.
+	 * @return The y coordinate of the cell's center, in pixels.
+	 */
+	public float getCenterY(int row) {
+		return originY + (row + 0.5f) * tileHeight;
+	}
+
+	/**
+	 * @param x
+	 *            The x coordinate of a point, in pixels.
+	 * @param y
+	 *            The y coordinate of a point, in pixels.
+	 * @return Whether the point is inside a solid cell.
+	 */
+	public boolean isSolidAt(float x, float y) {
+		return isSolid(getColumn(x), getRow(y));
+	}
+
+	/**
+	 * @param x
+	 *            The x coordinate of a point, in pixels.
+	 * @param y
+	 *            The y coordinate of a point, in pixels.
+	 * @return The material of the cell containing the point, or null if it is
+	 *         empty.
+	 */
+	public String getMaterialAt(float x, float y) {
+		return getMaterial(getColumn(x), getRow(y));
+	}
+
+	// endregion
+
+	// region Area Queries
+
+	/**
+	 * Tests whether a rectangle overlaps any solid cell. Touching a cell's
+	 * edge doesn't count.
+	 *
+	 * @param x
+	 *            The left of the rectangle, in pixels.
+	 * @param y
+	 *            The bottom of the rectangle, in pixels.
+	 * @param width
+	 *            The width of the rectangle.
+	 * @param height
+	 *            The height of the rectangle.
+	 * @return Whether any solid cell overlaps the rectangle.
+	 */
+	public boolean overlaps(float x, float y, float width, float height) {
+		int column1 = Math.max(0, getColumn(x));
+		int row1 = Math.max(0, getRow(y));
+		int column2 = Math.min(columns - 1,
+				(int) Math.ceil((x + width - originX) / tileWidth) - 1);
+		int row2 = Math.min(rows - 1,
+				(int) Math.ceil((y + height - originY) / tileHeight) - 1);
+
+		for (int row = row1; row <= row2; row++) {
+			int index = row * columns;
+
+			for (int column = column1; column <= column2; column++) {
+				if (cells[index + column] != EMPTY)
+					return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Tests whether a rectangle overlaps any solid cell.
+	 *
+	 * @param rectangle
+	 *            The rectangle, in pixels.
+	 * @return Whether any solid cell overlaps the rectangle.
+	 */
+	public boolean overlaps(Rectangle rectangle) {
+		return overlaps(rectangle.x, rectangle.y, rectangle.width,
+				rectangle.height);
+	}
+
+	// endregion
+
+	// region Raycasting
+
+	/**
+	 * Tests whether a line crosses no solid cell.
+	 *
+	 * @param x1
+	 *            The x coordinate of the start, in pixels.
+	 * @param y1
+	 *            The y coordinate of the start, in pixels.
+	 * @param x2
+	 *            The x coordinate of the end, in pixels.
+	 * @param y2
+	 *            The y coordinate of the end, in pixels.
+	 * @return Whether the end can be seen from the start.
+	 */
+	public boolean hasLineOfSight(float x1, float y1, float x2, float y2) {
+		return raycast(x1, y1, x2, y2, null, null) < 0f;
+	}
+
+	/**
+	 * Finds the first solid cell along a ray, stepping from cell to cell.
+	 *
+	 * @param x1
+	 *            The x coordinate of the start, in pixels.
+	 * @param y1
+	 *            The y coordinate of the start, in pixels.
+	 * @param x2
+	 *            The x coordinate of the end, in pixels.
+	 * @param y2
+	 *            The y coordinate of the end, in pixels.
+	 * @param hitPoint
+	 *            Set to the point where the ray enters the solid cell. May be
+	 *            null.
+	 * @param hitCell
+	 *            Set to the solid cell. May be null.
+	 * @return The fraction of the ray before the hit, or -1 if nothing is hit.
+	 *         A ray that starts in a solid cell hits it at 0.
+	 */
+	public float raycast(float x1, float y1, float x2, float y2,
+			Vector2 hitPoint, GridPoint2 hitCell) {
+		if (cells.length == 0)
+			return -1f;
+
+		// Cell space.
+		float gx = (x1 - originX) / tileWidth;
+		float gy = (y1 - originY) / tileHeight;
+		float dx = (x2 - x1) / tileWidth;
+		float dy = (y2 - y1) / tileHeight;
+
+		// Clip the ray to the grid.
+		float t = 0f;
+		float end = 1f;
+
+		if (dx != 0f) {
+			float t1 = -gx / dx;
+			float t2 = (columns - gx) / dx;
+			t = Math.max(t, Math.min(t1, t2));
+			end = Math.min(end, Math.max(t1, t2));
+		} else if (gx < 0f || gx >= columns) {
+			return -1f;
+		}
+
+		if (dy != 0f) {
+			float t1 = -gy / dy;
+			float t2 = (rows - gy) / dy;
+			t = Math.max(t, Math.min(t1, t2));
+			end = Math.min(end, Math.max(t1, t2));
+		} else if (gy < 0f || gy >= rows) {
+			return -1f;
+		}
+
+		if (t > end)
+			return -1f;
+
+		int column = clamp((int) Math.floor(gx + dx * t), columns);
+		int row = clamp((int) Math.floor(gy + dy * t), rows);
+
+		int stepX = dx > 0f ? 1 : -1;
+		int stepY = dy > 0f ? 1 : -1;
+
+		// The fractions at which the ray crosses the next column and row.
+		float nextX = dx == 0f ? Float.POSITIVE_INFINITY : (column
+				+ (dx > 0f ? 1 : 0) - gx)
+				/ dx;
+		float nextY = dy == 0f ? Float.POSITIVE_INFINITY : (row
+				+ (dy > 0f ? 1 : 0) - gy)
+				/ dy;
+
+		while (true) {
+			if (cells[row * columns + column] != EMPTY) {
+				if (hitPoint != null)
+					hitPoint.set(x1 + (x2 - x1) * t, y1 + (y2 - y1) * t);
+				if (hitCell != null)
+					hitCell.set(column, row);
+
+				return t;
+			}
+
+			if (nextX < nextY) {
+				t = nextX;
+				column += stepX;
+				nextX = (column + (dx > 0f ? 1 : 0) - gx) / dx;
+
+				if (column < 0 || column >= columns)
+					break;
+			} else {
+				t = nextY;
+				row += stepY;
+				nextY = (row + (dy > 0f ? 1 : 0) - gy) / dy;
+
+				if (row < 0 || row >= rows)
+					break;
+			}
+
+			if (t > end)
+				break;
+		}
+
+		return -1f;
+	}
+
+	private static int clamp(int value, int size) {
+		return value < 0 ? 0 : value >= size ? size - 1 : value;
+	}
+
+	// endregion
+
+}
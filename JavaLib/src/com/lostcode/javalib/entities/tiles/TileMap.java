@@ -1,19 +1,31 @@
 package com.lostcode.javalib.entities.tiles;
 
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
 import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.GridPoint2;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.LongMap;
 import com.lostcode.javalib.entities.EntityWorld;
 import com.lostcode.javalib.entities.components.Component;
 import com.lostcode.javalib.entities.components.ComponentManager;
 import com.lostcode.javalib.entities.components.physical.Transform;
 import com.lostcode.javalib.entities.components.render.Renderable;
+import com.lostcode.javalib.entities.snapshots.Snapshotable;
 import com.lostcode.javalib.utils.Convert;
-import com.lostcode.javalib.utils.Display;
 
 /**
  * Component wrapper for a map made in Tiled. When added to an Entity, this will
@@ -28,22 +40,57 @@ import com.lostcode.javalib.utils.Display;
  * The FixtureDef that can be used to make the Entity's body. args[2] = The
  * properties of the MapObject.
  * 
+ * Tiles changed with {@link #setTile} are tracked, so that snapshots and save
+ * files only need to store the edits rather than the whole map.
+ * 
+ * By default, static tile layers are drawn from a {@link TileChunkCache}, so
+ * only the chunks in view are drawn and editing a tile only rebuilds its own
+ * chunk. Layers with animated tiles are still drawn tile by tile.
+ * 
+ * A tile layer named "collision", or with the property "collision" set to
+ * "true", gets static bodies for its tiles. Changing one of its tiles rebuilds
+ * only the bodies of the tile's region, before the next physics step. See
+ * {@link TileCollisionLayer}. The same tiles fill a {@link TileGrid}, which
+ * answers point, area and line of sight queries without going through Box2D.
+ * 
  * @author Natman64
  * @created Aug 1, 2013
  */
-public class TileMap implements Component, Renderable, Transform {
+public class TileMap implements Component, Renderable, Transform,
+		Snapshotable {
 
 	// region Fields/Initialization
 
 	private static TmxMapLoader loader = new TmxMapLoader();
 
+	/** Snapshot flags. */
+	private static final int FLIP_HORIZONTALLY = 1, FLIP_VERTICALLY = 2;
+
 	private boolean init = false;
 
 	private TiledMap map;
+	private boolean ownsMap = true;
+	private float x;
+	private float y;
+
 	private MapBodyManager bodyManager;
 	private OrthogonalTiledMapRenderer renderer;
 	private int layer = 0;
 
+	private TileChunkCache chunkCache;
+	private boolean cached = true;
+
+	private TileGrid grid;
+
+	private final Matrix4 inverseProjection = new Matrix4();
+	private final Matrix4 previousTransform = new Matrix4();
+	private final Matrix4 offsetTransform = new Matrix4();
+	private final Vector3 corner = new Vector3();
+	private final Rectangle view = new Rectangle();
+
+	/** The original cells of every edited tile, keyed by layer and position. */
+	private LongMap<Cell> originalCells = new LongMap<Cell>();
+
 	/**
 	 * Constructs a TileMap component.
 	 * 
@@ -58,11 +105,52 @@ public class TileMap implements Component, Renderable, Transform {
 	public TileMap(EntityWorld world, String mapFilename,
 			String materialsFilename) {
 		map = loader.load(mapFilename);
+		chunkCache = new TileChunkCache(map);
+		grid = new TileGrid(map, 0f, 0f);
 
 		bodyManager = new MapBodyManager(world, Convert.getMeterPixelRatio(),
 				materialsFilename, 0);
 	}
 
+	/**
+	 * Constructs a TileMap component from a map that has already been loaded,
+	 * such as one region of a map streamed by {@link TileMapStreamer}. The map
+	 * is not disposed with the component.
+	 * 
+	 * @param world
+	 *            The EntityWorld containing this map.
+	 * @param map
+	 *            The loaded map.
+	 * @param materialsFilename
+	 *            The file path of the XML file containing the materials info
+	 *            for the map.
+	 * @param x
+	 *            The x coordinate of the map's bottom left corner, in pixels.
+	 * @param y
+	 *            The y coordinate of the map's bottom left corner, in pixels.
+	 * @param skippedObjects
+	 *            The indices of "physics" layer objects that shouldn't be
+	 *            created, or null.
+	 */
+	public TileMap(EntityWorld world, TiledMap map, String materialsFilename,
+			float x, float y, IntSet skippedObjects) {
+		this.map = map;
+		this.x = x;
+		this.y = y;
+		ownsMap = false;
+
+		chunkCache = new TileChunkCache(map,
+				TileChunkCache.DEFAULT_CHUNK_SIZE, x, y);
+		grid = new TileGrid(map, x, y);
+
+		bodyManager = new MapBodyManager(world, Convert.getMeterPixelRatio(),
+				materialsFilename, 0);
+		bodyManager.setOffset(x, y);
+
+		if (skippedObjects != null)
+			bodyManager.getSkippedObjects().addAll(skippedObjects);
+	}
+
 	// endregion
 
 	// region TiledMap Accessors/Mutators
@@ -75,7 +163,8 @@ public class TileMap implements Component, Renderable, Transform {
 	}
 
 	/**
-	 * Sets a cell of a tile layer to the given cell.
+	 * Sets a cell of a tile layer to the given cell. Coordinates outside the
+	 * layer are ignored.
 	 * 
 	 * @param layerName
 	 *            The name of the layer to edit.
@@ -87,13 +176,161 @@ public class TileMap implements Component, Renderable, Transform {
 	 *            The cell to set the tile to.
 	 */
 	public void setTile(String layerName, int x, int y, Cell value) {
-		TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get(
-				layerName); // get the desired layer
+		int index = layerIndex(layerName);
 
-		if (layer == null)
+		if (index < 0)
 			return; // null check
 
+		setTile(index, x, y, value);
+	}
+
+	private void setTile(int layerIndex, int x, int y, Cell value) {
+		TiledMapTileLayer layer = (TiledMapTileLayer) map.getLayers().get(
+				layerIndex); // get the desired layer
+
+		// The layer ignores cells outside it, and the edit key only has room
+		// for coordinates inside it.
+		if (x < 0 || y < 0 || x >= layer.getWidth() || y >= layer.getHeight())
+			return;
+
+		long key = editKey(layerIndex, x, y);
+
+		if (!originalCells.containsKey(key))
+			originalCells.put(key, layer.getCell(x, y)); // remember the original
+
 		layer.setCell(x, y, value); // set the desired cell
+		chunkCache.invalidate(layerIndex, x, y, value);
+		bodyManager.invalidateTile(layer, x, y);
+		grid.update(layer, x, y);
+	}
+
+	private int layerIndex(String layerName) {
+		for (int i = 0; i < map.getLayers().getCount(); i++) {
+			if (map.getLayers().get(i).getName().equals(layerName))
+				return map.getLayers().get(i) instanceof TiledMapTileLayer ? i
+						: -1;
+		}
+
+		return -1;
+	}
+
+	private static long editKey(int layerIndex, int x, int y) {
+		return ((long) layerIndex << 48) | ((long) (x & 0xFFFFFF) << 24)
+				| (y & 0xFFFFFF);
+	}
+
+	/**
+	 * @return The manager of the bodies and entities created from the map's
+	 *         "physics" layer.
+	 */
+	public MapBodyManager getBodyManager() {
+		return bodyManager;
+	}
+
+	/**
+	 * @return Whether static tile layers are drawn from cached chunks.
+	 */
+	public boolean isCached() {
+		return cached;
+	}
+
+	/**
+	 * Sets whether static tile layers are drawn from cached chunks, rather than
+	 * through OrthogonalTiledMapRenderer.
+	 * 
+	 * @param cached
+	 *            Whether to use the chunk cache.
+	 */
+	public void setCached(boolean cached) {
+		this.cached = cached;
+	}
+
+	/**
+	 * @return The chunk cache of this map's tile layers.
+	 */
+	public TileChunkCache getChunkCache() {
+		return chunkCache;
+	}
+
+	/**
+	 * @return The grid of solid tiles in this map's collision layers.
+	 */
+	public TileGrid getGrid() {
+		return grid;
+	}
+
+	/**
+	 * @param x
+	 *            The x coordinate of a point, in pixels.
+	 * @param y
+	 *            The y coordinate of a point, in pixels.
+	 * @return Whether the point is inside a solid tile.
+	 * @see TileGrid#isSolidAt(float, float)
+	 */
+	public boolean isSolidAt(float x, float y) {
+		return grid.isSolidAt(x, y);
+	}
+
+	/**
+	 * @param x
+	 *            The left of a rectangle, in pixels.
+	 * @param y
+	 *            The bottom of the rectangle, in pixels.
+	 * @param width
+	 *            The width of the rectangle.
+	 * @param height
+	 *            The height of the rectangle.
+	 * @return Whether any solid tile overlaps the rectangle.
+	 * @see TileGrid#overlaps(float, float, float, float)
+	 */
+	public boolean overlapsSolid(float x, float y, float width, float height) {
+		return grid.overlaps(x, y, width, height);
+	}
+
+	/**
+	 * @param x1
+	 *            The x coordinate of the start, in pixels.
+	 * @param y1
+	 *            The y coordinate of the start, in pixels.
+	 * @param x2
+	 *            The x coordinate of the end, in pixels.
+	 * @param y2
+	 *            The y coordinate of the end, in pixels.
+	 * @return Whether no solid tile lies between the points.
+	 * @see TileGrid#hasLineOfSight(float, float, float, float)
+	 */
+	public boolean hasLineOfSight(float x1, float y1, float x2, float y2) {
+		return grid.hasLineOfSight(x1, y1, x2, y2);
+	}
+
+	/**
+	 * Finds the first solid tile along a ray.
+	 * 
+	 * @param x1
+	 *            The x coordinate of the start, in pixels.
+	 * @param y1
+	 *            The y coordinate of the start, in pixels.
+	 * @param x2
+	 *            The x coordinate of the end, in pixels.
+	 * @param y2
+	 *            The y coordinate of the end, in pixels.
+	 * @param hitPoint
+	 *            Set to the point where the ray enters the tile. May be null.
+	 * @param hitCell
+	 *            Set to the tile's coordinates. May be null.
+	 * @return The fraction of the ray before the hit, or -1 if nothing is hit.
+	 * @see TileGrid#raycast(float, float, float, float, Vector2, GridPoint2)
+	 */
+	public float raycastTiles(float x1, float y1, float x2, float y2,
+			Vector2 hitPoint, GridPoint2 hitCell) {
+		return grid.raycast(x1, y1, x2, y2, hitPoint, hitCell);
+	}
+
+	/**
+	 * @return The number of tiles changed since the map was loaded.
+	 */
+	public int getEditCount() {
+		return originalCells.size;
 	}
 
 	/**
@@ -126,6 +363,21 @@ public class TileMap implements Component, Renderable, Transform {
 		return Vector2.Zero.cpy();
 	}
 
+	@Override
+	public Vector2 getPosition(Vector2 out) {
+		return out.setZero();
+	}
+
+	@Override
+	public float getX() {
+		return 0f;
+	}
+
+	@Override
+	public float getY() {
+		return 0f;
+	}
+
 	@Override
 	public float getRotation() {
 		return 0f;
@@ -136,6 +388,11 @@ public class TileMap implements Component, Renderable, Transform {
 		return Vector2.Zero.cpy();
 	}
 
+	@Override
+	public Vector2 getOrigin(Vector2 out) {
+		return out.setZero();
+	}
+
 	@Override
 	public float getWidth() {
 		return 0f;
@@ -159,6 +416,10 @@ public class TileMap implements Component, Renderable, Transform {
 	public void setPosition(Vector2 position) {
 	}
 
+	@Override
+	public void setPosition(float x, float y) {
+	}
+
 	@Override
 	public void setRotation(float degrees) {
 	}
@@ -183,11 +444,148 @@ public class TileMap implements Component, Renderable, Transform {
 			init = true;
 		}
 
-		spriteBatch.end();
-		renderer.setView(spriteBatch.getProjectionMatrix().cpy(), 0, 0,
-				Display.getRealWidth(), Display.getRealHeight());
-		renderer.render();
-		spriteBatch.begin();
+		drawLayers(spriteBatch);
+	}
+
+	/**
+	 * Draws the visible tile layers into the batch without ending it, so the
+	 * map shares the frame's batch with everything else. Static layers come
+	 * from the chunk cache, unless caching is turned off.
+	 */
+	private void drawLayers(SpriteBatch spriteBatch) {
+		updateView(spriteBatch.getProjectionMatrix());
+
+		MapLayers layers = map.getLayers();
+		boolean animated = false;
+
+		for (int i = 0; i < layers.getCount(); i++) {
+			MapLayer mapLayer = layers.get(i);
+
+			if (!mapLayer.isVisible()
+					|| !(mapLayer instanceof TiledMapTileLayer))
+				continue;
+
+			if (cached && chunkCache.isCached(i)) {
+				chunkCache.draw(spriteBatch, i, view);
+				continue;
+			}
+
+			// Dynamic layers go through the renderer without ending the batch.
+			if (!animated) {
+				AnimatedTiledMapTile.updateAnimationBaseTime();
+				animated = true;
+			}
+
+			renderer.getViewBounds().set(view.x - x, view.y - y, view.width,
+					view.height);
+
+			if (x == 0f && y == 0f) {
+				renderer.renderTileLayer((TiledMapTileLayer) mapLayer);
+			} else {
+				previousTransform.set(spriteBatch.getTransformMatrix());
+				spriteBatch.setTransformMatrix(offsetTransform.set(
+						previousTransform).translate(x, y, 0f));
+				renderer.renderTileLayer((TiledMapTileLayer) mapLayer);
+				spriteBatch.setTransformMatrix(previousTransform);
+			}
+		}
+	}
+
+	/**
+	 * Finds the area of the map visible through a projection.
+	 */
+	private void updateView(Matrix4 projection) {
+		inverseProjection.set(projection).inv();
+
+		float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+		float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+
+		for (int i = 0; i < 4; i++) {
+			corner.set(i % 2 == 0 ? -1 : 1, i < 2 ? -1 : 1, 0).prj(
+					inverseProjection);
+
+			minX = Math.min(minX, corner.x);
+			minY = Math.min(minY, corner.y);
+			maxX = Math.max(maxX, corner.x);
+			maxY = Math.max(maxY, corner.y);
+		}
+
+		view.set(minX, minY, maxX - minX, maxY - minY);
+	}
+
+	// endregion
+
+	// region Snapshots
+
+	@Override
+	public void writeSnapshot(ByteBuffer buffer) {
+		buffer.putInt(originalCells.size);
+
+		for (LongMap.Entry<Cell> edit : originalCells.entries()) {
+			int layerIndex = (int) (edit.key >>> 48);
+			int x = (int) ((edit.key >>> 24) & 0xFFFFFF);
+			int y = (int) (edit.key & 0xFFFFFF);
+
+			Cell cell = ((TiledMapTileLayer) map.getLayers().get(layerIndex))
+					.getCell(x, y);
+
+			buffer.putLong(edit.key);
+
+			if (cell == null || cell.getTile() == null) {
+				buffer.putInt(-1);
+				buffer.put((byte) 0);
+			} else {
+				buffer.putInt(cell.getTile().getId());
+				buffer.put((byte) ((cell.getFlipHorizontally() ? FLIP_HORIZONTALLY
+						: 0)
+						| (cell.getFlipVertically() ? FLIP_VERTICALLY : 0)
+						| (cell.getRotation() << 2)));
+			}
+		}
+	}
+
+	@Override
+	public void readSnapshot(ByteBuffer buffer) {
+		// Undo the current edits.
+		for (LongMap.Entry<Cell> edit : originalCells.entries()) {
+			int layerIndex = (int) (edit.key >>> 48);
+
+			((TiledMapTileLayer) map.getLayers().get(layerIndex)).setCell(
+					(int) ((edit.key >>> 24) & 0xFFFFFF),
+					(int) (edit.key & 0xFFFFFF), edit.value);
+			chunkCache.invalidate(layerIndex,
+					(int) ((edit.key >>> 24) & 0xFFFFFF),
+					(int) (edit.key & 0xFFFFFF), edit.value);
+			bodyManager.invalidateTile(map.getLayers().get(layerIndex),
+					(int) ((edit.key >>> 24) & 0xFFFFFF),
+					(int) (edit.key & 0xFFFFFF));
+			grid.update(map.getLayers().get(layerIndex),
+					(int) ((edit.key >>> 24) & 0xFFFFFF),
+					(int) (edit.key & 0xFFFFFF));
+		}
+		originalCells.clear();
+
+		int count = buffer.getInt();
+
+		for (int i = 0; i < count; i++) {
+			long key = buffer.getLong();
+			int id = buffer.getInt();
+			byte flags = buffer.get();
+
+			Cell cell = null;
+			TiledMapTile tile = id < 0 ? null : map.getTileSets().getTile(id);
+
+			if (tile != null) {
+				cell = new Cell();
+				cell.setTile(tile);
+				cell.setFlipHorizontally((flags & FLIP_HORIZONTALLY) != 0);
+				cell.setFlipVertically((flags & FLIP_VERTICALLY) != 0);
+				cell.setRotation(flags >> 2);
+			}
+
+			setTile((int) (key >>> 48), (int) ((key >>> 24) & 0xFFFFFF),
+					(int) (key & 0xFFFFFF), cell);
+		}
 	}
 
 	// endregion
@@ -202,8 +600,12 @@ public class TileMap implements Component, Renderable, Transform {
 	@Override
 	public void onRemove(ComponentManager container) {
 		bodyManager.destroyPhysics();
-		map.dispose();
-		renderer.dispose();
+
+		if (ownsMap)
+			map.dispose();
+
+		if (renderer != null)
+			renderer.dispose();
 	}
 
 	// endregion
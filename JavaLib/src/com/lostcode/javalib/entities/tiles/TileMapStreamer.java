@@ -0,0 +1,525 @@
+package com.lostcode.javalib.entities.tiles;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.snapshots.WorldSnapshot;
+
+/**
+ * Streams a large map that is split into a grid of equally sized regions, each
+ * stored as its own .tmx file. Regions are loaded in the background as the
+ * camera approaches them, and each becomes a TileMap entity with its own
+ * physics and object entities. Regions the camera has left are unloaded again.
+ * <p>
+ * The entities created from a region's "physics" layer are hibernated when it
+ * unloads: the state of their Snapshotable components is kept, and restored
+ * when the region loads again. Entities that were deleted stay deleted, and
+ * tiles changed with {@link TileMap#setTile} stay changed.
+ * <p>
+ * Region files are found by formatting a path pattern with the region's column
+ * and row, such as "maps/world_%d_%d.tmx". Missing files are empty regions.
+ * The streamer only runs once it is given to
+ * {@link EntityWorld#setMapStreamer(TileMapStreamer)}.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class TileMapStreamer implements Disposable {
+
+	// region Fields
+
+	/** The default distance from the view, in pixels, regions load within. */
+	public static final float DEFAULT_MARGIN = 256f;
+
+	/** The default extra distance, in pixels, before regions unload. */
+	public static final float DEFAULT_HYSTERESIS = 256f;
+
+	/** The default number of regions created or unloaded each frame. */
+	public static final int DEFAULT_REGIONS_PER_FRAME = 1;
+
+	/** The default milliseconds spent loading assets each frame. */
+	public static final int DEFAULT_LOAD_MILLIS = 4;
+
+	private static final class Region {
+		int column;
+		int row;
+		String path;
+
+		Entity entity;
+		long serial;
+		TileMap tileMap;
+	}
+
+	private static final class Hibernation {
+		byte[] map;
+		final IntSet deleted = new IntSet();
+		final IntMap<byte[]> records = new IntMap<byte[]>();
+	}
+
+	private final EntityWorld world;
+	private final String pathFormat;
+	private final String materialsFilename;
+	private final float regionWidth;
+	private final float regionHeight;
+
+	private final AssetManager assets;
+
+	private float margin = DEFAULT_MARGIN;
+	private float hysteresis = DEFAULT_HYSTERESIS;
+	private int regionsPerFrame = DEFAULT_REGIONS_PER_FRAME;
+	private int loadMillis = DEFAULT_LOAD_MILLIS;
+
+	private final LongMap<Region> regions = new LongMap<Region>();
+	private final LongMap<Boolean> missing = new LongMap<Boolean>();
+	private final Array<Region> loading = new Array<Region>();
+	private final Array<Region> unloadQueue = new Array<Region>();
+	private final Array<Region> releasing = new Array<Region>();
+
+	private final LongMap<Hibernation> hibernated = new LongMap<Hibernation>();
+	private final Array<Class<?>> classes = new Array<Class<?>>();
+	private final ObjectIntMap<Class<?>> classIndices = new ObjectIntMap<Class<?>>();
+	private ByteBuffer scratch = ByteBuffer.allocate(1024).order(
+			ByteOrder.nativeOrder());
+
+	private final Rectangle view = new Rectangle();
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs a TileMapStreamer.
+	 *
+	 * @param world
+	 *            The world the regions are added to.
+	 * @param pathFormat
+	 *            The internal file path of each region's .tmx file, with %d
+	 *            in place of its column and then its row.
+	 * @param materialsFilename
+	 *            The file path of the XML file containing the materials info
+	 *            for every region.
+	 * @param regionWidth
+	 *            The width of each region, in pixels.
+	 * @param regionHeight
+	 *            The height of each region, in pixels.
+	 */
+	public TileMapStreamer(EntityWorld world, String pathFormat,
+			String materialsFilename, float regionWidth, float regionHeight) {
+		this.world = world;
+		this.pathFormat = pathFormat;
+		this.materialsFilename = materialsFilename;
+		this.regionWidth = regionWidth;
+		this.regionHeight = regionHeight;
+
+		InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+
+		assets = new AssetManager(resolver);
+		assets.setLoader(TiledMap.class, new TmxMapLoader(resolver));
+	}
+
+	// endregion
+
+	// region Disposal
+
+	/**
+	 * Removes every region and unloads their assets. Hibernated entities are
+	 * forgotten.
+	 */
+	@Override
+	public void dispose() {
+		for (Region region : regions.values()) {
+			if (region.entity != null)
+				region.entity.delete();
+		}
+
+		regions.clear();
+		loading.clear();
+		unloadQueue.clear();
+		releasing.clear();
+		hibernated.clear();
+
+		assets.dispose();
+	}
+
+	// endregion
+
+	// region Accessors/Mutators
+
+	/**
+	 * @return The distance from the camera's view, in pixels, within which
+	 *         regions are loaded.
+	 */
+	public float getMargin() {
+		return margin;
+	}
+
+	/**
+	 * @param margin
+	 *            The distance from the camera's view, in pixels, within which
+	 *            regions are loaded.
+	 */
+	public void setMargin(float margin) {
+		this.margin = margin;
+	}
+
+	/**
+	 * @return The extra distance, in pixels, regions must be past the margin
+	 *         before they are unloaded.
+	 */
+	public float getHysteresis() {
+		return hysteresis;
+	}
+
+	/**
+	 * @param hysteresis
+	 *            The extra distance, in pixels, regions must be past the
+	 *            margin before they are unloaded.
+	 */
+	public void setHysteresis(float hysteresis) {
+		this.hysteresis = hysteresis;
+	}
+
+	/**
+	 * @return The most regions created, and the most unloaded, each frame.
+	 */
+	public int getRegionsPerFrame() {
+		return regionsPerFrame;
+	}
+
+	/**
+	 * @param regionsPerFrame
+	 *            The most regions created, and the most unloaded, each frame.
+	 */
+	public void setRegionsPerFrame(int regionsPerFrame) {
+		this.regionsPerFrame = regionsPerFrame;
+	}
+
+	/**
+	 * @return The milliseconds spent loading region assets each frame.
+	 */
+	public int getLoadMillis() {
+		return loadMillis;
+	}
+
+	/**
+	 * @param loadMillis
+	 *            The milliseconds spent loading region assets each frame. Maps
+	 *            are parsed on a background thread; textures are uploaded
+	 *            within this budget.
+	 */
+	public void setLoadMillis(int loadMillis) {
+		this.loadMillis = loadMillis;
+	}
+
+	/**
+	 * @return The number of regions whose TileMap entities exist.
+	 */
+	public int getLoadedRegionCount() {
+		return regions.size - loading.size;
+	}
+
+	/**
+	 * @return The number of regions still loading.
+	 */
+	public int getLoadingRegionCount() {
+		return loading.size;
+	}
+
+	/**
+	 * @return The number of regions with hibernated entities.
+	 */
+	public int getHibernatedRegionCount() {
+		return hibernated.size;
+	}
+
+	/**
+	 * @param column
+	 *            The column of a region.
+	 * @param row
+	 *            The row of a region.
+	 * @return The region's TileMap, or null if it isn't loaded.
+	 */
+	public TileMap getTileMap(int column, int row) {
+		Region region = regions.get(key(column, row));
+		return region != null ? region.tileMap : null;
+	}
+
+	// endregion
+
+	// region Processing
+
+	/**
+	 * Loads the regions around the camera, and unloads distant ones, within
+	 * the per-frame budgets. Must not be called during a physics step.
+	 *
+	 * @param deltaSeconds
+	 *            The seconds elapsed since the last call.
+	 */
+	public void process(float deltaSeconds) {
+		release();
+
+		if (computeView()) {
+			request();
+			dismiss();
+		}
+
+		assets.update(loadMillis);
+
+		int created = 0;
+
+		for (int i = 0; i < loading.size && created < regionsPerFrame; i++) {
+			Region region = loading.get(i);
+
+			if (!assets.isLoaded(region.path))
+				continue;
+
+			loading.removeIndex(i--);
+			create(region);
+			created++;
+		}
+
+		for (int i = 0; i < regionsPerFrame && unloadQueue.size > 0; i++) {
+			unload(unloadQueue.removeIndex(0));
+		}
+	}
+
+	/**
+	 * Computes the camera's view, in pixels.
+	 *
+	 * @return False if the world has no camera.
+	 */
+	private boolean computeView() {
+		Camera camera = world.getCamera();
+
+		if (camera == null)
+			return false;
+
+		float zoom = 1f;
+		if (camera instanceof OrthographicCamera)
+			zoom = ((OrthographicCamera) camera).zoom;
+
+		float width = camera.viewportWidth * zoom;
+		float height = camera.viewportHeight * zoom;
+
+		view.set(camera.position.x - width / 2, camera.position.y - height
+				/ 2, width, height);
+		return true;
+	}
+
+	/**
+	 * Starts loading every region within the margin of the view.
+	 */
+	private void request() {
+		int column1 = MathUtils.floor((view.x - margin) / regionWidth);
+		int column2 = MathUtils.floor((view.x + view.width + margin)
+				/ regionWidth);
+		int row1 = MathUtils.floor((view.y - margin) / regionHeight);
+		int row2 = MathUtils.floor((view.y + view.height + margin)
+				/ regionHeight);
+
+		for (int row = row1; row <= row2; row++) {
+			for (int column = column1; column <= column2; column++) {
+				long key = key(column, row);
+				Region region = regions.get(key);
+
+				if (region != null) {
+					// Wanted again before it was unloaded.
+					unloadQueue.removeValue(region, true);
+					continue;
+				}
+
+				if (missing.containsKey(key))
+					continue;
+
+				String path = String.format(pathFormat, column, row);
+
+				if (!Gdx.files.internal(path).exists()) {
+					missing.put(key, Boolean.TRUE);
+					continue;
+				}
+
+				region = new Region();
+				region.column = column;
+				region.row = row;
+				region.path = path;
+
+				regions.put(key, region);
+				loading.add(region);
+				assets.load(path, TiledMap.class);
+			}
+		}
+	}
+
+	/**
+	 * Queues every region past the margin and hysteresis for unloading.
+	 */
+	private void dismiss() {
+		float keep = margin + hysteresis;
+
+		float minX = view.x - keep;
+		float minY = view.y - keep;
+		float maxX = view.x + view.width + keep;
+		float maxY = view.y + view.height + keep;
+
+		for (Region region : regions.values()) {
+			float x = region.column * regionWidth;
+			float y = region.row * regionHeight;
+
+			if (x + regionWidth >= minX && x <= maxX
+					&& y + regionHeight >= minY && y <= maxY)
+				continue;
+
+			if (!unloadQueue.contains(region, true))
+				unloadQueue.add(region);
+		}
+	}
+
+	// endregion
+
+	// region Regions
+
+	private void create(Region region) {
+		long key = key(region.column, region.row);
+		Hibernation hibernation = hibernated.remove(key);
+
+		TiledMap map = assets.get(region.path, TiledMap.class);
+
+		region.entity = world.createEntity("TileMap", map,
+				materialsFilename, region.column * regionWidth, region.row
+						* regionHeight, hibernation != null ? hibernation.deleted
+						: null);
+		region.serial = region.entity.getSerial();
+		region.tileMap = region.entity.getComponent(TileMap.class);
+
+		if (hibernation != null)
+			wake(region, hibernation);
+	}
+
+	private void unload(Region region) {
+		regions.remove(key(region.column, region.row));
+
+		if (region.entity == null) {
+			// Still loading.
+			loading.removeValue(region, true);
+			assets.unload(region.path);
+			return;
+		}
+
+		hibernate(region);
+
+		region.entity.delete();
+		releasing.add(region);
+	}
+
+	/**
+	 * Unloads the assets of regions whose TileMap entities have been removed
+	 * from the world.
+	 */
+	private void release() {
+		for (int i = releasing.size - 1; i >= 0; i--) {
+			Region region = releasing.get(i);
+
+			if (region.entity.getSerial() == region.serial)
+				continue; // Not removed yet; it may still be drawn.
+
+			releasing.removeIndex(i);
+			assets.unload(region.path);
+
+			region.entity = null;
+			region.tileMap = null;
+		}
+	}
+
+	private static long key(int column, int row) {
+		return (long) column << 32 | (row & 0xFFFFFFFFL);
+	}
+
+	// endregion
+
+	// region Hibernation
+
+	private void hibernate(Region region) {
+		MapBodyManager bodies = region.tileMap.getBodyManager();
+		Hibernation hibernation = new Hibernation();
+
+		if (region.tileMap.getEditCount() > 0)
+			hibernation.map = write(region.entity);
+
+		for (int i = 0; i < bodies.getEntityCount(); i++) {
+			int object = bodies.getEntityObject(i);
+
+			if (!bodies.isEntityAlive(i)) {
+				hibernation.deleted.add(object);
+				continue;
+			}
+
+			hibernation.records.put(object, write(bodies.getEntity(i)));
+		}
+
+		// Objects skipped this time are still deleted.
+		hibernation.deleted.addAll(bodies.getSkippedObjects());
+
+		if (hibernation.map != null || hibernation.deleted.size > 0
+				|| hibernation.records.size > 0)
+			hibernated.put(key(region.column, region.row), hibernation);
+	}
+
+	private byte[] write(Entity e) {
+		while (true) {
+			try {
+				scratch.clear();
+				WorldSnapshot.writeComponents(e, scratch, classes,
+						classIndices);
+				break;
+			} catch (BufferOverflowException ex) {
+				scratch = ByteBuffer.allocate(scratch.capacity() * 2).order(
+						ByteOrder.nativeOrder());
+			}
+		}
+
+		byte[] record = new byte[scratch.position()];
+		scratch.flip();
+		scratch.get(record);
+		return record;
+	}
+
+	private void wake(Region region, Hibernation hibernation) {
+		if (hibernation.map != null)
+			read(region.entity, hibernation.map);
+
+		MapBodyManager bodies = region.tileMap.getBodyManager();
+
+		for (int i = 0; i < bodies.getEntityCount(); i++) {
+			byte[] record = hibernation.records.get(bodies.getEntityObject(i));
+
+			if (record != null)
+				read(bodies.getEntity(i), record);
+		}
+	}
+
+	private void read(Entity e, byte[] record) {
+		WorldSnapshot.restoreComponents(e, ByteBuffer.wrap(record).order(
+				ByteOrder.nativeOrder()), classes);
+	}
+
+	// endregion
+
+}
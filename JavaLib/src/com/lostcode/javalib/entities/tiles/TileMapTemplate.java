@@ -1,5 +1,7 @@
 package com.lostcode.javalib.entities.tiles;
 
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.IntSet;
 import com.lostcode.javalib.entities.Entity;
 import com.lostcode.javalib.entities.EntityWorld;
 import com.lostcode.javalib.entities.templates.EntityTemplate;
@@ -9,6 +11,11 @@ import com.lostcode.javalib.entities.templates.EntityTemplate;
  * follows: [0] String mapFilename - the file path of the map file [1] String
  * materialsFilename - the file path of this map materials XML file
  * 
+ * A map that is already loaded can be given instead of its file path, in which
+ * case the args are: [0] TiledMap map [1] String materialsFilename [2] Float x
+ * [3] Float y - the map's offset in pixels [4] IntSet skippedObjects - indices
+ * of physics objects not to create, or null
+ * 
  * @author Natman64
  * @created Aug 1, 2013
  */
@@ -16,12 +23,19 @@ public class TileMapTemplate implements EntityTemplate {
 
 	@Override
 	public Entity buildEntity(Entity e, EntityWorld world, Object... args) {
-		String mapFilename = (String) args[0];
 		String materialsFilename = (String) args[1];
 
 		e.init("", "Maps", "TileMap");
 
-		TileMap map = new TileMap(world, mapFilename, materialsFilename);
+		TileMap map;
+
+		if (args[0] instanceof TiledMap) {
+			map = new TileMap(world, (TiledMap) args[0], materialsFilename,
+					(Float) args[2], (Float) args[3], (IntSet) args[4]);
+		} else {
+			map = new TileMap(world, (String) args[0], materialsFilename);
+		}
+
 		e.addComponent(map);
 
 		return e;
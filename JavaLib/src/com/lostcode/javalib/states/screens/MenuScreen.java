@@ -1,7 +1,9 @@
 package com.lostcode.javalib.states.screens;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
@@ -12,9 +14,11 @@ import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.lostcode.javalib.Game;
 import com.lostcode.javalib.states.InputScreen;
 import com.lostcode.javalib.utils.Display;
+import com.lostcode.javalib.utils.RenderPipeline;
 
 /**
- * A GameScreen containing a Scene2D stage for a menu.
+ * A GameScreen containing a Scene2D stage for a menu. The stage draws with the
+ * game's batch, in the UI pass of its {@link RenderPipeline}.
  * 
  * @author Natman64
  * @created Jul 24, 2013
@@ -45,6 +49,13 @@ public abstract class MenuScreen extends InputScreen {
 
 	private Drawable background;
 
+	private final RenderPipeline.Pass pass = new RenderPipeline.Pass() {
+		@Override
+		public void draw(SpriteBatch spriteBatch) {
+			stage.getRoot().draw(spriteBatch, 1f);
+		}
+	};
+
 	/**
 	 * Makes a MenuScreen.
 	 * 
@@ -63,7 +74,8 @@ public abstract class MenuScreen extends InputScreen {
 		super(game);
 
 		skin = new Skin(skinHandle);
-		stage = new Stage(new ScreenViewport());
+		stage = new Stage(new ScreenViewport(), game.getRenderPipeline()
+				.getSpriteBatch());
 
 		this.title = title;
 
@@ -94,7 +106,15 @@ public abstract class MenuScreen extends InputScreen {
 	@Override
 	public void render(float delta) {
 		stage.act(delta);
-		stage.draw();
+
+		if (!stage.getRoot().isVisible())
+			return;
+
+		Camera camera = stage.getCamera();
+		camera.update();
+
+		game.getRenderPipeline().submit(RenderPipeline.UI, camera.combined,
+				pass);
 	}
 
 	@Override
@@ -1,7 +1,6 @@
 package com.lostcode.javalib.states.screens;
 
 import com.badlogic.gdx.files.FileHandle;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -9,9 +8,11 @@ import com.lostcode.javalib.Game;
 import com.lostcode.javalib.states.GameScreen;
 import com.lostcode.javalib.states.InputScreen;
 import com.lostcode.javalib.utils.Display;
+import com.lostcode.javalib.utils.RenderPipeline;
 
 /**
- * A splash screen that fades in and out.
+ * A splash screen that fades in and out. It is drawn in the UI pass of the
+ * game's {@link RenderPipeline}.
  * 
  * @author Natman64
  * @created Jul 23, 2013
@@ -28,19 +29,27 @@ public final class SplashScreen extends InputScreen {
 		TransitionOn, OnScreen, TransitionOff, OffScreen
 	}
 
-	private SpriteBatch spriteBatch;
-
 	private Texture texture;
 	private TextureRegion region;
 
 	private Transition transition;
 	private float elapsedTime = 0f;
+	private float alpha = 0f;
 	private float fadeInTime;
 	private float onScreenTime;
 	private float fadeOutTime;
 
 	private GameScreen nextScreen;
 
+	private final RenderPipeline.Pass pass = new RenderPipeline.Pass() {
+		@Override
+		public void draw(SpriteBatch spriteBatch) {
+			spriteBatch.setColor(1f, 1f, 1f, alpha);
+			spriteBatch.draw(region, 0, 0, Display.getRealWidth(),
+					Display.getRealHeight());
+		}
+	};
+
 	/**
 	 * Makes a splash screen.
 	 * 
@@ -65,8 +74,6 @@ public final class SplashScreen extends InputScreen {
 			float fadeOutTime) {
 		super(game);
 
-		spriteBatch = new SpriteBatch();
-
 		texture = new Texture(textureHandle);
 		region = new TextureRegion(texture, Display.getPreferredWidth(),
 				Display.getPreferredHeight());
@@ -84,7 +91,7 @@ public final class SplashScreen extends InputScreen {
 
 		elapsedTime += delta;
 
-		float alpha = 0f;
+		alpha = 0f;
 
 		switch (transition) {
 
@@ -128,11 +135,7 @@ public final class SplashScreen extends InputScreen {
 
 		}
 
-		spriteBatch.setColor(new Color(1, 1, 1, alpha));
-		spriteBatch.begin();
-		spriteBatch.draw(region, 0, 0, Display.getRealWidth(),
-				Display.getRealHeight());
-		spriteBatch.end();
+		game.getRenderPipeline().submit(RenderPipeline.UI, pass);
 
 	}
 
@@ -160,7 +163,6 @@ public final class SplashScreen extends InputScreen {
 	@Override
 	public void dispose() {
 		texture.dispose();
-		spriteBatch.dispose();
 	}
 
 	@Override
@@ -0,0 +1,182 @@
+package com.lostcode.javalib.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.lostcode.javalib.utils.LogManager.LogType;
+
+/**
+ * A {@link LogSink} that hands messages to a background thread, which passes
+ * them on to another sink. Messages are stored in a preallocated ring buffer,
+ * so writing one only claims a slot and never blocks. If the buffer is full,
+ * the message is dropped and counted instead.
+ * <p>
+ * Any thread may write to the sink. Dispose of it to stop the background
+ * thread once the remaining messages have been written.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class AsyncLogSink implements LogSink, Disposable {
+
+	// region Fields
+
+	/** The default number of messages the buffer holds. */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private static final long IDLE_NANOS = 2000000;
+
+	private final LogSink target;
+
+	private final int mask;
+	private final LogType[] types;
+	private final String[] names;
+	private final String[] messages;
+
+	// Each slot holds the sequence number of its message plus one once the
+	// message is complete.
+	private final AtomicLongArray published;
+
+	private final AtomicLong head = new AtomicLong();
+	private volatile long tail;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final Thread thread;
+	private volatile boolean running = true;
+
+	// endregion
+
+	// region Initialization/Disposal
+
+	/**
+	 * Constructs an AsyncLogSink with the default capacity.
+	 * 
+	 * @param target
+	 *            The sink the background thread writes to.
+	 */
+	public AsyncLogSink(LogSink target) {
+		this(target, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an AsyncLogSink and starts its background thread.
+	 * 
+	 * @param target
+	 *            The sink the background thread writes to.
+	 * @param capacity
+	 *            The number of messages the buffer holds. Rounded up to a power
+	 *            of two.
+	 */
+	public AsyncLogSink(LogSink target, int capacity) {
+		this.target = target;
+
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+		mask = size - 1;
+		types = new LogType[size];
+		names = new String[size];
+		messages = new String[size];
+		published = new AtomicLongArray(size);
+
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (running) {
+					if (!drain())
+						LockSupport.parkNanos(IDLE_NANOS);
+				}
+			}
+		}, "Log Writer");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Writes the remaining messages and stops the background thread.
+	 */
+	@Override
+	public void dispose() {
+		running = false;
+		LockSupport.unpark(thread);
+
+		try {
+			thread.join();
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+
+		drain();
+	}
+
+	// endregion
+
+	// region Writing
+
+	@Override
+	public void write(LogType type, String logName, String message) {
+		long sequence;
+
+		do {
+			sequence = head.get();
+
+			if (sequence - tail > mask) {
+				dropped.incrementAndGet();
+				return;
+			}
+		} while (!head.compareAndSet(sequence, sequence + 1));
+
+		int slot = (int) (sequence & mask);
+		types[slot] = type;
+		names[slot] = logName;
+		messages[slot] = message;
+
+		published.lazySet(slot, sequence + 1);
+	}
+
+	/**
+	 * Waits until every message written so far has reached the target sink.
+	 */
+	public void flush() {
+		long end = head.get();
+
+		while (tail < end && thread.isAlive()) {
+			LockSupport.unpark(thread);
+			LockSupport.parkNanos(IDLE_NANOS / 4);
+		}
+	}
+
+	/**
+	 * @return The number of messages dropped because the buffer was full.
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	private boolean drain() {
+		long next = tail;
+		boolean drained = false;
+
+		while (published.get((int) (next & mask)) == next + 1) {
+			int slot = (int) (next & mask);
+
+			try {
+				target.write(types[slot], names[slot], messages[slot]);
+			} catch (RuntimeException ex) {
+				// A failing target must not stop the writer.
+			}
+
+			names[slot] = null;
+			messages[slot] = null;
+
+			tail = ++next;
+			drained = true;
+		}
+
+		return drained;
+	}
+
+	// endregion
+
+}
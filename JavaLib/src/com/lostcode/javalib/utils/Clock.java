@@ -0,0 +1,18 @@
+package com.lostcode.javalib.utils;
+
+/**
+ * A source of frame time for an {@link com.lostcode.javalib.entities.EntityWorld
+ * EntityWorld}. The world asks its clock for the delta time once per call of
+ * process(), and every phase of processing uses that value.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public interface Clock {
+
+	/**
+	 * @return The seconds elapsed since the previous frame.
+	 */
+	public float getDeltaTime();
+
+}
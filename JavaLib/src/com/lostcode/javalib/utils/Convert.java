@@ -74,6 +74,19 @@ public final class Convert {
 		return new Vector2(metersToPixels(meters.x), metersToPixels(meters.y));
 	}
 
+	/**
+	 * Converts meters to pixels without allocating.
+	 * 
+	 * @param meters
+	 *            A Vector2 whose measurements are expressed in meters.
+	 * @param out
+	 *            The Vector2 to store the result in. May be meters itself.
+	 * @return out, expressed in pixels.
+	 */
+	public static Vector2 metersToPixels(Vector2 meters, Vector2 out) {
+		return out.set(meters.x * pixelMeterRatio, meters.y * pixelMeterRatio);
+	}
+
 	/**
 	 * Converts meters to pixels.
 	 * 
@@ -101,6 +114,22 @@ public final class Convert {
 				metersToPixels(meters.height));
 	}
 
+	/**
+	 * Converts meters to pixels without allocating.
+	 * 
+	 * @param meters
+	 *            A Rectangle whose location and measurements are expressed in
+	 *            meters.
+	 * @param out
+	 *            The Rectangle to store the result in. May be meters itself.
+	 * @return out, expressed in pixels.
+	 */
+	public static Rectangle metersToPixels(Rectangle meters, Rectangle out) {
+		return out.set(meters.x * pixelMeterRatio, meters.y * pixelMeterRatio,
+				meters.width * pixelMeterRatio, meters.height
+						* pixelMeterRatio);
+	}
+
 	// endregion
 
 	// region Pixels to meters.
@@ -127,6 +156,19 @@ public final class Convert {
 		return new Vector2(pixelsToMeters(pixels.x), pixelsToMeters(pixels.y));
 	}
 
+	/**
+	 * Converts pixels to meters without allocating.
+	 * 
+	 * @param pixels
+	 *            A Vector2 whose measurements are expressed in pixels.
+	 * @param out
+	 *            The Vector2 to store the result in. May be pixels itself.
+	 * @return out, expressed in meters.
+	 */
+	public static Vector2 pixelsToMeters(Vector2 pixels, Vector2 out) {
+		return out.set(pixels.x / pixelMeterRatio, pixels.y / pixelMeterRatio);
+	}
+
 	/**
 	 * Converts pixels to meters.
 	 * 
@@ -154,6 +196,22 @@ public final class Convert {
 				pixelsToMeters(pixels.height));
 	}
 
+	/**
+	 * Converts pixels to meters without allocating.
+	 * 
+	 * @param pixels
+	 *            A Rectangle whose location and measurements are expressed in
+	 *            pixels.
+	 * @param out
+	 *            The Rectangle to store the result in. May be pixels itself.
+	 * @return out, expressed in meters.
+	 */
+	public static Rectangle pixelsToMeters(Rectangle pixels, Rectangle out) {
+		return out.set(pixels.x / pixelMeterRatio, pixels.y / pixelMeterRatio,
+				pixels.width / pixelMeterRatio, pixels.height
+						/ pixelMeterRatio);
+	}
+
 	// endregion
 
 }
@@ -0,0 +1,45 @@
+package com.lostcode.javalib.utils;
+
+/**
+ * A {@link Clock} that reports the same delta time every frame, regardless of
+ * how much real time has passed. Used to run simulations deterministically or
+ * faster than real time.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class FixedClock implements Clock {
+
+	private float step;
+
+	/**
+	 * Constructs a FixedClock.
+	 * 
+	 * @param step
+	 *            The seconds reported for every frame.
+	 */
+	public FixedClock(float step) {
+		this.step = step;
+	}
+
+	@Override
+	public float getDeltaTime() {
+		return step;
+	}
+
+	/**
+	 * @return The seconds reported for every frame.
+	 */
+	public float getStep() {
+		return step;
+	}
+
+	/**
+	 * @param step
+	 *            The seconds reported for every frame.
+	 */
+	public void setStep(float step) {
+		this.step = step;
+	}
+
+}
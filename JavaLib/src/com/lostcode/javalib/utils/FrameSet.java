@@ -0,0 +1,147 @@
+package com.lostcode.javalib.utils;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * The frames of an animation, sliced from one region of a SpriteSheet in rows
+ * and columns. Frame sets are cached by {@link SpriteSheet#getFrames}, so
+ * every animation of the same region shares one table of frames instead of
+ * slicing its own. The frames are shared, so they must not be modified.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class FrameSet {
+
+	// region Fields
+
+	private final String key;
+	private final int columns;
+	private final int rows;
+	private final int xPadding;
+	private final int yPadding;
+
+	private final TextureRegion[] frames;
+	private final int frameWidth;
+	private final int frameHeight;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Slices a region into frames, from left to right and top to bottom.
+	 *
+	 * @param key
+	 *            The key of the region.
+	 * @param region
+	 *            The region containing every frame.
+	 * @param columns
+	 *            The number of frame columns.
+	 * @param rows
+	 *            The number of frame rows.
+	 * @param xPadding
+	 *            The number of pixels between each frame column.
+	 * @param yPadding
+	 *            The number of pixels between each frame row.
+	 */
+	FrameSet(String key, TextureRegion region, int columns, int rows,
+			int xPadding, int yPadding) {
+		this.key = key;
+		this.columns = columns;
+		this.rows = rows;
+		this.xPadding = xPadding;
+		this.yPadding = yPadding;
+
+		frameWidth = (region.getRegionWidth() - xPadding * (columns - 1))
+				/ columns;
+		frameHeight = (region.getRegionHeight() - yPadding * (rows - 1))
+				/ rows;
+
+		frames = new TextureRegion[columns * rows];
+
+		int i = 0;
+
+		for (int y = 0; y < rows; y++) {
+			int yCoord = region.getRegionY() + y * (frameHeight + yPadding);
+
+			for (int x = 0; x < columns; x++) {
+				int xCoord = region.getRegionX() + x * (frameWidth + xPadding);
+
+				frames[i++] = new TextureRegion(region.getTexture(), xCoord,
+						yCoord, frameWidth, frameHeight);
+			}
+		}
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The key of the region the frames were sliced from.
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * @return The number of frames.
+	 */
+	public int getFrameCount() {
+		return frames.length;
+	}
+
+	/**
+	 * @param index
+	 *            The index of a frame.
+	 * @return The frame. It is shared, so it must not be modified.
+	 */
+	public TextureRegion getFrame(int index) {
+		return frames[index];
+	}
+
+	/**
+	 * @return The width of each frame.
+	 */
+	public int getFrameWidth() {
+		return frameWidth;
+	}
+
+	/**
+	 * @return The height of each frame.
+	 */
+	public int getFrameHeight() {
+		return frameHeight;
+	}
+
+	boolean matches(int columns, int rows, int xPadding, int yPadding) {
+		return this.columns == columns && this.rows == rows
+				&& this.xPadding == xPadding && this.yPadding == yPadding;
+	}
+
+	// endregion
+
+	// region Animations
+
+	/**
+	 * Creates a LibGDX Animation of the frames. The Animation uses the shared
+	 * frame table rather than a copy of it.
+	 *
+	 * @param frameDuration
+	 *            The duration of each frame, in seconds.
+	 * @param playMode
+	 *            How the Animation should animate.
+	 * @return The Animation.
+	 */
+	public Animation createAnimation(float frameDuration, PlayMode playMode) {
+		Animation animation = new Animation(frameDuration, frames);
+		animation.setPlayMode(playMode);
+		return animation;
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,19 @@
+package com.lostcode.javalib.utils;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * A {@link Clock} that reads the frame time measured by the graphics backend.
+ * This is the default clock of every EntityWorld.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class GdxClock implements Clock {
+
+	@Override
+	public float getDeltaTime() {
+		return Gdx.graphics.getDeltaTime();
+	}
+
+}
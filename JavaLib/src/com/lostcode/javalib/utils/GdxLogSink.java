@@ -0,0 +1,37 @@
+package com.lostcode.javalib.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.lostcode.javalib.utils.LogManager.LogType;
+
+/**
+ * A {@link LogSink} that writes to the application's log, as libGDX's Logger
+ * does. This is the default sink of the {@link LogManager}.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class GdxLogSink implements LogSink {
+
+	@Override
+	public void write(LogType type, String logName, String message) {
+		if (Gdx.app == null)
+			return;
+
+		switch (type) {
+
+		case DEBUG:
+			Gdx.app.debug(logName, message);
+			break;
+		case INFO:
+			Gdx.app.log(logName, message);
+			break;
+		case ERROR:
+			Gdx.app.error(logName, message);
+			break;
+		case NONE:
+			break;
+
+		}
+	}
+
+}
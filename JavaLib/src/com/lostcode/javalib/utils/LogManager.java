@@ -6,10 +6,20 @@ package com.lostcode.javalib.utils;
 import java.util.HashMap;
 
 import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.ObjectMap;
 
 /**
  * @author MadcowD A logging utility for all JavaLib projects.
+ *         <p>
+ *         Every message is checked against the current level before anything
+ *         else happens, so disabled messages cost one comparison. For hot
+ *         paths, resolve a {@link Handle} once and either guard with
+ *         {@link Handle#isDebugEnabled()} or pass a {@link Message} that builds
+ *         its text only when it will be written. Messages that pass go to the
+ *         current {@link LogSink}; use an {@link AsyncLogSink} to move the
+ *         writing off the calling thread.
  */
 public final class LogManager {
 	
@@ -39,7 +49,143 @@ public final class LogManager {
 		}
 	}
 
-	private static HashMap<String, Logger> logs;
+	/**
+	 * Builds the text of a message that may not be written, so that the cost
+	 * of building it is only paid when it is.
+	 * 
+	 * @author Natman64
+	 * @created Oct 19, 2026
+	 */
+	public interface Message {
+
+		/**
+		 * @return The text of the message.
+		 */
+		public String build();
+
+	}
+
+	/**
+	 * A log resolved ahead of time. Keep handles in static fields of classes
+	 * that log often; writing through a handle skips the lookup by name.
+	 * 
+	 * @author Natman64
+	 * @created Oct 19, 2026
+	 */
+	public static final class Handle {
+
+		private final String name;
+		private volatile boolean muted;
+
+		private Handle(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * @return The name of the log.
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return Whether this log ignores all messages.
+		 */
+		public boolean isMuted() {
+			return muted;
+		}
+
+		/**
+		 * @param muted
+		 *            Whether this log should ignore all messages.
+		 */
+		public void setMuted(boolean muted) {
+			this.muted = muted;
+		}
+
+		/**
+		 * @return Whether debug messages sent to this log are written.
+		 */
+		public boolean isDebugEnabled() {
+			return level >= Application.LOG_DEBUG && !muted;
+		}
+
+		/**
+		 * @return Whether info messages sent to this log are written.
+		 */
+		public boolean isInfoEnabled() {
+			return level >= Application.LOG_INFO && !muted;
+		}
+
+		/**
+		 * @return Whether error messages sent to this log are written.
+		 */
+		public boolean isErrorEnabled() {
+			return level >= Application.LOG_ERROR && !muted;
+		}
+
+		/**
+		 * @param message
+		 *            The debug message to write.
+		 */
+		public void debug(String message) {
+			if (isDebugEnabled())
+				sink.write(LogType.DEBUG, name, message);
+		}
+
+		/**
+		 * @param message
+		 *            The debug message to build and write.
+		 */
+		public void debug(Message message) {
+			if (isDebugEnabled())
+				sink.write(LogType.DEBUG, name, message.build());
+		}
+
+		/**
+		 * @param message
+		 *            The info message to write.
+		 */
+		public void info(String message) {
+			if (isInfoEnabled())
+				sink.write(LogType.INFO, name, message);
+		}
+
+		/**
+		 * @param message
+		 *            The info message to build and write.
+		 */
+		public void info(Message message) {
+			if (isInfoEnabled())
+				sink.write(LogType.INFO, name, message.build());
+		}
+
+		/**
+		 * @param message
+		 *            The error message to write.
+		 */
+		public void error(String message) {
+			if (isErrorEnabled())
+				sink.write(LogType.ERROR, name, message);
+		}
+
+		/**
+		 * @param message
+		 *            The error message to build and write.
+		 */
+		public void error(Message message) {
+			if (isErrorEnabled())
+				sink.write(LogType.ERROR, name, message.build());
+		}
+
+	}
+
+	private static HashMap<String, Logger> logs = new HashMap<String, Logger>();
+	private static final ObjectMap<String, Handle> handles = new ObjectMap<String, Handle>();
+
+	// Nothing is logged until init() is called.
+	private static volatile int level = Application.LOG_NONE;
+	private static volatile LogSink sink = new GdxLogSink();
 
 	// region INIT
 	/**
@@ -54,6 +200,7 @@ public final class LogManager {
 	 */
 	public static void init(Application application, LogType lT) {
 		application.setLogLevel(lT.asInt());
+		level = lT.asInt();
 		logs = new HashMap<String, com.badlogic.gdx.utils.Logger>();
 	}
 
@@ -82,25 +229,24 @@ public final class LogManager {
 	 *            The message to be sent.
 	 */
 	private static void log(String logName, LogType logType, String message) {
-		Logger log = LogManager.getLog(logName, logType);
-		
-		// Invoke the log to log a message
-		switch (logType) {
-		
-		case INFO:
-			log.info(message);
-			break;
-		case DEBUG:
-			log.debug(message);
-			break;
-		case ERROR:
-			log.error(message);
-			break;
-		case NONE:
-			// Nothing will be logged
-			break;
-			
-		}
+		// Check the level before touching the handle map.
+		if (!isEnabled(logType))
+			return;
+
+		Handle handle = getHandle(logName);
+
+		if (!handle.isMuted())
+			sink.write(logType, logName, message);
+	}
+
+	private static void log(String logName, LogType logType, Message message) {
+		if (!isEnabled(logType))
+			return;
+
+		Handle handle = getHandle(logName);
+
+		if (!handle.isMuted())
+			sink.write(logType, logName, message.build());
 	}
 
 	/**
@@ -127,6 +273,19 @@ public final class LogManager {
 		LogManager.log(logName, LogType.DEBUG, message);
 	}
 
+	/**
+	 * Builds and writes a debug message to a specified log, if debug messages
+	 * are enabled.
+	 * 
+	 * @param logName
+	 *            The log to send the debug message.
+	 * @param message
+	 *            The message to build.
+	 */
+	public static void debug(String logName, Message message) {
+		LogManager.log(logName, LogType.DEBUG, message);
+	}
+
 	/**
 	 * Writes an error message to a specified log.
 	 * 
@@ -142,6 +301,94 @@ public final class LogManager {
 	// endregion Logging Functions
 
 	// region Getters/Setters
+
+	/**
+	 * @return The maximum LogType that is written.
+	 */
+	public static LogType getLevel() {
+		for (LogType type : LogType.values()) {
+			if (type.asInt() == level)
+				return type;
+		}
+
+		return LogType.NONE;
+	}
+
+	/**
+	 * Sets the maximum LogType that is written, for both the LogManager and
+	 * the application.
+	 * 
+	 * @param lT
+	 *            The maximum LogType to write.
+	 */
+	public static void setLevel(LogType lT) {
+		level = lT.asInt();
+
+		if (Gdx.app != null)
+			Gdx.app.setLogLevel(lT.asInt());
+	}
+
+	/**
+	 * @param logType
+	 *            A type of message.
+	 * @return Whether messages of the given type are written.
+	 */
+	public static boolean isEnabled(LogType logType) {
+		return logType != LogType.NONE && level >= logType.asInt();
+	}
+
+	/**
+	 * @return Whether debug messages are written.
+	 */
+	public static boolean isDebugEnabled() {
+		return level >= Application.LOG_DEBUG;
+	}
+
+	/**
+	 * @return Whether info messages are written.
+	 */
+	public static boolean isInfoEnabled() {
+		return level >= Application.LOG_INFO;
+	}
+
+	/**
+	 * @return The {@link LogSink} messages are written to.
+	 */
+	public static LogSink getSink() {
+		return sink;
+	}
+
+	/**
+	 * Sets the {@link LogSink} messages are written to. The previous sink is
+	 * not disposed.
+	 * 
+	 * @param sink
+	 *            The new sink.
+	 */
+	public static void setSink(LogSink sink) {
+		LogManager.sink = sink;
+	}
+
+	/**
+	 * Retrieves the handle of a log, creating it if it doesn't exist. Call once
+	 * and keep the handle.
+	 * 
+	 * @param logName
+	 *            The name of the log.
+	 * @return The log's handle.
+	 */
+	public static Handle getHandle(String logName) {
+		synchronized (handles) {
+			Handle handle = handles.get(logName);
+
+			if (handle == null) {
+				handle = new Handle(logName);
+				handles.put(logName, handle);
+			}
+
+			return handle;
+		}
+	}
 	
 	/**
 	 * Retrieves a log from the LogManager or creates one if it doesn't exist.
@@ -153,13 +400,16 @@ public final class LogManager {
 	 * @return The specified log from the manager.
 	 */
 	public static Logger getLog(String logName, LogType type) {
+		Logger log = logs.get(logName);
+
 		// If the log does not exist in the current logs list.
-		if (!logs.containsKey(logName)) {
+		if (log == null) {
 			// Create a new log with logName.
-			logs.put(logName, new com.badlogic.gdx.utils.Logger(logName, type.asInt()));
+			log = new com.badlogic.gdx.utils.Logger(logName, type.asInt());
+			logs.put(logName, log);
 		}
 		
-		return logs.get(logName);
+		return log;
 	}
 	
 	/**
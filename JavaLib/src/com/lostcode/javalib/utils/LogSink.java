@@ -0,0 +1,25 @@
+package com.lostcode.javalib.utils;
+
+import com.lostcode.javalib.utils.LogManager.LogType;
+
+/**
+ * A destination for messages that pass {@link LogManager}'s level check.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public interface LogSink {
+
+	/**
+	 * Writes a message.
+	 * 
+	 * @param type
+	 *            The type of the message. Never {@link LogType#NONE}.
+	 * @param logName
+	 *            The name of the log the message was sent to.
+	 * @param message
+	 *            The message.
+	 */
+	public void write(LogType type, String logName, String message);
+
+}
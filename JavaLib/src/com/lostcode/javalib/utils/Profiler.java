@@ -0,0 +1,811 @@
+package com.lostcode.javalib.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A hierarchical frame profiler. Code is divided into named scopes, which are
+ * registered once and then timed with {@link #begin(int)} and
+ * {@link #end(int)}. Scopes nest: a scope begun while another is open is
+ * treated as its child.
+ * <p>
+ * All storage is allocated up front. Every scope keeps a ring buffer of its
+ * time over the last frames, along with a histogram of those times for
+ * percentiles. The individual begin/end events of the last frames are kept in
+ * another ring buffer, and can be exported in the Chrome trace event format
+ * (open chrome://tracing or ui.perfetto.dev and load the file).
+ * <p>
+ * Scopes are only recorded between {@link #beginFrame()} and
+ * {@link #endFrame()}.
+ * <p>
+ * When {@link #setTrackingAllocations(boolean) allocation tracking} is on,
+ * every scope also counts the bytes allocated by the profiling thread while
+ * it was open, including its children. Scopes can be given an allocation
+ * budget per frame, such as zero for systems that must not produce garbage,
+ * and frames that exceed it are counted so tests can check them.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class Profiler {
+
+	// region Fields
+
+	/** The scope covering an entire frame. */
+	public static final int FRAME = 0;
+
+	/** The default number of frames kept for statistics. */
+	public static final int DEFAULT_HISTORY_SIZE = 300;
+
+	/** The default number of frames kept for trace export. */
+	public static final int DEFAULT_FRAME_CAPACITY = 256;
+
+	/** The default number of events kept for trace export. */
+	public static final int DEFAULT_EVENT_CAPACITY = 1 << 15;
+
+	private static final int MAX_DEPTH = 64;
+
+	// Histogram buckets are four per power of two microseconds.
+	private static final int BUCKETS_PER_OCTAVE = 4;
+	private static final int BUCKET_COUNT = 32 * BUCKETS_PER_OCTAVE;
+
+	private boolean enabled = true;
+	private boolean recording;
+
+	private boolean trackingAllocations;
+	private boolean measuringAllocations;
+	private long measurementBytes;
+
+	// Scopes
+	private int scopeCount;
+	private String[] names = new String[16];
+	private int[] parents = new int[16];
+	private int[] depths = new int[16];
+	private long[] frameNanos = new long[16];
+	private int[] frameCalls = new int[16];
+
+	// Allocations
+	private long[] frameBytes = new long[16];
+	private long[] lastBytes = new long[16];
+	private long[] maxBytes = new long[16];
+	private long[] totalBytes = new long[16];
+	private int[] allocationFrames = new int[16];
+	private long[] budgets = new long[16];
+	private int[] budgetViolations = new int[16];
+
+	// Statistics
+	private final int historySize;
+	private float[][] history = new float[16][];
+	private byte[][] historyBuckets = new byte[16][];
+	private int[][] histograms = new int[16][];
+	private int[] historyHeads = new int[16];
+	private int[] historyCounts = new int[16];
+	private double[] historySums = new double[16];
+
+	// Open scopes
+	private final int[] stackScopes = new int[MAX_DEPTH];
+	private final long[] stackEvents = new long[MAX_DEPTH];
+	private final long[] stackBytes = new long[MAX_DEPTH];
+	private final long[] stackMeasurementBytes = new long[MAX_DEPTH];
+	private int stackSize;
+
+	// Trace events
+	private final int eventMask;
+	private final int[] eventScopes;
+	private final long[] eventStarts;
+	private final long[] eventEnds;
+	private final long[] eventBytes;
+	private long eventCount;
+
+	// Trace frames
+	private final long[] frameFirstEvents;
+	private final long[] frameLastEvents;
+	private long frameCount;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs a Profiler with the default capacities.
+	 */
+	public Profiler() {
+		this(DEFAULT_HISTORY_SIZE, DEFAULT_FRAME_CAPACITY,
+				DEFAULT_EVENT_CAPACITY);
+	}
+
+	/**
+	 * Constructs a Profiler.
+	 *
+	 * @param historySize
+	 *            The number of frames used for statistics.
+	 * @param frameCapacity
+	 *            The number of frames kept for trace export.
+	 * @param eventCapacity
+	 *            The number of scope events kept for trace export. Rounded up
+	 *            to a power of two.
+	 */
+	public Profiler(int historySize, int frameCapacity, int eventCapacity) {
+		this.historySize = historySize;
+
+		int capacity = Integer.highestOneBit(Math.max(eventCapacity, 2) - 1) << 1;
+		eventMask = capacity - 1;
+		eventScopes = new int[capacity];
+		eventStarts = new long[capacity];
+		eventEnds = new long[capacity];
+		eventBytes = new long[capacity];
+
+		frameFirstEvents = new long[frameCapacity];
+		frameLastEvents = new long[frameCapacity];
+
+		registerScope("Frame");
+	}
+
+	/**
+	 * Registers a scope. Call once, and keep the returned ID for timing.
+	 *
+	 * @param name
+	 *            The name shown in the overlay and in traces.
+	 * @return The scope's ID.
+	 */
+	public int registerScope(String name) {
+		if (scopeCount == names.length)
+			grow(scopeCount * 2);
+
+		int id = scopeCount++;
+
+		names[id] = name;
+		parents[id] = -1;
+		budgets[id] = -1;
+		history[id] = new float[historySize];
+		historyBuckets[id] = new byte[historySize];
+		histograms[id] = new int[BUCKET_COUNT];
+
+		return id;
+	}
+
+	private void grow(int capacity) {
+		names = Arrays.copyOf(names, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		depths = Arrays.copyOf(depths, capacity);
+		frameNanos = Arrays.copyOf(frameNanos, capacity);
+		frameCalls = Arrays.copyOf(frameCalls, capacity);
+		frameBytes = Arrays.copyOf(frameBytes, capacity);
+		lastBytes = Arrays.copyOf(lastBytes, capacity);
+		maxBytes = Arrays.copyOf(maxBytes, capacity);
+		totalBytes = Arrays.copyOf(totalBytes, capacity);
+		allocationFrames = Arrays.copyOf(allocationFrames, capacity);
+		budgets = Arrays.copyOf(budgets, capacity);
+		budgetViolations = Arrays.copyOf(budgetViolations, capacity);
+		history = Arrays.copyOf(history, capacity);
+		historyBuckets = Arrays.copyOf(historyBuckets, capacity);
+		histograms = Arrays.copyOf(histograms, capacity);
+		historyHeads = Arrays.copyOf(historyHeads, capacity);
+		historyCounts = Arrays.copyOf(historyCounts, capacity);
+		historySums = Arrays.copyOf(historySums, capacity);
+	}
+
+	// endregion
+
+	// region Timing
+
+	/**
+	 * @return Whether the profiler records frames.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets whether the profiler records frames. Takes effect at the next call
+	 * of {@link #beginFrame()}.
+	 *
+	 * @param enabled
+	 *            Whether frames should be recorded.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return Whether scopes count the bytes allocated while they are open.
+	 */
+	public boolean isTrackingAllocations() {
+		return trackingAllocations;
+	}
+
+	/**
+	 * Sets whether scopes count the bytes allocated while they are open. Takes
+	 * effect at the next call of {@link #beginFrame()}. Only the thread that
+	 * runs the frame is measured.
+	 *
+	 * @param trackingAllocations
+	 *            Whether allocations should be counted.
+	 * @return False if allocations can't be counted on this platform.
+	 */
+	public boolean setTrackingAllocations(boolean trackingAllocations) {
+		if (trackingAllocations && !isAllocationTrackingSupported())
+			return false;
+
+		this.trackingAllocations = trackingAllocations;
+		return true;
+	}
+
+	/**
+	 * @return Whether allocations can be counted on this platform. Requires a
+	 *         HotSpot-based JVM.
+	 */
+	public static boolean isAllocationTrackingSupported() {
+		try {
+			return ThreadAllocation.isSupported();
+		} catch (Throwable ex) {
+			// java.lang.management is missing, e.g. on Android.
+			return false;
+		}
+	}
+
+	/**
+	 * Starts recording a frame.
+	 */
+	public void beginFrame() {
+		recording = enabled;
+
+		if (!recording)
+			return;
+
+		measuringAllocations = trackingAllocations;
+
+		stackSize = 0;
+		frameFirstEvents[(int) (frameCount % frameFirstEvents.length)] = eventCount;
+
+		begin(FRAME);
+	}
+
+	/**
+	 * Finishes recording a frame, and adds the time of every scope entered
+	 * during the frame to its statistics.
+	 */
+	public void endFrame() {
+		if (!recording)
+			return;
+
+		end(FRAME);
+
+		frameLastEvents[(int) (frameCount % frameLastEvents.length)] = eventCount;
+		frameCount++;
+
+		for (int i = 0; i < scopeCount; i++) {
+			if (frameCalls[i] > 0) {
+				addSample(i, frameNanos[i]);
+
+				if (measuringAllocations)
+					addAllocationSample(i, frameBytes[i]);
+
+				frameNanos[i] = 0;
+				frameCalls[i] = 0;
+				frameBytes[i] = 0;
+			}
+		}
+
+		recording = false;
+	}
+
+	/**
+	 * Opens a scope.
+	 *
+	 * @param scope
+	 *            The ID of the scope.
+	 */
+	public void begin(int scope) {
+		if (!recording)
+			return;
+
+		if (stackSize == MAX_DEPTH)
+			throw new GdxRuntimeException("Profiler scopes nested deeper than "
+					+ MAX_DEPTH);
+
+		parents[scope] = stackSize > 0 ? stackScopes[stackSize - 1] : -1;
+		depths[scope] = stackSize;
+
+		int event = (int) (eventCount & eventMask);
+		eventScopes[event] = scope;
+		eventStarts[event] = System.nanoTime();
+		eventEnds[event] = 0;
+
+		stackScopes[stackSize] = scope;
+		stackEvents[stackSize] = eventCount;
+
+		if (measuringAllocations) {
+			stackBytes[stackSize] = readAllocatedBytes();
+			stackMeasurementBytes[stackSize] = measurementBytes;
+		}
+
+		stackSize++;
+
+		eventCount++;
+	}
+
+	/**
+	 * Closes the most recently opened scope.
+	 *
+	 * @param scope
+	 *            The ID of the scope, which must be the most recently opened.
+	 */
+	public void end(int scope) {
+		if (!recording)
+			return;
+
+		long time = System.nanoTime();
+		long bytes = measuringAllocations ? readAllocatedBytes() : 0;
+
+		if (stackSize == 0 || stackScopes[stackSize - 1] != scope)
+			throw new GdxRuntimeException("Profiler scope " + names[scope]
+					+ " ended out of order");
+
+		stackSize--;
+
+		long eventNumber = stackEvents[stackSize];
+		int event = (int) (eventNumber & eventMask);
+		long start = eventStarts[event];
+
+		if (measuringAllocations) {
+			// Leave out what the measurements inside this scope allocated.
+			bytes -= stackBytes[stackSize]
+					+ (measurementBytes - stackMeasurementBytes[stackSize]);
+			bytes = Math.max(bytes, 0);
+			frameBytes[scope] += bytes;
+		}
+
+		// The event may have been overwritten by a very long frame.
+		if (eventCount - eventNumber <= eventMask) {
+			eventEnds[event] = time;
+			eventBytes[event] = measuringAllocations ? bytes : -1;
+		}
+
+		frameNanos[scope] += time - start;
+		frameCalls[scope]++;
+	}
+
+	private long readAllocatedBytes() {
+		measurementBytes += ThreadAllocation.overhead;
+		return ThreadAllocation.read();
+	}
+
+	// endregion
+
+	// region Statistics
+
+	private void addSample(int scope, long nanos) {
+		float[] times = history[scope];
+		byte[] buckets = historyBuckets[scope];
+		int[] histogram = histograms[scope];
+
+		int head = historyHeads[scope];
+
+		if (historyCounts[scope] == historySize) {
+			historySums[scope] -= times[head];
+			histogram[buckets[head] & 0xFF]--;
+		} else {
+			historyCounts[scope]++;
+		}
+
+		float millis = nanos / 1000000f;
+		int bucket = bucket(nanos / 1000);
+
+		times[head] = millis;
+		buckets[head] = (byte) bucket;
+		histogram[bucket]++;
+		historySums[scope] += millis;
+
+		historyHeads[scope] = (head + 1) % historySize;
+	}
+
+	private void addAllocationSample(int scope, long bytes) {
+		lastBytes[scope] = bytes;
+		maxBytes[scope] = Math.max(maxBytes[scope], bytes);
+		totalBytes[scope] += bytes;
+		allocationFrames[scope]++;
+
+		if (budgets[scope] >= 0 && bytes > budgets[scope])
+			budgetViolations[scope]++;
+	}
+
+	private static int bucket(long micros) {
+		long value = micros + 1;
+		int octave = 63 - Long.numberOfLeadingZeros(value);
+
+		int sub;
+		if (octave >= 2)
+			sub = (int) (value >> (octave - 2)) & 3;
+		else
+			sub = (int) (value << (2 - octave)) & 3;
+
+		return Math.min(octave * BUCKETS_PER_OCTAVE + sub, BUCKET_COUNT - 1);
+	}
+
+	private static float bucketLimit(int bucket) {
+		int octave = bucket / BUCKETS_PER_OCTAVE;
+		int sub = bucket % BUCKETS_PER_OCTAVE;
+
+		double micros = (BUCKETS_PER_OCTAVE + sub + 1) * Math.pow(2, octave)
+				/ BUCKETS_PER_OCTAVE - 1;
+
+		return (float) (micros / 1000);
+	}
+
+	/**
+	 * @param name
+	 *            The name of a scope.
+	 * @return The ID of the first scope registered with the name, or -1.
+	 */
+	public int findScope(String name) {
+		for (int i = 0; i < scopeCount; i++) {
+			if (names[i].equals(name))
+				return i;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return The number of registered scopes.
+	 */
+	public int getScopeCount() {
+		return scopeCount;
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The scope's name.
+	 */
+	public String getScopeName(int scope) {
+		return names[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The ID of the scope that was open when this scope was last
+	 *         entered, or -1.
+	 */
+	public int getScopeParent(int scope) {
+		return parents[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The number of scopes that were open when this scope was last
+	 *         entered.
+	 */
+	public int getScopeDepth(int scope) {
+		return depths[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The number of frames included in the scope's statistics.
+	 */
+	public int getSampleCount(int scope) {
+		return historyCounts[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The milliseconds spent in the scope during the last frame it was
+	 *         entered.
+	 */
+	public float getLastTime(int scope) {
+		if (historyCounts[scope] == 0)
+			return 0f;
+
+		return history[scope][(historyHeads[scope] + historySize - 1)
+				% historySize];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The average milliseconds spent in the scope per frame.
+	 */
+	public float getAverageTime(int scope) {
+		if (historyCounts[scope] == 0)
+			return 0f;
+
+		return (float) (historySums[scope] / historyCounts[scope]);
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The most milliseconds spent in the scope during one frame.
+	 */
+	public float getMaxTime(int scope) {
+		float[] times = history[scope];
+		float max = 0f;
+
+		for (int i = 0; i < historyCounts[scope]; i++) {
+			max = Math.max(max, times[i]);
+		}
+
+		return max;
+	}
+
+	/**
+	 * Estimates a percentile of the scope's time per frame. The result is the
+	 * upper limit of a histogram bucket, so it is accurate to within about 20%.
+	 *
+	 * @param scope
+	 *            The ID of a scope.
+	 * @param percentile
+	 *            The percentile, from 0 to 1.
+	 * @return The milliseconds within which the given fraction of frames
+	 *         completed the scope.
+	 */
+	public float getPercentile(int scope, float percentile) {
+		int count = historyCounts[scope];
+
+		if (count == 0)
+			return 0f;
+
+		int[] histogram = histograms[scope];
+		int target = Math.max(1, (int) Math.ceil(percentile * count));
+		int seen = 0;
+
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += histogram[i];
+
+			if (seen >= target)
+				return Math.min(bucketLimit(i), getMaxTime(scope));
+		}
+
+		return getMaxTime(scope);
+	}
+
+	// endregion
+
+	// region Allocations
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The bytes allocated in the scope during the last frame it was
+	 *         entered with allocation tracking on.
+	 */
+	public long getLastBytes(int scope) {
+		return lastBytes[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The most bytes allocated in the scope during one frame.
+	 */
+	public long getMaxBytes(int scope) {
+		return maxBytes[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The average bytes allocated in the scope per frame.
+	 */
+	public float getAverageBytes(int scope) {
+		if (allocationFrames[scope] == 0)
+			return 0f;
+
+		return totalBytes[scope] / (float) allocationFrames[scope];
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The bytes the scope may allocate per frame, or -1 if it has no
+	 *         budget.
+	 */
+	public long getAllocationBudget(int scope) {
+		return budgets[scope];
+	}
+
+	/**
+	 * Sets the bytes a scope may allocate per frame. Frames that go over are
+	 * counted by {@link #getBudgetViolations(int)}.
+	 *
+	 * @param scope
+	 *            The ID of a scope.
+	 * @param bytes
+	 *            The budget, or -1 for none.
+	 */
+	public void setAllocationBudget(int scope, long bytes) {
+		budgets[scope] = bytes;
+	}
+
+	/**
+	 * @param scope
+	 *            The ID of a scope.
+	 * @return The number of frames in which the scope allocated more than its
+	 *         budget.
+	 */
+	public int getBudgetViolations(int scope) {
+		return budgetViolations[scope];
+	}
+
+	/**
+	 * Throws if any scope has gone over its allocation budget since the last
+	 * {@link #reset()}. Meant for tests: warm up, reset, run some frames, then
+	 * check.
+	 *
+	 * @throws GdxRuntimeException
+	 *             Naming each scope over budget.
+	 */
+	public void checkAllocationBudgets() {
+		StringBuilder failures = null;
+
+		for (int i = 0; i < scopeCount; i++) {
+			if (budgetViolations[i] == 0)
+				continue;
+
+			if (failures == null)
+				failures = new StringBuilder("Allocation budget exceeded:");
+
+			failures.append(' ').append(names[i]).append(" (")
+					.append(budgetViolations[i]).append(" frames, up to ")
+					.append(maxBytes[i]).append(" of ").append(budgets[i])
+					.append(" bytes)");
+		}
+
+		if (failures != null)
+			throw new GdxRuntimeException(failures.toString());
+	}
+
+	// endregion
+
+	// region Reset
+
+	/**
+	 * Clears all statistics and captured frames. Allocation budgets are kept.
+	 */
+	public void reset() {
+		for (int i = 0; i < scopeCount; i++) {
+			frameBytes[i] = 0;
+			lastBytes[i] = 0;
+			maxBytes[i] = 0;
+			totalBytes[i] = 0;
+			allocationFrames[i] = 0;
+			budgetViolations[i] = 0;
+
+			Arrays.fill(histograms[i], 0);
+			historyHeads[i] = 0;
+			historyCounts[i] = 0;
+			historySums[i] = 0;
+			frameNanos[i] = 0;
+			frameCalls[i] = 0;
+		}
+
+		frameCount = 0;
+		stackSize = 0;
+		recording = false;
+	}
+
+	// endregion
+
+	// region Trace Export
+
+	/**
+	 * @return The number of frames available for trace export.
+	 */
+	public int getCapturedFrameCount() {
+		return (int) (frameCount - firstCapturedFrame());
+	}
+
+	private long firstCapturedFrame() {
+		long first = Math.max(0, frameCount - frameFirstEvents.length);
+
+		// Skip frames whose events have since been overwritten.
+		while (first < frameCount
+				&& frameFirstEvents[(int) (first % frameFirstEvents.length)] < eventCount
+						- eventMask - 1)
+			first++;
+
+		return first;
+	}
+
+	/**
+	 * Writes the captured frames as Chrome trace JSON.
+	 *
+	 * @param writer
+	 *            The writer to write to. It is not closed.
+	 * @throws IOException
+	 *             If the writer fails.
+	 */
+	public void writeChromeTrace(Writer writer) throws IOException {
+		long first = firstCapturedFrame();
+		long origin = -1;
+
+		writer.write("{\"traceEvents\":[");
+
+		boolean comma = false;
+
+		for (long f = first; f < frameCount; f++) {
+			int frame = (int) (f % frameFirstEvents.length);
+
+			for (long e = frameFirstEvents[frame]; e < frameLastEvents[frame]; e++) {
+				int event = (int) (e & eventMask);
+
+				if (eventEnds[event] == 0)
+					continue;
+
+				if (origin < 0)
+					origin = eventStarts[event];
+
+				if (comma)
+					writer.write(',');
+				comma = true;
+
+				writer.write("\n{\"name\":\"");
+				writeEscaped(writer, names[eventScopes[event]]);
+				writer.write("\",\"ph\":\"X\",\"pid\":1,\"tid\":1,\"ts\":");
+				writer.write(Double.toString((eventStarts[event] - origin) / 1000.0));
+				writer.write(",\"dur\":");
+				writer.write(Double.toString((eventEnds[event] - eventStarts[event]) / 1000.0));
+				writer.write(",\"args\":{\"frame\":");
+				writer.write(Long.toString(f));
+				if (eventBytes[event] >= 0) {
+					writer.write(",\"bytes\":");
+					writer.write(Long.toString(eventBytes[event]));
+				}
+				writer.write("}}");
+			}
+		}
+
+		writer.write("\n],\"displayTimeUnit\":\"ms\"}\n");
+	}
+
+	/**
+	 * Writes the captured frames as Chrome trace JSON to a file.
+	 *
+	 * @param file
+	 *            The file to write. It will be overwritten.
+	 */
+	public void exportChromeTrace(FileHandle file) {
+		Writer writer = file.writer(false, "UTF-8");
+
+		try {
+			writeChromeTrace(writer);
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Couldn't write trace to " + file,
+					ex);
+		} finally {
+			try {
+				writer.close();
+			} catch (IOException ex) {
+			}
+		}
+	}
+
+	private static void writeEscaped(Writer writer, String text)
+			throws IOException {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+
+			if (c == '"' || c == '\\') {
+				writer.write('\\');
+				writer.write(c);
+			} else if (c < 0x20) {
+				writer.write(String.format("\\u%04x", (int) c));
+			} else {
+				writer.write(c);
+			}
+		}
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,348 @@
+package com.lostcode.javalib.utils;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Pool;
+import com.lostcode.javalib.utils.metrics.Counter;
+import com.lostcode.javalib.utils.metrics.Gauge;
+import com.lostcode.javalib.utils.metrics.MetricsRegistry;
+
+/**
+ * Owns the one SpriteBatch a frame is drawn with. Render systems and screens
+ * submit their drawing into ordered passes instead of beginning and ending
+ * batches of their own; {@link #render()} then begins the batch once, runs
+ * every pass in order, and ends it.
+ * <p>
+ * The batch only flushes when it has to: when a submission's projection is
+ * different from the one in use, when the texture or blend function changes,
+ * when the batch is full, and at the end of the frame. Flushes are reported
+ * to the default {@link MetricsRegistry}, for the whole frame and per pass.
+ * <p>
+ * A submission that needs to draw outside the batch, such as the Box2D debug
+ * renderer, can end the batch and begin it again; the flush is still
+ * counted.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class RenderPipeline implements Disposable {
+
+	// region Fields
+
+	/** The pass for the game world: tile maps, sprites and particles. */
+	public static final int WORLD = 0;
+
+	/** The pass for overlays on the world, such as health bars. */
+	public static final int OVERLAY = 1;
+
+	/** The pass for debug views. */
+	public static final int DEBUG = 2;
+
+	/** The pass for screens and menus, drawn above everything else. */
+	public static final int UI = 3;
+
+	/** The number of passes in a default pipeline. */
+	public static final int DEFAULT_PASS_COUNT = 4;
+
+	private static final Gauge FLUSHES = MetricsRegistry.getDefault().gauge(
+			"javalib_render_batch_flushes",
+			"SpriteBatch flushes (GL draw calls) during the last frame");
+	private static final Counter TOTAL_FLUSHES = MetricsRegistry
+			.getDefault().counter("javalib_render_batch_flushes_total",
+					"SpriteBatch flushes (GL draw calls)");
+	private static final Gauge PROJECTION_CHANGES = MetricsRegistry
+			.getDefault().gauge("javalib_render_projection_changes",
+					"Projection changes during the last frame");
+
+	/**
+	 * Draws a pass's part of the frame.
+	 */
+	public interface Pass {
+
+		/**
+		 * Draws into the frame's batch, which has begun and has the
+		 * submission's projection.
+		 *
+		 * @param spriteBatch
+		 *            The frame's batch.
+		 */
+		void draw(SpriteBatch spriteBatch);
+
+	}
+
+	private SpriteBatch spriteBatch;
+
+	private final Array<Pass>[] passes;
+	private final Array<Matrix4>[] projections;
+	private final int[] passFlushes;
+	private int submissionCount;
+
+	private final Pool<Matrix4> matrixPool = new Pool<Matrix4>() {
+		@Override
+		protected Matrix4 newObject() {
+			return new Matrix4();
+		}
+	};
+	private final Matrix4 screenProjection = new Matrix4();
+
+	private int flushCount;
+	private int projectionChanges;
+
+	// endregion
+
+	// region Initialization/Disposal
+
+	/**
+	 * Constructs a RenderPipeline with the default passes.
+	 */
+	public RenderPipeline() {
+		this(DEFAULT_PASS_COUNT);
+	}
+
+	/**
+	 * Constructs a RenderPipeline.
+	 *
+	 * @param passCount
+	 *            The number of passes, which are drawn in order of index.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public RenderPipeline(int passCount) {
+		passes = new Array[passCount];
+		projections = new Array[passCount];
+		passFlushes = new int[passCount];
+
+		for (int i = 0; i < passCount; i++) {
+			passes[i] = new Array<Pass>(false, 4);
+			projections[i] = new Array<Matrix4>(false, 4);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		clear();
+
+		if (spriteBatch != null) {
+			spriteBatch.dispose();
+			spriteBatch = null;
+		}
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The frame's batch. It is created on first use, so headless games
+	 *         never touch GL.
+	 */
+	public SpriteBatch getSpriteBatch() {
+		if (spriteBatch == null) {
+			spriteBatch = new SpriteBatch();
+			spriteBatch.enableBlending();
+		}
+
+		return spriteBatch;
+	}
+
+	/**
+	 * @return The number of passes.
+	 */
+	public int getPassCount() {
+		return passes.length;
+	}
+
+	/**
+	 * @return The number of submissions waiting for the next render.
+	 */
+	public int getSubmissionCount() {
+		return submissionCount;
+	}
+
+	/**
+	 * @return The number of times the batch flushed during the last render.
+	 */
+	public int getFlushCount() {
+		return flushCount;
+	}
+
+	/**
+	 * @param pass
+	 *            The index of a pass.
+	 * @return The number of times the batch flushed while the pass was drawn
+	 *         during the last render.
+	 */
+	public int getFlushCount(int pass) {
+		return passFlushes[pass];
+	}
+
+	/**
+	 * @return The number of times the projection changed during the last
+	 *         render.
+	 */
+	public int getProjectionChanges() {
+		return projectionChanges;
+	}
+
+	// endregion
+
+	// region Submission
+
+	/**
+	 * Submits drawing that uses screen coordinates, in pixels from the
+	 * bottom-left corner of the window.
+	 *
+	 * @param pass
+	 *            The index of the pass to draw in.
+	 * @param drawer
+	 *            The drawing.
+	 */
+	public void submit(int pass, Pass drawer) {
+		submit(pass, null, drawer);
+	}
+
+	/**
+	 * Submits drawing for the next render. Submissions in the same pass are
+	 * drawn in the order they were submitted.
+	 *
+	 * @param pass
+	 *            The index of the pass to draw in.
+	 * @param projection
+	 *            The projection to draw with, such as a camera's combined
+	 *            matrix. It is copied, so it can change before the render.
+	 *            Null for screen coordinates.
+	 * @param drawer
+	 *            The drawing.
+	 */
+	public void submit(int pass, Matrix4 projection, Pass drawer) {
+		if (pass < 0 || pass >= passes.length)
+			throw new IllegalArgumentException("The RenderPipeline has no pass "
+					+ pass + ".");
+
+		passes[pass].add(drawer);
+		projections[pass].add(projection == null ? null : matrixPool.obtain()
+				.set(projection));
+		submissionCount++;
+	}
+
+	/**
+	 * Drops every submission without drawing it.
+	 */
+	public void clear() {
+		for (int p = 0; p < passes.length; p++) {
+			matrixPool.freeAll(projections[p]);
+
+			passes[p].clear();
+			projections[p].clear();
+		}
+
+		submissionCount = 0;
+	}
+
+	// endregion
+
+	// region Rendering
+
+	/**
+	 * Draws every submission in one batch, pass by pass, then drops them. A
+	 * frame without submissions doesn't begin the batch at all.
+	 */
+	public void render() {
+		Arrays.fill(passFlushes, 0);
+		flushCount = 0;
+		projectionChanges = 0;
+
+		if (submissionCount > 0)
+			drawPasses();
+
+		FLUSHES.set(flushCount);
+		TOTAL_FLUSHES.add(flushCount);
+		PROJECTION_CHANGES.set(projectionChanges);
+	}
+
+	private void drawPasses() {
+		SpriteBatch batch = getSpriteBatch();
+
+		screenProjection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(),
+				Gdx.graphics.getHeight());
+
+		int start = batch.totalRenderCalls;
+		int lastPass = 0;
+
+		// Set before beginning, where it doesn't flush.
+		batch.setProjectionMatrix(getProjection(firstProjection()));
+		batch.begin();
+
+		for (int p = 0; p < passes.length; p++) {
+			Array<Pass> drawers = passes[p];
+
+			if (drawers.size == 0)
+				continue;
+
+			int passStart = batch.totalRenderCalls;
+			lastPass = p;
+
+			for (int i = 0; i < drawers.size; i++) {
+				Matrix4 projection = getProjection(projections[p].get(i));
+
+				if (!Arrays.equals(batch.getProjectionMatrix().val,
+						projection.val)) {
+					batch.setProjectionMatrix(projection);
+					projectionChanges++;
+				}
+
+				// Undo state the previous submission may have left behind.
+				batch.setColor(Color.WHITE);
+				batch.setBlendFunction(GL20.GL_SRC_ALPHA,
+						GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+				drawers.get(i).draw(batch);
+
+				if (!batch.isDrawing())
+					batch.begin();
+			}
+
+			passFlushes[p] = batch.totalRenderCalls - passStart;
+		}
+
+		batch.end();
+
+		// The last flush belongs to whatever was drawn last.
+		flushCount = batch.totalRenderCalls - start;
+		passFlushes[lastPass] += flushCount - sum(passFlushes);
+
+		clear();
+	}
+
+	private Matrix4 firstProjection() {
+		for (int p = 0; p < passes.length; p++) {
+			if (passes[p].size > 0)
+				return projections[p].first();
+		}
+
+		return null;
+	}
+
+	private Matrix4 getProjection(Matrix4 projection) {
+		return projection == null ? screenProjection : projection;
+	}
+
+	private static int sum(int[] values) {
+		int sum = 0;
+
+		for (int i = 0; i < values.length; i++) {
+			sum += values[i];
+		}
+
+		return sum;
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,342 @@
+package com.lostcode.javalib.utils;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * An unbounded uniform grid of axis-aligned rectangles, for finding the
+ * objects within an area without testing every object. Cells are created as
+ * objects move into them and freed once they are empty.
+ * <p>
+ * Moving an object only touches the grid when the range of cells it covers
+ * changes, so objects that move a little each frame, or not at all, cost
+ * almost nothing to keep up to date.
+ *
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class SpatialGrid<T> {
+
+	// region Fields
+
+	private static final class Item<T> {
+		T value;
+
+		float x;
+		float y;
+		float width;
+		float height;
+
+		int minColumn;
+		int minRow;
+		int maxColumn;
+		int maxRow;
+
+		int stamp;
+	}
+
+	private final float cellSize;
+
+	private final ObjectMap<T, Item<T>> items = new ObjectMap<T, Item<T>>();
+	private final LongMap<Array<Item<T>>> cells = new LongMap<Array<Item<T>>>();
+
+	private final Pool<Item<T>> itemPool = new Pool<Item<T>>() {
+		@Override
+		protected Item<T> newObject() {
+			return new Item<T>();
+		}
+	};
+
+	private final Pool<Array<Item<T>>> cellPool = new Pool<Array<Item<T>>>() {
+		@Override
+		protected Array<Item<T>> newObject() {
+			return new Array<Item<T>>(false, 8);
+		}
+	};
+
+	private int stamp;
+
+	// endregion
+
+	// region Initialization
+
+	/**
+	 * Constructs a SpatialGrid.
+	 *
+	 * @param cellSize
+	 *            The width and height of each cell. Objects should usually be
+	 *            smaller than a cell, and queries a few cells across.
+	 */
+	public SpatialGrid(float cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return The width and height of each cell.
+	 */
+	public float getCellSize() {
+		return cellSize;
+	}
+
+	/**
+	 * @return The number of cells holding at least one object.
+	 */
+	public int getCellCount() {
+		return cells.size;
+	}
+
+	/**
+	 * @return The number of objects in the grid.
+	 */
+	public int size() {
+		return items.size;
+	}
+
+	/**
+	 * @param value
+	 *            An object.
+	 * @return Whether the object is in the grid.
+	 */
+	public boolean contains(T value) {
+		return items.containsKey(value);
+	}
+
+	// endregion
+
+	// region Objects
+
+	/**
+	 * Adds an object to the grid, or moves it if it is already there.
+	 *
+	 * @param value
+	 *            The object.
+	 * @param x
+	 *            The left of its bounds.
+	 * @param y
+	 *            The bottom of its bounds.
+	 * @param width
+	 *            The width of its bounds.
+	 * @param height
+	 *            The height of its bounds.
+	 * @return Whether the object moved to a different range of cells.
+	 */
+	public boolean put(T value, float x, float y, float width, float height) {
+		Item<T> item = items.get(value);
+
+		int minColumn = cell(x);
+		int minRow = cell(y);
+		int maxColumn = cell(x + width);
+		int maxRow = cell(y + height);
+
+		if (item == null) {
+			item = itemPool.obtain();
+			item.value = value;
+			items.put(value, item);
+		} else if (item.minColumn == minColumn && item.minRow == minRow
+				&& item.maxColumn == maxColumn && item.maxRow == maxRow) {
+			setBounds(item, x, y, width, height);
+			return false;
+		} else {
+			unlink(item);
+		}
+
+		setBounds(item, x, y, width, height);
+
+		item.minColumn = minColumn;
+		item.minRow = minRow;
+		item.maxColumn = maxColumn;
+		item.maxRow = maxRow;
+
+		link(item);
+		return true;
+	}
+
+	/**
+	 * Removes an object from the grid.
+	 *
+	 * @param value
+	 *            The object.
+	 * @return Whether the object was in the grid.
+	 */
+	public boolean remove(T value) {
+		Item<T> item = items.remove(value);
+
+		if (item == null)
+			return false;
+
+		unlink(item);
+
+		item.value = null;
+		itemPool.free(item);
+		return true;
+	}
+
+	/**
+	 * Removes every object.
+	 */
+	public void clear() {
+		for (Item<T> item : items.values()) {
+			item.value = null;
+			itemPool.free(item);
+		}
+
+		for (Array<Item<T>> cell : cells.values()) {
+			cell.clear();
+			cellPool.free(cell);
+		}
+
+		items.clear();
+		cells.clear();
+	}
+
+	// endregion
+
+	// region Queries
+
+	/**
+	 * Finds every object whose bounds overlap an area.
+	 *
+	 * @param area
+	 *            The area.
+	 * @param out
+	 *            The array the objects are added to. It is not cleared.
+	 * @return The array of objects.
+	 */
+	public Array<T> query(Rectangle area, Array<T> out) {
+		return query(area.x, area.y, area.width, area.height, out);
+	}
+
+	/**
+	 * Finds every object whose bounds overlap an area. Each object is found
+	 * once, however many cells it covers.
+	 *
+	 * @param x
+	 *            The left of the area.
+	 * @param y
+	 *            The bottom of the area.
+	 * @param width
+	 *            The width of the area.
+	 * @param height
+	 *            The height of the area.
+	 * @param out
+	 *            The array the objects are added to. It is not cleared.
+	 * @return The array of objects.
+	 */
+	public Array<T> query(float x, float y, float width, float height,
+			Array<T> out) {
+		if (items.size == 0)
+			return out;
+
+		stamp++;
+
+		int minColumn = cell(x);
+		int minRow = cell(y);
+		int maxColumn = cell(x + width);
+		int maxRow = cell(y + height);
+
+		long area = (long) (maxColumn - minColumn + 1)
+				* (maxRow - minRow + 1);
+
+		if (area > cells.size) {
+			// Zoomed far out: visiting every occupied cell is cheaper than
+			// looking up every cell in the area.
+			for (LongMap.Entry<Array<Item<T>>> entry : cells.entries()) {
+				int column = (int) (entry.key >> 32);
+				int row = (int) entry.key;
+
+				if (column >= minColumn && column <= maxColumn
+						&& row >= minRow && row <= maxRow)
+					collect(entry.value, x, y, width, height, out);
+			}
+		} else {
+			for (int row = minRow; row <= maxRow; row++) {
+				for (int column = minColumn; column <= maxColumn; column++) {
+					Array<Item<T>> cell = cells.get(key(column, row));
+
+					if (cell != null)
+						collect(cell, x, y, width, height, out);
+				}
+			}
+		}
+
+		return out;
+	}
+
+	private void collect(Array<Item<T>> cell, float x, float y, float width,
+			float height, Array<T> out) {
+		for (int i = 0; i < cell.size; i++) {
+			Item<T> item = cell.get(i);
+
+			if (item.stamp == stamp)
+				continue;
+
+			item.stamp = stamp;
+
+			if (item.x <= x + width && item.x + item.width >= x
+					&& item.y <= y + height && item.y + item.height >= y)
+				out.add(item.value);
+		}
+	}
+
+	// endregion
+
+	// region Cells
+
+	private int cell(float coordinate) {
+		return (int) Math.floor(coordinate / cellSize);
+	}
+
+	private static long key(int column, int row) {
+		return (long) column << 32 | (row & 0xFFFFFFFFL);
+	}
+
+	private static <T> void setBounds(Item<T> item, float x, float y,
+			float width, float height) {
+		item.x = x;
+		item.y = y;
+		item.width = width;
+		item.height = height;
+	}
+
+	private void link(Item<T> item) {
+		for (int row = item.minRow; row <= item.maxRow; row++) {
+			for (int column = item.minColumn; column <= item.maxColumn; column++) {
+				long key = key(column, row);
+				Array<Item<T>> cell = cells.get(key);
+
+				if (cell == null) {
+					cell = cellPool.obtain();
+					cells.put(key, cell);
+				}
+
+				cell.add(item);
+			}
+		}
+	}
+
+	private void unlink(Item<T> item) {
+		for (int row = item.minRow; row <= item.maxRow; row++) {
+			for (int column = item.minColumn; column <= item.maxColumn; column++) {
+				long key = key(column, row);
+				Array<Item<T>> cell = cells.get(key);
+
+				cell.removeValue(item, true);
+
+				if (cell.size == 0) {
+					cells.remove(key);
+					cellPool.free(cell);
+				}
+			}
+		}
+	}
+
+	// endregion
+
+}
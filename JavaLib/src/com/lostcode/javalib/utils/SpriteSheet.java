@@ -3,21 +3,39 @@ package com.lostcode.javalib.utils;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.XmlReader;
 import com.badlogic.gdx.utils.XmlReader.Element;
 
 /**
- * Contains a texture and a map of Strings to TextureRegions, for accessing the
- * proper regions when creating sprites. Using a single SpriteSheet for all
- * sprites will greatly improve rendering performance by eliminating texture
- * switching.
+ * Contains a set of textures, called pages, and a map of Strings to
+ * TextureRegions, for accessing the proper regions when creating sprites.
+ * Keeping all sprites in one SpriteSheet will greatly improve rendering
+ * performance, because sprites are drawn grouped by page and a texture switch
+ * only happens between pages.
+ * <p>
+ * Pages can be added directly, loaded from an atlas made by an offline packer
+ * with {@link #fromAtlas(FileHandle)}, or packed at load time from separate
+ * images with {@link #beginPacking}, {@link #pack} and {@link #endPacking}.
+ * <p>
+ * Animation frames are sliced once per region with {@link #getFrames} and
+ * shared by every animation that uses them. Keys are also kept sorted, so
+ * {@link #getRegions(String)} only visits the keys that match its prefix.
  * 
  * @author Natman64
  * 
@@ -26,24 +44,34 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 
 	// region Fields
 
-	private Texture sheet;
+	/** The default width and height of pages packed at load time. */
+	public static final int DEFAULT_PAGE_SIZE = 2048;
+
+	private Array<Texture> pages = new Array<Texture>();
 	private Map<String, TextureRegion> regions = new HashMap<String, TextureRegion>();
+	private NavigableMap<String, TextureRegion> sortedRegions = new TreeMap<String, TextureRegion>();
+	private Map<String, Array<FrameSet>> frameSets = new HashMap<String, Array<FrameSet>>();
 	private String texturePath;
+
+	private PixmapPacker packer;
 	
 	// endregion
 
 	// region Initialization
 
 	/**
-	 * Creates a SpriteSheet.
+	 * Creates a SpriteSheet with one page.
 	 * 
 	 * @param sheet
 	 *            The texture containing the SpriteSheet's graphics.
 	 */
 	public SpriteSheet(Texture sheet) {
-		this.sheet = sheet;
+		addPage(sheet);
 	}
 	
+	/**
+	 * Creates a SpriteSheet with no pages.
+	 */
 	public SpriteSheet() {
 	}
 	
@@ -52,7 +80,10 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	// region Static Initialization
 	
 	/**
-	 * Parses a SpriteSheet from an XML file.
+	 * Parses a SpriteSheet from an XML file. Each texture element adds a
+	 * page, and a rect element may name the index of its page with a page
+	 * attribute. Rects without one are on the first page.
+	 *
 	 * @param xmlPath FileHandle of the XML file.
 	 * @return A fully initialized SpriteSheet.
 	 * @throws IOException
@@ -61,24 +92,45 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 		XmlReader reader = new XmlReader();
 		Element xml = reader.parse(xmlHandle);
 		
-		String texturePath = xml.getChildByName("texture").getText();
+		SpriteSheet sheet = new SpriteSheet();
 		
-		SpriteSheet sheet = new SpriteSheet(new Texture(Gdx.files.internal(texturePath)));
-		sheet.texturePath = texturePath;
+		for (Element texture : xml.getChildrenByName("texture")) {
+			String texturePath = texture.getText();
 		
-		Rectangle rect = new Rectangle();
+			sheet.addPage(new Texture(Gdx.files.internal(texturePath)));
+
+			if (sheet.texturePath == null)
+				sheet.texturePath = texturePath;
+		}
+
 		for (Element child : xml.getChildrenByName("rect")) {
 			String[] coords = child.getText().split(",");
-			rect.x = Float.parseFloat(coords[0]);
-			rect.y = Float.parseFloat(coords[1]);
-			rect.width = Float.parseFloat(coords[2]);
-			rect.height = Float.parseFloat(coords[3]);
 			
-			sheet.addRegion(child.getAttribute("key"), rect);
+			sheet.addRegion(child.getAttribute("key"),
+					child.getIntAttribute("page", 0),
+					(int) Float.parseFloat(coords[0]),
+					(int) Float.parseFloat(coords[1]),
+					(int) Float.parseFloat(coords[2]),
+					(int) Float.parseFloat(coords[3]));
 		}
 		
 		return sheet;
 	}
+
+	/**
+	 * Loads a SpriteSheet from a texture atlas, such as one written by
+	 * libGDX's TexturePacker.
+	 *
+	 * @param packFile
+	 *            The atlas's pack file.
+	 * @return A SpriteSheet with a page for each page of the atlas.
+	 * @see #addAtlas(TextureAtlas)
+	 */
+	public static SpriteSheet fromAtlas(FileHandle packFile) {
+		SpriteSheet sheet = new SpriteSheet();
+		sheet.addAtlas(new TextureAtlas(packFile));
+		return sheet;
+	}
 	
 	// endregion
 	
@@ -87,7 +139,82 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	@Override
 	public void dispose() {
 		regions.clear();
-		sheet.dispose();
+		sortedRegions.clear();
+		frameSets.clear();
+
+		for (Texture page : pages) {
+			page.dispose();
+		}
+		pages.clear();
+
+		if (packer != null) {
+			packer.dispose();
+			packer = null;
+		}
+	}
+
+	// endregion
+
+	// region Pages
+
+	/**
+	 * Adds a page. Pages are also added automatically when a region of a new
+	 * texture is added.
+	 *
+	 * @param texture
+	 *            The page's texture.
+	 * @return The index of the page.
+	 */
+	public int addPage(Texture texture) {
+		int index = pages.indexOf(texture, true);
+
+		if (index < 0) {
+			index = pages.size;
+			pages.add(texture);
+		}
+
+		return index;
+	}
+
+	/**
+	 * @return The number of pages.
+	 */
+	public int getPageCount() {
+		return pages.size;
+	}
+
+	/**
+	 * @param index
+	 *            The index of a page.
+	 * @return The page's texture.
+	 */
+	public Texture getPage(int index) {
+		return pages.get(index);
+	}
+
+	/**
+	 * @param texture
+	 *            A texture.
+	 * @return The index of the page using the texture, or -1 if it isn't a
+	 *         page of this SpriteSheet.
+	 */
+	public int getPageIndex(Texture texture) {
+		return pages.indexOf(texture, true);
+	}
+
+	/**
+	 * @param key
+	 *            The key of a region.
+	 * @return The index of the page containing the region, or -1 if there is
+	 *         no such region.
+	 */
+	public int getPageIndex(String key) {
+		TextureRegion region = regions.get(key);
+
+		if (region == null)
+			return -1;
+
+		return getPageIndex(region.getTexture());
 	}
 
 	// endregion
@@ -95,7 +222,8 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	// region Adding Regions
 
 	/**
-	 * Adds a TextureRegion to the SpriteSheet.
+	 * Adds a TextureRegion to the SpriteSheet. If its texture isn't a page
+	 * yet, it is added as one.
 	 * 
 	 * @param key
 	 *            The key that this region should be associated with.
@@ -103,19 +231,12 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	 *            The TextureRegion.
 	 */
 	public void addRegion(String key, TextureRegion region) {
-
-		// Make sure the TextureRegion is part of the same texture.
-		if (region.getTexture() == sheet) {
-			regions.put(key, region);
-		} else {
-			throw new IllegalArgumentException("All SpriteSheet texture "
-					+ "regions must share the same texture.");
-		}
-
+		addPage(region.getTexture());
+		putRegion(key, region);
 	}
 
 	/**
-	 * Adds a TextureRegion to the SpriteSheet.
+	 * Adds a TextureRegion of the first page to the SpriteSheet.
 	 * 
 	 * @param key
 	 *            The key that this region should be associated with.
@@ -125,16 +246,12 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	 *            system. They are taken as-is.
 	 */
 	public void addRegion(String key, Rectangle region) {
-
-		TextureRegion texRegion = new TextureRegion(sheet, (int) region.x,
-				(int) region.y, (int) region.width, (int) region.height);
-
-		regions.put(key, texRegion);
-
+		addRegion(key, 0, (int) region.x, (int) region.y,
+				(int) region.width, (int) region.height);
 	}
 
 	/**
-	 * Adds a TextureRegion to the SpriteSheet.
+	 * Adds a TextureRegion of the first page to the SpriteSheet.
 	 * 
 	 * @param key
 	 *            The key that this region should be associated with.
@@ -148,11 +265,153 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	 *            The region's height.
 	 */
 	public void addRegion(String key, int x, int y, int width, int height) {
+		addRegion(key, 0, x, y, width, height);
+	}
+
+	/**
+	 * Adds a TextureRegion of any page to the SpriteSheet.
+	 *
+	 * @param key
+	 *            The key that this region should be associated with.
+	 * @param page
+	 *            The index of the region's page.
+	 * @param x
+	 *            The region's x coordinate.
+	 * @param y
+	 *            The region's y coordinate.
+	 * @param width
+	 *            The region's width.
+	 * @param height
+	 *            The region's height.
+	 */
+	public void addRegion(String key, int page, int x, int y, int width,
+			int height) {
+		if (page < 0 || page >= pages.size)
+			throw new IllegalArgumentException("The SpriteSheet has no page "
+					+ page + ".");
+
+		putRegion(key, new TextureRegion(pages.get(page), x, y, width,
+				height));
+	}
 
-		TextureRegion texRegion = new TextureRegion(sheet, x, y, width, height);
+	/**
+	 * Adds every region of a texture atlas, and its textures as pages.
+	 * Regions with an index, such as animation frames, are keyed by their
+	 * name followed by the index. Regions that the packer rotated or trimmed
+	 * are not drawn correctly, so pack with rotation and whitespace stripping
+	 * turned off.
+	 *
+	 * @param atlas
+	 *            The atlas. Its textures are disposed with the SpriteSheet.
+	 */
+	public void addAtlas(TextureAtlas atlas) {
+		for (AtlasRegion region : atlas.getRegions()) {
+			String key = region.index < 0 ? region.name : region.name
+					+ region.index;
+
+			addRegion(key, region);
+		}
+	}
 
-		regions.put(key, texRegion);
+	private void putRegion(String key, TextureRegion region) {
+		regions.put(key, region);
+		sortedRegions.put(key, region);
 
+		// Frames sliced from a replaced region are stale.
+		frameSets.remove(key);
+	}
+
+	// endregion
+
+	// region Packing
+
+	/**
+	 * Starts packing images into new pages at load time, with the default page
+	 * size and 2 pixels of padding.
+	 */
+	public void beginPacking() {
+		beginPacking(DEFAULT_PAGE_SIZE, DEFAULT_PAGE_SIZE, 2);
+	}
+
+	/**
+	 * Starts packing images into new pages at load time.
+	 *
+	 * @param pageWidth
+	 *            The width of each page. At most the GPU's maximum texture
+	 *            size.
+	 * @param pageHeight
+	 *            The height of each page.
+	 * @param padding
+	 *            The number of pixels between packed images.
+	 */
+	public void beginPacking(int pageWidth, int pageHeight, int padding) {
+		if (packer != null)
+			throw new IllegalStateException("Packing has already begun.");
+
+		packer = new PixmapPacker(pageWidth, pageHeight, Format.RGBA8888,
+				padding, false);
+	}
+
+	/**
+	 * Packs an image. Its region becomes available once
+	 * {@link #endPacking} is called.
+	 *
+	 * @param key
+	 *            The key that the image's region should be associated with.
+	 * @param image
+	 *            The image. It can be disposed after packing.
+	 */
+	public void pack(String key, Pixmap image) {
+		if (packer == null)
+			throw new IllegalStateException("Packing hasn't begun.");
+
+		packer.pack(key, image);
+	}
+
+	/**
+	 * Loads and packs an image file. Its region becomes available once
+	 * {@link #endPacking} is called.
+	 *
+	 * @param key
+	 *            The key that the image's region should be associated with.
+	 * @param image
+	 *            The image file.
+	 */
+	public void pack(String key, FileHandle image) {
+		Pixmap pixmap = new Pixmap(image);
+
+		try {
+			pack(key, pixmap);
+		} finally {
+			pixmap.dispose();
+		}
+	}
+
+	/**
+	 * Uploads the packed pages and adds their regions, using linear
+	 * filtering.
+	 */
+	public void endPacking() {
+		endPacking(TextureFilter.Linear, TextureFilter.Linear);
+	}
+
+	/**
+	 * Uploads the packed pages and adds their regions.
+	 *
+	 * @param minFilter
+	 *            The pages' minification filter.
+	 * @param magFilter
+	 *            The pages' magnification filter.
+	 */
+	public void endPacking(TextureFilter minFilter, TextureFilter magFilter) {
+		if (packer == null)
+			throw new IllegalStateException("Packing hasn't begun.");
+
+		addAtlas(packer.generateTextureAtlas(minFilter, magFilter, false));
+
+		// The pages now live on the GPU.
+		packer.dispose();
+		packer = null;
 	}
 
 	// endregion
@@ -160,10 +419,10 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	// region Accessors
 
 	/**
-	 * @return This SpriteSheet's sheet texture.
+	 * @return This SpriteSheet's first page, or null if it has none.
 	 */
 	public Texture getTexture() {
-		return sheet;
+		return pages.size > 0 ? pages.first() : null;
 	}
 	
 	public String getTexturePath() {
@@ -188,16 +447,68 @@ public class SpriteSheet implements Disposable, AbstractSpriteSheet {
 	public Map<String, TextureRegion> getRegions(String prefix) {
 		Map<String, TextureRegion> regions = new HashMap<String, TextureRegion>();
 
-		for (String key : this.regions.keySet()) {
-			if (key.startsWith(prefix)) {
-				String suffix = key.replace(prefix, "");
-				regions.put(suffix, this.regions.get(key));
-			}
+		// Keys with the prefix are sorted together, starting at the prefix.
+		for (Map.Entry<String, TextureRegion> entry : sortedRegions.tailMap(
+				prefix, true).entrySet()) {
+			String key = entry.getKey();
+
+			if (!key.startsWith(prefix))
+				break;
+
+			regions.put(key.substring(prefix.length()), entry.getValue());
 		}
 
 		return regions;
 	}
 
+	/**
+	 * Gets the frames of an animation region, slicing them the first time
+	 * they are requested. Later requests with the same arguments return the
+	 * same FrameSet.
+	 *
+	 * @param key
+	 *            The key of the region containing every frame.
+	 * @param columns
+	 *            The number of frame columns.
+	 * @param rows
+	 *            The number of frame rows.
+	 * @param xPadding
+	 *            The number of pixels between each frame column.
+	 * @param yPadding
+	 *            The number of pixels between each frame row.
+	 * @return The shared frames.
+	 */
+	public FrameSet getFrames(String key, int columns, int rows, int xPadding,
+			int yPadding) {
+		Array<FrameSet> sets = frameSets.get(key);
+
+		if (sets != null) {
+			for (int i = 0; i < sets.size; i++) {
+				FrameSet set = sets.get(i);
+
+				if (set.matches(columns, rows, xPadding, yPadding))
+					return set;
+			}
+		}
+
+		TextureRegion region = regions.get(key);
+
+		if (region == null)
+			throw new IllegalArgumentException("The SpriteSheet has no region "
+					+ key + ".");
+
+		if (sets == null) {
+			sets = new Array<FrameSet>(false, 1);
+			frameSets.put(key, sets);
+		}
+
+		FrameSet set = new FrameSet(key, region, columns, rows, xPadding,
+				yPadding);
+		sets.add(set);
+
+		return set;
+	}
+
 	// endregion
 
 }
@@ -0,0 +1,73 @@
+package com.lostcode.javalib.utils;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the number of bytes the current thread has allocated, using the
+ * HotSpot extension of ThreadMXBean. Kept apart from {@link Profiler} so that
+ * platforms without java.lang.management, such as Android, only fail when
+ * allocation tracking is actually requested.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+final class ThreadAllocation {
+
+	private static final com.sun.management.ThreadMXBean bean;
+
+	/**
+	 * Bytes allocated by one call of {@link #read()} itself. Older JVMs
+	 * allocate an array per call.
+	 */
+	static final long overhead;
+
+	static {
+		com.sun.management.ThreadMXBean supported = null;
+
+		java.lang.management.ThreadMXBean threads = ManagementFactory
+				.getThreadMXBean();
+
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			supported = (com.sun.management.ThreadMXBean) threads;
+
+			if (supported.isThreadAllocatedMemorySupported())
+				supported.setThreadAllocatedMemoryEnabled(true);
+			else
+				supported = null;
+		}
+
+		bean = supported;
+		overhead = bean != null ? calibrate() : 0;
+	}
+
+	private ThreadAllocation() {
+	}
+
+	/**
+	 * @return Whether allocated bytes can be read.
+	 */
+	static boolean isSupported() {
+		return bean != null;
+	}
+
+	/**
+	 * @return The total bytes allocated by the current thread.
+	 */
+	static long read() {
+		return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	private static long calibrate() {
+		long least = Long.MAX_VALUE;
+
+		for (int i = 0; i < 32; i++) {
+			long first = read();
+			long second = read();
+
+			least = Math.min(least, second - first);
+		}
+
+		return Math.max(least, 0);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.lostcode.javalib.utils.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Metric} that only counts up, such as the number of entities created.
+ * Safe to increment from any thread without locking.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class Counter extends Metric {
+
+	private final AtomicLong count = new AtomicLong();
+
+	Counter(String name, String help) {
+		super(name, help);
+	}
+
+	/**
+	 * Adds one to the count.
+	 */
+	public void increment() {
+		count.incrementAndGet();
+	}
+
+	/**
+	 * Adds to the count.
+	 * 
+	 * @param amount
+	 *            The amount to add. Must not be negative.
+	 */
+	public void add(long amount) {
+		count.addAndGet(amount);
+	}
+
+	/**
+	 * @return The current count.
+	 */
+	public long get() {
+		return count.get();
+	}
+
+	@Override
+	public String getType() {
+		return "counter";
+	}
+
+	@Override
+	public double getValue() {
+		return count.get();
+	}
+
+}
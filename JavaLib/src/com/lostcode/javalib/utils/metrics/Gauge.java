@@ -0,0 +1,37 @@
+package com.lostcode.javalib.utils.metrics;
+
+/**
+ * A {@link Metric} whose value can go up and down, such as the number of live
+ * bodies. Usually set once per frame. Safe to set from any thread without
+ * locking.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public final class Gauge extends Metric {
+
+	private volatile double value;
+
+	Gauge(String name, String help) {
+		super(name, help);
+	}
+
+	/**
+	 * @param value
+	 *            The new value.
+	 */
+	public void set(double value) {
+		this.value = value;
+	}
+
+	@Override
+	public String getType() {
+		return "gauge";
+	}
+
+	@Override
+	public double getValue() {
+		return value;
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.lostcode.javalib.utils.metrics;
+
+/**
+ * A named value tracked by a {@link MetricsRegistry}.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public abstract class Metric {
+
+	private final String name;
+	private final String help;
+
+	/**
+	 * Constructs a Metric.
+	 * 
+	 * @param name
+	 *            The metric's name. Use lowercase letters, digits and
+	 *            underscores, as Prometheus expects.
+	 * @param help
+	 *            A short description of the metric.
+	 */
+	protected Metric(String name, String help) {
+		this.name = name;
+		this.help = help;
+	}
+
+	/**
+	 * @return The metric's name.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return A short description of the metric.
+	 */
+	public String getHelp() {
+		return help;
+	}
+
+	/**
+	 * @return The Prometheus type of the metric.
+	 */
+	public abstract String getType();
+
+	/**
+	 * @return The current value of the metric.
+	 */
+	public abstract double getValue();
+
+}
@@ -0,0 +1,182 @@
+package com.lostcode.javalib.utils.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Holds a set of {@link Metric Metrics} and writes them out as JSON or in the
+ * Prometheus text format. Metrics are registered once, usually into static
+ * fields, and then updated without any lookup or locking.
+ * <p>
+ * JavaLib's own metrics are registered with the default registry.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class MetricsRegistry {
+
+	// region Fields
+
+	private static final MetricsRegistry defaultRegistry = new MetricsRegistry();
+
+	private final List<Metric> metrics = new CopyOnWriteArrayList<Metric>();
+	private final Map<String, Metric> metricsByName = new HashMap<String, Metric>();
+
+	// endregion
+
+	// region Registration
+
+	/**
+	 * @return The registry JavaLib's own metrics are registered with.
+	 */
+	public static MetricsRegistry getDefault() {
+		return defaultRegistry;
+	}
+
+	/**
+	 * Retrieves a counter, registering it if it doesn't exist.
+	 * 
+	 * @param name
+	 *            The counter's name.
+	 * @param help
+	 *            A short description of the counter.
+	 * @return The counter.
+	 */
+	public Counter counter(String name, String help) {
+		synchronized (metricsByName) {
+			Metric metric = metricsByName.get(name);
+
+			if (metric == null) {
+				metric = new Counter(name, help);
+				add(metric);
+			}
+
+			return (Counter) checkType(metric, Counter.class);
+		}
+	}
+
+	/**
+	 * Retrieves a gauge, registering it if it doesn't exist.
+	 * 
+	 * @param name
+	 *            The gauge's name.
+	 * @param help
+	 *            A short description of the gauge.
+	 * @return The gauge.
+	 */
+	public Gauge gauge(String name, String help) {
+		synchronized (metricsByName) {
+			Metric metric = metricsByName.get(name);
+
+			if (metric == null) {
+				metric = new Gauge(name, help);
+				add(metric);
+			}
+
+			return (Gauge) checkType(metric, Gauge.class);
+		}
+	}
+
+	private void add(Metric metric) {
+		metricsByName.put(metric.getName(), metric);
+		metrics.add(metric);
+	}
+
+	private static Metric checkType(Metric metric, Class<?> type) {
+		if (!type.isInstance(metric))
+			throw new GdxRuntimeException("Metric " + metric.getName()
+					+ " is already registered as a " + metric.getType());
+
+		return metric;
+	}
+
+	/**
+	 * @return Every registered metric, in the order registered. The list may
+	 *         be iterated while metrics are being registered.
+	 */
+	public List<Metric> getMetrics() {
+		return metrics;
+	}
+
+	// endregion
+
+	// region Export
+
+	/**
+	 * Writes every metric in the Prometheus text exposition format.
+	 * 
+	 * @param writer
+	 *            The writer to write to. It is not closed.
+	 * @throws IOException
+	 *             If the writer fails.
+	 */
+	public void writePrometheus(Writer writer) throws IOException {
+		for (Metric metric : metrics) {
+			writer.write("# HELP ");
+			writer.write(metric.getName());
+			writer.write(' ');
+			writer.write(metric.getHelp().replace("\\", "\\\\").replace("\n",
+					"\\n"));
+			writer.write("\n# TYPE ");
+			writer.write(metric.getName());
+			writer.write(' ');
+			writer.write(metric.getType());
+			writer.write('\n');
+			writer.write(metric.getName());
+			writer.write(' ');
+			writer.write(format(metric.getValue()));
+			writer.write('\n');
+		}
+	}
+
+	/**
+	 * Writes every metric as a JSON object mapping names to values.
+	 * 
+	 * @param writer
+	 *            The writer to write to. It is not closed.
+	 * @throws IOException
+	 *             If the writer fails.
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		writer.write('{');
+
+		boolean comma = false;
+
+		for (Metric metric : metrics) {
+			if (comma)
+				writer.write(',');
+			comma = true;
+
+			writer.write("\n\"");
+			writer.write(metric.getName());
+			writer.write("\":");
+
+			double value = metric.getValue();
+			writer.write(Double.isNaN(value) || Double.isInfinite(value) ? "null"
+					: format(value));
+		}
+
+		writer.write("\n}\n");
+	}
+
+	/**
+	 * @param value
+	 *            A metric value.
+	 * @return The value without a fraction if it is a whole number.
+	 */
+	static String format(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < 1e15)
+			return Long.toString((long) value);
+
+		return Double.toString(value);
+	}
+
+	// endregion
+
+}
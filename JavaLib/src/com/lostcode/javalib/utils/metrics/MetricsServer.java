@@ -0,0 +1,206 @@
+package com.lostcode.javalib.utils.metrics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Serves a {@link MetricsRegistry} over HTTP on the loopback interface, so a
+ * local Prometheus or a browser can watch a running game.
+ * <ul>
+ * <li>/metrics returns the Prometheus text format.</li>
+ * <li>/metrics.json returns JSON.</li>
+ * </ul>
+ * Requests are answered one at a time on a daemon thread, which only reads
+ * the metrics and never touches the game.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class MetricsServer implements Disposable {
+
+	// region Fields
+
+	/** The default port. */
+	public static final int DEFAULT_PORT = 9464;
+
+	private static final int TIMEOUT_MILLIS = 2000;
+
+	private final MetricsRegistry registry;
+	private final int requestedPort;
+
+	private ServerSocket socket;
+	private Thread thread;
+
+	// endregion
+
+	// region Initialization/Disposal
+
+	/**
+	 * Constructs a MetricsServer for the default registry on the default port.
+	 */
+	public MetricsServer() {
+		this(MetricsRegistry.getDefault(), DEFAULT_PORT);
+	}
+
+	/**
+	 * Constructs a MetricsServer.
+	 * 
+	 * @param registry
+	 *            The registry to serve.
+	 * @param port
+	 *            The port to listen on, or 0 for any free port.
+	 */
+	public MetricsServer(MetricsRegistry registry, int port) {
+		this.registry = registry;
+		this.requestedPort = port;
+	}
+
+	/**
+	 * Starts listening.
+	 * 
+	 * @throws IOException
+	 *             If the port can't be opened.
+	 */
+	public synchronized void start() throws IOException {
+		if (socket != null)
+			return;
+
+		socket = new ServerSocket(requestedPort, 8,
+				InetAddress.getByName("127.0.0.1"));
+
+		final ServerSocket server = socket;
+
+		thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				serve(server);
+			}
+		}, "Metrics Server");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * Stops listening.
+	 */
+	@Override
+	public synchronized void dispose() {
+		if (socket == null)
+			return;
+
+		try {
+			socket.close();
+		} catch (IOException ex) {
+		}
+
+		socket = null;
+		thread = null;
+	}
+
+	// endregion
+
+	// region Accessors
+
+	/**
+	 * @return Whether the server is listening.
+	 */
+	public synchronized boolean isRunning() {
+		return socket != null;
+	}
+
+	/**
+	 * @return The port being listened on, or -1 if the server isn't running.
+	 */
+	public synchronized int getPort() {
+		return socket != null ? socket.getLocalPort() : -1;
+	}
+
+	// endregion
+
+	// region Serving
+
+	private void serve(ServerSocket server) {
+		while (!server.isClosed()) {
+			Socket client;
+
+			try {
+				client = server.accept();
+			} catch (SocketException ex) {
+				return; // Closed by dispose().
+			} catch (IOException ex) {
+				continue;
+			}
+
+			try {
+				client.setSoTimeout(TIMEOUT_MILLIS);
+				respond(client);
+			} catch (IOException ex) {
+				// The client went away; keep serving others.
+			} finally {
+				try {
+					client.close();
+				} catch (IOException ex) {
+				}
+			}
+		}
+	}
+
+	private void respond(Socket client) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(
+				client.getInputStream(), "ISO-8859-1"));
+
+		String request = in.readLine();
+		if (request == null)
+			return;
+
+		// Skip the headers.
+		String header;
+		do {
+			header = in.readLine();
+		} while (header != null && header.length() > 0);
+
+		String[] parts = request.split(" ");
+		String path = parts.length > 1 ? parts[1] : "/";
+
+		int query = path.indexOf('?');
+		if (query >= 0)
+			path = path.substring(0, query);
+
+		StringWriter body = new StringWriter();
+		String status = "200 OK";
+		String type;
+
+		if (parts[0].equals("GET") && path.equals("/metrics")) {
+			registry.writePrometheus(body);
+			type = "text/plain; version=0.0.4; charset=utf-8";
+		} else if (parts[0].equals("GET") && path.equals("/metrics.json")) {
+			registry.writeJson(body);
+			type = "application/json; charset=utf-8";
+		} else {
+			status = "404 Not Found";
+			type = "text/plain; charset=utf-8";
+			body.write("Try /metrics or /metrics.json\n");
+		}
+
+		byte[] content = body.toString().getBytes("UTF-8");
+
+		OutputStream out = client.getOutputStream();
+		out.write(("HTTP/1.1 " + status + "\r\nContent-Type: " + type
+				+ "\r\nContent-Length: " + content.length
+				+ "\r\nConnection: close\r\n\r\n").getBytes("ISO-8859-1"));
+		out.write(content);
+		out.flush();
+	}
+
+	// endregion
+
+}
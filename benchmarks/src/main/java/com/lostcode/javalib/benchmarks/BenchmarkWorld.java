@@ -0,0 +1,198 @@
+package com.lostcode.javalib.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.lostcode.javalib.entities.ContactManager;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.EntityWorld;
+import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.entities.components.generic.Bullet;
+import com.lostcode.javalib.entities.components.physical.Body;
+import com.lostcode.javalib.entities.components.physical.Collidable;
+import com.lostcode.javalib.entities.templates.EntityTemplate;
+import com.lostcode.javalib.utils.LogManager;
+import com.lostcode.javalib.utils.LogManager.LogType;
+
+/**
+ * A minimal {@link EntityWorld} running under the headless backend, with no
+ * render systems. Provides templates for the entities used by benchmarks.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+public class BenchmarkWorld extends EntityWorld {
+
+	// region Templates
+
+	/** Template tag of an entity with a single Bullet component. */
+	public static final String BULLET = "Bullet";
+
+	/** Template tag of a collidable ball. args[0] = position (Vector2). */
+	public static final String BALL = "Ball";
+
+	/** Template tag of a collidable static box. args[0] = position, args[1] = half size (Vector2). */
+	public static final String WALL = "Wall";
+
+	/**
+	 * Collidable that counts its contacts.
+	 */
+	public static class CountingCollidable extends Collidable {
+
+		public static int contacts;
+
+		@Override
+		public void onBeginContact(Entity container, Entity victim) {
+			contacts++;
+		}
+
+		@Override
+		public void onAdd(ComponentManager container) {
+		}
+
+		@Override
+		public void onRemove(ComponentManager container) {
+		}
+
+	}
+
+	private static class BulletTemplate implements EntityTemplate {
+
+		@Override
+		public Entity buildEntity(Entity e, EntityWorld world, Object... args) {
+			e.init("", "Benchmark", "Bullet");
+			e.addComponent(new Bullet(null, 1f));
+			return e;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+	}
+
+	private static class BallTemplate implements EntityTemplate {
+
+		private final CircleShape shape = new CircleShape();
+
+		public BallTemplate() {
+			shape.setRadius(0.5f);
+		}
+
+		@Override
+		public Entity buildEntity(Entity e, EntityWorld world, Object... args) {
+			e.init("", "Benchmark", "Ball");
+			e.addComponent(new Body(world, e, BodyType.DynamicBody, shape,
+					(Vector2) args[0]));
+			e.addComponent(new CountingCollidable());
+			return e;
+		}
+
+		@Override
+		public void dispose() {
+			shape.dispose();
+		}
+
+	}
+
+	private static class WallTemplate implements EntityTemplate {
+
+		@Override
+		public Entity buildEntity(Entity e, EntityWorld world, Object... args) {
+			Vector2 halfSize = (Vector2) args[1];
+
+			PolygonShape shape = new PolygonShape();
+			shape.setAsBox(halfSize.x, halfSize.y);
+
+			e.init("", "Benchmark", "Wall");
+			e.addComponent(new Body(world, e, BodyType.StaticBody, shape,
+					(Vector2) args[0]));
+			e.addComponent(new CountingCollidable());
+
+			shape.dispose();
+			return e;
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+	}
+
+	// endregion
+
+	// region Initialization
+
+	private static HeadlessApplication application;
+
+	/**
+	 * Starts the headless backend, once per JVM.
+	 */
+	public static synchronized void initBackend() {
+		if (application == null) {
+			application = new HeadlessApplication(new ApplicationAdapter() {
+			});
+
+			// As in a release build: log calls are made, but print nothing.
+			LogManager.init(application, LogType.NONE);
+		}
+	}
+
+	/**
+	 * Constructs a BenchmarkWorld with gravity pointing down. Call
+	 * {@link #initBackend()} first.
+	 */
+	public BenchmarkWorld() {
+		super(new InputMultiplexer(), new OrthographicCamera(), new Vector2(0,
+				-10f));
+	}
+
+	@Override
+	protected void buildSpriteSheet() {
+	}
+
+	@Override
+	protected void buildSystems() {
+		// Benchmarks add their own systems.
+	}
+
+	@Override
+	protected void buildTemplates() {
+		addTemplate(BULLET, new BulletTemplate());
+		addTemplate(BALL, new BallTemplate());
+		addTemplate(WALL, new WallTemplate());
+	}
+
+	// endregion
+
+	// region Accessors
+
+	@Override
+	public Rectangle getBounds() {
+		return new Rectangle(-100, -100, 200, 200);
+	}
+
+	/**
+	 * @return The world's ContactManager.
+	 */
+	public ContactManager getContactManager() {
+		return contactManager;
+	}
+
+	/**
+	 * Processes pending entity additions and removals without running
+	 * systems.
+	 */
+	public void flushEntities() {
+		getEntityManager().process();
+	}
+
+	// endregion
+
+}
@@ -0,0 +1,80 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector2;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.components.Component;
+import com.lostcode.javalib.entities.components.generic.Bullet;
+import com.lostcode.javalib.entities.components.generic.EntitySpawner;
+import com.lostcode.javalib.entities.components.generic.Health;
+import com.lostcode.javalib.entities.components.physical.Body;
+import com.lostcode.javalib.entities.components.physical.Particle;
+import com.lostcode.javalib.entities.components.physical.Transform;
+import com.lostcode.javalib.entities.components.physical.Velocity;
+
+/**
+ * Component lookups on an entity with a typical number of components.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentManagerBenchmark {
+
+	private Entity entity;
+
+	@Setup
+	public void setup() {
+		entity = new Entity();
+		entity.addComponent(new Bullet(null, 1f));
+		entity.addComponent(new EntitySpawner("Bullet", false, 1f));
+		entity.addComponent(new Health(entity, null, 10f));
+		entity.addComponent(new Particle(entity, new Vector2(), 0f));
+	}
+
+	@Benchmark
+	public Component getComponentByClass() {
+		return entity.getComponent(Particle.class);
+	}
+
+	@Benchmark
+	public Component getComponentByInterface() {
+		return entity.getComponent(Transform.class);
+	}
+
+	@Benchmark
+	public boolean hasComponentHit() {
+		return entity.hasComponent(Velocity.class);
+	}
+
+	@Benchmark
+	public boolean hasComponentMiss() {
+		return entity.hasComponent(Body.class);
+	}
+
+	@Benchmark
+	public Entity addRemoveComponent() {
+		Bullet bullet = new Bullet(null, 2f);
+		entity.addComponent(bullet);
+		entity.removeComponent(bullet);
+		return entity;
+	}
+
+}
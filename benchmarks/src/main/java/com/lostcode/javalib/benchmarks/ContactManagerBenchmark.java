@@ -0,0 +1,82 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector2;
+import com.lostcode.javalib.benchmarks.BenchmarkWorld.CountingCollidable;
+
+/**
+ * Physics steps of a box full of colliding balls, with ContactManager
+ * queuing and dispatching the collision events of every step.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactManagerBenchmark {
+
+	@Param({ "250", "1000" })
+	public int ballCount;
+
+	private BenchmarkWorld world;
+
+	@Setup(Level.Iteration)
+	public void setup() {
+		BenchmarkWorld.initBackend();
+		world = new BenchmarkWorld();
+
+		int columns = (int) Math.ceil(Math.sqrt(ballCount));
+		float width = columns * 1.1f;
+
+		// A box open at the top.
+		world.createEntity(BenchmarkWorld.WALL, new Vector2(0, -1),
+				new Vector2(width, 1));
+		world.createEntity(BenchmarkWorld.WALL, new Vector2(-width - 1, 50),
+				new Vector2(1, 50));
+		world.createEntity(BenchmarkWorld.WALL, new Vector2(width + 1, 50),
+				new Vector2(1, 50));
+
+		for (int i = 0; i < ballCount; i++) {
+			float x = -width + (i % columns) * 2.2f + 1f + (i / columns % 2)
+					* 0.3f;
+			float y = 1f + (i / columns) * 1.1f;
+
+			world.createEntity(BenchmarkWorld.BALL, new Vector2(x, y));
+		}
+
+		world.flushEntities();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		world.dispose();
+	}
+
+	@Benchmark
+	public int stepAndDispatch() {
+		world.getPhysicsWorld().process(1 / 60f);
+		world.getContactManager().process();
+
+		return CountingCollidable.contacts;
+	}
+
+}
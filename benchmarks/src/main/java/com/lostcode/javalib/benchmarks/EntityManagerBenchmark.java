@@ -0,0 +1,71 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.EntityManager;
+import com.lostcode.javalib.entities.components.generic.Bullet;
+
+/**
+ * Creating and deleting a wave of pooled entities through the EntityManager.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityManagerBenchmark {
+
+	@Param({ "1000", "10000" })
+	public int entityCount;
+
+	private EntityManager manager;
+	private final Array<Entity> wave = new Array<Entity>();
+
+	@Setup
+	public void setup() {
+		manager = new EntityManager();
+	}
+
+	@Benchmark
+	public EntityManager createDeleteCycle() {
+		wave.clear();
+
+		for (int i = 0; i < entityCount; i++) {
+			Entity e = manager.obtain();
+			e.init("", "Wave", "Bullet");
+			e.addComponent(new Bullet(null, 1f));
+			manager.add(e);
+			wave.add(e);
+		}
+
+		manager.process(); // Flushes the new list.
+
+		for (int i = 0; i < wave.size; i++) {
+			wave.get(i).delete();
+		}
+
+		manager.process(); // Moves deleted entities to the removal list.
+		manager.process(); // Frees them to the pool.
+
+		return manager;
+	}
+
+}
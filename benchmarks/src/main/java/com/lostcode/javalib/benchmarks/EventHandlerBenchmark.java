@@ -0,0 +1,69 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.events.EventCallback;
+import com.lostcode.javalib.entities.events.EventHandler;
+
+/**
+ * Invoking an EventHandler with several subscribers.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventHandlerBenchmark {
+
+	@Param({ "1", "8", "64" })
+	public int callbackCount;
+
+	private EventHandler handler;
+	private Entity entity;
+	private int invocations;
+
+	@Setup
+	public void setup() {
+		handler = new EventHandler();
+		entity = new Entity();
+
+		for (int i = 0; i < callbackCount; i++) {
+			handler.addCallback(new Object(), new EventCallback() {
+				@Override
+				public void invoke(Entity e, Object... args) {
+					invocations++;
+				}
+			});
+		}
+	}
+
+	@Benchmark
+	public int invoke() {
+		handler.invoke(entity);
+		return invocations;
+	}
+
+	@Benchmark
+	public int invokeWithArgs() {
+		handler.invoke(entity, entity, this);
+		return invocations;
+	}
+
+}
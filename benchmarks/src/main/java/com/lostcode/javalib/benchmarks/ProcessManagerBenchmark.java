@@ -0,0 +1,67 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.lostcode.javalib.entities.ProcessManager;
+import com.lostcode.javalib.entities.processes.DelayProcess;
+import com.lostcode.javalib.entities.processes.Process;
+
+/**
+ * One frame of a ProcessManager holding many timers, some of which finish and
+ * are replaced every frame.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessManagerBenchmark {
+
+	private static final float DELTA = 1 / 60f;
+
+	@Param({ "100", "1000", "10000" })
+	public int processCount;
+
+	private ProcessManager manager;
+	private final Random random = new Random(42);
+
+	@Setup
+	public void setup() {
+		manager = new ProcessManager();
+		topUp();
+	}
+
+	private void topUp() {
+		for (int i = manager.getProcesses().size; i < processCount; i++) {
+			// Timers of 0.1 to 2 seconds, without children.
+			manager.attach(new DelayProcess(0.1f + random.nextFloat() * 1.9f,
+					new Process[0]));
+		}
+	}
+
+	@Benchmark
+	public ProcessManager processFrame() {
+		// The world isn't used by DelayProcess.
+		manager.process(null, DELTA);
+		topUp();
+		return manager;
+	}
+
+}
@@ -0,0 +1,172 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.components.ComponentManager;
+import com.lostcode.javalib.entities.components.render.Renderable;
+import com.lostcode.javalib.entities.systems.render.RenderSystem;
+
+/**
+ * The per-frame layer sort of RenderSystem, with no drawing.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderSortBenchmark {
+
+	private static final int LAYERS = 10;
+
+	/**
+	 * A Renderable that only has a layer.
+	 */
+	private static class LayerRenderable implements Renderable {
+
+		private int layer;
+
+		public LayerRenderable(int layer) {
+			this.layer = layer;
+		}
+
+		@Override
+		public float getWidth() {
+			return 0;
+		}
+
+		@Override
+		public float getHeight() {
+			return 0;
+		}
+
+		@Override
+		public Vector2 getPosition() {
+			return Vector2.Zero;
+		}
+
+		@Override
+		public Vector2 getPosition(Vector2 out) {
+			return out.setZero();
+		}
+
+		@Override
+		public Vector2 getOrigin() {
+			return Vector2.Zero;
+		}
+
+		@Override
+		public Vector2 getOrigin(Vector2 out) {
+			return out.setZero();
+		}
+
+		@Override
+		public float getRotation() {
+			return 0;
+		}
+
+		@Override
+		public int getLayer() {
+			return layer;
+		}
+
+		@Override
+		public void setPosition(Vector2 position) {
+		}
+
+		@Override
+		public void setPosition(float x, float y) {
+		}
+
+		@Override
+		public void setRotation(float degrees) {
+		}
+
+		@Override
+		public void setScale(float scaleX, float scaleY) {
+		}
+
+		@Override
+		public void setOrigin(Vector2 origin) {
+		}
+
+		@Override
+		public void setLayer(int layer) {
+			this.layer = layer;
+		}
+
+		@Override
+		public void draw(SpriteBatch spriteBatch, float deltaSeconds) {
+		}
+
+		@Override
+		public void onAdd(ComponentManager container) {
+		}
+
+		@Override
+		public void onRemove(ComponentManager container) {
+		}
+
+	}
+
+	@Param({ "1000", "10000" })
+	public int entityCount;
+
+	private RenderSystem system;
+	private final Array<LayerRenderable> renderables = new Array<LayerRenderable>();
+	private final Random random = new Random(42);
+
+	@Setup
+	public void setup() {
+		system = new RenderSystem(new OrthographicCamera());
+
+		for (int i = 0; i < entityCount; i++) {
+			Entity e = new Entity();
+			LayerRenderable r = new LayerRenderable(random.nextInt(LAYERS));
+
+			e.addComponent(r);
+			renderables.add(r);
+			system.add(e);
+		}
+	}
+
+	@Benchmark
+	public RenderSystem sortUnchanged() {
+		system.sortEntities();
+		return system;
+	}
+
+	@Benchmark
+	public RenderSystem sortAfterLayerChanges() {
+		// A few entities change layers every frame.
+		for (int i = 0; i < entityCount / 20; i++) {
+			renderables.get(random.nextInt(entityCount)).setLayer(
+					random.nextInt(LAYERS));
+		}
+
+		system.sortEntities();
+		return system;
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.lostcode.javalib.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.Array;
+import com.lostcode.javalib.entities.Entity;
+import com.lostcode.javalib.entities.EntityManager;
+import com.lostcode.javalib.entities.SystemManager;
+import com.lostcode.javalib.entities.components.Component;
+import com.lostcode.javalib.entities.components.generic.Bullet;
+import com.lostcode.javalib.entities.components.generic.EntitySpawner;
+import com.lostcode.javalib.entities.components.generic.Health;
+import com.lostcode.javalib.entities.components.physical.Transform;
+import com.lostcode.javalib.entities.systems.ComponentSystem;
+
+/**
+ * A frame of SystemManager processing in which a tenth of the entities gain or
+ * lose a component, forcing every system to re-check their membership.
+ * 
+ * @author Natman64
+ * @created Oct 19, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemManagerBenchmark {
+
+	/**
+	 * A system that matches entities but does no work, so only membership
+	 * bookkeeping is measured.
+	 */
+	private static class EmptySystem extends ComponentSystem {
+
+		public EmptySystem(Class<? extends Component> requiredType,
+				Class<? extends Component>... otherTypes) {
+			super(requiredType, otherTypes);
+		}
+
+		@Override
+		protected void process(Entity e) {
+		}
+
+		@Override
+		public void dispose() {
+		}
+
+	}
+
+	@Param({ "1000", "10000" })
+	public int entityCount;
+
+	private BenchmarkWorld world;
+	private final Array<Entity> changing = new Array<Entity>();
+	private boolean hasHealth;
+
+	@SuppressWarnings("unchecked")
+	@Setup
+	public void setup() {
+		BenchmarkWorld.initBackend();
+		world = new BenchmarkWorld();
+
+		SystemManager systems = world.getSystemManager();
+		systems.addSystem(new EmptySystem(Bullet.class));
+		systems.addSystem(new EmptySystem(Health.class));
+		systems.addSystem(new EmptySystem(Bullet.class, Health.class));
+		systems.addSystem(new EmptySystem(Transform.class));
+		systems.addSystem(new EmptySystem(EntitySpawner.class));
+		systems.addSystem(new EmptySystem(Bullet.class, Transform.class));
+		systems.addSystem(new EmptySystem(Health.class, EntitySpawner.class));
+		systems.addSystem(new EmptySystem(Bullet.class));
+
+		for (int i = 0; i < entityCount; i++) {
+			Entity e = world.createEntity(BenchmarkWorld.BULLET);
+
+			if (i % 10 == 0)
+				changing.add(e);
+		}
+
+		frame(); // Adds the new entities to their systems.
+	}
+
+	@TearDown
+	public void tearDown() {
+		world.dispose();
+	}
+
+	private void frame() {
+		EntityManager entities = world.getEntityManager();
+
+		// The same order as EntityWorld.process(), which clears the lists.
+		world.getSystemManager().process(entities.getNewEntities(),
+				entities.getChangedEntities(), entities.getRemovedEntities(),
+				1 / 60f);
+		entities.process();
+	}
+
+	@Benchmark
+	public BenchmarkWorld membershipChurn() {
+		hasHealth = !hasHealth;
+
+		for (int i = 0; i < changing.size; i++) {
+			Entity e = changing.get(i);
+
+			if (hasHealth)
+				e.addComponent(new Health(e, world, 10f));
+			else
+				e.removeComponent(e.getComponent(Health.class));
+		}
+
+		frame();
+		return world;
+	}
+
+}